@@ -22,26 +22,38 @@
 package org.eclipse.tractusx.puris.backend;
 
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcProvisioningService;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+/**
+ * Provisions the api assets and the policy and contract definitions of all known partners
+ * in the own control plane at startup. Entries that already exist are not registered again.
+ */
 @Component
 @Slf4j
 public class AssetCreatorCommandLineRunner implements CommandLineRunner {
 
     @Autowired
-    private EdcAdapterService edcAdapterService;
+    private EdcProvisioningService edcProvisioningService;
+
+    @Autowired
+    private PartnerService partnerService;
+
+    @Autowired
+    private VariablesService variablesService;
 
     @Override
-    public void run(String... args) throws Exception {
-        if (!edcAdapterService.registerAssetsInitially()) {
-            // retry
-            int retryDelaySeconds = 3;
-            log.warn("retrying initial asset registration in " + retryDelaySeconds + " seconds");
-            Thread.sleep(retryDelaySeconds * 1000);
-            log.warn("retry successful: " + edcAdapterService.registerAssetsInitially());
+    public void run(String... args) {
+        edcProvisioningService.provisionAssets();
+        var partners = partnerService.findAll().stream()
+            .filter(partner -> !variablesService.getOwnBpnl().equals(partner.getBpnl()))
+            .toList();
+        if (!partners.isEmpty()) {
+            edcProvisioningService.provisionPartners(partners);
         }
     }
 }
@@ -46,7 +46,7 @@ public class PurisApplication {
         modelMapper.getConfiguration()
             .setFieldMatchingEnabled(true)
             .setFieldAccessLevel(Configuration.AccessLevel.PRIVATE);
-        return new ModelMapper();
+        return modelMapper;
     }
 
     @Bean
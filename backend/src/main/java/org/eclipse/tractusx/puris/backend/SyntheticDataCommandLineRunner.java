@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.EventTypeEnumeration;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.IncotermEnumeration;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.ReportedDelivery;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.DemandCategoryEnumeration;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.ReportedDemand;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataCache;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
+import org.eclipse.tractusx.puris.backend.production.domain.model.OwnProduction;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.MaterialItemStockService;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.ProductItemStockService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates a large, configurable set of synthetic master and transactional data, so that
+ * the query paths of the backend can be profiled with production like volumes.
+ * <p>
+ * The generator is only active with the spring profile {@value #PROFILE}. It runs after the
+ * {@link DataInjectionCommandLineRunner} and creates
+ * <ul>
+ *     <li>the given number of partners, each with one site and address,</li>
+ *     <li>the given number of materials, alternating between materials that are bought from
+ *     suppliers and products that are sold to customers,</li>
+ *     <li>the given number of material partner relations per material and</li>
+ *     <li>for every relation the given number of stocks as well as demands, deliveries and
+ *     productions for every day of the planning horizon.</li>
+ * </ul>
+ * The rows are written directly via the entity manager in JDBC batches of
+ * {@code hibernate.jdbc.batch_size}, bypassing the validation of the services. The values are
+ * drawn from a seeded random generator, so a run with the same parameters always produces the
+ * same quantities.
+ */
+@Component
+@Profile(SyntheticDataCommandLineRunner.PROFILE)
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class SyntheticDataCommandLineRunner implements CommandLineRunner {
+
+    public static final String PROFILE = "synthetic-data";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PartnerService partnerService;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
+    @Autowired
+    private PartnerSiteIndex partnerSiteIndex;
+
+    @Autowired
+    private MaterialItemStockService materialItemStockService;
+
+    @Autowired
+    private ProductItemStockService productItemStockService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${puris.synthetic.partners}")
+    private int partnerCount;
+
+    @Value("${puris.synthetic.materials}")
+    private int materialCount;
+
+    @Value("${puris.synthetic.mprs-per-material}")
+    private int mprsPerMaterial;
+
+    @Value("${puris.synthetic.stocks-per-mpr}")
+    private int stocksPerMpr;
+
+    @Value("${puris.synthetic.demands-per-mpr-and-day}")
+    private int demandsPerDay;
+
+    @Value("${puris.synthetic.deliveries-per-mpr-and-day}")
+    private int deliveriesPerDay;
+
+    @Value("${puris.synthetic.productions-per-mpr-and-day}")
+    private int productionsPerDay;
+
+    @Value("${puris.synthetic.days}")
+    private int days;
+
+    @Value("${puris.synthetic.seed}")
+    private long seed;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    private int pending;
+
+    private long written;
+
+    public SyntheticDataCommandLineRunner(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        Partner mySelf = partnerService.getOwnPartnerEntity();
+        if (mySelf == null || mySelf.getSites().isEmpty()) {
+            log.error("Synthetic data requires an own partner with a site, skipping generation");
+            return;
+        }
+        if (partnerService.findByBpnl(bpnl(0)) != null) {
+            log.info("Synthetic data has already been generated, skipping generation");
+            return;
+        }
+        String ownBpns = mySelf.getSites().first().getBpns();
+        String ownBpna = mySelf.getSites().first().getAddresses().first().getBpna();
+        long start = System.nanoTime();
+        log.info("Generating synthetic data: {} partners, {} materials, {} relations per material, {} days",
+            partnerCount, materialCount, mprsPerMaterial, days);
+
+        List<Partner> partners = new ArrayList<>(partnerCount);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int p = 0; p < partnerCount; p++) {
+                Partner partner = new Partner("Synthetic Partner " + p, "http://synthetic-partner-" + p + ":8184/api/v1/dsp",
+                    bpnl(p), "BPNS" + id(p), "Synthetic Site " + p, "BPNA" + id(p),
+                    "Synthetic Street " + p, "12345 Synthetic City", "Germany");
+                persist(partner);
+                partners.add(partner);
+            }
+            flush();
+        });
+
+        Random random = new Random(seed);
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        int relations = Math.min(mprsPerMaterial, partnerCount);
+        for (int m = 0; m < materialCount; m++) {
+            final int materialIndex = m;
+            transactionTemplate.executeWithoutResult(status -> {
+                // even materials are bought from suppliers, odd materials are sold to customers
+                boolean supplied = materialIndex % 2 == 0;
+                Material material = new Material(supplied, !supplied, String.format("SYN-MAT-%06d", materialIndex),
+                    uuid("material#" + materialIndex).toString(), "Synthetic Material " + materialIndex);
+                persist(material);
+                for (int r = 0; r < relations; r++) {
+                    Partner partner = partners.get((materialIndex + r) % partnerCount);
+                    String partnerMaterialNumber = String.format("SYN-%s-%06d", partner.getBpnl().substring(4, 14), materialIndex);
+                    var mpr = new MaterialPartnerRelation(material, partner, partnerMaterialNumber, supplied, !supplied);
+                    mpr.setPartnerCXNumber(uuid(partner.getBpnl() + "#" + partnerMaterialNumber).toString());
+                    persist(mpr);
+                    String partnerBpns = partner.getSites().first().getBpns();
+                    String partnerBpna = partner.getSites().first().getAddresses().first().getBpna();
+                    if (supplied) {
+                        generateSupplierData(random, today, material, partner, ownBpns, ownBpna, partnerBpns, partnerBpna);
+                    } else {
+                        generateCustomerData(random, today, material, partner, ownBpns, ownBpna, partnerBpns, partnerBpna);
+                    }
+                }
+                flush();
+            });
+            if ((m + 1) % 100 == 0) {
+                log.info("Generated data for {} out of {} materials ({} rows)", m + 1, materialCount, written);
+            }
+        }
+
+        // the item stocks have been written without the services
+        materialItemStockService.rebuildStockPositions();
+        productItemStockService.rebuildStockPositions();
+        masterDataCache.evictPartners();
+        masterDataCache.evictMaterials();
+        partnerSiteIndex.invalidate();
+        log.info("Generated {} rows of synthetic data in {} s", written,
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    /**
+     * Creates the data of a material that the partner supplies: own material stocks and demands
+     * and the deliveries the supplier reported.
+     */
+    private void generateSupplierData(Random random, Instant today, Material material, Partner supplier,
+                                      String ownBpns, String ownBpna, String partnerBpns, String partnerBpna) {
+        for (int s = 0; s < stocksPerMpr; s++) {
+            persist(MaterialItemStock.builder()
+                .partner(supplier)
+                .material(material)
+                .quantity(quantity(random))
+                .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                .locationBpns(ownBpns)
+                .locationBpna(ownBpna)
+                .isBlocked(s % 4 == 3)
+                .customerOrderId("SYN-CO-" + s)
+                .lastUpdatedOnDateTime(Date.from(today))
+                .build());
+        }
+        for (int d = 0; d < days; d++) {
+            Date day = Date.from(today.plus(d, ChronoUnit.DAYS));
+            for (int i = 0; i < demandsPerDay; i++) {
+                persist(OwnDemand.builder()
+                    .partner(supplier)
+                    .material(material)
+                    .quantity(quantity(random))
+                    .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                    .day(day)
+                    .demandLocationBpns(ownBpns)
+                    .supplierLocationBpns(partnerBpns)
+                    .demandCategoryCode(DemandCategoryEnumeration.DEMAND_DEFAULT)
+                    .build());
+            }
+            for (int i = 0; i < deliveriesPerDay; i++) {
+                persist(ReportedDelivery.builder()
+                    .partner(supplier)
+                    .material(material)
+                    .quantity(quantity(random))
+                    .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                    .trackingNumber("SYN-TRACK-" + d + "-" + i)
+                    .incoterm(IncotermEnumeration.DAP)
+                    .originBpns(partnerBpns)
+                    .originBpna(partnerBpna)
+                    .destinationBpns(ownBpns)
+                    .destinationBpna(ownBpna)
+                    .dateOfDeparture(Date.from(today.plus(d - 1, ChronoUnit.DAYS)))
+                    .departureType(d > 1 ? EventTypeEnumeration.ESTIMATED_DEPARTURE : EventTypeEnumeration.ACTUAL_DEPARTURE)
+                    .dateOfArrival(day)
+                    .arrivalType(EventTypeEnumeration.ESTIMATED_ARRIVAL)
+                    .build());
+            }
+        }
+    }
+
+    /**
+     * Creates the data of a product that the partner buys: own product stocks, productions and
+     * outgoing deliveries and the demands the customer reported.
+     */
+    private void generateCustomerData(Random random, Instant today, Material product, Partner customer,
+                                      String ownBpns, String ownBpna, String partnerBpns, String partnerBpna) {
+        for (int s = 0; s < stocksPerMpr; s++) {
+            persist(ProductItemStock.builder()
+                .partner(customer)
+                .material(product)
+                .quantity(quantity(random))
+                .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                .locationBpns(ownBpns)
+                .locationBpna(ownBpna)
+                .isBlocked(s % 4 == 3)
+                .customerOrderId("SYN-CO-" + s)
+                .lastUpdatedOnDateTime(Date.from(today))
+                .build());
+        }
+        for (int d = 0; d < days; d++) {
+            Date day = Date.from(today.plus(d, ChronoUnit.DAYS));
+            for (int i = 0; i < productionsPerDay; i++) {
+                persist(OwnProduction.builder()
+                    .partner(customer)
+                    .material(product)
+                    .quantity(quantity(random))
+                    .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                    .productionSiteBpns(ownBpns)
+                    .estimatedTimeOfCompletion(day)
+                    .customerOrderNumber("SYN-CO-" + d + "-" + i)
+                    .build());
+            }
+            for (int i = 0; i < demandsPerDay; i++) {
+                persist(ReportedDemand.builder()
+                    .partner(customer)
+                    .material(product)
+                    .quantity(quantity(random))
+                    .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                    .day(day)
+                    .demandLocationBpns(partnerBpns)
+                    .supplierLocationBpns(ownBpns)
+                    .demandCategoryCode(DemandCategoryEnumeration.DEMAND_DEFAULT)
+                    .build());
+            }
+            for (int i = 0; i < deliveriesPerDay; i++) {
+                persist(OwnDelivery.builder()
+                    .partner(customer)
+                    .material(product)
+                    .quantity(quantity(random))
+                    .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                    .trackingNumber("SYN-TRACK-" + d + "-" + i)
+                    .incoterm(IncotermEnumeration.DAP)
+                    .originBpns(ownBpns)
+                    .originBpna(ownBpna)
+                    .destinationBpns(partnerBpns)
+                    .destinationBpna(partnerBpna)
+                    .dateOfDeparture(day)
+                    .departureType(d > 0 ? EventTypeEnumeration.ESTIMATED_DEPARTURE : EventTypeEnumeration.ACTUAL_DEPARTURE)
+                    .dateOfArrival(Date.from(today.plus(d + 1, ChronoUnit.DAYS)))
+                    .arrivalType(EventTypeEnumeration.ESTIMATED_ARRIVAL)
+                    .build());
+            }
+        }
+    }
+
+    /**
+     * Persists the entity and sends the pending inserts to the database, as soon as a batch is full.
+     * The persistence context is cleared afterward, so the heap usage does not grow with the number
+     * of generated rows. Entities referenced by later rows stay usable as detached references.
+     */
+    private void persist(Object entity) {
+        entityManager.persist(entity);
+        written++;
+        if (++pending >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        entityManager.flush();
+        entityManager.clear();
+        pending = 0;
+    }
+
+    private static double quantity(Random random) {
+        return 10 + random.nextInt(991);
+    }
+
+    private static String id(int index) {
+        return String.format("%010dSD", index);
+    }
+
+    private static String bpnl(int index) {
+        return "BPNL" + id(index);
+    }
+
+    private static UUID uuid(String name) {
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
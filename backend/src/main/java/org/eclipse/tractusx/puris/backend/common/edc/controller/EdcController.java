@@ -26,6 +26,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Response;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker.PartnerHealth;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -35,6 +38,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -49,11 +53,14 @@ public class EdcController {
     private EdcAdapterService edcAdapter;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private PartnerCircuitBreaker partnerCircuitBreaker;
 
     private static final String CATALOG = "catalog";
     private static final String ASSETS = "assets";
     private static final String CONTRACTNEGOTIATIONS = "contractnegotiations";
     private static final String TRANSFERS = "transfers";
+    private static final String PARTNER_HEALTH = "partner-health";
 
 
     /**
@@ -126,15 +133,21 @@ public class EdcController {
     }
 
     /**
-     * Retrieves all contract negotiations in the history
-     * of your control plane.
+     * Retrieves one page of the contract negotiations in the history
+     * of your control plane, newest first.
      *
+     * @param offset optional index of the first negotiation, defaults to 0
+     * @param limit  optional maximum number of negotiations, defaults to 100 and is capped at 1000
      * @return contract negotiation data
      */
     @GetMapping(CONTRACTNEGOTIATIONS)
-    public ResponseEntity<String> getContractNegotiations() {
+    public ResponseEntity<String> getContractNegotiations(@RequestParam(required = false) Integer offset,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (offset != null && offset < 0) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            Response negotiationsResponse = edcAdapter.getAllNegotiations();
+            Response negotiationsResponse = edcAdapter.getAllNegotiations(offset == null ? 0 : offset, KeysetCursor.pageSize(limit));
             if (negotiationsResponse != null && negotiationsResponse.isSuccessful()) {
                 String responseString = negotiationsResponse.body().string();
                 negotiationsResponse.body().close();
@@ -158,30 +171,43 @@ public class EdcController {
     }
 
     /**
-     * Retrieves all transfers in the history
-     * of your control plane.
+     * Retrieves one page of the transfers in the history
+     * of your control plane, newest first.
      *
+     * @param offset optional index of the first transfer, defaults to 0
+     * @param limit  optional maximum number of transfers, defaults to 100 and is capped at 1000
      * @return transfer data
      */
     @GetMapping(TRANSFERS)
-    public ResponseEntity<JsonNode> getTransfers() {
+    public ResponseEntity<JsonNode> getTransfers(@RequestParam(required = false) Integer offset,
+                                                 @RequestParam(required = false) Integer limit) {
+        if (offset != null && offset < 0) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            Response transfersResponse = edcAdapter.getAllTransfers();
+            Response transfersResponse = edcAdapter.getAllTransfers(offset == null ? 0 : offset, KeysetCursor.pageSize(limit));
             if (transfersResponse != null && transfersResponse.isSuccessful()) {
                 String data = transfersResponse.body().string();
                 var responseObject = objectMapper.readTree(data);
+                // The response from the control plane does not contain
+                // an edc:connectorId field, if your side was involved as PROVIDER
+                // in a transfer. Because we want to show the other party's
+                // BPNL in the frontend in any case, we retrieve the BPNL via
+                // the contractAgreement and insert it into the JSON data.
+                List<JsonNode> providerTransfers = new ArrayList<>();
                 for (var item : responseObject) {
-                    // The response from the control plane does not contain
-                    // an edc:connectorId field, if your side was involved as PROVIDER
-                    // in a transfer. Because we want to show the other party's
-                    // BPNL in the frontend in any case, we retrieve the BPNL via
-                    // the contractAgreement and insert it into the JSON data.
-                    String myRole = item.get("type").asText();
-                    if ("PROVIDER".equals(myRole)) {
-                        String contractId = item.get("contractId").asText();
-                        var contractObject = objectMapper.readTree(edcAdapter.getContractAgreement(contractId));
-                        String partnerBpnl = contractObject.get("consumerId").asText();
-                        ((ObjectNode) item).put("connectorId", partnerBpnl);
+                    if ("PROVIDER".equals(item.path("type").asText())) {
+                        providerTransfers.add(item);
+                    }
+                }
+                var contractAgreements = edcAdapter.getContractAgreements(
+                    providerTransfers.stream().map(item -> item.path("contractId").asText()).toList());
+                for (var item : providerTransfers) {
+                    var contractObject = contractAgreements.get(item.path("contractId").asText());
+                    if (contractObject != null && contractObject.hasNonNull("consumerId")) {
+                        ((ObjectNode) item).put("connectorId", contractObject.get("consumerId").asText());
+                    } else {
+                        log.warn("Could not determine consumer of transfer " + item.path("@id").asText());
                     }
                 }
                 return ResponseEntity.ok(responseObject);
@@ -200,6 +226,28 @@ public class EdcController {
         }
     }
 
+    /**
+     * Retrieves the availability of the partners' connectors as observed
+     * by this backend instance.
+     *
+     * @param partnerBpnl optional parameter if only a specific partner should be retrieved.
+     * @return the health of the partners' connectors that requests have been sent to
+     */
+    @GetMapping(PARTNER_HEALTH)
+    public ResponseEntity<List<PartnerHealth>> getPartnerHealth(@RequestParam(required = false) String partnerBpnl) {
+        if (partnerBpnl == null) {
+            return ResponseEntity.ok(partnerCircuitBreaker.getHealth());
+        }
+        if (!PatternStore.BPNL_PATTERN.matcher(partnerBpnl).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        PartnerHealth health = partnerCircuitBreaker.getHealth(partnerBpnl);
+        if (health == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(List.of(health));
+    }
+
     private String exceptionMessageGenerator(String endpointName) {
         return "Exception in " + endpointName + " endpoint ";
     }
@@ -22,23 +22,46 @@ package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.ContractPolicyMatcher;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcPhaseMetrics;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcPhaseMetrics.Phase;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRequestBodyBuilder;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRetryPolicy;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRetryPolicy.Deadline;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRetryPolicy.DeadlineExceededException;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRetryPolicy.Retry;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.util.JsonLdUtils;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker.PartnerUnavailableException;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.SubmodelFingerprint;
+import org.eclipse.tractusx.puris.backend.common.lease.logic.JobLeaseService;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
+import org.eclipse.tractusx.puris.backend.common.util.SizeLimitedInputStream;
 import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -61,8 +84,56 @@ public class EdcAdapterService {
     @Autowired
     private JsonLdUtils jsonLdUtils;
 
+    @Autowired
+    private EdcPhaseMetrics edcPhaseMetrics;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private SubmodelFingerprint submodelFingerprint;
+
+    @Autowired
+    private PartnerCircuitBreaker partnerCircuitBreaker;
+
+    @Autowired
+    private EdcRetryPolicy edcRetryPolicy;
+
+    @Autowired
+    private ExecutorService executorService;
+
+    @Autowired
+    private SubmodelEtagCache submodelEtagCache;
+
     private final Pattern urlPattern = PatternStore.URL_PATTERN;
 
+    /**
+     * Compiled from the configured framework agreement and purpose on first use
+     */
+    private volatile ContractPolicyMatcher contractPolicyMatcher;
+
+    /**
+     * Upper bound for the duration of a contract negotiation including the catalog request
+     */
+    private static final Duration NEGOTIATION_LEASE_DURATION = Duration.ofMinutes(2);
+
+    /**
+     * Number of entries that are requested at once when querying the registered assets and definitions
+     */
+    private static final int REGISTRATION_QUERY_PAGE_SIZE = 500;
+
+    /**
+     * Maximum number of contract agreements that are kept in the {@link #contractAgreementCache}
+     */
+    private static final int CONTRACT_AGREEMENT_CACHE_SIZE = 10_000;
+
+    /**
+     * Contract agreements of the own control plane as returned by the management api, mapped by their id
+     */
+    private final Cache<String, String> contractAgreementCache = Caffeine.newBuilder()
+        .maximumSize(CONTRACT_AGREEMENT_CACHE_SIZE)
+        .build();
+
     public EdcAdapterService(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
@@ -134,182 +205,51 @@ public class EdcAdapterService {
     }
 
     /**
-     * Call this method at startup to register the necessary request and
-     * response apis. In case you are using the framework agreement feature,
-     * the framework agreement policy will be registered as well here.
+     * Queries the ids of all entries of a management api resource of your control plane.
      *
-     * @return true if all registrations were successful, otherwise false
+     * @param resource The resource, e.g. "assets", "policydefinitions" or "contractdefinitions"
+     * @return The ids of all entries
+     * @throws IOException If the connection to your control plane fails or the response is not a list
      */
-    public boolean registerAssetsInitially() {
-        boolean result;
-        log.info("Registration of framework agreement policy successful {}", (result = createContractPolicy()));
-        boolean assetRegistration;
-        log.info("Registration of DTR Asset successful {}", (assetRegistration = registerDtrAsset()));
-        result &= assetRegistration;
-        log.info("Registration of ItemStock 2.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getItemStockSubmodelApiAssetId(),
-            variablesService.getItemStockSubmodelEndpoint(),
-            AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Planned Production 2.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getProductionSubmodelApiAssetId(),
-            variablesService.getProductionSubmodelEndpoint(),
-            AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Short Term Material Demand 1.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getDemandSubmodelApiAssetId(),
-            variablesService.getDemandSubmodelEndpoint(),
-            AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Delivery Information 2.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getDeliverySubmodelApiAssetId(),
-            variablesService.getDeliverySubmodelEndpoint(),
-            AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Demand and Capacity Notification 2.0.0 asset successful {}", (assetRegistration = registerNotificationAsset(
-            variablesService.getNotificationApiAssetId(),
-            variablesService.getNotificationEndpoint()
-        )));
-        log.info("Registration of PartTypeInformation 1.0.0 submodel successful {}", (assetRegistration = registerPartTypeInfoSubmodelAsset()));
-        result &= assetRegistration;
-        return result;
-    }
-
-
-    /**
-     * Utility method to register policy- and contract-definitions for both the
-     * REQUEST and the RESPONSE-Api specifically for the given partner.
-     *
-     * @param partner The partner
-     * @return true, if all registrations ran successfully
-     */
-    public boolean createPolicyAndContractDefForPartner(Partner partner) {
-        boolean result = createBpnlAndMembershipPolicyDefinitionForPartner(partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID, variablesService.getItemStockSubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID, variablesService.getProductionSubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID, variablesService.getDemandSubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID, variablesService.getDeliverySubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.NOTIFICATION.URN_SEMANTIC_ID, variablesService.getNotificationApiAssetId(), partner);
-        result &= createDtrContractDefinitionForPartner(partner);
-        return createSubmodelContractDefinitionForPartner(AssetType.PART_TYPE_INFORMATION_SUBMODEL.URN_SEMANTIC_ID, variablesService.getPartTypeSubmodelApiAssetId(), partner) && result;
-    }
-
-    private boolean createSubmodelContractDefinitionForPartner(String semanticId, String assetId, Partner partner) {
-        var body = edcRequestBodyBuilder.buildSubmodelContractDefinitionWithBpnRestrictedPolicy(assetId, partner);
-        try (var response = sendPostRequest(body, List.of("v3", "contractdefinitions"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Contract definition registration failed for partner " + partner.getBpnl() + " and {} Submodel", semanticId);
-                if (response.body() != null) {
-                    log.warn("Response: \n" + response.body().string());
+    public Set<String> getRegisteredIds(String resource) throws IOException {
+        Set<String> ids = new HashSet<>();
+        while (true) {
+            var body = edcRequestBodyBuilder.buildPagedQuerySpec(ids.size(), REGISTRATION_QUERY_PAGE_SIZE);
+            try (var response = sendPostRequest(body, List.of("v3", resource, "request"))) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    throw new IOException("Query of " + resource + " failed with status " + response.code());
                 }
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("Contract definition registration failed for partner " + partner.getBpnl() + " and {} Submodel", semanticId);
-            return false;
-        }
-    }
-
-    private boolean createDtrContractDefinitionForPartner(Partner partner) {
-        var body = edcRequestBodyBuilder.buildDtrContractDefinitionForPartner(partner);
-        try (var response = sendPostRequest(body, List.of("v3", "contractdefinitions"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Contract definition registration failed for partner " + partner.getBpnl() + " and DTR");
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("Contract definition registration failed for partner " + partner.getBpnl() + " and DTR", e);
-            return false;
-        }
-    }
-
-    /**
-     * Registers a policy definition that evaluates to true in case all the following conditions apply:
-     * 1. The BPNL of the requesting connector is equal to the BPNL of the partner
-     * 2. There's a CX membership credential present
-     *
-     * @param partner The partner to create the policy for
-     * @return true, if registration ran successfully
-     */
-    private boolean createBpnlAndMembershipPolicyDefinitionForPartner(Partner partner) {
-        var body = edcRequestBodyBuilder.buildBpnAndMembershipRestrictedPolicy(partner);
-        try (var response = sendPostRequest(body, List.of("v3", "policydefinitions"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Policy Registration failed");
-                if (response.body() != null) {
-                    log.warn("Response: \n" + response.body().string());
+                JsonNode page = objectMapper.readTree(response.body().byteStream());
+                if (!page.isArray()) {
+                    throw new IOException("Query of " + resource + " did not return a list");
+                }
+                int sizeBefore = ids.size();
+                page.forEach(entry -> ids.add(entry.path("@id").asText()));
+                // stop on the last page, or if the control plane ignores the offset
+                if (page.size() < REGISTRATION_QUERY_PAGE_SIZE || ids.size() == sizeBefore) {
+                    return ids;
                 }
-                return false;
             }
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to register bpnl and membership policy definition for partner " + partner.getBpnl(), e);
-            return false;
         }
     }
 
     /**
-     * Registers the framework agreement policy definition
+     * Registers an asset, a policy definition or a contract definition in your control plane.
      *
-     * @return true, if registration ran successfully
+     * @param resource The resource, e.g. "assets", "policydefinitions" or "contractdefinitions"
+     * @param body     The registration body
+     * @return The http status code of the response
+     * @throws IOException If the connection to your control plane fails
      */
-    private boolean createContractPolicy() {
-        var body = edcRequestBodyBuilder.buildFrameworkPolicy();
-        try (var response = sendPostRequest(body, List.of("v3", "policydefinitions"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Framework Policy Registration failed");
-                if (response.body() != null) {
-                    log.warn("Response: \n" + response.body().string());
-                }
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to register Framework Policy", e);
-            return false;
-        }
-    }
-
-
-    private boolean registerDtrAsset() {
-        var body = edcRequestBodyBuilder.buildDtrRegistrationBody();
-        return sendAssetRegistrationRequest(body, "DTR");
-    }
-
-    private boolean registerPartTypeInfoSubmodelAsset() {
-        var body = edcRequestBodyBuilder.buildPartTypeInfoSubmodelRegistrationBody();
-        return sendAssetRegistrationRequest(body, variablesService.getPartTypeSubmodelApiAssetId());
-    }
-
-    private boolean registerSubmodelAsset(String assetId, String endpoint, String semanticId) {
-        var body = edcRequestBodyBuilder.buildSubmodelRegistrationBody(assetId, endpoint, semanticId);
-        return sendAssetRegistrationRequest(body, assetId);
-    }
-
-    private boolean registerNotificationAsset(String assetId, String endpoint) {
-        var body = edcRequestBodyBuilder.buildNotificationRegistrationBody(assetId, endpoint);
-        return sendAssetRegistrationRequest(body, assetId);
-    }
-
-    private boolean sendAssetRegistrationRequest(JsonNode body, String assetId) {
-        try (var response = sendPostRequest(body, List.of("v3", "assets"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Asset registration failed for {}", assetId);
+    public int sendRegistrationRequest(String resource, JsonNode body) throws IOException {
+        try (var response = sendPostRequest(body, List.of("v3", resource))) {
+            if (!response.isSuccessful() && response.code() != 409) {
+                log.warn("Registration of {} {} failed with status {}", resource, body.path("@id").asText(), response.code());
                 if (response.body() != null) {
                     log.warn("Response: \n" + response.body().string());
                 }
-                return false;
             }
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to register {} Asset", assetId, e);
-            return false;
+            return response.code();
         }
     }
 
@@ -337,27 +277,23 @@ public class EdcAdapterService {
      * @throws IOException If the connection to the partners control plane fails
      */
     public JsonNode getCatalog(String dspUrl, String partnerBpnl, Map<String, String> filter) throws IOException {
-        try (var response = getCatalogResponse(dspUrl, partnerBpnl, filter)) {
-            JsonNode responseNode = objectMapper.readTree(response.body().string());
-            log.debug("Got Catalog response {}", responseNode.toPrettyString());
-            return responseNode;
-        }
-
+        return getCatalog(dspUrl, partnerBpnl, null, filter);
     }
 
-    /**
-     * Helper method for contracting a certain asset as specified in the catalog item from
-     * a specific Partner.
-     * <p>
-     * Uses the dspUrl of the partner.
-     *
-     * @param partner     The Partner to negotiate with
-     * @param catalogItem An excerpt from a catalog.
-     * @return The JSON response to your contract offer.
-     * @throws IOException If the connection to the partners control plane fails
-     */
-    private JsonNode initiateNegotiation(Partner partner, JsonNode catalogItem) throws IOException {
-        return initiateNegotiation(partner, catalogItem, null);
+    private JsonNode getCatalog(String dspUrl, String partnerBpnl, AssetType type, Map<String, String> filter) throws IOException {
+        return edcPhaseMetrics.record(Phase.CATALOG, partnerBpnl, type, () -> {
+            try (var response = getCatalogResponse(dspUrl, partnerBpnl, filter)) {
+                // the control plane answers with a server error, if the partner's connector could not be reached
+                if (response.code() >= 500) {
+                    partnerCircuitBreaker.recordFailure(partnerBpnl);
+                } else {
+                    partnerCircuitBreaker.recordSuccess(partnerBpnl);
+                }
+                JsonNode responseNode = objectMapper.readTree(response.body().string());
+                log.debug("Got Catalog response {}", responseNode.toPrettyString());
+                return responseNode;
+            }
+        });
     }
 
     /**
@@ -399,13 +335,15 @@ public class EdcAdapterService {
 
     /**
      * Sends a request to the own control plane in order to receive
-     * a list of all negotiations.
+     * one page of the negotiations, newest first.
      *
-     * @return The response body as String
+     * @param offset The index of the first negotiation
+     * @param limit  The maximum number of negotiations
+     * @return The response
      * @throws IOException If the connection to your control plane fails
      */
-    public Response getAllNegotiations() throws IOException {
-        var requestBody = edcRequestBodyBuilder.buildNegotiationsRequestBody();
+    public Response getAllNegotiations(int offset, int limit) throws IOException {
+        var requestBody = edcRequestBodyBuilder.buildNegotiationsRequestBody(offset, limit);
         return sendPostRequest(requestBody, List.of("v3", "contractnegotiations", "request"));
     }
 
@@ -420,13 +358,19 @@ public class EdcAdapterService {
      * @throws IOException If the connection to your control plane fails
      */
     public JsonNode initiateProxyPullTransfer(Partner partner, String contractId, String assetId, String partnerEdcUrl) throws IOException {
+        return initiateProxyPullTransfer(partner, contractId, assetId, partnerEdcUrl, null);
+    }
+
+    private JsonNode initiateProxyPullTransfer(Partner partner, String contractId, String assetId, String partnerEdcUrl, AssetType type) throws IOException {
         var body = edcRequestBodyBuilder.buildProxyPullRequestBody(partner, contractId, assetId, partnerEdcUrl);
-        try (var response = sendPostRequest(body, List.of("v3", "transferprocesses"))) {
-            String data = response.body().string();
-            JsonNode result = objectMapper.readTree(data);
-            log.debug("Got response from Proxy pull transfer init: {}", result.toPrettyString());
-            return result;
-        }
+        return edcPhaseMetrics.record(Phase.TRANSFER_START, partner.getBpnl(), type, () -> {
+            try (var response = sendPostRequest(body, List.of("v3", "transferprocesses"))) {
+                String data = response.body().string();
+                JsonNode result = objectMapper.readTree(data);
+                log.debug("Got response from Proxy pull transfer init: {}", result.toPrettyString());
+                return result;
+            }
+        });
     }
 
     public JsonNode initiateProxyPullTransfer(Partner partner, String contractId, String assetId) throws IOException {
@@ -451,31 +395,67 @@ public class EdcAdapterService {
 
     /**
      * Sends a request to the own control plane in order to receive
-     * a list of all transfers.
+     * one page of the transfers, newest first.
      *
+     * @param offset The index of the first transfer
+     * @param limit  The maximum number of transfers
      * @return The response
      * @throws IOException If the connection to your control plane fails
      */
-    public Response getAllTransfers() throws IOException {
-        var requestBody = edcRequestBodyBuilder.buildTransfersRequestBody();
+    public Response getAllTransfers(int offset, int limit) throws IOException {
+        var requestBody = edcRequestBodyBuilder.buildTransfersRequestBody(offset, limit);
         log.debug("GetAllTransfers Request: {}", requestBody.toPrettyString());
         return sendPostRequest(requestBody, List.of("v3", "transferprocesses", "request"));
     }
 
     /**
      * Sends a request to the own control plane in order to receive
-     * the contract agreement with the given contractAgreementId
+     * the contract agreement with the given contractAgreementId.
+     * <p>
+     * Contract agreements never change once they have been concluded, so successfully
+     * retrieved agreements are cached and served without contacting the control plane again.
      *
      * @param contractAgreementId The contractAgreement's Id
      * @return The contractAgreement
      * @throws IOException If the connection to your control plane fails
      */
     public String getContractAgreement(String contractAgreementId) throws IOException {
+        String cached = contractAgreementCache.getIfPresent(contractAgreementId);
+        if (cached != null) {
+            return cached;
+        }
         try (var response = sendGetRequest(List.of("v3", "contractagreements", contractAgreementId))) {
-            return response.body().string();
+            String data = response.body().string();
+            if (response.isSuccessful()) {
+                contractAgreementCache.put(contractAgreementId, data);
+            }
+            return data;
         }
     }
 
+    /**
+     * Retrieves the contract agreements with the given ids. Agreements that are not cached yet
+     * are requested from the own control plane in parallel, on at most
+     * {@code puris.edc.batch.concurrency} threads at a time.
+     *
+     * @param contractAgreementIds The contractAgreements' Ids
+     * @return The parsed contractAgreements, mapped by their id. Agreements that could not be retrieved are missing.
+     */
+    public Map<String, JsonNode> getContractAgreements(Collection<String> contractAgreementIds) {
+        Map<String, JsonNode> agreements = new ConcurrentHashMap<>();
+        forEachBounded(new HashSet<>(contractAgreementIds), contractAgreementId -> {
+            try {
+                JsonNode agreement = objectMapper.readTree(getContractAgreement(contractAgreementId));
+                if (agreement != null && agreement.isObject()) {
+                    agreements.put(contractAgreementId, agreement);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to retrieve contract agreement {}: {}", contractAgreementId, e.getMessage());
+            }
+        });
+        return agreements;
+    }
+
     /**
      * Util method for sending a post request the given endpoint
      * in order to initiate a proxy pull request.
@@ -504,27 +484,79 @@ public class EdcAdapterService {
     }
 
     public Response getProxyPullRequest(String url, String authKey, String authCode, String[] pathParams) {
+        return getProxyPullRequest(url, authKey, authCode, pathParams, null);
+    }
+
+    /**
+     * Sends a (conditional) GET request to the data plane of a partner.
+     * Any caller of this method has the responsibility to close
+     * the returned Response object after using it.
+     *
+     * @param url         the url of the data plane
+     * @param authKey     the name of the authorization header
+     * @param authCode    the value of the authorization header
+     * @param pathParams  the path segments to append to the url
+     * @param ifNoneMatch the entity tag of the last received version, may be null
+     * @return the response or null, if the request failed
+     */
+    public Response getProxyPullRequest(String url, String authKey, String authCode, String[] pathParams, String ifNoneMatch) {
         HttpUrl.Builder urlBuilder = HttpUrl.parse(url).newBuilder();
         for (var pathSegment : pathParams) {
             urlBuilder.addPathSegment(pathSegment);
         }
         try {
-            var request = new Request.Builder()
+            var requestBuilder = new Request.Builder()
                 .get()
                 .url(urlBuilder.build())
-                .header(authKey, authCode)
-                .build();
-            return CLIENT.newCall(request).execute();
+                .header(authKey, authCode);
+            if (ifNoneMatch != null) {
+                requestBuilder.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+            return CLIENT.newCall(requestBuilder.build()).execute();
         } catch (Exception e) {
             log.error("ProxyPull GET Request failed ", e);
             return null;
         }
     }
 
-    private JsonNode postNotificationToPartner(Partner partner, AssetType type, JsonNode payload, int retries) {
-        if (retries < 0) {
-            return null;
+    /**
+     * Outcome of a single attempt of a request to a partner.
+     *
+     * @param value the result of the attempt, null if it failed
+     * @param retry true, if the attempt failed and another attempt may succeed
+     */
+    private record Attempt<T>(T value, boolean retry) {
+
+        static <T> Attempt<T> success(T value) {
+            return new Attempt<>(value, false);
         }
+
+        static <T> Attempt<T> failure(boolean retryable) {
+            return new Attempt<>(null, retryable);
+        }
+    }
+
+    private JsonNode postNotificationToPartner(Partner partner, AssetType type, JsonNode payload, Deadline deadline) {
+        for (Retry retry = deadline.retry(); retry.next(); ) {
+            if (!partnerCircuitBreaker.tryAcquire(partner.getBpnl())) {
+                log.warn("Skipping " + type + " request, the connector of " + partner.getBpnl() + " is unavailable");
+                return null;
+            }
+            Attempt<JsonNode> attempt;
+            try {
+                attempt = doPostNotificationToPartner(partner, type, payload, deadline);
+            } finally {
+                partnerCircuitBreaker.release(partner.getBpnl());
+            }
+            if (!attempt.retry()) {
+                return attempt.value();
+            }
+        }
+        log.error("Failed to post " + type + " to " + partner.getBpnl() + " within the retry budget");
+        return null;
+    }
+
+    private Attempt<JsonNode> doPostNotificationToPartner(Partner partner, AssetType type, JsonNode payload, Deadline deadline) {
         boolean failed = true;
         String partnerDspUrl = partner.getEdcUrl();
         var assetId = switch (type) {
@@ -535,38 +567,57 @@ public class EdcAdapterService {
             String contractId = edcContractMappingService.getContractId(partner, type, assetId, partnerDspUrl);
             if (contractId == null) {
                 log.info("Need Contract for " + type + " with " + partner.getBpnl());
-                if (negotiateContractForNotification(partner, type)) {
+                if (negotiateContractForNotification(partner, type, deadline)) {
                     contractId = edcContractMappingService.getContractId(partner, type, assetId, partnerDspUrl);
                 } else {
                     log.error("Failed to contract for " + type + " with " + partner.getBpnl());
-                    return postNotificationToPartner(partner, type, payload, --retries);
+                    return Attempt.failure(true);
                 }
             }
             // Request EdrToken
-            var transferResp = initiateProxyPullTransfer(partner, contractId, assetId, partnerDspUrl);
+            var transferResp = initiateProxyPullTransfer(partner, contractId, assetId, partnerDspUrl, type);
             log.debug("Transfer Request {}", transferResp.toPrettyString());
             String transferId = transferResp.get("@id").asText();
             // try proxy pull and terminate request
             try {
-                EdrDto edrDto = getAndAwaitEdrDto(transferId);
+                EdrDto edrDto = getAndAwaitEdrDto(transferId, partner, type, deadline);
                 log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
                 if (edrDto == null) {
                     log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
-                    return doNotificationPostRequest(type, partner, payload, --retries);
+                    return Attempt.failure(true);
                 }
-                try (var response = postProxyPullRequest(edrDto.endpoint(), edrDto.authKey(), edrDto.authCode(), new ObjectMapper().writeValueAsString(payload))) {
+                String requestBody = new ObjectMapper().writeValueAsString(payload);
+                try (var response = edcPhaseMetrics.record(Phase.DATA_PLANE_REQUEST, partner.getBpnl(), type, () -> {
+                    try {
+                        return postProxyPullRequest(edrDto.endpoint(), edrDto.authKey(), edrDto.authCode(), requestBody);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to post " + type + " to data plane of " + partner.getBpnl(), e);
+                        return null;
+                    }
+                }, EdcPhaseMetrics::isSuccessful)) {
+                    checkDataPlaneResponse(response, partner, type);
                     if (response.isSuccessful()) {
                         String responseString = response.body().string();
                         failed = false;
-                        return objectMapper.readTree(responseString);
+                        return Attempt.success(objectMapper.readTree(responseString));
+                    }
+                    log.info("Failed to post Notification to Partner, status " + response.code());
+                    if (!EdcRetryPolicy.isRetryable(response.code())) {
+                        // the partner rejected the notification itself, not the contract
+                        failed = false;
+                        return Attempt.failure(false);
                     }
-                    log.info("Failed to post Notification to Partner.");
                 }
             } finally {
                 if (transferId != null) {
-                    terminateTransfer(transferId);
+                    terminateTransfer(transferId, partner, type);
                 }
             }
+        } catch (PartnerUnavailableException | DeadlineExceededException e) {
+            // the contract is not to blame and a retry would run into the same timeout
+            failed = false;
+            log.error("Failed to post " + type + " to " + partner.getBpnl() + ": " + e.getMessage());
+            return Attempt.failure(false);
         } catch (Exception e) {
             log.error("Error in Transfer Request for " + type + " at " + partner.getBpnl(), e);
         } finally {
@@ -575,23 +626,57 @@ public class EdcAdapterService {
                 edcContractMappingService.putContractId(partner, type, assetId, partnerDspUrl, null);
             }
         }
-        return postNotificationToPartner(partner, type, payload, --retries);
+        return Attempt.failure(true);
     }
 
-    private JsonNode getSubmodelFromPartner(MaterialPartnerRelation mpr, AssetType type, DirectionCharacteristic direction, int retries) {
-        if (retries < 0) {
-            return null;
+    /**
+     * @param data        the submodel, null if it was not modified
+     * @param etag        the entity tag of the submodel
+     * @param notModified true, if the submodel equals the version identified by the requested entity tag
+     */
+    private record SubmodelResponse<T>(T data, String etag, boolean notModified) {
+    }
+
+    private <T> SubmodelResponse<T> getSubmodelFromPartner(MaterialPartnerRelation mpr, AssetType type, DirectionCharacteristic direction,
+                                                           Deadline deadline, String ifNoneMatch, Class<T> submodelClass) {
+        String partnerBpnl = mpr.getPartner().getBpnl();
+        for (Retry retry = deadline.retry(); retry.next(); ) {
+            if (!partnerCircuitBreaker.tryAcquire(partnerBpnl)) {
+                log.warn("Skipping " + type + " request, the connector of " + partnerBpnl + " is unavailable");
+                return null;
+            }
+            Attempt<SubmodelResponse<T>> attempt;
+            try {
+                attempt = doGetSubmodelFromPartner(mpr, type, direction, deadline, ifNoneMatch, submodelClass);
+            } finally {
+                partnerCircuitBreaker.release(partnerBpnl);
+            }
+            if (!attempt.retry()) {
+                return attempt.value();
+            }
         }
+        log.error("Failed to obtain " + type + " from " + partnerBpnl + " within the retry budget");
+        return null;
+    }
+
+    private <T> Attempt<SubmodelResponse<T>> doGetSubmodelFromPartner(MaterialPartnerRelation mpr, AssetType type,
+                                                                      DirectionCharacteristic direction, Deadline deadline,
+                                                                      String ifNoneMatch, Class<T> submodelClass) {
         Partner partner = mpr.getPartner();
         SubmodelData submodelData = switch (type) {
             case DTR -> throw new IllegalArgumentException("DTR not supported");
-            case ITEM_STOCK_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID, direction);
-            case PRODUCTION_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID, direction);
-            case DEMAND_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID, direction);
-            case DELIVERY_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID, direction);
+            case ITEM_STOCK_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID, direction, deadline);
+            case PRODUCTION_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID, direction, deadline);
+            case DEMAND_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID, direction, deadline);
+            case DELIVERY_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID, direction, deadline);
             case NOTIFICATION -> throw new IllegalArgumentException("DemandAndCapacityNotification not supported");
-            case PART_TYPE_INFORMATION_SUBMODEL -> fetchPartTypeSubmodelData(mpr);
+            case PART_TYPE_INFORMATION_SUBMODEL -> fetchPartTypeSubmodelData(mpr, deadline);
         };
+        if (submodelData == null) {
+            // the DTR lookup has already been retried within the same deadline
+            log.error("Failed to obtain submodel descriptor for " + type + " from " + partner.getBpnl());
+            return Attempt.failure(false);
+        }
         boolean failed = true;
         try {
             String assetId = submodelData.assetId();
@@ -599,11 +684,11 @@ public class EdcAdapterService {
             String submodelContractId = edcContractMappingService.getContractId(partner, type, assetId, partnerDspUrl);
             if (submodelContractId == null) {
                 log.info("Need Contract for " + type + " with " + partner.getBpnl());
-                if (negotiateContractForSubmodel(mpr, type, direction)) {
+                if (negotiateContract(partner, assetId, type, partnerDspUrl, getSubmodelCatalogFilters(type), deadline)) {
                     submodelContractId = edcContractMappingService.getContractId(partner, type, assetId, partnerDspUrl);
                 } else {
                     log.error("Failed to contract for " + type + " with " + partner.getBpnl());
-                    return getSubmodelFromPartner(mpr, type, direction, --retries);
+                    return Attempt.failure(true);
                 }
             }
             if (!partner.getEdcUrl().equals(partnerDspUrl)) {
@@ -612,34 +697,53 @@ public class EdcAdapterService {
                 log.warn("URL from AAS: " + partnerDspUrl);
             }
             // Request EdrToken
-            var transferResp = initiateProxyPullTransfer(partner, submodelContractId, assetId, partnerDspUrl);
+            var transferResp = initiateProxyPullTransfer(partner, submodelContractId, assetId, partnerDspUrl, type);
             log.debug("Transfer Request {}", transferResp.toPrettyString());
             String transferId = transferResp.get("@id").asText();
             // try proxy pull and terminate request
             try {
-                EdrDto edrDto = getAndAwaitEdrDto(transferId);
+                EdrDto edrDto = getAndAwaitEdrDto(transferId, partner, type, deadline);
                 log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
                 if (edrDto == null) {
                     log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
-                    return doSubmodelRequest(type, mpr, direction, --retries);
+                    return Attempt.failure(true);
                 }
                 if (!submodelData.href().startsWith(edrDto.endpoint())) {
                     log.warn("Diverging URLs in ItemStock Submodel request");
                     log.warn("href: " + submodelData.href());
                     log.warn("Data plane base URL from EDR: " + edrDto.endpoint());
                 }
-                try (var response = getProxyPullRequest(submodelData.href, edrDto.authKey(), edrDto.authCode(), new String[]{type.REPRESENTATION})) {
-                    if (response.isSuccessful()) {
-                        String responseString = response.body().string();
+                try (var response = edcPhaseMetrics.record(Phase.DATA_PLANE_REQUEST, partner.getBpnl(), type,
+                    () -> getProxyPullRequest(submodelData.href, edrDto.authKey(), edrDto.authCode(),
+                        new String[]{type.REPRESENTATION}, ifNoneMatch),
+                    EdcPhaseMetrics::isSuccessful)) {
+                    checkDataPlaneResponse(response, partner, type);
+                    var submodelResponse = readSubmodelResponse(response, type, ifNoneMatch, submodelClass);
+                    if (submodelResponse != null) {
                         failed = false;
-                        return objectMapper.readTree(responseString);
+                        return Attempt.success(submodelResponse);
+                    }
+                    if (!EdcRetryPolicy.isRetryable(response.code())) {
+                        // e.g. the partner does not provide the submodel for this material, the contract is fine
+                        failed = false;
+                        return Attempt.failure(false);
                     }
                 }
             } finally {
                 if (transferId != null) {
-                    terminateTransfer(transferId);
+                    terminateTransfer(transferId, partner, type);
                 }
             }
+        } catch (SizeLimitedInputStream.PayloadTooLargeException e) {
+            // the contract is fine and a retry would receive the same payload
+            failed = false;
+            log.error("Rejected " + type + " from " + partner.getBpnl() + ": " + e.getMessage());
+            return Attempt.failure(false);
+        } catch (PartnerUnavailableException | DeadlineExceededException e) {
+            // the contract is not to blame and a retry would run into the same timeout
+            failed = false;
+            log.error("Failed to obtain " + type + " from " + partner.getBpnl() + ": " + e.getMessage());
+            return Attempt.failure(false);
         } catch (Exception e) {
             log.error("Error in Submodel Transfer Request for " + type + " at " + partner.getBpnl(), e);
         } finally {
@@ -648,59 +752,455 @@ public class EdcAdapterService {
                 edcContractMappingService.putContractId(partner, type, submodelData.assetId(), submodelData.dspUrl(), null);
             }
         }
-        return getSubmodelFromPartner(mpr, type, direction, --retries);
+        return Attempt.failure(true);
+    }
+
+    /**
+     * @param response      the response of the partner's data plane
+     * @param type          the type of the submodel
+     * @param ifNoneMatch   the entity tag that has been sent as If-None-Match header, may be null
+     * @param submodelClass the class of the submodel
+     * @return the submodel response or null, if the request was not successful
+     * @throws IOException if the payload could not be read, parsed or exceeds the maximum size
+     */
+    private <T> SubmodelResponse<T> readSubmodelResponse(Response response, AssetType type, String ifNoneMatch,
+                                                         Class<T> submodelClass) throws IOException {
+        String etag = response.header(HttpHeaders.ETAG);
+        if (response.code() == 304 || (response.isSuccessful() && etag != null && etag.equals(ifNoneMatch))) {
+            return new SubmodelResponse<>(null, ifNoneMatch, true);
+        }
+        if (!response.isSuccessful()) {
+            return null;
+        }
+        T data = readSubmodel(response, submodelClass);
+        if (etag == null) {
+            // the data plane does not necessarily forward the headers of the partner's backend
+            etag = submodelFingerprint.of(data, type);
+            if (etag.equals(ifNoneMatch)) {
+                return new SubmodelResponse<>(null, etag, true);
+            }
+        }
+        return new SubmodelResponse<>(data, etag, false);
+    }
+
+    /**
+     * Deserializes the submodel directly from the response stream, without buffering it as
+     * String or JSON tree. Payloads larger than the configured maximum size are rejected.
+     *
+     * @param response      the successful response of the partner's data plane
+     * @param submodelClass the class of the submodel
+     * @return the submodel
+     * @throws SizeLimitedInputStream.PayloadTooLargeException if the payload exceeds the maximum size
+     * @throws IOException                                     if the payload could not be read or parsed
+     */
+    private <T> T readSubmodel(Response response, Class<T> submodelClass) throws IOException {
+        long maxSize = variablesService.getSubmodelMaxSizeInBytes();
+        ResponseBody body = response.body();
+        if (body.contentLength() > maxSize) {
+            throw new SizeLimitedInputStream.PayloadTooLargeException(maxSize);
+        }
+        try (var stream = new SizeLimitedInputStream(body.byteStream(), maxSize)) {
+            return objectMapper.readValue(stream, submodelClass);
+        }
+    }
+
+    /**
+     * Reports the availability of the partner's data plane to the {@link PartnerCircuitBreaker}.
+     *
+     * @param response the response of the partner's data plane, null if the request failed
+     * @param partner  the partner
+     * @param type     the asset type of the request
+     * @throws PartnerUnavailableException if the data plane or the partner's backend behind it did not respond
+     */
+    private void checkDataPlaneResponse(Response response, Partner partner, AssetType type) throws PartnerUnavailableException {
+        if (response == null || response.code() == 502 || response.code() == 503 || response.code() == 504) {
+            partnerCircuitBreaker.recordFailure(partner.getBpnl());
+            throw new PartnerUnavailableException("The data plane of " + partner.getBpnl() + " did not answer the " + type + " request");
+        }
+        partnerCircuitBreaker.recordSuccess(partner.getBpnl());
     }
 
     /**
      * Get the EDR via edr api and retry multiple times in case the EDR has not yet been available
      *
      * @param transferProcessId to get the EDR for, not null
-     * @return edr received, or null if not yet available
-     * @throws InterruptedException if thread was not able to sleep
+     * @param partner           the partner of the transfer
+     * @param type              the asset type of the transfer
+     * @param deadline          the deadline of the request, bounds the transfer and EDR timeouts
+     * @return edr received, or null if not yet available or if the transfer has been terminated
+     * @throws PartnerUnavailableException if the partner's connector did not start the transfer in time
+     * @throws DeadlineExceededException   if the deadline expired before the transfer has been started
+     * @throws Exception                   if thread was not able to sleep or the connection to your control plane fails
      */
-    private @Nullable EdrDto getAndAwaitEdrDto(String transferProcessId) throws InterruptedException, IOException {
-        for (int i = 0; i < 100; i++) {
+    private @Nullable EdrDto getAndAwaitEdrDto(String transferProcessId, Partner partner, AssetType type, Deadline deadline) throws Exception {
+        return edcPhaseMetrics.record(Phase.EDR_AWAIT, partner.getBpnl(), type,
+            () -> getAndAwaitEdrDto(transferProcessId, partner.getBpnl(), deadline), Objects::nonNull);
+    }
+
+    private @Nullable EdrDto getAndAwaitEdrDto(String transferProcessId, String partnerBpnl, Deadline deadline) throws InterruptedException, IOException {
+        String state;
+        long transferEnd = deadline.transferEnd();
+        // poll at least once, even if the deadline has expired during the previous phases
+        do {
             Thread.sleep(100);
-            JsonNode transferResp = getTransferState(transferProcessId);
-            if ("STARTED".equals(transferResp.get("state").asText())) {
-                break;
-            }
+            state = getTransferState(transferProcessId).get("state").asText();
+        } while (!"STARTED".equals(state) && !"TERMINATED".equals(state) && System.nanoTime() - transferEnd < 0);
+        if ("TERMINATED".equals(state)) {
+            log.error("Transfer process " + transferProcessId + " with " + partnerBpnl + " has been terminated");
+            return null;
+        }
+        if (!"STARTED".equals(state) && deadline.isExpired()) {
+            // the transfer phase has been cut short by the deadline of the request, the partner is not to blame
+            throw new DeadlineExceededException("Deadline expired before transfer process " + transferProcessId
+                + " with " + partnerBpnl + " has been started, last state " + state);
         }
-        EdrDto edrDto = null;
+        if (!"STARTED".equals(state)) {
+            partnerCircuitBreaker.recordFailure(partnerBpnl);
+            throw new PartnerUnavailableException("Transfer process " + transferProcessId + " with " + partnerBpnl
+                + " has not been started, last state " + state);
+        }
+        partnerCircuitBreaker.recordSuccess(partnerBpnl);
         // retry, if Data Space Protocol / Data Plane Provisioning communication needs time to prepare
-        for (int i = 0; i < 100; i++) {
-            edrDto = getEdrForTransferProcessId(transferProcessId, 2);
-            if (edrDto != null) {
-                break;
-            }
+        long edrEnd = deadline.edrEnd();
+        EdrDto edrDto = getEdrForTransferProcessId(transferProcessId);
+        while (edrDto == null && System.nanoTime() - edrEnd < 0) {
             Thread.sleep(100);
+            edrDto = getEdrForTransferProcessId(transferProcessId);
         }
         return edrDto;
     }
 
-    public JsonNode doSubmodelRequest(AssetType type, MaterialPartnerRelation mpr, DirectionCharacteristic direction, int retries) {
-        if (retries < 0) {
-            return null;
+    public JsonNode doSubmodelRequest(AssetType type, MaterialPartnerRelation mpr, DirectionCharacteristic direction) {
+        var response = getSubmodelFromPartner(mpr, type, direction, edcRetryPolicy.start(), null, JsonNode.class);
+        return response == null ? null : response.data();
+    }
+
+    /**
+     * Callback for a submodel received by {@link #doConditionalSubmodelRequest}.
+     *
+     * @param <T> the class of the submodel
+     */
+    @FunctionalInterface
+    public interface SubmodelHandler<T> {
+
+        /**
+         * @param submodel the received submodel
+         * @return true, if the submodel has been processed. Otherwise, the submodel
+         * will be requested in full again the next time.
+         * @throws Exception if the submodel could not be processed
+         */
+        boolean handle(T submodel) throws Exception;
+    }
+
+    /**
+     * Requests a submodel from the partner, unless it has not changed since it has last
+     * been processed. In this case, neither the deserialization nor the handler are invoked.
+     * <p>
+     * Failed attempts are retried within the budget of the {@link EdcRetryPolicy}.
+     * <p>
+     * The entity tag of the last processed version is sent as If-None-Match header. If the
+     * partner's data plane does not pass on the ETag header, the received submodel is compared
+     * to the last processed version by its {@link SubmodelFingerprint}.
+     * <p>
+     * The submodel is deserialized directly from the response stream into the given class.
+     *
+     * @param type          the type of the submodel
+     * @param mpr           the material partner relation
+     * @param direction     the direction, if applicable for the type
+     * @param submodelClass the class of the submodel, e.g. ItemStockSamm
+     * @param handler       processes the submodel, if it has changed
+     * @return true, if the submodel has not been modified or has been processed by the handler
+     * @throws Exception if thrown by the handler
+     */
+    public <T> boolean doConditionalSubmodelRequest(AssetType type, MaterialPartnerRelation mpr, DirectionCharacteristic direction,
+                                                    Class<T> submodelClass, SubmodelHandler<T> handler) throws Exception {
+        String knownEtag = submodelEtagCache.get(mpr, type, direction);
+        var response = getSubmodelFromPartner(mpr, type, direction, edcRetryPolicy.start(), knownEtag, submodelClass);
+        if (response == null) {
+            log.error("Failed to obtain " + type + " from " + mpr.getPartner().getBpnl() + " for "
+                + mpr.getMaterial().getOwnMaterialNumber());
+            return false;
         }
-        var data = getSubmodelFromPartner(mpr, type, direction, 1);
-        if (data == null) {
-            return doSubmodelRequest(type, mpr, direction, --retries);
+        return handleSubmodelResponse(response, type, mpr, direction, handler);
+    }
+
+    private <T> boolean handleSubmodelResponse(SubmodelResponse<T> response, AssetType type, MaterialPartnerRelation mpr,
+                                               DirectionCharacteristic direction, SubmodelHandler<T> handler) throws Exception {
+        if (response.notModified()) {
+            log.info(type + " from " + mpr.getPartner().getBpnl() + " for " + mpr.getMaterial().getOwnMaterialNumber()
+                + " has not been modified");
+            return true;
+        }
+        submodelEtagCache.remove(mpr, type, direction);
+        if (handler.handle(response.data())) {
+            submodelEtagCache.put(mpr, type, direction, response.etag());
+            return true;
         }
-        return data;
+        return false;
     }
 
-    public JsonNode doNotificationPostRequest(AssetType type, Partner partner, JsonNode body, int retries) {
-        if (retries < 0) {
-            return null;
+    /**
+     * Callback for the submodels received by {@link #doConditionalSubmodelBatchRequest}.
+     *
+     * @param <T> the class of the submodel
+     */
+    @FunctionalInterface
+    public interface BatchSubmodelHandler<T> {
+
+        /**
+         * @param mpr      the material partner relation the submodel has been requested for
+         * @param submodel the received submodel
+         * @return true, if the submodel has been processed. Otherwise, the submodel
+         * will be requested in full again the next time.
+         * @throws Exception if the submodel could not be processed
+         */
+        boolean handle(MaterialPartnerRelation mpr, T submodel) throws Exception;
+    }
+
+    /**
+     * Requests a submodel for several materials from one partner, with the same conditional
+     * semantics as {@link #doConditionalSubmodelRequest}.
+     * <p>
+     * In contrast to one request per material, the partner's DTR is transferred only once and all
+     * shells and submodel descriptors are looked up with the same EDR. Afterward, one transfer is
+     * started per submodel asset (usually one for all materials) and all submodels are fetched with
+     * its EDR. The lookups and submodel requests are sent in parallel, bounded by
+     * {@code puris.edc.batch.concurrency}. The handler may be invoked concurrently for different relations.
+     * <p>
+     * There are no retries within the batch, but all phases are bounded by one deadline of the
+     * {@link EdcRetryPolicy}. Relations that failed can be requested individually.
+     *
+     * @param type          the type of the submodel, DTR, notifications and part type information are not supported
+     * @param partner       the partner to request the submodels from
+     * @param mprs          the material partner relations of the partner
+     * @param direction     the direction of the submodel
+     * @param submodelClass the class of the submodel, e.g. ItemStockSamm
+     * @param handler       processes the submodel of a relation, if it has changed
+     * @return for each relation, whether its submodel has not been modified or has been processed by the handler
+     */
+    public <T> Map<MaterialPartnerRelation, Boolean> doConditionalSubmodelBatchRequest(AssetType type, Partner partner,
+                                                                                      Collection<MaterialPartnerRelation> mprs,
+                                                                                      DirectionCharacteristic direction,
+                                                                                      Class<T> submodelClass,
+                                                                                      BatchSubmodelHandler<T> handler) {
+        switch (type) {
+            case ITEM_STOCK_SUBMODEL, PRODUCTION_SUBMODEL, DEMAND_SUBMODEL, DELIVERY_SUBMODEL -> {
+            }
+            default -> throw new IllegalArgumentException("Batch requests are not supported for " + type);
+        }
+        Map<MaterialPartnerRelation, Boolean> results = new ConcurrentHashMap<>();
+        for (var mpr : mprs) {
+            if (!partner.equals(mpr.getPartner())) {
+                throw new IllegalArgumentException("Relation " + mpr.getKey() + " does not belong to " + partner.getBpnl());
+            }
+            results.put(mpr, false);
+        }
+        if (results.isEmpty()) {
+            return results;
         }
-        var data = postNotificationToPartner(partner, type, body, retries);
-        if (data == null) {
-            return doNotificationPostRequest(type, partner, body, --retries);
+        if (!partnerCircuitBreaker.tryAcquire(partner.getBpnl())) {
+            log.warn("Skipping " + type + " batch request, the connector of " + partner.getBpnl() + " is unavailable");
+            return results;
         }
-        return data;
+        try {
+            long start = System.currentTimeMillis();
+            Deadline deadline = edcRetryPolicy.start();
+            var submodelData = fetchSubmodelDataBatch(partner, results.keySet(), type, direction, deadline);
+            // usually all submodels of a type are provided via the same asset
+            Map<List<String>, List<MaterialPartnerRelation>> mprsByAsset = new HashMap<>();
+            submodelData.forEach((mpr, data) ->
+                mprsByAsset.computeIfAbsent(List.of(data.assetId(), data.dspUrl()), asset -> new ArrayList<>()).add(mpr));
+            for (var entry : mprsByAsset.entrySet()) {
+                fetchSubmodelBatch(partner, type, direction, entry.getKey().get(0), entry.getKey().get(1), entry.getValue(),
+                    submodelData, submodelClass, handler, results, deadline);
+            }
+            long successful = results.values().stream().filter(Boolean::booleanValue).count();
+            log.info("Batch request for " + type + " from " + partner.getBpnl() + " finished in "
+                + (System.currentTimeMillis() - start) + " ms: " + successful + " of " + results.size() + " up-to-date");
+        } finally {
+            partnerCircuitBreaker.release(partner.getBpnl());
+        }
+        return results;
     }
 
-    private boolean negotiateForPartnerDtr(Partner partner) {
+    /**
+     * Looks up the submodel descriptors for all relations within one transfer of the partner's DTR.
+     *
+     * @return the submodel data of all relations that have been found
+     */
+    private Map<MaterialPartnerRelation, SubmodelData> fetchSubmodelDataBatch(Partner partner, Collection<MaterialPartnerRelation> mprs,
+                                                                             AssetType type, DirectionCharacteristic direction,
+                                                                             Deadline deadline) {
+        Map<MaterialPartnerRelation, SubmodelData> submodelData = new ConcurrentHashMap<>();
+        boolean criticalFailure = true;
+        try {
+            var dtrContractData = edcContractMappingService.getDtrAssetAndContractId(partner);
+            if (dtrContractData[0] == null || dtrContractData[1] == null) {
+                if (!negotiateForPartnerDtr(partner, deadline)) {
+                    return submodelData;
+                }
+                dtrContractData = edcContractMappingService.getDtrAssetAndContractId(partner);
+            }
+            String assetId = dtrContractData[0];
+            var transferResp = initiateProxyPullTransfer(partner, dtrContractData[1], assetId, partner.getEdcUrl(), AssetType.DTR);
+            String transferId = transferResp.get("@id").asText();
+            try {
+                EdrDto edrDto = getAndAwaitEdrDto(transferId, partner, AssetType.DTR, deadline);
+                if (edrDto == null) {
+                    log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
+                    return submodelData;
+                }
+                AtomicBoolean registryAnswered = new AtomicBoolean();
+                forEachBounded(mprs, mpr -> {
+                    String manufacturerPartId = getManufacturerPartId(mpr, direction);
+                    try {
+                        JsonNode submodelDescriptors = edcPhaseMetrics.record(Phase.DTR_LOOKUP, partner.getBpnl(), AssetType.DTR,
+                            () -> lookupAasSubmodelDescriptors(edrDto, manufacturerPartId, getManufacturerId(mpr, direction)),
+                            Objects::nonNull);
+                        registryAnswered.set(true);
+                        SubmodelData data = submodelDescriptors == null ? null : findSubmodelData(submodelDescriptors, type.URN_SEMANTIC_ID);
+                        if (data != null) {
+                            submodelData.put(mpr, data);
+                        } else {
+                            log.warn("No " + type + " descriptor found at " + partner.getBpnl() + " for " + manufacturerPartId);
+                        }
+                    } catch (Exception e) {
+                        log.error("AasSubmodelDescriptor Request for " + manufacturerPartId + " failed: " + e.getMessage());
+                    }
+                });
+                criticalFailure = !registryAnswered.get();
+            } finally {
+                terminateTransfer(transferId, partner, AssetType.DTR);
+            }
+        } catch (PartnerUnavailableException | DeadlineExceededException e) {
+            // the DTR contract is not to blame
+            criticalFailure = false;
+            log.error("DTR batch lookup at " + partner.getBpnl() + " failed: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Error in DTR batch lookup at " + partner.getBpnl(), e);
+        } finally {
+            if (criticalFailure) {
+                log.warn("Invalidating DTR contract data");
+                edcContractMappingService.putDtrContractData(partner, null, null);
+            }
+        }
+        return submodelData;
+    }
+
+    /**
+     * Fetches the submodels of all given relations, which are provided via the same asset, within one transfer.
+     */
+    private <T> void fetchSubmodelBatch(Partner partner, AssetType type, DirectionCharacteristic direction, String assetId,
+                                        String partnerDspUrl, List<MaterialPartnerRelation> mprs,
+                                        Map<MaterialPartnerRelation, SubmodelData> submodelData, Class<T> submodelClass,
+                                        BatchSubmodelHandler<T> handler, Map<MaterialPartnerRelation, Boolean> results,
+                                        Deadline deadline) {
+        boolean failed = true;
+        try {
+            String contractId = edcContractMappingService.getContractId(partner, type, assetId, partnerDspUrl);
+            if (contractId == null) {
+                log.info("Need Contract for " + type + " with " + partner.getBpnl());
+                if (!negotiateContract(partner, assetId, type, partnerDspUrl, getSubmodelCatalogFilters(type), deadline)) {
+                    log.error("Failed to contract for " + type + " with " + partner.getBpnl());
+                    return;
+                }
+                contractId = edcContractMappingService.getContractId(partner, type, assetId, partnerDspUrl);
+            }
+            var transferResp = initiateProxyPullTransfer(partner, contractId, assetId, partnerDspUrl, type);
+            String transferId = transferResp.get("@id").asText();
+            try {
+                EdrDto edrDto = getAndAwaitEdrDto(transferId, partner, type, deadline);
+                if (edrDto == null) {
+                    log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
+                    return;
+                }
+                AtomicBoolean contractConfirmed = new AtomicBoolean();
+                AtomicBoolean partnerUnavailable = new AtomicBoolean();
+                forEachBounded(mprs, mpr -> {
+                    String knownEtag = submodelEtagCache.get(mpr, type, direction);
+                    String href = submodelData.get(mpr).href();
+                    try (var response = edcPhaseMetrics.record(Phase.DATA_PLANE_REQUEST, partner.getBpnl(), type,
+                        () -> getProxyPullRequest(href, edrDto.authKey(), edrDto.authCode(), new String[]{type.REPRESENTATION}, knownEtag),
+                        EdcPhaseMetrics::isSuccessful)) {
+                        checkDataPlaneResponse(response, partner, type);
+                        var submodelResponse = readSubmodelResponse(response, type, knownEtag, submodelClass);
+                        if (submodelResponse == null) {
+                            log.error("Failed to obtain " + type + " from " + partner.getBpnl() + " for "
+                                + mpr.getMaterial().getOwnMaterialNumber() + ", status " + response.code());
+                            return;
+                        }
+                        contractConfirmed.set(true);
+                        results.put(mpr, handleSubmodelResponse(submodelResponse, type, mpr, direction,
+                            submodel -> handler.handle(mpr, submodel)));
+                    } catch (SizeLimitedInputStream.PayloadTooLargeException e) {
+                        contractConfirmed.set(true);
+                        log.error("Rejected " + type + " from " + partner.getBpnl() + ": " + e.getMessage());
+                    } catch (PartnerUnavailableException e) {
+                        partnerUnavailable.set(true);
+                        log.error("Failed to obtain " + type + " from " + partner.getBpnl() + ": " + e.getMessage());
+                    } catch (Exception e) {
+                        log.error("Error in Submodel Request for " + type + " at " + partner.getBpnl() + " for "
+                            + mpr.getMaterial().getOwnMaterialNumber(), e);
+                    }
+                });
+                failed = !contractConfirmed.get() && !partnerUnavailable.get();
+            } finally {
+                terminateTransfer(transferId, partner, type);
+            }
+        } catch (PartnerUnavailableException | DeadlineExceededException e) {
+            // the contract is not to blame
+            failed = false;
+            log.error("Failed to obtain " + type + " from " + partner.getBpnl() + ": " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Error in Submodel Transfer Request for " + type + " at " + partner.getBpnl(), e);
+        } finally {
+            if (failed) {
+                log.warn("Invalidating Contract data for " + type + " with " + partner.getBpnl());
+                edcContractMappingService.putContractId(partner, type, assetId, partnerDspUrl, null);
+            }
+        }
+    }
+
+    /**
+     * Applies the action to all elements, on at most {@code puris.edc.batch.concurrency} threads at a time.
+     * Returns after all elements have been processed.
+     */
+    private <E> void forEachBounded(Collection<E> elements, Consumer<E> action) {
+        Queue<E> queue = new ConcurrentLinkedQueue<>(elements);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(Math.max(variablesService.getEdcBatchConcurrency(), 1), elements.size()); i++) {
+            workers.add(executorService.submit(() -> {
+                E element;
+                while ((element = queue.poll()) != null) {
+                    action.accept(element);
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for a batch request");
+                return;
+            } catch (ExecutionException e) {
+                log.error("Batch request failed", e.getCause());
+            }
+        }
+    }
+
+    public JsonNode doNotificationPostRequest(AssetType type, Partner partner, JsonNode body) {
+        return postNotificationToPartner(partner, type, body, edcRetryPolicy.start());
+    }
+
+    private boolean negotiateForPartnerDtr(Partner partner, Deadline deadline) {
+        // negotiate only once at a time per partner, even if several backend instances need the contract
+        return jobLeaseService.singleFlight(negotiationLeaseName(partner, AssetType.DTR, null), NEGOTIATION_LEASE_DURATION,
+            () -> doNegotiateForPartnerDtr(partner, deadline),
+            () -> edcContractMappingService.getDtrAssetAndContractId(partner)[1] != null);
+    }
+
+    private boolean doNegotiateForPartnerDtr(Partner partner, Deadline deadline) {
         try {
             Map<String, String> equalFilters = new HashMap<>();
             equalFilters.put(EdcRequestBodyBuilder.CX_COMMON_NAMESPACE + "version", "3.0");
@@ -708,7 +1208,7 @@ public class EdcAdapterService {
                 "'" + EdcRequestBodyBuilder.DCT_NAMESPACE + "type'.'@id'",
                 EdcRequestBodyBuilder.CX_TAXO_NAMESPACE + "DigitalTwinRegistry"
             );
-            var responseNode = getCatalog(partner.getEdcUrl(), partner.getBpnl(), equalFilters);
+            var responseNode = getCatalog(partner.getEdcUrl(), partner.getBpnl(), AssetType.DTR, equalFilters);
             responseNode = jsonLdUtils.expand(responseNode);
 
             var catalogArray = responseNode.get(EdcRequestBodyBuilder.DCAT_NAMESPACE + "dataset");
@@ -729,26 +1229,12 @@ public class EdcAdapterService {
             }
             String assetId = targetCatalogEntry.get("@id").asText();
             log.debug("Found contract offer for asset {}", assetId);
-            JsonNode negotiationResponse = initiateNegotiation(partner, targetCatalogEntry);
-            String negotiationId = negotiationResponse.get("@id").asText();
-            log.info("Started negotiation with id {}", negotiationId);
-            // Await confirmation of contract and contractId
-            String contractId = null;
-            for (int i = 0; i < 100; i++) {
-                Thread.sleep(100);
-                var responseObject = getNegotiationState(negotiationId);
-                if ("FINALIZED".equals(responseObject.get("state").asText())) {
-                    contractId = responseObject.get("contractAgreementId").asText();
-                    log.info("Contracted DTR with contractAgreementId {}", contractId);
-                    break;
-                }
-            }
+            String contractId = negotiateContractAgreement(partner, targetCatalogEntry, null, AssetType.DTR, deadline);
             if (contractId == null) {
-                var negotiationState = getNegotiationState(negotiationId);
-                log.warn("no contract id, last negotiation state: \n" + negotiationState.toPrettyString());
                 log.error("Failed to obtain " + assetId + " from " + partner.getEdcUrl());
                 return false;
             }
+            log.info("Contracted DTR with contractAgreementId {}", contractId);
             log.info("Got contract for DTR api with partner {}", partner.getBpnl());
             edcContractMappingService.putDtrContractData(partner, assetId, contractId);
             return true;
@@ -758,21 +1244,60 @@ public class EdcAdapterService {
         }
     }
 
-    private SubmodelData fetchSubmodelDataByDirection(MaterialPartnerRelation mpr, String semanticId, DirectionCharacteristic direction) {
-        String manufacturerPartId = switch (direction) {
+    /**
+     * Initiates a negotiation for the given catalog item and awaits its confirmation.
+     *
+     * @param partner     The Partner to negotiate with
+     * @param catalogItem An excerpt from a catalog.
+     * @param dspUrl      The dspUrl if a specific (not from MAD Partner) needs to be used, if null, the partners edcUrl is taken
+     * @param type        The asset type to negotiate for
+     * @param deadline    The deadline of the request, bounds the negotiation timeout
+     * @return The contract agreement id or null, if the negotiation was not finalized in time
+     * @throws Exception If the connection to your control plane fails or the thread was not able to sleep
+     */
+    private String negotiateContractAgreement(Partner partner, JsonNode catalogItem, String dspUrl, AssetType type,
+                                              Deadline deadline) throws Exception {
+        return edcPhaseMetrics.record(Phase.NEGOTIATION, partner.getBpnl(), type, () -> {
+            JsonNode negotiationResponse = initiateNegotiation(partner, catalogItem, dspUrl);
+            String negotiationId = negotiationResponse.get("@id").asText();
+            log.info("Started negotiation with id {}", negotiationId);
+            // Await confirmation of contract and contractId
+            long negotiationEnd = deadline.negotiationEnd();
+            while (System.nanoTime() - negotiationEnd < 0) {
+                Thread.sleep(100);
+                var responseObject = getNegotiationState(negotiationId);
+                if ("FINALIZED".equals(responseObject.get("state").asText())) {
+                    return responseObject.get("contractAgreementId").asText();
+                }
+            }
+            var negotiationState = getNegotiationState(negotiationId);
+            log.warn("no contract id, last negotiation state: \n" + negotiationState.toPrettyString());
+            return null;
+        }, Objects::nonNull);
+    }
+
+    private SubmodelData fetchSubmodelDataByDirection(MaterialPartnerRelation mpr, String semanticId, DirectionCharacteristic direction,
+                                                      Deadline deadline) {
+        return fetchSubmodelData(mpr, semanticId, getManufacturerPartId(mpr, direction), getManufacturerId(mpr, direction), deadline);
+    }
+
+    private static String getManufacturerPartId(MaterialPartnerRelation mpr, DirectionCharacteristic direction) {
+        return switch (direction) {
             case INBOUND -> mpr.getMaterial().getOwnMaterialNumber();
             case OUTBOUND -> mpr.getPartnerMaterialNumber();
         };
-        String manufacturerId = switch (direction) {
+    }
+
+    private String getManufacturerId(MaterialPartnerRelation mpr, DirectionCharacteristic direction) {
+        return switch (direction) {
             case INBOUND -> variablesService.getOwnBpnl();
             case OUTBOUND -> mpr.getPartner().getBpnl();
         };
-        return fetchSubmodelData(mpr, semanticId, manufacturerPartId, manufacturerId);
     }
 
-    private SubmodelData fetchPartTypeSubmodelData(MaterialPartnerRelation mpr) {
+    private SubmodelData fetchPartTypeSubmodelData(MaterialPartnerRelation mpr, Deadline deadline) {
         return fetchSubmodelData(mpr, "urn:samm:io.catenax.part_type_information:1.0.0#PartTypeInformation",
-            mpr.getPartnerMaterialNumber(), mpr.getPartner().getBpnl());
+            mpr.getPartnerMaterialNumber(), mpr.getPartner().getBpnl(), deadline);
     }
 
     private record SubmodelData(String assetId, String dspUrl, String href) {
@@ -781,8 +1306,19 @@ public class EdcAdapterService {
     private record EdrDto(String authKey, String authCode, String endpoint){
     }
 
-    private SubmodelData fetchSubmodelData(MaterialPartnerRelation mpr, String semanticId, String manufacturerPartId, String manufacturerId) {
-        JsonNode submodelDescriptors = getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, 1);
+    private SubmodelData fetchSubmodelData(MaterialPartnerRelation mpr, String semanticId, String manufacturerPartId, String manufacturerId,
+                                           Deadline deadline) {
+        JsonNode submodelDescriptors = edcPhaseMetrics.record(Phase.DTR_LOOKUP, mpr.getPartner().getBpnl(), AssetType.DTR,
+            () -> getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, deadline), Objects::nonNull);
+        return submodelDescriptors == null ? null : findSubmodelData(submodelDescriptors, semanticId);
+    }
+
+    /**
+     * @param submodelDescriptors the submodel descriptors of a shell
+     * @param semanticId          the semantic id of the requested submodel
+     * @return the asset, dspUrl and href of the submodel, or null if the shell does not list the submodel
+     */
+    private SubmodelData findSubmodelData(JsonNode submodelDescriptors, String semanticId) {
         for (var submodelDescriptor : submodelDescriptors) {
             var semanticIdObject = submodelDescriptor.get("semanticId");
             var keys = semanticIdObject.get("keys");
@@ -819,15 +1355,23 @@ public class EdcAdapterService {
      * @param manufacturerPartId material number of the supplier party
      * @param manufacturerId     bpnl of the supplier party
      * @param mpr                containing the mapping between material and partner to lookup at dtr
-     * @param retries            number of times to retry in case the shell could not (yet) been found
+     * @param deadline           the deadline of the request, retries in case the shell could not (yet) been found are bounded by it
      * @return array of submodelDescriptors of the found shell
      */
-    private JsonNode getAasSubmodelDescriptors(String manufacturerPartId, String manufacturerId, MaterialPartnerRelation mpr, int retries) {
-        if (retries < 0) {
-            log.error("AasSubmodelDescriptors Request failed for " + manufacturerPartId + " and " + manufacturerId);
-            return null;
+    private JsonNode getAasSubmodelDescriptors(String manufacturerPartId, String manufacturerId, MaterialPartnerRelation mpr,
+                                               Deadline deadline) {
+        for (Retry retry = deadline.retry(); retry.next(); ) {
+            var attempt = doGetAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, deadline);
+            if (!attempt.retry()) {
+                return attempt.value();
+            }
         }
+        log.error("AasSubmodelDescriptors Request failed for " + manufacturerPartId + " and " + manufacturerId);
+        return null;
+    }
 
+    private Attempt<JsonNode> doGetAasSubmodelDescriptors(String manufacturerPartId, String manufacturerId, MaterialPartnerRelation mpr,
+                                                          Deadline deadline) {
         // A criticalFailure indicates that the connection to the partner's DTR could not be established at all
         // or delivers a completely unexpected response. This is assumed to be true at first, and will be set to false
         // if a response was received that contains the expected answer or at least an empty result.
@@ -838,99 +1382,115 @@ public class EdcAdapterService {
             String assetId = dtrContractData[0];
             String contractId = dtrContractData[1];
             if (contractId == null || assetId == null) {
-                if (!negotiateForPartnerDtr(partner)) {
-                    return getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, --retries);
+                if (!negotiateForPartnerDtr(partner, deadline)) {
+                    return Attempt.failure(true);
                 }
                 dtrContractData = edcContractMappingService.getDtrAssetAndContractId(partner);
                 assetId = dtrContractData[0];
                 contractId = dtrContractData[1];
             }
-            var transferResp = initiateProxyPullTransfer(partner, contractId, assetId);
+            var transferResp = initiateProxyPullTransfer(partner, contractId, assetId, partner.getEdcUrl(), AssetType.DTR);
             String transferId = transferResp.get("@id").asText();
             try {
-                EdrDto edrDto = getAndAwaitEdrDto(transferId);
+                EdrDto edrDto = getAndAwaitEdrDto(transferId, partner, AssetType.DTR, deadline);
                 if (edrDto == null) {
                     log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
-                    return getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, --retries);
+                    return Attempt.failure(true);
                 } else {
                     log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
                 }
-                HttpUrl.Builder urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
-                    .addPathSegment("api")
-                    .addPathSegment("v3")
-                    .addPathSegment("lookup")
-                    .addPathSegment("shells");
-                String query = "{\"name\":\"manufacturerPartId\",\"value\":\"" + manufacturerPartId + "\"}";
-                query += ",{\"name\":\"digitalTwinType\",\"value\":\"PartType\"}";
-                query += ",{\"name\":\"manufacturerId\",\"value\":\"" + manufacturerId + "\"}";
-                String encodedQuery = Base64.getEncoder().encodeToString(query.getBytes(StandardCharsets.UTF_8));
-                urlBuilder.addQueryParameter("assetIds", encodedQuery);
-                var request = new Request.Builder()
-                    .get()
-                    .header(edrDto.authKey(), edrDto.authCode())
-                    .url(urlBuilder.build())
-                    .build();
-                try (var response = CLIENT.newCall(request).execute()) {
-                    var bodyString = response.body().string();
-                    var jsonResponse = objectMapper.readTree(bodyString);
-                    var resultArray = jsonResponse.get("result");
-                    if (resultArray != null && resultArray.isArray() && !resultArray.isEmpty()) {
-                        if (resultArray.size() > 1) {
-                            log.warn("Found more than one result for query " + query);
-                            log.info(resultArray.toPrettyString());
-                        }
-                        String aasId = resultArray.get(0).asText();
-                        urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
-                            .addPathSegment("api")
-                            .addPathSegment("v3")
-                            .addPathSegment("shell-descriptors");
-                        String base64AasId = Base64.getEncoder().encodeToString(aasId.getBytes(StandardCharsets.UTF_8));
-                        urlBuilder.addPathSegment(base64AasId);
-                        request = new Request.Builder()
-                            .get()
-                            .header(edrDto.authKey(), edrDto.authCode())
-                            .url(urlBuilder.build())
-                            .build();
-                        try (var response2 = CLIENT.newCall(request).execute()) {
-                            var body2String = response2.body().string();
-                            var aasJson = objectMapper.readTree(body2String);
-                            var submodelDescriptors = aasJson.get("submodelDescriptors");
-                            if (submodelDescriptors != null) {
-                                criticalFailure = false;
-                                return submodelDescriptors;
-                            } else {
-                                log.warn("No SubmodelDescriptors found in DTR shell-descriptors response:\n" + aasJson.toPrettyString());
-                            }
-                        }
-                    } else {
-                        if (resultArray != null) {
-                            if (resultArray.isArray() && resultArray.isEmpty()) {
-                                log.warn("Empty Result array received");
-                                criticalFailure = false;
-                            } else {
-                                log.warn("Unexpected Response for DTR lookup with query " + query + "\n" + resultArray.toPrettyString());
-                            }
-                        } else {
-                            log.warn("No Result Array received in DTR lookup response: \n" + jsonResponse.toPrettyString());
-                        }
-                    }
+                JsonNode submodelDescriptors = lookupAasSubmodelDescriptors(edrDto, manufacturerPartId, manufacturerId);
+                criticalFailure = false;
+                if (submodelDescriptors != null) {
+                    return Attempt.success(submodelDescriptors);
                 }
-
             } finally {
                 if (transferId != null) {
-                    terminateTransfer(transferId);
+                    terminateTransfer(transferId, partner, AssetType.DTR);
                 }
             }
+        } catch (PartnerUnavailableException | DeadlineExceededException e) {
+            // the DTR contract is not to blame and a retry would run into the same timeout
+            criticalFailure = false;
+            log.error("AasSubmodelDescriptor Request for " + manufacturerPartId + " failed: " + e.getMessage());
+            return Attempt.failure(false);
         } catch (Exception e) {
             log.error("Error in AasSubmodelDescriptor Request for " + mpr + " and manufacturerPartId " + manufacturerPartId, e);
-            return getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, --retries);
+            return Attempt.failure(EdcRetryPolicy.isRetryable(e));
         } finally {
             if (criticalFailure) {
                 log.warn("Invalidating DTR contract data");
                 edcContractMappingService.putDtrContractData(partner, null, null);
             }
         }
-        return getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, --retries);
+        // the shell may not (yet) be registered
+        return Attempt.failure(true);
+    }
+
+    /**
+     * Looks up the shell of the given part in the partner's DTR and returns its submodel descriptors.
+     *
+     * @param edrDto             the EDR of a transfer of the partner's DTR asset
+     * @param manufacturerPartId material number of the supplier party
+     * @param manufacturerId     bpnl of the supplier party
+     * @return array of submodelDescriptors of the found shell, or null if no shell has been found
+     * @throws IOException if the DTR could not be reached or delivers an unexpected response
+     */
+    private JsonNode lookupAasSubmodelDescriptors(EdrDto edrDto, String manufacturerPartId, String manufacturerId) throws IOException {
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
+            .addPathSegment("api")
+            .addPathSegment("v3")
+            .addPathSegment("lookup")
+            .addPathSegment("shells");
+        String query = "{\"name\":\"manufacturerPartId\",\"value\":\"" + manufacturerPartId + "\"}";
+        query += ",{\"name\":\"digitalTwinType\",\"value\":\"PartType\"}";
+        query += ",{\"name\":\"manufacturerId\",\"value\":\"" + manufacturerId + "\"}";
+        String encodedQuery = Base64.getEncoder().encodeToString(query.getBytes(StandardCharsets.UTF_8));
+        urlBuilder.addQueryParameter("assetIds", encodedQuery);
+        var request = new Request.Builder()
+            .get()
+            .header(edrDto.authKey(), edrDto.authCode())
+            .url(urlBuilder.build())
+            .build();
+        try (var response = CLIENT.newCall(request).execute()) {
+            var bodyString = response.body().string();
+            var jsonResponse = objectMapper.readTree(bodyString);
+            var resultArray = jsonResponse.get("result");
+            if (resultArray != null && resultArray.isArray() && !resultArray.isEmpty()) {
+                if (resultArray.size() > 1) {
+                    log.warn("Found more than one result for query " + query);
+                    log.info(resultArray.toPrettyString());
+                }
+                String aasId = resultArray.get(0).asText();
+                urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
+                    .addPathSegment("api")
+                    .addPathSegment("v3")
+                    .addPathSegment("shell-descriptors");
+                String base64AasId = Base64.getEncoder().encodeToString(aasId.getBytes(StandardCharsets.UTF_8));
+                urlBuilder.addPathSegment(base64AasId);
+                request = new Request.Builder()
+                    .get()
+                    .header(edrDto.authKey(), edrDto.authCode())
+                    .url(urlBuilder.build())
+                    .build();
+                try (var response2 = CLIENT.newCall(request).execute()) {
+                    var body2String = response2.body().string();
+                    var aasJson = objectMapper.readTree(body2String);
+                    var submodelDescriptors = aasJson.get("submodelDescriptors");
+                    if (submodelDescriptors == null) {
+                        throw new IOException("No SubmodelDescriptors found in DTR shell-descriptors response:\n" + aasJson.toPrettyString());
+                    }
+                    return submodelDescriptors;
+                }
+            } else if (resultArray != null && resultArray.isArray()) {
+                log.warn("Empty Result array received");
+                return null;
+            } else if (resultArray != null) {
+                throw new IOException("Unexpected Response for DTR lookup with query " + query + "\n" + resultArray.toPrettyString());
+            } else {
+                throw new IOException("No Result Array received in DTR lookup response: \n" + jsonResponse.toPrettyString());
+            }
+        }
     }
 
     /**
@@ -940,11 +1500,9 @@ public class EdcAdapterService {
      * answering.
      *
      * @param transferProcessId to get the EDR for
-     * @return unpersisted EdrDto.
+     * @return unpersisted EdrDto, or null if the EDR is not (yet) available
      */
-    private EdrDto getEdrForTransferProcessId(String transferProcessId, int retries) {
-        if (retries < 0) return null;
-        boolean failed = true;
+    private EdrDto getEdrForTransferProcessId(String transferProcessId) {
         try (Response response = sendGetRequest(
             List.of("v2", "edrs", transferProcessId, "dataaddress"),
             Map.of("auto_refresh", "true"))
@@ -957,31 +1515,28 @@ public class EdcAdapterService {
                 if (dataPlaneEndpoint != null && authToken != null) {
                     EdrDto edr = new EdrDto("Authorization", authToken, dataPlaneEndpoint);
                     log.debug("Requested EDR successfully: {}", edr);
-                    failed = false;
                     return edr;
                 }
             }
         } catch (Exception e) {
             log.error("EDR token for transfer process with ID {} could not be obtained", transferProcessId);
-        } finally {
-            if (failed && --retries >= 0) {
-                try {
-                    Thread.sleep(100);
-                } catch (Exception e1) {
-                    log.error("Sleep interrupted", e1);
-                }
-            }
         }
-        return getEdrForTransferProcessId(transferProcessId, retries);
-
+        return null;
     }
 
     /**
      * Terminate the transfer with reason "Transfer done.
      *
      * @param transferProcessId to terminate
+     * @param partner           the partner of the transfer
+     * @param type              the asset type of the transfer
      */
-    private void terminateTransfer(String transferProcessId) {
+    private void terminateTransfer(String transferProcessId, Partner partner, AssetType type) {
+        edcPhaseMetrics.record(Phase.TRANSFER_TERMINATION, partner.getBpnl(), type,
+            () -> terminateTransfer(transferProcessId), Boolean.TRUE::equals);
+    }
+
+    private boolean terminateTransfer(String transferProcessId) {
 
         JsonNode body = edcRequestBodyBuilder.buildTransferProcessTerminationBody("Transfer done.");
 
@@ -997,36 +1552,15 @@ public class EdcAdapterService {
                 );
             } else {
                 log.info("Terminated transfer process with id {}.", transferProcessId);
+                return true;
             }
         } catch (IOException e) {
             log.error("Error while trying to terminate transfer: ", e);
         }
+        return false;
     }
 
-    /**
-     * Tries to negotiate for a partner's Submodel API.<p>
-     * If successful, the contractId as well as the assetId
-     * are stored to the EdcContractMapping of that partner
-     * and can be retrieved from there to be used in later
-     * transfer requests for that api asset.
-     *
-     * @param mpr       The mpr indicating the partner and material in question
-     * @param type      The SubmodelType (DTR is not supported)
-     * @param direction May be null if the SubmodelType is not direction-sensitive
-     * @return true, if a contract was successfully negotiated
-     */
-
-    private boolean negotiateContractForSubmodel(MaterialPartnerRelation mpr, AssetType type, DirectionCharacteristic direction) {
-        Partner partner = mpr.getPartner();
-        SubmodelData submodelData = switch (type) {
-            case DTR -> throw new IllegalArgumentException("DTR not supported");
-            case ITEM_STOCK_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID, direction);
-            case PRODUCTION_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID, direction);
-            case DEMAND_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID, direction);
-            case DELIVERY_SUBMODEL -> fetchSubmodelDataByDirection(mpr, AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID, direction);
-            case NOTIFICATION -> throw new IllegalArgumentException("DemandAndCapacityNotification not supported");
-            case PART_TYPE_INFORMATION_SUBMODEL -> fetchPartTypeSubmodelData(mpr);
-        };
+    private static Map<String, String> getSubmodelCatalogFilters(AssetType type) {
         Map<String, String> equalFilters = new HashMap<>();
         equalFilters.put(EdcRequestBodyBuilder.CX_COMMON_NAMESPACE + "version", "3.0");
         equalFilters.put(
@@ -1034,22 +1568,44 @@ public class EdcAdapterService {
             EdcRequestBodyBuilder.CX_TAXO_NAMESPACE + "Submodel"
         );
         equalFilters.put("'" + EdcRequestBodyBuilder.AAS_SEMANTICS_NAMESPACE + "semanticId'.'@id'", type.URN_SEMANTIC_ID);
-        return negotiateContract(partner, submodelData.assetId(), type, submodelData.dspUrl(), equalFilters);
+        return equalFilters;
     }
 
     public boolean negotiateContractForNotification(Partner partner, AssetType type) {
+        return negotiateContractForNotification(partner, type, edcRetryPolicy.start());
+    }
+
+    private boolean negotiateContractForNotification(Partner partner, AssetType type, Deadline deadline) {
         Map<String, String> equalFilters = new HashMap<>();
         equalFilters.put(EdcRequestBodyBuilder.CX_COMMON_NAMESPACE + "version", "1.0");
         equalFilters.put(
             "'" + EdcRequestBodyBuilder.DCT_NAMESPACE + "type'.'@id'",
             EdcRequestBodyBuilder.CX_TAXO_NAMESPACE + "DemandAndCapacityNotificationApi"
         );
-        return negotiateContract(partner, variablesService.getNotificationApiAssetId(), type, partner.getEdcUrl(), equalFilters);
+        return negotiateContract(partner, variablesService.getNotificationApiAssetId(), type, partner.getEdcUrl(), equalFilters, deadline);
     }
 
     public boolean negotiateContract(Partner partner, String assetId, AssetType type, String dspUrl, Map<String, String> equalFilters) {
+        return negotiateContract(partner, assetId, type, dspUrl, equalFilters, edcRetryPolicy.start());
+    }
+
+    private boolean negotiateContract(Partner partner, String assetId, AssetType type, String dspUrl, Map<String, String> equalFilters,
+                                      Deadline deadline) {
+        // negotiate only once at a time per partner and asset, even if several backend instances need the contract
+        return jobLeaseService.singleFlight(negotiationLeaseName(partner, type, assetId), NEGOTIATION_LEASE_DURATION,
+            () -> doNegotiateContract(partner, assetId, type, dspUrl, equalFilters, deadline),
+            () -> edcContractMappingService.getContractId(partner, type, assetId, dspUrl) != null);
+    }
+
+    private static String negotiationLeaseName(Partner partner, AssetType type, String assetId) {
+        String leaseName = "negotiation:" + partner.getBpnl() + ":" + type;
+        return assetId == null ? leaseName : leaseName + ":" + assetId;
+    }
+
+    private boolean doNegotiateContract(Partner partner, String assetId, AssetType type, String dspUrl, Map<String, String> equalFilters,
+                                        Deadline deadline) {
         try {
-            var responseNode = getCatalog(dspUrl, partner.getBpnl(), equalFilters);
+            var responseNode = getCatalog(dspUrl, partner.getBpnl(), type, equalFilters);
             responseNode = jsonLdUtils.expand(responseNode);
             var catalogArray = responseNode.get(EdcRequestBodyBuilder.DCAT_NAMESPACE + "dataset");
             // If there is exactly one asset, the catalogContent will be a JSON object.
@@ -1058,25 +1614,15 @@ public class EdcAdapterService {
             if (catalogArray.isObject()) {
                 catalogArray = objectMapper.createArrayNode().add(catalogArray);
             }
-            JsonNode targetCatalogEntry = null;
-            if (!catalogArray.isEmpty()) {
-                if (catalogArray.size() > 1) {
-                    log.debug("Muliple contract offers found! Will take the first with supported policy \n" + catalogArray.toPrettyString());
-                }
-
-                for (JsonNode entry : catalogArray) {
-                    if (testContractPolicyConstraints(entry)) {
-                        targetCatalogEntry = entry;
-                        break;
-                    } else {
-                        log.info(
-                            "Contract offer did not match Framework Policy {} and Contract Policy {}:\n{}",
-                            variablesService.getPurisFrameworkAgreementWithVersion(),
-                            variablesService.getPurisPurposeWithVersion(),
-                            entry.toPrettyString()
-                        );
-                    }
-                }
+            if (catalogArray.size() > 1) {
+                log.debug("Muliple contract offers found! Will take the first with supported policy \n" + catalogArray.toPrettyString());
+            }
+            JsonNode targetCatalogEntry = getContractPolicyMatcher().findFirstMatch(catalogArray);
+            if (targetCatalogEntry == null && !catalogArray.isEmpty()) {
+                log.info("None of the {} contract offers matched Framework Policy {} and Contract Policy {}",
+                    catalogArray.size(),
+                    variablesService.getPurisFrameworkAgreementWithVersion(),
+                    variablesService.getPurisPurposeWithVersion());
             }
 
             if (targetCatalogEntry == null) {
@@ -1084,22 +1630,9 @@ public class EdcAdapterService {
                 log.warn("CATALOG CONTENT \n" + catalogArray.toPrettyString());
                 return false;
             }
-            JsonNode negotiationResponse = initiateNegotiation(partner, targetCatalogEntry, dspUrl);
-            String negotiationId = negotiationResponse.get("@id").asText();
-            // Await confirmation of contract and contractId
-            String contractId = null;
-            for (int i = 0; i < 100; i++) {
-                Thread.sleep(100);
-                var responseObject = getNegotiationState(negotiationId);
-                if ("FINALIZED".equals(responseObject.get("state").asText())) {
-                    contractId = responseObject.get("contractAgreementId").asText();
-                    break;
-                }
-            }
+            String contractId = negotiateContractAgreement(partner, targetCatalogEntry, dspUrl, type, deadline);
             if (contractId == null) {
-                var negotiationState = getNegotiationState(negotiationId);
-                log.error("Failed to obtain " + type + " from " + partner.getEdcUrl() + ", last negotiation state: \n"
-                    + negotiationState.toPrettyString());
+                log.error("Failed to obtain " + type + " from " + partner.getEdcUrl());
                 return false;
             }
             log.info("Putting new ContractId" + contractId + "for " + type + " api with partner " + partner.getBpnl());
@@ -1124,7 +1657,7 @@ public class EdcAdapterService {
      * @return the partner's CXid for that material
      */
     public String getCxIdFromPartTypeInformation(MaterialPartnerRelation mpr) {
-        var data = getSubmodelFromPartner(mpr, AssetType.PART_TYPE_INFORMATION_SUBMODEL, null, 1);
+        var data = getSubmodelFromPartner(mpr, AssetType.PART_TYPE_INFORMATION_SUBMODEL, null, edcRetryPolicy.start(), null, JsonNode.class).data();
         return data.get("catenaXId").asText();
     }
 
@@ -1136,126 +1669,20 @@ public class EdcAdapterService {
      * @return true, if the policy matches yours, otherwise false
      */
     public boolean testContractPolicyConstraints(JsonNode catalogEntry) {
-        log.debug("Testing constraints in the following catalogEntry: \n{}", catalogEntry.toPrettyString());
-        var constraint = Optional.ofNullable(catalogEntry.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "hasPolicy"))
-            .filter(policy -> policy.isArray() && policy.size() == 1)
-            .map(policy -> policy.get(0))
-            .map(policy -> policy.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "permission"))
-            .filter(permission -> permission.isArray() && permission.size() == 1)
-            .map(permission -> permission.get(0))
-            .map(permission -> permission.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "constraint"))
-            .filter(constr -> constr.isArray() && constr.size() == 1)
-            .map(constr -> constr.get(0))
-            .map(con -> con.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "and"));
-        if (constraint.isEmpty()) {
-            log.debug("Constraint mismatch: we expect to have a constraint in permission node.");
-            return false;
-        }
-
-        for (String rule : new String[] {"obligation", "prohibition"}) {
-            var policy = catalogEntry.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "hasPolicy").get(0);
-            var ruleNode = policy.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + rule);
-            boolean test = ruleNode == null || (ruleNode.isArray() && ruleNode.isEmpty());
-            if (!test) {
-                log.warn("Unexpected {} found, rejecting: {}", rule, catalogEntry.toPrettyString());
-                return false;
-            }
-        }
-
-        boolean result = true;
-
-        if (constraint.get().isArray() && constraint.get().size() == 2) {
-            Optional<JsonNode> frameworkAgreementConstraint = Optional.empty();
-            Optional<JsonNode> purposeConstraint = Optional.empty();
-
-            for (JsonNode con : constraint.get()) { // Iterate over array elements and find the nodes
-                JsonNode leftOperandNode = con.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "leftOperand");
-                leftOperandNode = leftOperandNode.get(0);
-                leftOperandNode = leftOperandNode.get("@id");
-                if (leftOperandNode != null && (EdcRequestBodyBuilder.CX_POLICY_NAMESPACE + "FrameworkAgreement").equals(leftOperandNode.asText())) {
-                    frameworkAgreementConstraint = Optional.of(con);
-                }
-                if (leftOperandNode != null && (EdcRequestBodyBuilder.CX_POLICY_NAMESPACE + "UsagePurpose").equals(leftOperandNode.asText())) {
-                    purposeConstraint = Optional.of(con);
-                }
-            }
-
-            if (frameworkAgreementConstraint.isEmpty() || purposeConstraint.isEmpty()) {
-                log.debug(
-                    "Not all constraints have been found: FrameworkAgreement constraint found: {}, " +
-                        "UsagePurpose constraint found: {}",
-                    frameworkAgreementConstraint.isPresent(),
-                    purposeConstraint.isPresent()
-                );
-                return false;
-            }
-
-            result = result && testSingleConstraint(
-                frameworkAgreementConstraint,
-                EdcRequestBodyBuilder.CX_POLICY_NAMESPACE + "FrameworkAgreement",
-                EdcRequestBodyBuilder.ODRL_NAMESPACE + "eq",
-                variablesService.getPurisFrameworkAgreementWithVersion()
-            );
-
-            result = result && testSingleConstraint(
-                purposeConstraint,
-                EdcRequestBodyBuilder.CX_POLICY_NAMESPACE + "UsagePurpose",
-                EdcRequestBodyBuilder.ODRL_NAMESPACE + "eq",
-                variablesService.getPurisPurposeWithVersion()
-            );
-
-            JsonNode policy = catalogEntry.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "hasPolicy");
-            JsonNode prohibition = policy.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "prohibition");
-            JsonNode obligation = policy.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "obligation");
-            result = result && (prohibition == null || (prohibition.isArray() && prohibition.isEmpty()));
-            result = result && (obligation == null || (obligation.isArray() && obligation.isEmpty()));
-
-        } else {
-            log.info(
-                "2 Constraints (Framework Agreement, Purpose) are expected but got {} constraints.",
-                constraint.get().size()
-            );
-            return false;
-        }
-
-        return result;
+        return getContractPolicyMatcher().matches(catalogEntry);
     }
 
-    private boolean testSingleConstraint(Optional<JsonNode> constraintToTest, String targetLeftOperand, String targetOperator, String targetRightOperand) {
-
-        if (constraintToTest.isEmpty()) return false;
-
-        JsonNode con = constraintToTest.get();
-
-        JsonNode leftOperandNode = con.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "leftOperand");
-        leftOperandNode = leftOperandNode == null ? null : leftOperandNode.get(0);
-        leftOperandNode = leftOperandNode == null ? null : leftOperandNode.get("@id");
-        if (leftOperandNode == null || !targetLeftOperand.equals(leftOperandNode.asText())) {
-            String leftOperand = leftOperandNode == null ? "null" : leftOperandNode.asText();
-            log.info("Left operand '{}' does not equal expected value '{}'.", leftOperand, targetLeftOperand);
-            return false;
-        }
-
-        JsonNode operatorNode = con.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "operator");
-        operatorNode = operatorNode == null ? null : operatorNode.get(0);
-        operatorNode = operatorNode == null ? null : operatorNode.get("@id");
-        if (operatorNode == null || !targetOperator.equals(operatorNode.asText())) {
-            String operator = operatorNode == null ? "null" : operatorNode.asText();
-            log.info("Operator '{}' does not equal expected value '{}'.", operator, targetOperator);
-            return false;
-        }
-
-        JsonNode rightOperandNode = con.get(EdcRequestBodyBuilder.ODRL_NAMESPACE + "rightOperand");
-        rightOperandNode = rightOperandNode == null ? null : rightOperandNode.get(0);
-        rightOperandNode = rightOperandNode == null ? null : rightOperandNode.get("@value");
-        if (rightOperandNode == null || !targetRightOperand.equals(rightOperandNode.asText())) {
-            String rightOperand = rightOperandNode == null ? "null" : rightOperandNode.asText();
-            log.info("Right operand '{}' does not equal expected value '{}'.", rightOperand, targetRightOperand);
-            return false;
+    /**
+     * @return the policy matcher for the configured framework agreement and purpose
+     */
+    private ContractPolicyMatcher getContractPolicyMatcher() {
+        String frameworkAgreement = variablesService.getPurisFrameworkAgreementWithVersion();
+        String purpose = variablesService.getPurisPurposeWithVersion();
+        ContractPolicyMatcher matcher = contractPolicyMatcher;
+        if (matcher == null || !matcher.isCompiledFor(frameworkAgreement, purpose)) {
+            matcher = ContractPolicyMatcher.compile(frameworkAgreement, purpose);
+            contractPolicyMatcher = matcher;
         }
-
-        log.info("Contract Offer constraints can be fulfilled by PURIS FOSS application (passed).");
-
-        return true;
+        return matcher;
     }
 }
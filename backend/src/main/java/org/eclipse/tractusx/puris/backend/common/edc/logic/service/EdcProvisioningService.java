@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRequestBodyBuilder;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provisions the assets, policy definitions and contract definitions that PURIS needs in your
+ * control plane.
+ * <p>
+ * Before registering anything, the ids that already exist in the control plane are queried once
+ * per resource type, so only the missing entries are sent. The missing entries are registered in
+ * parallel, bounded by {@code puris.edc.provisioning.concurrency}. Assets and policy definitions
+ * are registered before the contract definitions that reference them. Failed registrations are
+ * retried individually with an increasing delay.
+ */
+@Service
+@Slf4j
+public class EdcProvisioningService {
+
+    static final String ASSETS = "assets";
+
+    static final String POLICY_DEFINITIONS = "policydefinitions";
+
+    static final String CONTRACT_DEFINITIONS = "contractdefinitions";
+
+    /**
+     * Order in which the resource types are provisioned
+     */
+    private static final List<String> PHASES = List.of(ASSETS, POLICY_DEFINITIONS, CONTRACT_DEFINITIONS);
+
+    private static final long RETRY_BASE_DELAY_MILLIS = 500;
+
+    @Autowired
+    private EdcAdapterService edcAdapterService;
+
+    @Autowired
+    private EdcRequestBodyBuilder edcRequestBodyBuilder;
+
+    @Autowired
+    private VariablesService variablesService;
+
+    @Autowired
+    private ExecutorService executorService;
+
+    @Value("${puris.edc.provisioning.concurrency:8}")
+    private int concurrency;
+
+    @Value("${puris.edc.provisioning.retries:2}")
+    private int retries;
+
+    /**
+     * A single registration in the control plane.
+     *
+     * @param resource the resource type, e.g. {@value #ASSETS}
+     * @param body     the registration body, carrying the id of the entry
+     */
+    record Registration(String resource, JsonNode body) {
+        String id() {
+            return body.path("@id").asText();
+        }
+    }
+
+    /**
+     * Result of a provisioning run.
+     *
+     * @param total          number of entries that were expected in the control plane
+     * @param alreadyPresent number of entries that already existed
+     * @param created        number of entries that were registered
+     * @param failed         number of entries that could not be registered
+     * @param durationMillis duration of the run
+     */
+    public record ProvisioningSummary(int total, int alreadyPresent, int created, int failed, long durationMillis) {
+        public boolean isComplete() {
+            return failed == 0;
+        }
+    }
+
+    /**
+     * Provisions the api assets and the framework agreement policy. Call this method at startup.
+     *
+     * @return the summary
+     */
+    public ProvisioningSummary provisionAssets() {
+        List<Registration> registrations = new ArrayList<>();
+        registrations.add(new Registration(POLICY_DEFINITIONS, edcRequestBodyBuilder.buildFrameworkPolicy()));
+        registrations.add(new Registration(ASSETS, edcRequestBodyBuilder.buildDtrRegistrationBody()));
+        registrations.add(new Registration(ASSETS, edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+            variablesService.getItemStockSubmodelApiAssetId(),
+            variablesService.getItemStockSubmodelEndpoint(),
+            AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID)));
+        registrations.add(new Registration(ASSETS, edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+            variablesService.getProductionSubmodelApiAssetId(),
+            variablesService.getProductionSubmodelEndpoint(),
+            AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID)));
+        registrations.add(new Registration(ASSETS, edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+            variablesService.getDemandSubmodelApiAssetId(),
+            variablesService.getDemandSubmodelEndpoint(),
+            AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID)));
+        registrations.add(new Registration(ASSETS, edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+            variablesService.getDeliverySubmodelApiAssetId(),
+            variablesService.getDeliverySubmodelEndpoint(),
+            AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID)));
+        registrations.add(new Registration(ASSETS, edcRequestBodyBuilder.buildNotificationRegistrationBody(
+            variablesService.getNotificationApiAssetId(),
+            variablesService.getNotificationEndpoint())));
+        registrations.add(new Registration(ASSETS, edcRequestBodyBuilder.buildPartTypeInfoSubmodelRegistrationBody()));
+        return provision("api assets", registrations);
+    }
+
+    /**
+     * Provisions the partner specific policy definition and the contract definitions
+     * for all api assets for each of the given partners.
+     *
+     * @param partners the partners
+     * @return the summary
+     */
+    public ProvisioningSummary provisionPartners(Collection<Partner> partners) {
+        List<Registration> registrations = new ArrayList<>();
+        for (Partner partner : partners) {
+            registrations.add(new Registration(POLICY_DEFINITIONS, edcRequestBodyBuilder.buildBpnAndMembershipRestrictedPolicy(partner)));
+            for (String assetId : List.of(
+                variablesService.getItemStockSubmodelApiAssetId(),
+                variablesService.getProductionSubmodelApiAssetId(),
+                variablesService.getDemandSubmodelApiAssetId(),
+                variablesService.getDeliverySubmodelApiAssetId(),
+                variablesService.getNotificationApiAssetId(),
+                variablesService.getPartTypeSubmodelApiAssetId())) {
+                registrations.add(new Registration(CONTRACT_DEFINITIONS,
+                    edcRequestBodyBuilder.buildSubmodelContractDefinitionWithBpnRestrictedPolicy(assetId, partner)));
+            }
+            registrations.add(new Registration(CONTRACT_DEFINITIONS, edcRequestBodyBuilder.buildDtrContractDefinitionForPartner(partner)));
+        }
+        return provision(partners.size() == 1 ? "partner " + partners.iterator().next().getBpnl() : partners.size() + " partners",
+            registrations);
+    }
+
+    ProvisioningSummary provision(String scope, List<Registration> registrations) {
+        long start = System.currentTimeMillis();
+        int present = 0;
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        for (String resource : PHASES) {
+            List<Registration> phase = registrations.stream().filter(registration -> resource.equals(registration.resource())).toList();
+            if (phase.isEmpty()) {
+                continue;
+            }
+            Set<String> existing;
+            try {
+                existing = edcAdapterService.getRegisteredIds(resource);
+            } catch (IOException e) {
+                // fall back to registering everything, already existing entries are answered with a conflict
+                log.warn("Could not query the registered {}, registering all of them: {}", resource, e.getMessage());
+                existing = Set.of();
+            }
+            Queue<Registration> missing = new ConcurrentLinkedQueue<>();
+            for (Registration registration : phase) {
+                if (existing.contains(registration.id())) {
+                    present++;
+                } else {
+                    missing.add(registration);
+                }
+            }
+            AtomicInteger conflicts = new AtomicInteger();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(Math.max(concurrency, 1), missing.size()); i++) {
+                workers.add(executorService.submit(() -> {
+                    Registration registration;
+                    while ((registration = missing.poll()) != null) {
+                        switch (register(registration)) {
+                            case CREATED -> created.incrementAndGet();
+                            case CONFLICT -> conflicts.incrementAndGet();
+                            case FAILED -> failed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Interrupted while provisioning {}", scope);
+                    break;
+                } catch (ExecutionException e) {
+                    log.error("Provisioning of {} failed", scope, e.getCause());
+                }
+            }
+            present += conflicts.get();
+        }
+        var summary = new ProvisioningSummary(registrations.size(), present, created.get(), failed.get(),
+            System.currentTimeMillis() - start);
+        if (summary.isComplete()) {
+            log.info("Provisioning of {} finished in {} ms: {} entries, {} already present, {} created",
+                scope, summary.durationMillis(), summary.total(), summary.alreadyPresent(), summary.created());
+        } else {
+            log.warn("Provisioning of {} finished in {} ms: {} entries, {} already present, {} created, {} failed",
+                scope, summary.durationMillis(), summary.total(), summary.alreadyPresent(), summary.created(), summary.failed());
+        }
+        return summary;
+    }
+
+    private enum Outcome {CREATED, CONFLICT, FAILED}
+
+    private Outcome register(Registration registration) {
+        for (int attempt = 0; attempt <= retries; attempt++) {
+            if (attempt > 0) {
+                try {
+                    Thread.sleep(RETRY_BASE_DELAY_MILLIS << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Outcome.FAILED;
+                }
+            }
+            try {
+                int status = edcAdapterService.sendRegistrationRequest(registration.resource(), registration.body());
+                if (status >= 200 && status < 300) {
+                    return Outcome.CREATED;
+                }
+                if (status == 409) {
+                    return Outcome.CONFLICT;
+                }
+                if (status < 500 && status != 429) {
+                    // the request itself is invalid, a retry would fail in the same way
+                    return Outcome.FAILED;
+                }
+            } catch (IOException e) {
+                log.warn("Registration of {} {} failed: {}", registration.resource(), registration.id(), e.getMessage());
+            }
+        }
+        return Outcome.FAILED;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Entity tags of the submodels that have last been received from partners and processed,
+ * keyed by partner, material, submodel type and direction.
+ * <p>
+ * The entries are invalidated by the services of the reported stocks, demands, deliveries
+ * and productions whenever one of the reported entities is written, so that the next pull
+ * processes the submodel in full again. The entries are kept per backend instance, their
+ * expiry bounds how long a write via another instance may be skipped by a pull.
+ */
+@Service
+public class SubmodelEtagCache {
+
+    private record Key(UUID partnerUuid, String ownMaterialNumber, AssetType type, DirectionCharacteristic direction) {
+    }
+
+    private final Cache<Key, String> cache;
+
+    /**
+     * @param cacheSpecification Caffeine specification of the cache, e.g. maximumSize=10000,expireAfterWrite=24h
+     */
+    public SubmodelEtagCache(@Value("${puris.submodel.etag.cache.spec}") String cacheSpecification) {
+        this.cache = Caffeine.from(cacheSpecification).build();
+    }
+
+    /**
+     * @param mpr       the material partner relation
+     * @param type      the submodel type
+     * @param direction the direction, null if not applicable for the type
+     * @return the entity tag of the last processed submodel, null if unknown
+     */
+    public String get(MaterialPartnerRelation mpr, AssetType type, DirectionCharacteristic direction) {
+        return cache.getIfPresent(keyOf(mpr, type, direction));
+    }
+
+    /**
+     * @param mpr       the material partner relation
+     * @param type      the submodel type
+     * @param direction the direction, null if not applicable for the type
+     * @param etag      the entity tag of the processed submodel, null removes the entry
+     */
+    public void put(MaterialPartnerRelation mpr, AssetType type, DirectionCharacteristic direction, String etag) {
+        if (etag == null) {
+            remove(mpr, type, direction);
+        } else {
+            cache.put(keyOf(mpr, type, direction), etag);
+        }
+    }
+
+    public void remove(MaterialPartnerRelation mpr, AssetType type, DirectionCharacteristic direction) {
+        cache.invalidate(keyOf(mpr, type, direction));
+    }
+
+    /**
+     * Invalidates the entity tags of the given partner, material and type for all directions.
+     *
+     * @param partner  the partner
+     * @param material the material
+     * @param type     the submodel type
+     */
+    public void evict(Partner partner, Material material, AssetType type) {
+        if (partner == null || material == null) {
+            return;
+        }
+        cache.invalidate(new Key(partner.getUuid(), material.getOwnMaterialNumber(), type, null));
+        for (DirectionCharacteristic direction : DirectionCharacteristic.values()) {
+            cache.invalidate(new Key(partner.getUuid(), material.getOwnMaterialNumber(), type, direction));
+        }
+    }
+
+    private static Key keyOf(MaterialPartnerRelation mpr, AssetType type, DirectionCharacteristic direction) {
+        return new Key(mpr.getPartner().getUuid(), mpr.getMaterial().getOwnMaterialNumber(), type, direction);
+    }
+}
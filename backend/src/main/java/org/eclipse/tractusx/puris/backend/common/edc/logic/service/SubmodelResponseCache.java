@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache for the submodels that are computed for the requests of partners, keyed by
+ * partner, material, submodel type and direction.
+ * <p>
+ * The entries are invalidated by the services of the own stocks, demands, deliveries
+ * and productions whenever one of the underlying entities is written, and completely
+ * by the {@link org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataCache}
+ * whenever master data changes, since the submodels contain master data as well.
+ * <p>
+ * The cached submodels are shared between requests and must not be modified.
+ */
+@Service
+@Slf4j
+public class SubmodelResponseCache {
+
+    public static final String CACHE_NAME = "submodelResponses";
+
+    private record Key(UUID partnerUuid, String ownMaterialNumber, AssetType type, DirectionCharacteristic direction) {
+    }
+
+    private final Cache<Key, Object> cache;
+
+    /**
+     * @param cacheSpecification Caffeine specification of the cache, e.g. maximumSize=10000,expireAfterWrite=10m
+     * @param meterRegistry      the registry the hit and miss statistics are published to as cache.gets metrics
+     */
+    public SubmodelResponseCache(@Value("${puris.submodel.cache.spec}") String cacheSpecification, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.from(cacheSpecification).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @param partner   the requesting partner
+     * @param material  the requested material
+     * @param type      the submodel type
+     * @param direction the direction, null if not applicable for the type
+     * @param loader    computes the submodel in case of a cache miss, may return null
+     * @return the cached or computed submodel
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Partner partner, Material material, AssetType type, DirectionCharacteristic direction, Supplier<T> loader) {
+        Key key = new Key(partner.getUuid(), material.getOwnMaterialNumber(), type, direction);
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * Invalidates the submodel for the given partner, material, type and direction. If a transaction
+     * is active, the submodel is invalidated again after the commit, so that a submodel computed from
+     * the data before the commit is not served afterward.
+     *
+     * @param partner   the partner
+     * @param material  the material
+     * @param type      the submodel type
+     * @param direction the direction, null if not applicable for the type
+     */
+    public void evict(Partner partner, Material material, AssetType type, DirectionCharacteristic direction) {
+        if (partner == null || material == null) {
+            return;
+        }
+        Key key = new Key(partner.getUuid(), material.getOwnMaterialNumber(), type, direction);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        log.debug("Cleared submodel response cache");
+    }
+}
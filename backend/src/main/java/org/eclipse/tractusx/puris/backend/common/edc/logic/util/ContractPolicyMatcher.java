@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Tests the policies of contract offers against the framework agreement and usage purpose
+ * of this PURIS instance.
+ * <p>
+ * The expected constraints are compiled once into a lookup of the expanded left operand to
+ * the expected right operand, so that testing an offer is a single walk along the policy
+ * without building intermediate objects. An offer matches, if its policy has exactly one
+ * permission whose constraint is a conjunction of exactly the expected constraints (each with
+ * the {@code odrl:eq} operator) and if it has neither obligations nor prohibitions.
+ * <p>
+ * All catalog entries must be in expanded JSON-LD form.
+ */
+@Slf4j
+public final class ContractPolicyMatcher {
+
+    private static final String HAS_POLICY = EdcRequestBodyBuilder.ODRL_NAMESPACE + "hasPolicy";
+    private static final String PERMISSION = EdcRequestBodyBuilder.ODRL_NAMESPACE + "permission";
+    private static final String CONSTRAINT = EdcRequestBodyBuilder.ODRL_NAMESPACE + "constraint";
+    private static final String AND = EdcRequestBodyBuilder.ODRL_NAMESPACE + "and";
+    private static final String LEFT_OPERAND = EdcRequestBodyBuilder.ODRL_NAMESPACE + "leftOperand";
+    private static final String OPERATOR = EdcRequestBodyBuilder.ODRL_NAMESPACE + "operator";
+    private static final String RIGHT_OPERAND = EdcRequestBodyBuilder.ODRL_NAMESPACE + "rightOperand";
+    private static final String EQ = EdcRequestBodyBuilder.ODRL_NAMESPACE + "eq";
+    private static final List<String> UNSUPPORTED_RULES = List.of(
+        EdcRequestBodyBuilder.ODRL_NAMESPACE + "obligation",
+        EdcRequestBodyBuilder.ODRL_NAMESPACE + "prohibition"
+    );
+
+    private final String frameworkAgreement;
+
+    private final String purpose;
+
+    /**
+     * The expanded left operands of the expected constraints
+     */
+    private final String[] leftOperands;
+
+    /**
+     * The expected right operands, in the same order as the left operands
+     */
+    private final String[] rightOperands;
+
+    private ContractPolicyMatcher(String frameworkAgreement, String purpose) {
+        this.frameworkAgreement = frameworkAgreement;
+        this.purpose = purpose;
+        this.leftOperands = new String[]{
+            EdcRequestBodyBuilder.CX_POLICY_NAMESPACE + "FrameworkAgreement",
+            EdcRequestBodyBuilder.CX_POLICY_NAMESPACE + "UsagePurpose"
+        };
+        this.rightOperands = new String[]{frameworkAgreement, purpose};
+    }
+
+    /**
+     * @param frameworkAgreement the framework agreement including its version, e.g. "Puris:1.0"
+     * @param purpose            the usage purpose including its version, e.g. "cx.puris.base:1"
+     * @return the matcher
+     */
+    public static ContractPolicyMatcher compile(String frameworkAgreement, String purpose) {
+        return new ContractPolicyMatcher(frameworkAgreement, purpose);
+    }
+
+    /**
+     * @param frameworkAgreement the framework agreement including its version
+     * @param purpose            the usage purpose including its version
+     * @return true, if this matcher was compiled for the given values
+     */
+    public boolean isCompiledFor(String frameworkAgreement, String purpose) {
+        return this.frameworkAgreement.equals(frameworkAgreement) && this.purpose.equals(purpose);
+    }
+
+    /**
+     * @param catalog the expanded datasets of a catalog, either an array or a single dataset
+     * @return the first dataset with a matching policy or null, if there is none
+     */
+    public JsonNode findFirstMatch(JsonNode catalog) {
+        if (catalog == null) {
+            return null;
+        }
+        if (catalog.isObject()) {
+            return matches(catalog) ? catalog : null;
+        }
+        for (JsonNode entry : catalog) {
+            if (matches(entry)) {
+                return entry;
+            }
+        }
+        log.debug("None of the {} contract offers matched {} and {}", catalog.size(), frameworkAgreement, purpose);
+        return null;
+    }
+
+    /**
+     * @param catalogEntry the expanded dataset
+     * @return true, if the policy of the dataset matches
+     */
+    public boolean matches(JsonNode catalogEntry) {
+        JsonNode policy = single(catalogEntry.get(HAS_POLICY));
+        if (policy == null) {
+            log.debug("Policy mismatch: expected exactly one policy");
+            return false;
+        }
+        for (String rule : UNSUPPORTED_RULES) {
+            JsonNode ruleNode = policy.get(rule);
+            if (ruleNode != null && !(ruleNode.isArray() && ruleNode.isEmpty())) {
+                log.warn("Unexpected {} found, rejecting offer {}", rule, catalogEntry.path("@id").asText());
+                return false;
+            }
+        }
+        JsonNode permission = single(policy.get(PERMISSION));
+        JsonNode constraint = permission == null ? null : single(permission.get(CONSTRAINT));
+        JsonNode conjunction = constraint == null ? null : constraint.get(AND);
+        if (conjunction == null) {
+            log.debug("Constraint mismatch: we expect to have a constraint in permission node.");
+            return false;
+        }
+        if (!conjunction.isArray() || conjunction.size() != leftOperands.length) {
+            log.debug("{} constraints are expected but got {}", leftOperands.length, conjunction.size());
+            return false;
+        }
+        // the size is checked above, so all expected constraints are present if none is found twice
+        int found = 0;
+        for (JsonNode con : conjunction) {
+            String leftOperand = firstValue(con.get(LEFT_OPERAND), "@id");
+            int index = indexOf(leftOperand);
+            if (index < 0 || (found & (1 << index)) != 0) {
+                log.debug("Unexpected or duplicate left operand '{}'", leftOperand);
+                return false;
+            }
+            String expectedRightOperand = rightOperands[index];
+            if (!EQ.equals(firstValue(con.get(OPERATOR), "@id"))) {
+                log.debug("Operator of '{}' does not equal expected value '{}'", leftOperand, EQ);
+                return false;
+            }
+            String rightOperand = firstValue(con.get(RIGHT_OPERAND), "@value");
+            if (!expectedRightOperand.equals(rightOperand)) {
+                log.debug("Right operand '{}' does not equal expected value '{}'", rightOperand, expectedRightOperand);
+                return false;
+            }
+            found |= 1 << index;
+        }
+        return true;
+    }
+
+    private int indexOf(String leftOperand) {
+        for (int i = 0; i < leftOperands.length; i++) {
+            if (leftOperands[i].equals(leftOperand)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param node an expanded JSON-LD value
+     * @return the only element of the array or null, if the node is no array with exactly one element
+     */
+    private static JsonNode single(JsonNode node) {
+        return node != null && node.isArray() && node.size() == 1 ? node.get(0) : null;
+    }
+
+    /**
+     * @param node an expanded JSON-LD value
+     * @param key  the key to read from the first element
+     * @return the text of the key in the first element of the array or null, if it is missing
+     */
+    private static String firstValue(JsonNode node, String key) {
+        JsonNode first = node == null ? null : node.get(0);
+        JsonNode value = first == null ? null : first.get(key);
+        return value == null ? null : value.asText();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Response;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Predicate;
+
+/**
+ * Records the latency of the single phases of a data pull via the EDC
+ * (catalog request, negotiation, transfer start, EDR retrieval, DTR lookup,
+ * data plane request and transfer termination).
+ * <p>
+ * Every phase is recorded in the timer {@value #METRIC_NAME}, tagged by
+ * phase, partner BPNL, asset type and outcome. The count of the timer per
+ * outcome serves as success and failure counter of the phase.
+ */
+@Component
+public class EdcPhaseMetrics {
+
+    public static final String METRIC_NAME = "puris.edc.phase";
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    /**
+     * The phase returned, but did not deliver a usable result
+     */
+    public static final String OUTCOME_FAILURE = "failure";
+
+    /**
+     * The phase threw an exception
+     */
+    public static final String OUTCOME_ERROR = "error";
+
+    private static final String UNKNOWN = "unknown";
+
+    public enum Phase {
+        CATALOG("catalog"),
+        NEGOTIATION("negotiation"),
+        TRANSFER_START("transfer_start"),
+        EDR_AWAIT("edr_await"),
+        DTR_LOOKUP("dtr_lookup"),
+        DATA_PLANE_REQUEST("data_plane_request"),
+        TRANSFER_TERMINATION("transfer_termination");
+
+        public final String TAG_VALUE;
+
+        Phase(String tagValue) {
+            this.TAG_VALUE = tagValue;
+        }
+    }
+
+    @FunctionalInterface
+    public interface PhaseCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public EdcPhaseMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Executes the given call and records its duration. The call is considered
+     * successful, if it does not throw.
+     *
+     * @param phase       the phase
+     * @param partnerBpnl the bpnl of the partner, may be null
+     * @param type        the asset type, may be null if the phase is not specific to an asset type
+     * @param call        the call to execute
+     * @return the result of the call
+     * @throws E the exception of the call
+     */
+    public <T, E extends Exception> T record(Phase phase, String partnerBpnl, AssetType type, PhaseCall<T, E> call) throws E {
+        return record(phase, partnerBpnl, type, call, result -> true);
+    }
+
+    /**
+     * Executes the given call and records its duration.
+     *
+     * @param phase       the phase
+     * @param partnerBpnl the bpnl of the partner, may be null
+     * @param type        the asset type, may be null if the phase is not specific to an asset type
+     * @param call        the call to execute
+     * @param successful  decides whether the result of the call is a success
+     * @return the result of the call
+     * @throws E the exception of the call
+     */
+    public <T, E extends Exception> T record(Phase phase, String partnerBpnl, AssetType type, PhaseCall<T, E> call,
+                                             Predicate<T> successful) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = call.call();
+            outcome = successful.test(result) ? OUTCOME_SUCCESS : OUTCOME_FAILURE;
+            return result;
+        } finally {
+            sample.stop(timer(phase, partnerBpnl, type, outcome));
+        }
+    }
+
+    /**
+     * @param response the response of a data plane request, may be null
+     * @return true, if the response is not null and successful or not modified
+     */
+    public static boolean isSuccessful(Response response) {
+        return response != null && (response.isSuccessful() || response.code() == 304);
+    }
+
+    private Timer timer(Phase phase, String partnerBpnl, AssetType type, String outcome) {
+        return Timer.builder(METRIC_NAME)
+            .description("Duration of the phases of a data pull via the EDC")
+            .tag("phase", phase.TAG_VALUE)
+            .tag("partner", partnerBpnl == null ? UNKNOWN : partnerBpnl)
+            .tag("asset_type", type == null ? UNKNOWN : type.name())
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
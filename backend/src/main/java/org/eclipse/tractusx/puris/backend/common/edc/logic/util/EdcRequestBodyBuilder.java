@@ -348,34 +348,52 @@ public class EdcRequestBodyBuilder {
     }
 
     /**
-     * Creates the request body for requesting a full list of all
-     * negotiations in the history of your EDC control plane.
+     * Creates the request body for requesting one page of the
+     * negotiations in the history of your EDC control plane, newest first.
      *
+     * @param offset the index of the first negotiation
+     * @param limit  the maximum number of negotiations
      * @return The request body
      */
-    public JsonNode buildNegotiationsRequestBody() {
-        var body = getEdcContextObject();
-        body.put("@type", "QuerySpec");
+    public JsonNode buildNegotiationsRequestBody(int offset, int limit) {
+        var body = buildPagedQuerySpec(offset, limit);
+        body.put("sortOrder", "DESC");
+        body.put("sortField", "createdAt");
+        return body;
+    }
+
+    /**
+     * Creates the request body for requesting one page of the
+     * transfers in the history of your EDC control plane, newest first.
+     * <p>
+     * The transfers are sorted by their creation date rather than by their
+     * state timestamp, so that a transfer changing its state does not move
+     * between pages while a client is paging through the list.
+     *
+     * @param offset the index of the first transfer
+     * @param limit  the maximum number of transfers
+     * @return The request body
+     */
+    public JsonNode buildTransfersRequestBody(int offset, int limit) {
+        var body = buildPagedQuerySpec(offset, limit);
         body.put("sortOrder", "DESC");
         body.put("sortField", "createdAt");
         return body;
     }
 
     /**
-     * Creates the request body for requesting a full list of all
-     * transfers in the history of your EDC control plane.
+     * Creates the request body for requesting one page of the entries of a
+     * management api resource (e.g. assets or policy definitions).
      *
+     * @param offset the index of the first entry
+     * @param limit  the maximum number of entries
      * @return The request body
      */
-    public JsonNode buildTransfersRequestBody() {
+    public ObjectNode buildPagedQuerySpec(int offset, int limit) {
         var body = getEdcContextObject();
         body.put("@type", "QuerySpec");
-        /* 
-        to be readded with edc version 0.7.2
-        
-        body.put("sortOrder", "DESC");
-        body.put("sortField", "stateTimestamp"); 
-        */
+        body.put("offset", offset);
+        body.put("limit", limit);
         return body;
     }
 
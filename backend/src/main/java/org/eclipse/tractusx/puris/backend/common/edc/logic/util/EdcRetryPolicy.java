@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker.PartnerUnavailableException;
+import org.eclipse.tractusx.puris.backend.common.util.SizeLimitedInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounds the time and the number of attempts of a request to a partner, including the
+ * catalog request, negotiation, transfer, EDR polling and DTR lookup it consists of.
+ * <p>
+ * A {@link Deadline} is started per request and passed through all phases. Every phase that
+ * retries or polls obtains its {@link Retry} or phase timeout from the deadline, so that nested
+ * retries share the same time budget and the worst-case latency of a request is
+ * {@code puris.edc.retry.budget} plus the timeout of a single HTTP call.
+ * <p>
+ * Retries are delayed by an exponentially growing backoff with jitter. Failures that a retry
+ * cannot resolve (see {@link #isRetryable(Exception)} and {@link #isRetryable(int)}) are not retried.
+ */
+@Component
+public class EdcRetryPolicy {
+
+    private final Duration budget;
+
+    private final int maxAttempts;
+
+    private final Duration backoff;
+
+    private final Duration negotiationTimeout;
+
+    private final Duration transferTimeout;
+
+    private final Duration edrTimeout;
+
+    @Autowired
+    public EdcRetryPolicy(@Value("${puris.edc.retry.budget:60}") long budgetSeconds,
+                          @Value("${puris.edc.retry.attempts:3}") int maxAttempts,
+                          @Value("${puris.edc.retry.backoff:200}") long backoffMillis,
+                          @Value("${puris.edc.timeout.negotiation:10}") long negotiationTimeoutSeconds,
+                          @Value("${puris.edc.timeout.transfer:10}") long transferTimeoutSeconds,
+                          @Value("${puris.edc.timeout.edr:10}") long edrTimeoutSeconds) {
+        this(Duration.ofSeconds(budgetSeconds), maxAttempts, Duration.ofMillis(backoffMillis),
+            Duration.ofSeconds(negotiationTimeoutSeconds), Duration.ofSeconds(transferTimeoutSeconds), Duration.ofSeconds(edrTimeoutSeconds));
+    }
+
+    public EdcRetryPolicy(Duration budget, int maxAttempts, Duration backoff, Duration negotiationTimeout,
+                          Duration transferTimeout, Duration edrTimeout) {
+        this.budget = budget;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.backoff = backoff;
+        this.negotiationTimeout = negotiationTimeout;
+        this.transferTimeout = transferTimeout;
+        this.edrTimeout = edrTimeout;
+    }
+
+    /**
+     * @return a new deadline, that expires after the configured budget
+     */
+    public Deadline start() {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * @param e an exception thrown by an attempt
+     * @return false, if a retry would fail in the same way, e.g. because the partner's connector
+     * is unavailable or the payload is too large
+     */
+    public static boolean isRetryable(Exception e) {
+        return !(e instanceof PartnerUnavailableException
+            || e instanceof DeadlineExceededException
+            || e instanceof SizeLimitedInputStream.PayloadTooLargeException
+            || e instanceof IllegalArgumentException
+            || e instanceof InterruptedException);
+    }
+
+    /**
+     * Thrown, if the deadline of a request expired before a phase has been finished. Unlike a
+     * {@link PartnerUnavailableException}, the partner is not to blame, e.g. because the previous
+     * phases used up most of the budget.
+     */
+    public static class DeadlineExceededException extends IOException {
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param statusCode the status code of an unsuccessful response of the partner's data plane
+     * @return false, if a retry would receive the same response, e.g. because the partner does not provide the requested data
+     */
+    public static boolean isRetryable(int statusCode) {
+        return statusCode != 400 && statusCode != 404 && statusCode != 405 && statusCode != 413 && statusCode != 422;
+    }
+
+    /**
+     * The point in time until which a request to a partner and all of its phases must have finished.
+     */
+    public final class Deadline {
+
+        private final long endNanos;
+
+        private Deadline(long endNanos) {
+            this.endNanos = endNanos;
+        }
+
+        public boolean isExpired() {
+            return System.nanoTime() - endNanos >= 0;
+        }
+
+        public Duration remaining() {
+            return Duration.ofNanos(Math.max(endNanos - System.nanoTime(), 0));
+        }
+
+        /**
+         * @return the point in time (see {@link System#nanoTime()}) until which the negotiation may be awaited
+         */
+        public long negotiationEnd() {
+            return phaseEnd(negotiationTimeout);
+        }
+
+        /**
+         * @return the point in time (see {@link System#nanoTime()}) until which the start of a transfer may be awaited
+         */
+        public long transferEnd() {
+            return phaseEnd(transferTimeout);
+        }
+
+        /**
+         * @return the point in time (see {@link System#nanoTime()}) until which the EDR of a transfer may be awaited
+         */
+        public long edrEnd() {
+            return phaseEnd(edrTimeout);
+        }
+
+        private long phaseEnd(Duration phaseTimeout) {
+            long phaseEnd = System.nanoTime() + phaseTimeout.toNanos();
+            return phaseEnd - endNanos < 0 ? phaseEnd : endNanos;
+        }
+
+        /**
+         * @return a new counter for the attempts of an operation within this deadline
+         */
+        public Retry retry() {
+            return new Retry(this);
+        }
+    }
+
+    /**
+     * Counts the attempts of an operation.
+     */
+    public final class Retry {
+
+        private final Deadline deadline;
+
+        private int attempts;
+
+        private Retry(Deadline deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Decides whether another attempt may be started. Before every attempt but the first,
+         * the backoff is awaited.
+         *
+         * @return true, if the attempt may be started. False, if the maximum number of attempts
+         * has been reached, or if the deadline would expire during the backoff.
+         */
+        public boolean next() {
+            if (attempts >= maxAttempts || deadline.isExpired()) {
+                return false;
+            }
+            if (attempts > 0) {
+                long delay = backoffMillis(attempts);
+                if (delay >= deadline.remaining().toMillis()) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            attempts++;
+            return true;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * @param retry the number of the retry, starting with 1
+         * @return the backoff, half of it fixed and half of it random
+         */
+        private long backoffMillis(int retry) {
+            long delay = backoff.toMillis() << Math.min(retry - 1, 16);
+            return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the availability of the partners' connectors, so that requests to a
+ * connector that is known to be down fail immediately instead of running through
+ * catalog request, negotiation, transfer and EDR polling.
+ * <p>
+ * Every partner has its own circuit:
+ * <ul>
+ *     <li>CLOSED: requests are permitted. After {@code puris.edc.circuitbreaker.failurethreshold}
+ *     consecutive failed requests, the circuit opens.</li>
+ *     <li>OPEN: requests are rejected for {@code puris.edc.circuitbreaker.opentime} seconds.
+ *     Afterward, the next request is permitted as probe and the circuit becomes half-open.</li>
+ *     <li>HALF_OPEN: all other requests are rejected until the probe finished. A successful probe
+ *     closes the circuit, a failed probe opens it again.</li>
+ * </ul>
+ * The state is kept per backend instance.
+ */
+@Component
+@Slf4j
+public class PartnerCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Thrown, if the partner's connector did not respond at all, as opposed to rejecting a request.
+     * Such failures don't say anything about the validity of a contract.
+     */
+    public static class PartnerUnavailableException extends IOException {
+        public PartnerUnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param partnerBpnl         the BPNL of the partner
+     * @param state               the state of the circuit
+     * @param consecutiveFailures the number of failed requests since the last successful one
+     * @param lastSuccess         the time of the last successful request, may be null
+     * @param lastFailure         the time of the last failed request, may be null
+     * @param nextProbe           the earliest time of the next probe, if the circuit is open, otherwise null
+     * @param rejectedRequests    the number of requests that have been rejected because of an open circuit
+     */
+    public record PartnerHealth(String partnerBpnl, State state, int consecutiveFailures, Instant lastSuccess,
+                                Instant lastFailure, Instant nextProbe, long rejectedRequests) {
+    }
+
+    private static final class Circuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private Instant lastSuccess;
+        private Instant lastFailure;
+        private Instant openedAt;
+        private long rejectedRequests;
+        private Thread probe;
+    }
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private final Clock clock;
+
+    @Autowired
+    public PartnerCircuitBreaker(@Value("${puris.edc.circuitbreaker.failurethreshold:3}") int failureThreshold,
+                                 @Value("${puris.edc.circuitbreaker.opentime:60}") long openSeconds) {
+        this(failureThreshold, Duration.ofSeconds(openSeconds), Clock.systemUTC());
+    }
+
+    PartnerCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a request to the partner's connector may be sent. If the method returns true,
+     * the caller must call {@link #release(String)} after the request, whether an outcome
+     * has been reported via {@link #recordSuccess(String)} or {@link #recordFailure(String)} or not.
+     *
+     * @param partnerBpnl the BPNL of the partner
+     * @return true, if the request is permitted
+     */
+    public boolean tryAcquire(String partnerBpnl) {
+        Circuit circuit = circuits.computeIfAbsent(partnerBpnl, bpnl -> new Circuit());
+        synchronized (circuit) {
+            if (circuit.state == State.CLOSED) {
+                return true;
+            }
+            if (circuit.state == State.OPEN && !clock.instant().isBefore(circuit.openedAt.plus(openDuration))) {
+                circuit.state = State.HALF_OPEN;
+                circuit.probe = Thread.currentThread();
+                log.info("Probing the connector of partner {}", partnerBpnl);
+                return true;
+            }
+            circuit.rejectedRequests++;
+            return false;
+        }
+    }
+
+    public void recordSuccess(String partnerBpnl) {
+        Circuit circuit = circuits.computeIfAbsent(partnerBpnl, bpnl -> new Circuit());
+        synchronized (circuit) {
+            if (circuit.state != State.CLOSED) {
+                log.info("The connector of partner {} is available again", partnerBpnl);
+            }
+            circuit.state = State.CLOSED;
+            circuit.probe = null;
+            circuit.consecutiveFailures = 0;
+            circuit.lastSuccess = clock.instant();
+        }
+    }
+
+    public void recordFailure(String partnerBpnl) {
+        Circuit circuit = circuits.computeIfAbsent(partnerBpnl, bpnl -> new Circuit());
+        synchronized (circuit) {
+            circuit.consecutiveFailures++;
+            circuit.lastFailure = clock.instant();
+            if (circuit.state == State.HALF_OPEN || (circuit.state == State.CLOSED && circuit.consecutiveFailures >= failureThreshold)) {
+                log.warn("The connector of partner {} is considered unavailable after {} failed requests, rejecting requests for {} s",
+                    partnerBpnl, circuit.consecutiveFailures, openDuration.toSeconds());
+                circuit.state = State.OPEN;
+                circuit.probe = null;
+                circuit.openedAt = circuit.lastFailure;
+            }
+        }
+    }
+
+    /**
+     * Ends a request that has been permitted by {@link #tryAcquire(String)}. If the request was a probe
+     * that ended before the partner's connector has been contacted, the circuit is opened again, so that
+     * the next request becomes the probe.
+     *
+     * @param partnerBpnl the BPNL of the partner
+     */
+    public void release(String partnerBpnl) {
+        Circuit circuit = circuits.get(partnerBpnl);
+        if (circuit == null) {
+            return;
+        }
+        synchronized (circuit) {
+            if (circuit.state == State.HALF_OPEN && circuit.probe == Thread.currentThread()) {
+                circuit.state = State.OPEN;
+                circuit.probe = null;
+            }
+        }
+    }
+
+    /**
+     * @param partnerBpnl the BPNL of the partner
+     * @return the health of the partner's connector, or null if no request has been sent so far
+     */
+    public PartnerHealth getHealth(String partnerBpnl) {
+        Circuit circuit = circuits.get(partnerBpnl);
+        return circuit == null ? null : toHealth(partnerBpnl, circuit);
+    }
+
+    /**
+     * @return the health of the connectors of all partners that requests have been sent to, ordered by BPNL
+     */
+    public List<PartnerHealth> getHealth() {
+        return circuits.entrySet().stream()
+            .map(entry -> toHealth(entry.getKey(), entry.getValue()))
+            .sorted(Comparator.comparing(PartnerHealth::partnerBpnl))
+            .toList();
+    }
+
+    private PartnerHealth toHealth(String partnerBpnl, Circuit circuit) {
+        synchronized (circuit) {
+            return new PartnerHealth(partnerBpnl, circuit.state, circuit.consecutiveFailures, circuit.lastSuccess,
+                circuit.lastFailure, circuit.state == State.OPEN ? circuit.openedAt.plus(openDuration) : null,
+                circuit.rejectedRequests);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Computes content hash based entity tags of submodels. They are used as ETag
+ * of the submodel request apis and by the consumer to detect unchanged submodels.
+ * <p>
+ * The hash does not depend on the order of object properties and array elements,
+ * since the submodels contain sets. Timestamps that are set to the time of the
+ * request (instead of the time of the last change) are ignored, therefore the
+ * entity tags are weak.
+ */
+@Component
+public class SubmodelFingerprint {
+
+    private static final Set<String> REQUEST_TIMESTAMPS = Set.of("lastUpdatedOnDateTime");
+
+    private final ObjectMapper objectMapper;
+
+    public SubmodelFingerprint(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param samm the submodel
+     * @param type the type of the submodel
+     * @return the entity tag (including the weak indicator and quotes)
+     */
+    public String of(Object samm, AssetType type) {
+        return of(objectMapper.valueToTree(samm), type);
+    }
+
+    /**
+     * @param samm the submodel
+     * @param type the type of the submodel
+     * @return the entity tag (including the weak indicator and quotes)
+     */
+    public String of(JsonNode samm, AssetType type) {
+        return "W/\"" + HexFormat.of().formatHex(digest(samm, ignoredProperties(type))) + "\"";
+    }
+
+    /**
+     * The item stock submodel carries the time of the last change of the stocks,
+     * the other submodels are created with the time of the request.
+     */
+    private static Set<String> ignoredProperties(AssetType type) {
+        return switch (type) {
+            case DEMAND_SUBMODEL, DELIVERY_SUBMODEL, PRODUCTION_SUBMODEL -> REQUEST_TIMESTAMPS;
+            default -> Set.of();
+        };
+    }
+
+    private static byte[] digest(JsonNode node, Set<String> ignoredProperties) {
+        MessageDigest messageDigest = newMessageDigest();
+        messageDigest.update((byte) node.getNodeType().ordinal());
+        if (node.isObject()) {
+            List<String> fieldNames = new ArrayList<>();
+            node.fieldNames().forEachRemaining(fieldNames::add);
+            Collections.sort(fieldNames);
+            for (String fieldName : fieldNames) {
+                if (ignoredProperties.contains(fieldName)) {
+                    continue;
+                }
+                messageDigest.update(fieldName.getBytes(StandardCharsets.UTF_8));
+                messageDigest.update(digest(node.get(fieldName), ignoredProperties));
+            }
+        } else if (node.isArray()) {
+            List<byte[]> elementDigests = new ArrayList<>(node.size());
+            for (JsonNode element : node) {
+                elementDigests.add(digest(element, ignoredProperties));
+            }
+            elementDigests.sort(Arrays::compare);
+            elementDigests.forEach(messageDigest::update);
+        } else {
+            messageDigest.update(node.asText().getBytes(StandardCharsets.UTF_8));
+        }
+        return messageDigest.digest();
+    }
+
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
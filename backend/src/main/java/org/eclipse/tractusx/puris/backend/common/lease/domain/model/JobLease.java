@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.lease.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * A time limited lease on a named job, shared between all backend
+ * instances that use the same database.
+ * <p>
+ * An instance may run the job as long as it is the holder of the lease
+ * and the lease has not expired.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class JobLease {
+
+    @Id
+    @NotNull
+    @Column(length = 512)
+    private String name;
+
+    @NotNull
+    private String holder;
+
+    /**
+     * Point in time (milliseconds since epoch) after which the lease may be taken over
+     */
+    private long expiresAt;
+
+    @Override
+    public String toString() {
+        return "JobLease{" +
+            "name='" + name + '\'' +
+            ", holder='" + holder + '\'' +
+            ", expiresAt=" + new Date(expiresAt) +
+            '}';
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.lease.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.common.lease.domain.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Creates a new lease. Fails with a constraint violation, if a lease
+     * with the given name already exists (in contrast to save, which
+     * would overwrite the existing lease).
+     *
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (name, holder, expires_at) VALUES (:name, :holder, :expiresAt)", nativeQuery = true)
+    int insert(@Param("name") String name, @Param("holder") String holder, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Renews the lease, if it is held by the given holder, or takes it over, if it has expired.
+     *
+     * @return the number of updated rows, 0 if the lease does not exist or is held by someone else
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.holder = :holder, l.expiresAt = :expiresAt " +
+        "WHERE l.name = :name AND (l.holder = :holder OR l.expiresAt <= :now)")
+    int renewOrTakeOver(@Param("name") String name, @Param("holder") String holder,
+                        @Param("now") long now, @Param("expiresAt") long expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM JobLease l WHERE l.name = :name AND l.holder = :holder")
+    int release(@Param("name") String name, @Param("holder") String holder);
+
+    boolean existsByNameAndExpiresAtGreaterThan(String name, long now);
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.lease.logic;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.lease.domain.repository.JobLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Coordinates jobs between several backend instances that share the same database,
+ * e.g. multiple replicas behind a load balancer.
+ * <p>
+ * Leases are stored in the database and expire after the given duration, so that a
+ * crashed instance does not block a job forever. Expiry is based on the clocks of the
+ * instances, which therefore need to be synchronized.
+ */
+@Service
+@Slf4j
+public class JobLeaseService {
+
+    /**
+     * Interval in which a waiting caller checks whether a lease was released (milliseconds)
+     */
+    private static final long POLL_INTERVAL = 200;
+
+    @Autowired
+    private JobLeaseRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Identifies this backend instance
+     */
+    @Getter
+    private final String nodeId;
+
+    public JobLeaseService(PlatformTransactionManager transactionManager, @Value("${puris.cluster.nodeid}") String nodeId) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // leases must not join the transaction of the caller, they have to be visible to other instances immediately
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = nodeId == null || nodeId.isBlank() ? generateNodeId() : nodeId;
+        log.info("Using node id {} for job leases", this.nodeId);
+    }
+
+    /**
+     * @return a holder id that is unique for a single acquisition, so that
+     * concurrent callers on this instance exclude each other as well
+     */
+    public String newHolder() {
+        return nodeId + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Acquires or renews the lease with the given name.
+     *
+     * @param name     the name of the lease
+     * @param holder   the holder, e.g. the node id for jobs that are run by one instance only
+     * @param duration the time after which the lease expires, if it is not renewed
+     * @return true, if the given holder holds the lease now
+     */
+    public boolean tryAcquire(String name, String holder, Duration duration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + duration.toMillis();
+        Integer renewed = transactionTemplate.execute(status -> repository.renewOrTakeOver(name, holder, now, expiresAt));
+        if (renewed != null && renewed > 0) {
+            return true;
+        }
+        if (repository.existsById(name)) {
+            // held by someone else
+            return false;
+        }
+        try {
+            transactionTemplate.execute(status -> repository.insert(name, holder, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // created by someone else in the meantime
+            return false;
+        }
+    }
+
+    /**
+     * Releases the lease, if it is held by the given holder.
+     *
+     * @param name   the name of the lease
+     * @param holder the holder
+     */
+    public void release(String name, String holder) {
+        transactionTemplate.execute(status -> repository.release(name, holder));
+    }
+
+    /**
+     * @param name the name of the lease
+     * @return true, if the lease is currently held by anyone
+     */
+    public boolean isHeld(String name) {
+        return repository.existsByNameAndExpiresAtGreaterThan(name, System.currentTimeMillis());
+    }
+
+    /**
+     * Makes sure that only one caller within all instances runs a job at the same time.
+     * <p>
+     * The caller that acquires the lease runs the leader action. All callers that find the
+     * lease held by someone else wait until it is released (or expired) and then run the
+     * follower action, which is expected to read the result of the leader (e.g. from the database).
+     *
+     * @param name     the name of the lease
+     * @param duration the time after which the lease expires, should exceed the runtime of the leader action
+     * @param leader   the job
+     * @param follower reads the result of a job that was run by someone else
+     * @return the result of the leader or follower action
+     */
+    public <T> T singleFlight(String name, Duration duration, Supplier<T> leader, Supplier<T> follower) {
+        String holder = newHolder();
+        if (tryAcquire(name, holder, duration)) {
+            try {
+                return leader.get();
+            } finally {
+                release(name, holder);
+            }
+        }
+        log.info("Awaiting {}, which is currently run by another holder", name);
+        long deadline = System.currentTimeMillis() + duration.toMillis();
+        while (isHeld(name) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return follower.get();
+    }
+
+    private static String generateNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "puris-backend";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.refresh.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJob;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJobService;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.dto.RefreshJobDto;
+import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("refresh-jobs")
+@Slf4j
+/**
+ * This class contains the REST controller for refresh jobs, which pull the data that the partners
+ * report for a material and push their progress via server-sent events.
+ */
+public class RefreshJobController {
+
+    @Autowired
+    private RefreshJobService refreshJobService;
+
+    @Autowired
+    private MaterialService materialService;
+
+    private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
+
+    @PostMapping
+    @Operation(summary = "Starts a refresh job",
+        description = "Requests the given submodel for the material from all partners that report it. The job is " +
+            "processed asynchronously, its progress can be followed via the events endpoint. " +
+            "The direction is required for ITEM_STOCK_SUBMODEL: OUTBOUND for the stocks reported by suppliers, " +
+            "INBOUND for the stocks reported by customers.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "The job has been started."),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Material not found", content = @Content)
+    })
+    public ResponseEntity<RefreshJobDto> startRefreshJob(@RequestParam String ownMaterialNumber,
+                                                         @RequestParam AssetType assetType,
+                                                         @RequestParam Optional<DirectionCharacteristic> direction) {
+        if (!materialPattern.matcher(ownMaterialNumber).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid material number");
+        }
+        Material material = materialService.findByOwnMaterialNumber(ownMaterialNumber);
+        if (material == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Material not found");
+        }
+        RefreshJob job;
+        try {
+            job = refreshJobService.start(material, assetType, direction.orElse(null));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.accepted().location(location(job)).body(job.toDto());
+    }
+
+    @GetMapping("{id}")
+    @Operation(summary = "Returns the state of a refresh job",
+        description = "Finished jobs can be queried for ten minutes.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content)
+    })
+    public RefreshJobDto getRefreshJob(@PathVariable UUID id) {
+        return findJob(id).toDto();
+    }
+
+    @GetMapping(value = "{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Streams the progress of a refresh job as server-sent events",
+        description = "Sends a \"partner\" event for every partner as soon as its data has been pulled, " +
+            "containing whether the data has changed and the number of stored rows. Partners that have already " +
+            "finished are sent first. After the last partner, a \"finished\" event with the whole job is sent " +
+            "and the stream is closed. Clients only need to reload the reported data of partners that have changed.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content)
+    })
+    public SseEmitter streamRefreshJobEvents(@PathVariable UUID id) {
+        return refreshJobService.subscribe(findJob(id));
+    }
+
+    /**
+     * @param job the job
+     * @return the url of the job
+     */
+    public static URI location(RefreshJob job) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/refresh-jobs/{id}")
+            .buildAndExpand(job.getId())
+            .toUri();
+    }
+
+    private RefreshJob findJob(UUID id) {
+        var job = refreshJobService.find(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Refresh job not found");
+        }
+        return job;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.refresh.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.*;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Tracks the pulls of the data that a partner reports for a material via a submodel,
+ * so that the data can be refreshed in the background before it becomes stale.
+ * <p>
+ * The direction characteristic distinguishes the reported material stocks (OUTBOUND) from
+ * the reported product stocks (INBOUND). For all other submodels it is empty.
+ */
+@Entity
+@IdClass(ReportedDataPull.Key.class)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportedDataPull {
+
+    @Id
+    private UUID partnerUuid;
+
+    @Id
+    private String ownMaterialNumber;
+
+    @Id
+    private AssetType assetType;
+
+    @Id
+    private String directionCharacteristic;
+
+    /**
+     * Point in time (milliseconds since epoch) of the last successful pull, 0 if there was none yet
+     */
+    private long lastSuccessfulPull;
+
+    /**
+     * Point in time (milliseconds since epoch) at which the next pull is due
+     */
+    private long nextPullScheduled;
+
+    public Key getKey() {
+        return new Key(partnerUuid, ownMaterialNumber, assetType, directionCharacteristic);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportedDataPull{" +
+            "partnerUuid=" + partnerUuid +
+            ", ownMaterialNumber='" + ownMaterialNumber + '\'' +
+            ", assetType=" + assetType +
+            ", directionCharacteristic='" + directionCharacteristic + '\'' +
+            ", lastSuccessfulPull=" + new Date(lastSuccessfulPull) +
+            ", nextPullScheduled=" + new Date(nextPullScheduled) +
+            '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReportedDataPull pull)) return false;
+        return Objects.equals(partnerUuid, pull.partnerUuid) && Objects.equals(ownMaterialNumber,
+            pull.ownMaterialNumber) && assetType == pull.assetType &&
+            Objects.equals(directionCharacteristic, pull.directionCharacteristic);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partnerUuid, ownMaterialNumber, assetType, directionCharacteristic);
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Key implements Serializable {
+        private UUID partnerUuid;
+        private String ownMaterialNumber;
+        private AssetType assetType;
+        private String directionCharacteristic;
+    }
+}
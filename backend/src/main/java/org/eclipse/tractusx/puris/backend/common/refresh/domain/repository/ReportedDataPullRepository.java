@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.refresh.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.common.refresh.domain.model.ReportedDataPull;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ReportedDataPullRepository extends JpaRepository<ReportedDataPull, ReportedDataPull.Key> {
+
+    String KEY_CONDITION = "p.partnerUuid = :#{#key.partnerUuid} AND p.ownMaterialNumber = :#{#key.ownMaterialNumber} " +
+        "AND p.assetType = :#{#key.assetType} AND p.directionCharacteristic = :#{#key.directionCharacteristic}";
+
+    /**
+     * @param now the current point in time
+     * @return all pulls that are due, the most overdue first
+     */
+    @Query("SELECT p FROM ReportedDataPull p WHERE p.nextPullScheduled <= :now ORDER BY p.nextPullScheduled")
+    List<ReportedDataPull> findDue(@Param("now") long now);
+
+    /**
+     * Reschedules the next pull, if it is still scheduled at the expected time.
+     * Thereby only one caller can claim a due pull.
+     *
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ReportedDataPull p SET p.nextPullScheduled = :next " +
+        "WHERE " + KEY_CONDITION + " AND p.nextPullScheduled = :expected")
+    int updateNextPullScheduled(@Param("key") ReportedDataPull.Key key,
+                                @Param("expected") long expected, @Param("next") long next);
+
+    /**
+     * Stores a successful pull, unless a more recent one was already stored.
+     *
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ReportedDataPull p SET p.lastSuccessfulPull = :pulledAt, p.nextPullScheduled = :next " +
+        "WHERE " + KEY_CONDITION + " AND p.lastSuccessfulPull < :pulledAt")
+    int updateSuccessfulPull(@Param("key") ReportedDataPull.Key key,
+                             @Param("pulledAt") long pulledAt, @Param("next") long next);
+}
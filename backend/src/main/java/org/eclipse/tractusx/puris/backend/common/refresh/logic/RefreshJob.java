@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.refresh.logic;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.dto.RefreshJobDto;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.dto.RefreshJobPartnerDto;
+import org.eclipse.tractusx.puris.backend.common.util.DifferentialSync;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * An on-demand refresh of the data that several partners report for one material via one submodel.
+ * <p>
+ * The progress is pushed to all subscribed {@link SseEmitter}s: a "partner" event per partner as soon
+ * as its pull has finished, and a "finished" event with the whole job after the last pull. Subscribers
+ * that join late receive the events of the partners that have already finished first.
+ * <p>
+ * Jobs are only kept in the memory of the backend instance that started them.
+ */
+@Slf4j
+public class RefreshJob {
+
+    public enum PartnerState {
+        PENDING, UP_TO_DATE, FAILED
+    }
+
+    static final String PARTNER_EVENT = "partner";
+
+    static final String FINISHED_EVENT = "finished";
+
+    private static class PartnerProgress {
+
+        private PartnerState state = PartnerState.PENDING;
+
+        /**
+         * The changes of the stored rows, null if the partner's data has not been modified
+         */
+        private DifferentialSync.Changes changes;
+    }
+
+    @Getter
+    private final UUID id = UUID.randomUUID();
+
+    @Getter
+    private final Material material;
+
+    @Getter
+    private final AssetType assetType;
+
+    @Getter
+    private final DirectionCharacteristic direction;
+
+    @Getter
+    private final List<Partner> partners;
+
+    private final Date createdOn = new Date();
+
+    private Date finishedOn;
+
+    private final Map<Partner, PartnerProgress> progress = new LinkedHashMap<>();
+
+    private final List<SseEmitter> emitters = new ArrayList<>();
+
+    /**
+     * @param material  the material
+     * @param assetType the submodel
+     * @param direction OUTBOUND for the reported material stocks, INBOUND for the reported
+     *                  product stocks, null for all other submodels
+     * @param partners  the partners to pull from
+     */
+    public RefreshJob(Material material, AssetType assetType, DirectionCharacteristic direction, List<Partner> partners) {
+        this.material = material;
+        this.assetType = assetType;
+        this.direction = direction;
+        this.partners = List.copyOf(partners);
+        for (var partner : this.partners) {
+            progress.put(partner, new PartnerProgress());
+        }
+        if (progress.isEmpty()) {
+            finishedOn = createdOn;
+        }
+    }
+
+    /**
+     * Records the changes of the partner's data, if the event belongs to a running pull of this job.
+     *
+     * @param event the event
+     */
+    public synchronized void recordChanges(ReportedDataChangedEvent event) {
+        if (!material.equals(event.material()) || assetType != event.type() || direction != event.direction()) {
+            return;
+        }
+        var partnerProgress = progress.get(event.partner());
+        if (partnerProgress != null && partnerProgress.state == PartnerState.PENDING) {
+            partnerProgress.changes = event.changes();
+        }
+    }
+
+    /**
+     * Marks the pull from the partner as finished and notifies the subscribers.
+     *
+     * @param partner the partner
+     * @param success true, if the partner's data is up-to-date now
+     */
+    public synchronized void complete(Partner partner, boolean success) {
+        var partnerProgress = progress.get(partner);
+        if (partnerProgress == null || partnerProgress.state != PartnerState.PENDING) {
+            return;
+        }
+        partnerProgress.state = success ? PartnerState.UP_TO_DATE : PartnerState.FAILED;
+        var partnerDto = toDto(partner, partnerProgress);
+        for (var emitter : List.copyOf(emitters)) {
+            send(emitter, PARTNER_EVENT, partnerDto);
+        }
+        if (progress.values().stream().noneMatch(p -> p.state == PartnerState.PENDING)) {
+            finishedOn = new Date();
+            var jobDto = toDto();
+            for (var emitter : List.copyOf(emitters)) {
+                send(emitter, FINISHED_EVENT, jobDto);
+                emitter.complete();
+            }
+            emitters.clear();
+        }
+    }
+
+    /**
+     * Sends the events of the partners that have already finished and registers the emitter
+     * for the remaining ones. The emitter is completed after the "finished" event.
+     *
+     * @param emitter the emitter
+     */
+    public synchronized void subscribe(SseEmitter emitter) {
+        for (var entry : progress.entrySet()) {
+            if (entry.getValue().state != PartnerState.PENDING && !send(emitter, PARTNER_EVENT, toDto(entry.getKey(), entry.getValue()))) {
+                return;
+            }
+        }
+        if (isFinished()) {
+            if (send(emitter, FINISHED_EVENT, toDto())) {
+                emitter.complete();
+            }
+            return;
+        }
+        emitters.add(emitter);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(e -> unsubscribe(emitter));
+    }
+
+    private synchronized void unsubscribe(SseEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    public synchronized boolean isFinished() {
+        return finishedOn != null;
+    }
+
+    /**
+     * @return the point in time the last pull has finished, null if the job is still running
+     */
+    public synchronized Date getFinishedOn() {
+        return finishedOn;
+    }
+
+    public synchronized RefreshJobDto toDto() {
+        List<RefreshJobPartnerDto> partnerDtos = new ArrayList<>();
+        progress.forEach((partner, partnerProgress) -> partnerDtos.add(toDto(partner, partnerProgress)));
+        return new RefreshJobDto(id, material.getOwnMaterialNumber(), assetType, direction, createdOn, finishedOn, partnerDtos);
+    }
+
+    private static RefreshJobPartnerDto toDto(Partner partner, PartnerProgress partnerProgress) {
+        var changes = partnerProgress.changes;
+        if (changes == null) {
+            return new RefreshJobPartnerDto(partner.getBpnl(), partnerProgress.state, false, null, null, null, null);
+        }
+        return new RefreshJobPartnerDto(partner.getBpnl(), partnerProgress.state, changes.hasChanges(), changes.rows(),
+            changes.created(), changes.updated(), changes.deleted());
+    }
+
+    /**
+     * @return true, if the event has been sent. Otherwise, the emitter has been completed with the error.
+     */
+    private boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Failed to send {} event of refresh job {}: {}", name, id, e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
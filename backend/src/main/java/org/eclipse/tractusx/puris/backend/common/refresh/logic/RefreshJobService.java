@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.refresh.logic;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Starts refresh jobs, which pull the data that the partners report for a material in the
+ * background, and lets clients follow their progress via server-sent events. In contrast to
+ * polling the reported data, clients learn when all partners have answered and whether the
+ * data of any partner has changed at all.
+ * <p>
+ * The jobs and their subscriptions are only known to the backend instance that started them.
+ * With multiple instances, clients need to be routed to the same instance (see Admin Guide).
+ */
+@Service
+@Slf4j
+public class RefreshJobService {
+
+    /**
+     * Time for which finished jobs can still be queried
+     */
+    private static final Duration RETENTION = Duration.ofMinutes(10);
+
+    /**
+     * Time after which a subscription is closed, even if the job is still running
+     */
+    private static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofMinutes(5);
+
+    @Autowired
+    private ReportedDataRefreshService reportedDataRefreshService;
+    @Autowired
+    private MaterialPartnerRelationService mprService;
+    @Autowired
+    private ExecutorService executorService;
+
+    private final Map<UUID, RefreshJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a refresh job for all partners that report the given submodel for the material.
+     *
+     * @param material  the material
+     * @param assetType the submodel, DTR, notifications and part type information are not supported
+     * @param direction OUTBOUND for the reported material stocks, INBOUND for the reported
+     *                  product stocks, ignored for all other submodels
+     * @return the job
+     * @throws IllegalArgumentException if the submodel is not supported or the direction is missing
+     */
+    public RefreshJob start(Material material, AssetType assetType, DirectionCharacteristic direction) {
+        if (assetType != AssetType.ITEM_STOCK_SUBMODEL) {
+            direction = null;
+        } else if (direction == null) {
+            throw new IllegalArgumentException("The direction is required for " + assetType);
+        }
+        List<Partner> partners = switch (assetType) {
+            case ITEM_STOCK_SUBMODEL -> direction == DirectionCharacteristic.OUTBOUND ?
+                mprService.findAllSuppliersForOwnMaterialNumber(material.getOwnMaterialNumber()) :
+                mprService.findAllCustomersForOwnMaterialNumber(material.getOwnMaterialNumber());
+            case PRODUCTION_SUBMODEL -> mprService.findAllSuppliersForOwnMaterialNumber(material.getOwnMaterialNumber());
+            case DEMAND_SUBMODEL -> mprService.findAllCustomersForOwnMaterialNumber(material.getOwnMaterialNumber());
+            // deliveries are requested from suppliers for materials and from customers for products
+            case DELIVERY_SUBMODEL -> material.isMaterialFlag() ?
+                mprService.findAllSuppliersForOwnMaterialNumber(material.getOwnMaterialNumber()) :
+                mprService.findAllCustomersForOwnMaterialNumber(material.getOwnMaterialNumber());
+            default -> throw new IllegalArgumentException("Partners do not report data via " + assetType);
+        };
+        return start(material, assetType, direction, partners);
+    }
+
+    /**
+     * Starts a refresh job for the given partners.
+     *
+     * @param material  the material
+     * @param assetType the submodel
+     * @param direction OUTBOUND for the reported material stocks, INBOUND for the reported
+     *                  product stocks, null for all other submodels
+     * @param partners  the partners to pull from
+     * @return the job
+     */
+    public RefreshJob start(Material material, AssetType assetType, DirectionCharacteristic direction, List<Partner> partners) {
+        removeExpiredJobs();
+        var job = new RefreshJob(material, assetType, direction, partners);
+        jobs.put(job.getId(), job);
+        log.info("Started refresh job {} for {} of {} with {} partners", job.getId(), assetType,
+            material.getOwnMaterialNumber(), partners.size());
+        for (var partner : job.getPartners()) {
+            executorService.submit(() -> {
+                boolean success = false;
+                try {
+                    success = reportedDataRefreshService.refresh(partner, material, assetType, direction);
+                } catch (Exception e) {
+                    log.error("Refresh job " + job.getId() + " failed for " + partner.getBpnl(), e);
+                } finally {
+                    job.complete(partner, success);
+                }
+            });
+        }
+        return job;
+    }
+
+    /**
+     * @param id the id of the job
+     * @return the job, or null if it does not exist or has expired
+     */
+    public RefreshJob find(UUID id) {
+        removeExpiredJobs();
+        return jobs.get(id);
+    }
+
+    /**
+     * @param job the job
+     * @return an emitter that receives the progress of the job
+     */
+    public SseEmitter subscribe(RefreshJob job) {
+        var emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT.toMillis());
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    @EventListener
+    public void onReportedDataChanged(ReportedDataChangedEvent event) {
+        for (var job : jobs.values()) {
+            job.recordChanges(event);
+        }
+    }
+
+    private void removeExpiredJobs() {
+        long expired = System.currentTimeMillis() - RETENTION.toMillis();
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedOn().getTime() < expired);
+    }
+}
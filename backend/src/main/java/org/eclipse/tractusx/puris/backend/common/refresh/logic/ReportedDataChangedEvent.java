@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.refresh.logic;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.util.DifferentialSync;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+
+/**
+ * Published after a modified submodel that a partner reports for a material has been stored.
+ * It is not published, if the partner's submodel has not been modified since the last pull.
+ *
+ * @param partner   the partner
+ * @param material  the material
+ * @param type      the submodel
+ * @param direction OUTBOUND for the reported material stocks, INBOUND for the reported
+ *                  product stocks, null for all other submodels
+ * @param changes   the changes of the stored rows
+ */
+public record ReportedDataChangedEvent(Partner partner, Material material, AssetType type,
+                                       DirectionCharacteristic direction, DifferentialSync.Changes changes) {
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.refresh.logic;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.lease.logic.JobLeaseService;
+import org.eclipse.tractusx.puris.backend.common.refresh.domain.model.ReportedDataPull;
+import org.eclipse.tractusx.puris.backend.common.refresh.domain.repository.ReportedDataPullRepository;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.DeliveryRequestApiService;
+import org.eclipse.tractusx.puris.backend.demand.logic.services.DemandRequestApiService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
+import org.eclipse.tractusx.puris.backend.production.logic.service.ProductionRequestApiService;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockRequestApiService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Refreshes the data that partners report for materials (stocks, demands, deliveries and
+ * productions) in the background, so that the frontend is served from fresh local data
+ * and does not have to wait for a manual refresh.
+ * <p>
+ * For every material partner relation, the last successful pull of each relevant submodel is
+ * stored. A pull is repeated once its staleness budget has expired. The start times are spread
+ * over a tenth of the budget, and at most a limited number of pulls per partner are sent per
+ * minute, one after the other, so that no partner is flooded with requests. The item stocks
+ * of several materials of a partner are pulled in one batch.
+ */
+@Service
+@Slf4j
+public class ReportedDataRefreshService {
+
+    @Autowired
+    private ReportedDataPullRepository repository;
+    @Autowired
+    private MaterialPartnerRelationService mprService;
+    @Autowired
+    private ItemStockRequestApiService itemStockRequestApiService;
+    @Autowired
+    private DemandRequestApiService demandRequestApiService;
+    @Autowired
+    private DeliveryRequestApiService deliveryRequestApiService;
+    @Autowired
+    private ProductionRequestApiService productionRequestApiService;
+    @Autowired
+    private ExecutorService executorService;
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    /**
+     * Toggles the background refresh
+     */
+    @Value("${puris.refresh.enabled}")
+    private boolean refreshEnabled;
+
+    @Value("${puris.refresh.itemstock.budget}")
+    private long itemStockBudget;
+
+    @Value("${puris.refresh.demand.budget}")
+    private long demandBudget;
+
+    @Value("${puris.refresh.delivery.budget}")
+    private long deliveryBudget;
+
+    @Value("${puris.refresh.production.budget}")
+    private long productionBudget;
+
+    /**
+     * Maximum number of pulls per partner and daemon cycle
+     */
+    @Value("${puris.refresh.partnerlimit}")
+    private int partnerLimit;
+
+    private final long daemonActivityInterval = 1 * 60 * 1000; // daemon wakes up every minute
+
+    /**
+     * Name of the lease that decides which backend instance refreshes the reported data
+     */
+    private static final String DAEMON_LEASE = "reported-data-refresh-daemon";
+
+    /**
+     * Partners that are currently pulled from by this instance
+     */
+    private final Set<UUID> busyPartners = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The daemon runs on every backend instance, but only the holder of the daemon lease pulls.
+     */
+    private final Runnable daemon = () -> {
+        log.info("Reported data refresh daemon started");
+        while (true) {
+            try {
+                if (jobLeaseService.tryAcquire(DAEMON_LEASE, jobLeaseService.getNodeId(),
+                    Duration.ofMillis(3 * daemonActivityInterval))) {
+                    var relations = synchronizePulls();
+                    refreshDuePulls(relations);
+                } else {
+                    log.debug("Reported data is refreshed by another instance");
+                }
+            } catch (Exception e) {
+                log.error("Reported data refresh cycle failed", e);
+            }
+            try {
+                Thread.sleep(daemonActivityInterval);
+            } catch (InterruptedException ignore) {
+            }
+        }
+    };
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDaemon() {
+        if (refreshEnabled) {
+            executorService.submit(daemon);
+        }
+    }
+
+    /**
+     * Pulls the data that the partner reports for the material via the given submodel and
+     * records the pull, if it was successful.
+     *
+     * @param partner   the partner
+     * @param material  the material
+     * @param type      the submodel
+     * @param direction OUTBOUND for the reported material stocks, INBOUND for the reported
+     *                  product stocks, null for all other submodels
+     * @return true, if the reported data is up-to-date now
+     */
+    public boolean refresh(Partner partner, Material material, AssetType type, DirectionCharacteristic direction) {
+        var key = new ReportedDataPull.Key(partner.getUuid(), material.getOwnMaterialNumber(), type,
+            direction != null ? direction.name() : "");
+        return pull(key, partner, material);
+    }
+
+    private boolean pull(ReportedDataPull.Key key, Partner partner, Material material) {
+        long start = System.currentTimeMillis();
+        boolean success = switch (key.getAssetType()) {
+            case ITEM_STOCK_SUBMODEL -> DirectionCharacteristic.OUTBOUND.name().equals(key.getDirectionCharacteristic()) ?
+                itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequest(partner, material) :
+                itemStockRequestApiService.doItemStockSubmodelReportedProductItemStockRequest(partner, material);
+            case DEMAND_SUBMODEL -> demandRequestApiService.doReportedDemandRequest(partner, material);
+            case DELIVERY_SUBMODEL -> deliveryRequestApiService.doReportedDeliveryRequest(partner, material);
+            case PRODUCTION_SUBMODEL -> productionRequestApiService.doReportedProductionRequest(partner, material);
+            default -> throw new IllegalArgumentException("Partners do not report data via " + key.getAssetType());
+        };
+        if (success) {
+            // the data is as old as the start of the pull
+            repository.updateSuccessfulPull(key, start, start + getBudget(key.getAssetType()) + getOffset(key));
+        }
+        return success;
+    }
+
+    /**
+     * Creates the pulls for new material partner relations and deletes the pulls
+     * of relations that no longer exist.
+     *
+     * @return the material partner relations by the keys of their pulls
+     */
+    private Map<ReportedDataPull.Key, MaterialPartnerRelation> synchronizePulls() {
+        Map<ReportedDataPull.Key, MaterialPartnerRelation> relations = new HashMap<>();
+        for (var mpr : mprService.findAll()) {
+            for (var key : getKeys(mpr)) {
+                relations.put(key, mpr);
+            }
+        }
+        long now = System.currentTimeMillis();
+        Set<ReportedDataPull.Key> existing = new HashSet<>();
+        for (var pull : repository.findAll()) {
+            if (relations.containsKey(pull.getKey())) {
+                existing.add(pull.getKey());
+            } else {
+                repository.delete(pull);
+                log.info("Stopped refreshing {}", pull);
+            }
+        }
+        for (var key : relations.keySet()) {
+            if (!existing.contains(key)) {
+                var pull = new ReportedDataPull(key.getPartnerUuid(), key.getOwnMaterialNumber(), key.getAssetType(),
+                    key.getDirectionCharacteristic(), 0, now + getOffset(key));
+                try {
+                    repository.save(pull);
+                    log.info("Started refreshing {}", pull);
+                } catch (DataIntegrityViolationException e) {
+                    // created by another instance in the meantime
+                }
+            }
+        }
+        return relations;
+    }
+
+    private void refreshDuePulls(Map<ReportedDataPull.Key, MaterialPartnerRelation> relations) {
+        long now = System.currentTimeMillis();
+        Map<UUID, List<ReportedDataPull>> duePulls = new LinkedHashMap<>();
+        for (var pull : repository.findDue(now)) {
+            duePulls.computeIfAbsent(pull.getPartnerUuid(), uuid -> new ArrayList<>()).add(pull);
+        }
+        log.debug("Found due pulls for {} partners", duePulls.size());
+        for (var entry : duePulls.entrySet()) {
+            if (!busyPartners.add(entry.getKey())) {
+                // the pulls of the last cycle are still running, the due pulls will be picked up later
+                continue;
+            }
+            List<ReportedDataPull> claimed = new ArrayList<>();
+            for (var pull : entry.getValue()) {
+                if (claimed.size() >= partnerLimit) {
+                    break;
+                }
+                // reschedule first, so that a pull is only sent once, even if another instance
+                // took over the lease. If the pull fails, it is retried at that time.
+                long retry = now + Math.max(getBudget(pull.getAssetType()) / 4, daemonActivityInterval);
+                if (relations.containsKey(pull.getKey()) &&
+                    repository.updateNextPullScheduled(pull.getKey(), pull.getNextPullScheduled(), retry) > 0) {
+                    claimed.add(pull);
+                }
+            }
+            if (claimed.isEmpty()) {
+                busyPartners.remove(entry.getKey());
+                continue;
+            }
+            executorService.submit(() -> {
+                try {
+                    pullAll(claimed, relations);
+                } finally {
+                    busyPartners.remove(entry.getKey());
+                }
+            });
+        }
+    }
+
+    /**
+     * Sends the claimed pulls of one partner. The item stocks of several materials are pulled
+     * in one batch, which shares the partner's DTR session and the EDR of the submodel transfer.
+     *
+     * @param pulls     the claimed pulls of the partner
+     * @param relations the material partner relations by the keys of their pulls
+     */
+    private void pullAll(List<ReportedDataPull> pulls, Map<ReportedDataPull.Key, MaterialPartnerRelation> relations) {
+        Map<String, List<ReportedDataPull>> itemStockPulls = new LinkedHashMap<>();
+        for (var pull : pulls) {
+            if (pull.getAssetType() == AssetType.ITEM_STOCK_SUBMODEL) {
+                itemStockPulls.computeIfAbsent(pull.getDirectionCharacteristic(), direction -> new ArrayList<>()).add(pull);
+            } else {
+                pullSingle(pull, relations);
+            }
+        }
+        for (var entry : itemStockPulls.entrySet()) {
+            if (entry.getValue().size() == 1) {
+                pullSingle(entry.getValue().get(0), relations);
+                continue;
+            }
+            try {
+                pullItemStocks(DirectionCharacteristic.valueOf(entry.getKey()), entry.getValue(), relations);
+            } catch (Exception e) {
+                log.error("Failed to refresh " + entry.getValue(), e);
+            }
+        }
+    }
+
+    private void pullSingle(ReportedDataPull pull, Map<ReportedDataPull.Key, MaterialPartnerRelation> relations) {
+        var mpr = relations.get(pull.getKey());
+        try {
+            if (!pull(pull.getKey(), mpr.getPartner(), mpr.getMaterial())) {
+                log.warn("Failed to refresh {}", pull);
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh " + pull, e);
+        }
+    }
+
+    private void pullItemStocks(DirectionCharacteristic direction, List<ReportedDataPull> pulls,
+                                Map<ReportedDataPull.Key, MaterialPartnerRelation> relations) {
+        long start = System.currentTimeMillis();
+        Partner partner = relations.get(pulls.get(0).getKey()).getPartner();
+        List<Material> materials = pulls.stream().map(pull -> relations.get(pull.getKey()).getMaterial()).toList();
+        Map<Material, Boolean> results = direction == DirectionCharacteristic.OUTBOUND ?
+            itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequests(partner, materials) :
+            itemStockRequestApiService.doItemStockSubmodelReportedProductItemStockRequests(partner, materials);
+        for (var pull : pulls) {
+            if (Boolean.TRUE.equals(results.get(relations.get(pull.getKey()).getMaterial()))) {
+                // the data is as old as the start of the pull
+                repository.updateSuccessfulPull(pull.getKey(), start, start + getBudget(pull.getAssetType()) + getOffset(pull.getKey()));
+            } else {
+                log.warn("Failed to refresh {}", pull);
+            }
+        }
+    }
+
+    /**
+     * @param mpr the material partner relation
+     * @return the keys of all submodels that the partner reports for the material
+     */
+    static List<ReportedDataPull.Key> getKeys(MaterialPartnerRelation mpr) {
+        var partnerUuid = mpr.getPartner().getUuid();
+        var material = mpr.getMaterial();
+        var ownMaterialNumber = material.getOwnMaterialNumber();
+        List<ReportedDataPull.Key> keys = new ArrayList<>();
+        if (material.isMaterialFlag() && mpr.isPartnerSuppliesMaterial()) {
+            keys.add(new ReportedDataPull.Key(partnerUuid, ownMaterialNumber, AssetType.ITEM_STOCK_SUBMODEL,
+                DirectionCharacteristic.OUTBOUND.name()));
+            keys.add(new ReportedDataPull.Key(partnerUuid, ownMaterialNumber, AssetType.PRODUCTION_SUBMODEL, ""));
+        }
+        if (material.isProductFlag() && mpr.isPartnerBuysMaterial()) {
+            keys.add(new ReportedDataPull.Key(partnerUuid, ownMaterialNumber, AssetType.ITEM_STOCK_SUBMODEL,
+                DirectionCharacteristic.INBOUND.name()));
+            keys.add(new ReportedDataPull.Key(partnerUuid, ownMaterialNumber, AssetType.DEMAND_SUBMODEL, ""));
+        }
+        // deliveries are requested from suppliers for materials and from customers for products
+        if (material.isMaterialFlag() ? mpr.isPartnerSuppliesMaterial() : mpr.isPartnerBuysMaterial()) {
+            keys.add(new ReportedDataPull.Key(partnerUuid, ownMaterialNumber, AssetType.DELIVERY_SUBMODEL, ""));
+        }
+        return keys;
+    }
+
+    /**
+     * @param type the submodel
+     * @return the time after which the reported data is considered stale (milliseconds)
+     */
+    private long getBudget(AssetType type) {
+        long minutes = switch (type) {
+            case ITEM_STOCK_SUBMODEL -> itemStockBudget;
+            case DEMAND_SUBMODEL -> demandBudget;
+            case DELIVERY_SUBMODEL -> deliveryBudget;
+            default -> productionBudget;
+        };
+        return minutes * 60 * 1000;
+    }
+
+    /**
+     * Spreads the pulls over a tenth of the budget, so that the pulls of all relations
+     * that were created at the same time are not due at the same time either. The offset
+     * is stable, so that the pulls stay spread.
+     *
+     * @param key the key of the pull
+     * @return the offset (milliseconds)
+     */
+    private long getOffset(ReportedDataPull.Key key) {
+        int hash = Objects.hash(key.getPartnerUuid(), key.getOwnMaterialNumber(), key.getAssetType().name(),
+            key.getDirectionCharacteristic());
+        return Math.floorMod(hash, Math.max(1, getBudget(key.getAssetType()) / 10));
+    }
+}
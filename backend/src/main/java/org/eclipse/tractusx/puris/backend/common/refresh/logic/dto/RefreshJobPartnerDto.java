@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.refresh.logic.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJob;
+
+import java.io.Serializable;
+
+/**
+ * Progress of a refresh job for one partner. Sent as "partner" event, as soon as the pull
+ * from the partner has finished.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RefreshJobPartnerDto implements Serializable {
+
+    private String partnerBpnl;
+
+    private RefreshJob.PartnerState state;
+
+    /**
+     * True, if the reported data of the partner has changed. Clients only need to reload
+     * the reported data, if this is true for any partner.
+     */
+    private boolean changed;
+
+    /**
+     * Number of stored rows of the partner after the refresh, null if the data has not changed
+     */
+    private Integer rows;
+
+    private Integer created;
+
+    private Integer updated;
+
+    private Integer deleted;
+}
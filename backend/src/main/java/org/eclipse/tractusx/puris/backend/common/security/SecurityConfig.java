@@ -33,6 +33,7 @@ import org.eclipse.tractusx.puris.backend.common.security.logic.ApiKeyAuthentica
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -67,6 +68,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("*"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowedMethods(List.of("*"));
+        // lets the frontend follow the refresh job started by the refresh endpoints
+        configuration.setExposedHeaders(List.of(HttpHeaders.LOCATION));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -83,6 +86,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(
                 // any request in spring context
                 (authorizeHttpRequests) -> authorizeHttpRequests
+                    // the async dispatch that completes a streamed response has already been authenticated
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers(
                         "/stockView/**",
                         "/partners/**",
@@ -97,9 +102,11 @@ public class SecurityConfig {
                         "/material-demand/**",
                         "/delivery-information/**",
                         "/days-of-supply/**",
+                        "/refresh-jobs/**",
                         "/edc/**",
                         "/erp-adapter/**",
-                        "/parttypeinformation/**"
+                        "/parttypeinformation/**",
+                        "/actuator/**"
                     )
                     .authenticated()
                     .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/health/**").permitAll()
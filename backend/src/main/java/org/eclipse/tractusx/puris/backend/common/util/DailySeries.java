@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Values per day over a fixed number of consecutive days, e.g. the planned quantities of a
+ * material per day.
+ * <p>
+ * The values are kept in a primitive array. The element wise operations are plain loops over
+ * arrays of the same length, which the JIT compiler is able to vectorize.
+ * <p>
+ * A date is assigned to the day that it has in UTC, which is how the dates of deliveries,
+ * demands and productions are compared throughout the application.
+ */
+public final class DailySeries {
+
+    private final LocalDate firstDay;
+
+    private final double[] values;
+
+    private DailySeries(LocalDate firstDay, double[] values) {
+        this.firstDay = firstDay;
+        this.values = values;
+    }
+
+    /**
+     * @param firstDay     the day of the first value
+     * @param numberOfDays the number of days
+     * @return a series of the given length with all values set to 0
+     */
+    public static DailySeries empty(LocalDate firstDay, int numberOfDays) {
+        return new DailySeries(firstDay, new double[numberOfDays]);
+    }
+
+    /**
+     * @param numberOfDays the number of days
+     * @return a series starting today with all values set to 0
+     */
+    public static DailySeries startingToday(int numberOfDays) {
+        LocalDate firstDay = utcDayOf(Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        return empty(firstDay, numberOfDays);
+    }
+
+    /**
+     * @param firstDay the day of the first value
+     * @param values   the values per day, which are copied
+     * @return the series
+     */
+    public static DailySeries of(LocalDate firstDay, double... values) {
+        return new DailySeries(firstDay, values.clone());
+    }
+
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public int length() {
+        return values.length;
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the start of the first day (inclusive)
+     */
+    public Date getStart() {
+        return Date.from(firstDay.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    /**
+     * @return the start of the day after the last day (exclusive)
+     */
+    public Date getEnd() {
+        return Date.from(firstDay.plusDays(values.length).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    /**
+     * @param date the date, may be null
+     * @return the index of the day of the given date, or -1 if it is null or does not lie within the series
+     */
+    public int indexOf(Date date) {
+        if (date == null) {
+            return -1;
+        }
+        long index = ChronoUnit.DAYS.between(firstDay, utcDayOf(date));
+        return index >= 0 && index < values.length ? (int) index : -1;
+    }
+
+    /**
+     * Adds the quantity to the value of the day of the given date. Dates outside the series are ignored.
+     *
+     * @param date     the date
+     * @param quantity the quantity
+     * @return true, if the date lies within the series
+     */
+    public boolean add(Date date, double quantity) {
+        int index = indexOf(date);
+        if (index < 0) {
+            return false;
+        }
+        values[index] += quantity;
+        return true;
+    }
+
+    /**
+     * @param other a series over the same days
+     * @return a new series holding the sums of the values of both series per day
+     */
+    public DailySeries plus(DailySeries other) {
+        checkSameDays(other);
+        double[] result = new double[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] + other.values[i];
+        }
+        return new DailySeries(firstDay, result);
+    }
+
+    /**
+     * @param other a series over the same days
+     * @return a new series holding the differences of the values of both series per day
+     */
+    public DailySeries minus(DailySeries other) {
+        checkSameDays(other);
+        double[] result = new double[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] - other.values[i];
+        }
+        return new DailySeries(firstDay, result);
+    }
+
+    /**
+     * @param initialValue the value before the first day
+     * @return a new series holding the running totals, i.e. the initial value plus the values up to and including each day
+     */
+    public DailySeries cumulative(double initialValue) {
+        double[] result = new double[values.length];
+        double total = initialValue;
+        for (int i = 0; i < result.length; i++) {
+            total += values[i];
+            result[i] = total;
+        }
+        return new DailySeries(firstDay, result);
+    }
+
+    /**
+     * @return the lowest value, or {@link Double#NaN} if the series is empty
+     */
+    public double min() {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double min = values[0];
+        for (int i = 1; i < values.length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return a copy of the values
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * @param date the date
+     * @return the day that the given date has in UTC
+     */
+    public static LocalDate utcDayOf(Date date) {
+        return date.toInstant().atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private void checkSameDays(DailySeries other) {
+        if (!firstDay.equals(other.firstDay) || values.length != other.values.length) {
+            throw new IllegalArgumentException("Series must cover the same days");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DailySeries that = (DailySeries) o;
+        return firstDay.equals(that.firstDay) && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * firstDay.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "DailySeries{firstDay=" + firstDay + ", values=" + Arrays.toString(values) + "}";
+    }
+}
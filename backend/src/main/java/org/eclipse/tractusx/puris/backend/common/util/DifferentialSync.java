@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Replaces the stored rows of a partner and material by a new snapshot received
+ * from that partner, writing only the differences: rows are matched by their
+ * natural key, unmatched incoming rows are inserted, matched rows with different
+ * values are updated and unmatched stored rows are deleted.
+ * <p>
+ * All reads and writes of one synchronization happen in one transaction.
+ */
+@Component
+@Slf4j
+public class DifferentialSync {
+
+    /**
+     * @param created   number of inserted rows
+     * @param updated   number of updated rows
+     * @param deleted   number of deleted rows
+     * @param unchanged number of incoming rows that equal the stored ones
+     * @param rejected  number of invalid incoming rows, which have been ignored
+     */
+    public record Changes(int created, int updated, int deleted, int unchanged, int rejected) {
+
+        /**
+         * @return true, if any row has been inserted, updated or deleted
+         */
+        public boolean hasChanges() {
+            return created + updated + deleted > 0;
+        }
+
+        /**
+         * @return the number of stored rows after the synchronization
+         */
+        public int rows() {
+            return created + updated + unchanged;
+        }
+
+        @Override
+        public String toString() {
+            return created + " created, " + updated + " updated, " + deleted + " deleted, "
+                + unchanged + " unchanged, " + rejected + " rejected";
+        }
+    }
+
+    /**
+     * Access to the rows of one entity type in the scope of one partner and material.
+     *
+     * @param <T> the entity type
+     */
+    public interface Rows<T> {
+
+        /**
+         * @return the stored rows, invoked within the transaction of the synchronization
+         */
+        List<T> load();
+
+        /**
+         * @param row the row
+         * @return the natural key of the row, must implement equals and hashCode
+         */
+        Object naturalKey(T row);
+
+        /**
+         * Copies the values that are not part of the natural key.
+         *
+         * @param source the incoming row
+         * @param target the stored row with the same natural key
+         * @return true, if any of the values differed
+         */
+        boolean copyValues(T source, T target);
+
+        boolean isValid(T row);
+
+        void save(T row);
+
+        void delete(T row);
+    }
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DifferentialSync(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param rows     access to the stored rows
+     * @param incoming the complete new snapshot of the rows
+     * @return the number of changes
+     */
+    public <T> Changes apply(Rows<T> rows, List<T> incoming) {
+        return transactionTemplate.execute(status -> {
+            Map<Object, Deque<T>> storedByKey = new HashMap<>();
+            for (T row : rows.load()) {
+                storedByKey.computeIfAbsent(rows.naturalKey(row), key -> new ArrayDeque<>()).add(row);
+            }
+            int created = 0, updated = 0, deleted = 0, unchanged = 0, rejected = 0;
+            for (T row : incoming) {
+                if (!rows.isValid(row)) {
+                    log.warn("Ignoring invalid row " + row);
+                    rejected++;
+                    continue;
+                }
+                Deque<T> matches = storedByKey.get(rows.naturalKey(row));
+                T stored = matches == null ? null : matches.poll();
+                if (stored == null) {
+                    rows.save(row);
+                    created++;
+                } else if (rows.copyValues(row, stored)) {
+                    rows.save(stored);
+                    updated++;
+                } else {
+                    unchanged++;
+                }
+            }
+            for (Deque<T> remaining : storedByKey.values()) {
+                for (T row : remaining) {
+                    rows.delete(row);
+                    deleted++;
+                }
+            }
+            return new Changes(created, updated, deleted, unchanged, rejected);
+        });
+    }
+
+    /**
+     * Dates read from the database may be instances of a subclass whose equals method
+     * does not accept plain dates, therefore natural keys should use the epoch millis.
+     *
+     * @param date the date, may be null
+     * @return the epoch millis or null
+     */
+    public static Long epochMillis(Date date) {
+        return date == null ? null : date.getTime();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a page in a keyset pagination over
+ * a (date, uuid) sort key. The date is the entity specific sort column
+ * (e.g. lastUpdatedOnDateTime for stocks or day for demands), the uuid is
+ * used as tie-breaker.
+ * <p>
+ * The cursor is handed to clients in an opaque, url-safe encoded form.
+ *
+ * @param position the value of the date column of the last row
+ * @param uuid     the uuid of the last row
+ */
+public record KeysetCursor(Date position, UUID uuid) {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Orders cursors in the same way the database orders the (date, uuid) sort key.
+     * The uuid is compared by its canonical string representation, which matches the
+     * unsigned byte order used by the database (in contrast to {@link UUID#compareTo(UUID)}).
+     */
+    public static final Comparator<KeysetCursor> ORDER = Comparator
+        .comparingLong((KeysetCursor cursor) -> cursor.position().getTime())
+        .thenComparing(cursor -> cursor.uuid().toString());
+
+    public String encode() {
+        String raw = position.getTime() + "_" + uuid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor previously created by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the given String is not a valid cursor
+     */
+    public static KeysetCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('_');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Malformed cursor " + cursor);
+        }
+        long time = Long.parseLong(raw.substring(0, separator));
+        UUID uuid = UUID.fromString(raw.substring(separator + 1));
+        return new KeysetCursor(new Date(time), uuid);
+    }
+
+    /**
+     * Parses the cursor request parameter of a paginated endpoint.
+     *
+     * @param cursor the encoded cursor, may be null
+     * @return the decoded cursor or null, if no cursor was given
+     * @throws ResponseStatusException with status 400 if the cursor is malformed
+     */
+    public static KeysetCursor fromRequestParam(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * @param requestedSize the page size requested by the client, may be null
+     * @return the requested size, bounded by {@link #MAX_PAGE_SIZE}
+     */
+    public static int pageSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requestedSize, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * A Pageable that fetches one row more than the page size. The additional row
+     * is only used to determine whether there is a next page.
+     *
+     * @param pageSize the page size
+     * @return the Pageable
+     */
+    public static Pageable lookAhead(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset paginated list endpoint.
+ *
+ * @param content    the elements of this page
+ * @param nextCursor the cursor to pass in order to fetch the next page, or null if this is the last page
+ * @param <T>        the type of the elements
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+
+    /**
+     * Builds a page from the rows returned by a query that was limited with
+     * {@link KeysetCursor#lookAhead(int)}.
+     *
+     * @param rows      the rows, ordered by their keyset
+     * @param pageSize  the page size
+     * @param keyOf     extracts the keyset position of a row
+     * @param converter converts a row to the element type of the page
+     * @return the page
+     */
+    public static <E, T> KeysetPage<T> of(List<E> rows, int pageSize, Function<E, KeysetCursor> keyOf, Function<E, T> converter) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? keyOf.apply(pageRows.getLast()).encode() : null;
+        return new KeysetPage<>(pageRows.stream().map(converter).toList(), nextCursor);
+    }
+}
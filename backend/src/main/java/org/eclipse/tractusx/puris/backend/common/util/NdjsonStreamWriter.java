@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes the result of a JPA stream query as newline delimited JSON
+ * (one DTO per line) directly to the response.
+ * <p>
+ * Each entity is detached from the persistence context right after it was
+ * written, so the heap usage does not grow with the number of rows.
+ */
+@Component
+@Slf4j
+public class NdjsonStreamWriter {
+
+    /**
+     * Number of rows after which the output stream is flushed
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param query     opens the stream of entities. It is invoked inside a read-only transaction
+     *                  that stays open until the stream was fully written.
+     * @param converter converts an entity to the DTO that shall be written
+     * @return the response entity carrying the streaming body
+     */
+    public <E, D> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<E>> query, Function<E, D> converter) {
+        StreamingResponseBody body = outputStream -> write(outputStream, query, converter);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * @param dtos the DTOs that have already been computed
+     * @return the response entity carrying the streaming body
+     */
+    public <D> ResponseEntity<StreamingResponseBody> stream(List<D> dtos) {
+        StreamingResponseBody body = outputStream -> {
+            int count = 0;
+            for (D dto : dtos) {
+                outputStream.write(objectMapper.writeValueAsBytes(dto));
+                outputStream.write('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    outputStream.flush();
+                }
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    private <E, D> void write(OutputStream outputStream, Supplier<Stream<E>> query, Function<E, D> converter) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<E> stream = query.get()) {
+                int count = 0;
+                var iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    E entity = iterator.next();
+                    outputStream.write(objectMapper.writeValueAsBytes(converter.apply(entity)));
+                    outputStream.write('\n');
+                    entityManager.detach(entity);
+                    if (++count % FLUSH_INTERVAL == 0) {
+                        outputStream.flush();
+                    }
+                }
+                outputStream.flush();
+                log.debug("Streamed {} rows", count);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
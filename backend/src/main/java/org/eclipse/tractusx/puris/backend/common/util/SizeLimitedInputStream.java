@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fails with a {@link PayloadTooLargeException} as soon as more than the given number of
+ * bytes has been read, so that oversized payloads are rejected while they are parsed instead
+ * of being buffered completely.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+
+    private long bytesRead;
+
+    /**
+     * @param in       the stream to read from
+     * @param maxBytes the maximum number of bytes that may be read
+     */
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long bytes) throws PayloadTooLargeException {
+        bytesRead += bytes;
+        if (bytesRead > maxBytes) {
+            throw new PayloadTooLargeException(maxBytes);
+        }
+    }
+
+    /**
+     * Signals that a payload exceeds the configured size limit.
+     */
+    public static class PayloadTooLargeException extends IOException {
+
+        public PayloadTooLargeException(long maxBytes) {
+            super("Payload exceeds the limit of " + maxBytes + " bytes");
+        }
+    }
+}
@@ -179,6 +179,22 @@ public class VariablesService {
      */
     private String dtrUrl;
 
+    @Value("${puris.submodel.maxsize}")
+    /**
+     * The maximum size of a submodel that is accepted from a partner (megabytes)
+     */
+    private long submodelMaxSize;
+
+    @Value("${puris.edc.batch.concurrency}")
+    /**
+     * The maximum number of parallel requests to a partner's DTR or data plane within a batch request
+     */
+    private int edcBatchConcurrency;
+
+    public long getSubmodelMaxSizeInBytes() {
+        return submodelMaxSize * 1024 * 1024;
+    }
+
     /**
      * The url under which this application's part type request endpoint can
      * be reached by external machines.
@@ -26,34 +26,44 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.controller.RefreshJobController;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJobService;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetPage;
+import org.eclipse.tractusx.puris.backend.common.util.NdjsonStreamWriter;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.Delivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.ReportedDelivery;
+import org.eclipse.tractusx.puris.backend.delivery.logic.adapter.DeliveryDtoMapper;
 import org.eclipse.tractusx.puris.backend.delivery.logic.dto.DeliveryDto;
-import org.eclipse.tractusx.puris.backend.delivery.logic.service.DeliveryRequestApiService;
 import org.eclipse.tractusx.puris.backend.delivery.logic.service.OwnDeliveryService;
 import org.eclipse.tractusx.puris.backend.delivery.logic.service.ReportedDeliveryService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("delivery")
@@ -66,7 +76,7 @@ public class DeliveryController {
     private ReportedDeliveryService reportedDeliveryService;
 
     @Autowired
-    private DeliveryRequestApiService deliveryRequestApiService;
+    private RefreshJobService refreshJobService;
 
     @Autowired
     private MaterialService materialService;
@@ -78,15 +88,19 @@ public class DeliveryController {
     private MaterialPartnerRelationService mprService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DeliveryDtoMapper deliveryDtoMapper;
+
+    @Autowired
+    private MasterDataDtoMapper masterDataDtoMapper;
 
     @Autowired
     private Validator validator;
 
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
+
     @Autowired
-    private ExecutorService executorService;
+    private NdjsonStreamWriter ndjsonStreamWriter;
 
     @GetMapping()
     @ResponseBody
@@ -104,6 +118,56 @@ public class DeliveryController {
         return List.of(reportedDeliveries, ownDeliveries).stream().flatMap(List::stream).toList();
     }
 
+    @GetMapping("page")
+    @Operation(summary = "Get one page of planned deliveries for the given Material",
+        description = "Get one page of the planned deliveries for the given material number, ordered by their date of departure. " +
+            "Optionally a bpns and partner bpnl can be provided to filter the deliveries further. Pass the nextCursor of the " +
+            "response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Material does not exist.", content = @Content)
+    })
+    public KeysetPage<DeliveryDto> getDeliveriesPage(@RequestParam String ownMaterialNumber,
+                                                     @RequestParam Optional<String> bpns,
+                                                     @RequestParam Optional<String> bpnl,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        if (materialService.findByOwnMaterialNumber(ownMaterialNumber) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Material does not exist.");
+        }
+        KeysetCursor keysetCursor = KeysetCursor.fromRequestParam(cursor);
+        int pageSize = KeysetCursor.pageSize(limit);
+        // both tables are ordered by the same key, so merging their look-ahead rows yields the look-ahead rows of the union
+        List<Delivery> rows = Stream.<Delivery>concat(
+                reportedDeliveryService.findKeysetPage(ownMaterialNumber, bpnl.orElse(null), bpns.orElse(null), keysetCursor, pageSize).stream(),
+                ownDeliveryService.findKeysetPage(ownMaterialNumber, bpnl.orElse(null), bpns.orElse(null), keysetCursor, pageSize).stream())
+            .sorted(Comparator.comparing(this::toCursor, KeysetCursor.ORDER))
+            .limit(pageSize + 1L)
+            .toList();
+        return KeysetPage.of(rows, pageSize, this::toCursor, this::convertAnyToDto);
+    }
+
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all planned deliveries for the given Material",
+        description = "Streams all planned deliveries for the given material number as newline delimited json. " +
+            "Optionally a bpns and partner bpnl can be provided to filter the deliveries further.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "404", description = "Material does not exist.", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamDeliveries(@RequestParam String ownMaterialNumber,
+                                                                  @RequestParam Optional<String> bpns,
+                                                                  @RequestParam Optional<String> bpnl) {
+        if (materialService.findByOwnMaterialNumber(ownMaterialNumber) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Material does not exist.");
+        }
+        return ndjsonStreamWriter.stream(() -> Stream.<Delivery>concat(
+                reportedDeliveryService.streamAllByFilters(ownMaterialNumber, bpnl.orElse(null), bpns.orElse(null)),
+                ownDeliveryService.streamAllByFilters(ownMaterialNumber, bpnl.orElse(null), bpns.orElse(null))),
+            this::convertAnyToDto);
+    }
+
     @PostMapping()
     @ResponseBody
     @Operation(summary = "Creates a new delivery")
@@ -177,7 +241,8 @@ public class DeliveryController {
     @ResponseBody
     @Operation(
         summary = "Refreshes all reported deliveries", 
-        description = "Refreshes all reported deliveries from the delivery request API."
+        description = "Refreshes all reported deliveries from the delivery request API. The Location header points " +
+            "to the refresh job that reports when the responses have arrived, see /refresh-jobs."
     )
     public ResponseEntity<List<PartnerDto>> refreshReportedDeliveries(@RequestParam String ownMaterialNumber) {
         if (!materialPattern.matcher(ownMaterialNumber).matches()) {
@@ -194,18 +259,15 @@ public class DeliveryController {
         } else {
             partners = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
         }
-        for (Partner partner : partners) {
-            executorService.submit(() ->
-            deliveryRequestApiService.doReportedDeliveryRequest(partner, materialEntity));
-        }
+        var job = refreshJobService.start(materialEntity, AssetType.DELIVERY_SUBMODEL, null, partners);
 
-        return ResponseEntity.ok(partners.stream()
-            .map(partner -> modelMapper.map(partner, PartnerDto.class))
+        return ResponseEntity.ok().location(RefreshJobController.location(job)).body(partners.stream()
+            .map(masterDataDtoMapper::toDto)
             .toList());
     }
 
     private OwnDelivery convertToEntity(DeliveryDto dto) {
-        OwnDelivery entity = modelMapper.map(dto, OwnDelivery.class);
+        OwnDelivery entity = deliveryDtoMapper.toEntity(dto);
 
         Material material = materialService.findByOwnMaterialNumber(dto.getOwnMaterialNumber());
         entity.setMaterial(material);
@@ -222,7 +284,7 @@ public class DeliveryController {
     }
 
     private DeliveryDto convertToDto(OwnDelivery entity) {
-        DeliveryDto dto = modelMapper.map(entity, DeliveryDto.class);
+        DeliveryDto dto = deliveryDtoMapper.toDto(entity);
         dto.setOwnMaterialNumber(entity.getMaterial().getOwnMaterialNumber());
         dto.setPartnerBpnl(entity.getPartner().getBpnl());
         dto.setReported(false);
@@ -230,10 +292,21 @@ public class DeliveryController {
     }
 
     private DeliveryDto convertToDto(ReportedDelivery entity) {
-        DeliveryDto dto = modelMapper.map(entity, DeliveryDto.class);
+        DeliveryDto dto = deliveryDtoMapper.toDto(entity);
         dto.setOwnMaterialNumber(entity.getMaterial().getOwnMaterialNumber());
         dto.setPartnerBpnl(entity.getPartner().getBpnl());
         dto.setReported(true);
         return dto;
     }
+
+    private DeliveryDto convertAnyToDto(Delivery entity) {
+        if (entity instanceof ReportedDelivery reportedDelivery) {
+            return convertToDto(reportedDelivery);
+        }
+        return convertToDto((OwnDelivery) entity);
+    }
+
+    private KeysetCursor toCursor(Delivery entity) {
+        return new KeysetCursor(entity.getDateOfDeparture(), entity.getUuid());
+    }
 }
@@ -20,11 +20,79 @@
 
 package org.eclipse.tractusx.puris.backend.delivery.domain.repository;
 
-import java.util.UUID;
-
+import jakarta.persistence.QueryHint;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.Delivery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface DeliveryRepository<T extends Delivery> extends JpaRepository<T, UUID> {
-    
+
+    /**
+     * Keyset pagination over (dateOfDeparture, uuid).
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the origin or destination site, may be null
+     * @param departure         dateOfDeparture of the last row of the previous page, null for the first page
+     * @param uuid              uuid of the last row of the previous page, null for the first page
+     * @param pageable          limits the number of rows
+     * @return the rows following the given position
+     */
+    @Query("SELECT d FROM #{#entityName} d JOIN FETCH d.material m JOIN FETCH d.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND (:bpns IS NULL OR d.destinationBpns = :bpns OR d.originBpns = :bpns)" +
+        " AND (:departure IS NULL OR d.dateOfDeparture > :departure" +
+        " OR (d.dateOfDeparture = :departure AND d.uuid > :uuid))" +
+        " ORDER BY d.dateOfDeparture, d.uuid")
+    List<T> findKeysetPage(@Param("ownMaterialNumber") String ownMaterialNumber,
+                           @Param("partnerBpnl") String partnerBpnl,
+                           @Param("bpns") String bpns,
+                           @Param("departure") Date departure,
+                           @Param("uuid") UUID uuid,
+                           Pageable pageable);
+
+    /**
+     * Must be consumed within a transaction and closed afterwards.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the origin or destination site, may be null
+     * @return all matching rows, ordered by (dateOfDeparture, uuid)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT d FROM #{#entityName} d JOIN FETCH d.material m JOIN FETCH d.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND (:bpns IS NULL OR d.destinationBpns = :bpns OR d.originBpns = :bpns)" +
+        " ORDER BY d.dateOfDeparture, d.uuid")
+    Stream<T> streamAll(@Param("ownMaterialNumber") String ownMaterialNumber,
+                        @Param("partnerBpnl") String partnerBpnl,
+                        @Param("bpns") String bpns);
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return all rows that depart or arrive within the period
+     */
+    @Query("SELECT d FROM #{#entityName} d JOIN FETCH d.material m JOIN FETCH d.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND ((d.dateOfDeparture >= :from AND d.dateOfDeparture < :to)" +
+        " OR (d.dateOfArrival >= :from AND d.dateOfArrival < :to))")
+    List<T> findAllInPeriod(@Param("ownMaterialNumber") String ownMaterialNumber,
+                            @Param("partnerBpnl") String partnerBpnl,
+                            @Param("from") Date from,
+                            @Param("to") Date to);
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.delivery.logic.adapter;
+
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.Delivery;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
+import org.eclipse.tractusx.puris.backend.delivery.logic.dto.DeliveryDto;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plain java mapping between the delivery entities and {@link DeliveryDto}.
+ */
+@Service
+public class DeliveryDtoMapper {
+
+    /**
+     * Whether the delivery was reported by a partner is left to the caller.
+     *
+     * @param entity the delivery
+     * @return the dto
+     */
+    public DeliveryDto toDto(Delivery entity) {
+        DeliveryDto dto = new DeliveryDto();
+        dto.setUuid(entity.getUuid());
+        dto.setPartnerBpnl(entity.getPartner().getBpnl());
+        dto.setOwnMaterialNumber(entity.getMaterial().getOwnMaterialNumber());
+        dto.setQuantity(entity.getQuantity());
+        dto.setMeasurementUnit(entity.getMeasurementUnit());
+        dto.setTrackingNumber(entity.getTrackingNumber());
+        dto.setIncoterm(entity.getIncoterm());
+        dto.setSupplierOrderNumber(entity.getSupplierOrderNumber());
+        dto.setCustomerOrderNumber(entity.getCustomerOrderNumber());
+        dto.setCustomerOrderPositionNumber(entity.getCustomerOrderPositionNumber());
+        dto.setDestinationBpns(entity.getDestinationBpns());
+        dto.setDestinationBpna(entity.getDestinationBpna());
+        dto.setOriginBpns(entity.getOriginBpns());
+        dto.setOriginBpna(entity.getOriginBpna());
+        dto.setDateOfDeparture(entity.getDateOfDeparture());
+        dto.setDateOfArrival(entity.getDateOfArrival());
+        dto.setDepartureType(entity.getDepartureType());
+        dto.setArrivalType(entity.getArrivalType());
+        return dto;
+    }
+
+    /**
+     * Maps the plain attributes of the dto. Material and partner are resolved by the caller.
+     *
+     * @param dto the dto
+     * @return a new own delivery
+     */
+    public OwnDelivery toEntity(DeliveryDto dto) {
+        OwnDelivery entity = new OwnDelivery();
+        entity.setUuid(dto.getUuid());
+        entity.setQuantity(dto.getQuantity());
+        entity.setMeasurementUnit(dto.getMeasurementUnit());
+        entity.setTrackingNumber(dto.getTrackingNumber());
+        entity.setIncoterm(dto.getIncoterm());
+        entity.setSupplierOrderNumber(dto.getSupplierOrderNumber());
+        entity.setCustomerOrderNumber(dto.getCustomerOrderNumber());
+        entity.setCustomerOrderPositionNumber(dto.getCustomerOrderPositionNumber());
+        entity.setDestinationBpns(dto.getDestinationBpns());
+        entity.setDestinationBpna(dto.getDestinationBpna());
+        entity.setOriginBpns(dto.getOriginBpns());
+        entity.setOriginBpna(dto.getOriginBpna());
+        entity.setDateOfDeparture(dto.getDateOfDeparture());
+        entity.setDateOfArrival(dto.getDateOfArrival());
+        entity.setDepartureType(dto.getDepartureType());
+        entity.setArrivalType(dto.getArrivalType());
+        return entity;
+    }
+}
@@ -20,10 +20,11 @@
 
 package org.eclipse.tractusx.puris.backend.delivery.logic.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.ReportedDataChangedEvent;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.DeliveryResponsibilityEnumeration;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
 import org.eclipse.tractusx.puris.backend.delivery.logic.adapter.DeliveryInformationSammMapper;
@@ -36,6 +37,7 @@ import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialServi
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -63,7 +65,9 @@ public class DeliveryRequestApiService {
     @Autowired
     private DeliveryInformationSammMapper sammMapper;
     @Autowired
-    private ObjectMapper objectMapper;
+    private SubmodelResponseCache submodelResponseCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public DeliveryInformation handleDeliverySubmodelRequest(String bpnl, String materialNumberCx) {
         Partner partner = partnerService.findByBpnl(bpnl);
@@ -127,28 +131,33 @@ public class DeliveryRequestApiService {
             return null;
         }
 
-        List<OwnDelivery> currentDeliveries = ownDeliveryService.findAllByFilters(
-            Optional.of(material.getOwnMaterialNumber()),
-            Optional.empty(),
-            Optional.of(partner.getBpnl()),
-            Optional.empty(),
-            Optional.empty());
-
+        Material requestedMaterial = material;
         Predicate<OwnDelivery> parnterRoleDirectionPredicate = partnerRoleDirectionPredicate(partnerIsCustomer, mpr);
-        currentDeliveries = currentDeliveries.stream().filter(
-            parnterRoleDirectionPredicate
-        ).toList();
-        log.debug(
-            "Found '{}' deliveries for material number cx '{}' for partner with bpnl '{}' asking in role '{}'.",
-            currentDeliveries.size(),
-            materialNumberCx,
-            bpnl,
-            partnerIsCustomer ? "Customer" : "Supplier"
-        );
-        return sammMapper.ownDeliveryToSamm(currentDeliveries, partner, material);
+        // a partner may request the deliveries in the role of a customer and of a supplier
+        var direction = partnerIsCustomer ? DirectionCharacteristic.OUTBOUND : DirectionCharacteristic.INBOUND;
+        return submodelResponseCache.get(partner, material, AssetType.DELIVERY_SUBMODEL, direction, () -> {
+            List<OwnDelivery> currentDeliveries = ownDeliveryService.findAllByFilters(
+                Optional.of(requestedMaterial.getOwnMaterialNumber()),
+                Optional.empty(),
+                Optional.of(partner.getBpnl()),
+                Optional.empty(),
+                Optional.empty());
+
+            currentDeliveries = currentDeliveries.stream().filter(
+                parnterRoleDirectionPredicate
+            ).toList();
+            log.debug(
+                "Found '{}' deliveries for material number cx '{}' for partner with bpnl '{}' asking in role '{}'.",
+                currentDeliveries.size(),
+                materialNumberCx,
+                bpnl,
+                partnerIsCustomer ? "Customer" : "Supplier"
+            );
+            return sammMapper.ownDeliveryToSamm(currentDeliveries, partner, requestedMaterial);
+        });
     }
 
-    public void doReportedDeliveryRequest(Partner partner, Material material) {
+    public boolean doReportedDeliveryRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             if (mpr.getPartnerCXNumber() == null) {
@@ -156,28 +165,24 @@ public class DeliveryRequestApiService {
                 mpr = mprService.find(material, partner);
             }
             var direction = material.isMaterialFlag() ? DirectionCharacteristic.OUTBOUND : DirectionCharacteristic.INBOUND;
-            var data = edcAdapterService.doSubmodelRequest(AssetType.DELIVERY_SUBMODEL, mpr, direction, 1);
-            var samm = objectMapper.treeToValue(data, DeliveryInformation.class);
-            var deliveries = sammMapper.sammToReportedDeliveries(samm, partner);
-            for (var delivery : deliveries) {
-                var deliveryPartner = delivery.getPartner();
-                var deliveryMaterial = delivery.getMaterial();
-                if (!partner.equals(deliveryPartner) || !material.equals(deliveryMaterial)) {
-                    log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + deliveries);
-                    return;
+            return edcAdapterService.doConditionalSubmodelRequest(AssetType.DELIVERY_SUBMODEL, mpr, direction, DeliveryInformation.class, samm -> {
+                var deliveries = sammMapper.sammToReportedDeliveries(samm, partner);
+                for (var delivery : deliveries) {
+                    var deliveryPartner = delivery.getPartner();
+                    var deliveryMaterial = delivery.getMaterial();
+                    if (!partner.equals(deliveryPartner) || !material.equals(deliveryMaterial)) {
+                        log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + deliveries);
+                        return false;
+                    }
                 }
-            }
-            // delete older data:
-            var oldDeliveries = reportedDeliveryService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.empty(), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
-            for (var oldDelivery : oldDeliveries) {
-                reportedDeliveryService.delete(oldDelivery.getUuid());
-            }
-            for (var newDelivery : deliveries) {
-                reportedDeliveryService.create(newDelivery);
-            }
-            log.info("Updated Reported Deliveries for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+                var changes = reportedDeliveryService.replaceAll(partner, material, deliveries);
+                log.info("Updated Reported Deliveries for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + changes);
+                eventPublisher.publishEvent(new ReportedDataChangedEvent(partner, material, AssetType.DELIVERY_SUBMODEL, null, changes));
+                return true;
+            });
         } catch (Exception e) {
             log.error("Error in Reported Deliveries Request for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 
@@ -22,17 +22,21 @@ package org.eclipse.tractusx.puris.backend.delivery.logic.service;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
+import org.eclipse.tractusx.puris.backend.common.util.DifferentialSync;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.Delivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.repository.DeliveryRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -40,6 +44,9 @@ public abstract class DeliveryService<T extends Delivery> {
     @Autowired
     protected DeliveryRepository<T> repository;
 
+    @Autowired
+    protected DifferentialSync differentialSync;
+
     public final List<T> findAll() {
         return repository.findAll();
     }
@@ -96,28 +103,157 @@ public abstract class DeliveryService<T extends Delivery> {
         return sum;
     }
 
-    public final List<Double> getQuantityForDays(String material, String partnerBpnl, String siteBpns, DirectionCharacteristic direction, int numberOfDays) {
-        List<Double> deliveryQtys = new ArrayList<>();
-        LocalDate localDate = LocalDate.now();
-
-        for (int i = 0; i < numberOfDays; i++) {
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            List<T> deliveries = findAllByFilters(Optional.of(material), Optional.of(siteBpns), Optional.of(partnerBpnl), Optional.of(date), Optional.of(direction));
-            deliveryQtys.add(getSumOfQuantities(deliveries));
-
-            localDate = localDate.plusDays(1);
+    /**
+     * Sums up the delivered quantities per day, starting today. Inbound deliveries are
+     * assigned to their day of arrival at the site, outbound deliveries to their day of departure from the site.
+     *
+     * @param material     the ownMaterialNumber
+     * @param partnerBpnl  the bpnl of the partner
+     * @param siteBpns     the bpns of the site
+     * @param direction    the direction of the deliveries as seen from the site
+     * @param numberOfDays the number of days
+     * @return the delivered quantities per day
+     */
+    public final DailySeries getQuantityForDays(String material, String partnerBpnl, String siteBpns, DirectionCharacteristic direction, int numberOfDays) {
+        DailySeries quantities = DailySeries.startingToday(numberOfDays);
+        for (T delivery : findAllInPeriod(material, partnerBpnl, quantities.getStart(), quantities.getEnd())) {
+            if (direction == DirectionCharacteristic.INBOUND && siteBpns.equals(delivery.getDestinationBpns())) {
+                quantities.add(delivery.getDateOfArrival(), delivery.getQuantity());
+            } else if (direction == DirectionCharacteristic.OUTBOUND && siteBpns.equals(delivery.getOriginBpns())) {
+                quantities.add(delivery.getDateOfDeparture(), delivery.getQuantity());
+            }
         }
-        return deliveryQtys;
+        return quantities;
     }
 
     public final T update(T delivery) {
-        if (delivery.getUuid() == null || repository.findById(delivery.getUuid()).isEmpty()) {
+        T existing = delivery.getUuid() == null ? null : repository.findById(delivery.getUuid()).orElse(null);
+        if (existing == null) {
             return null;
         }
-        return repository.save(delivery);
+        // the existing delivery is managed and takes over the new values on save
+        Partner oldPartner = existing.getPartner();
+        Material oldMaterial = existing.getMaterial();
+        T updated = repository.save(delivery);
+        afterWrite(oldPartner, oldMaterial);
+        afterWrite(updated.getPartner(), updated.getMaterial());
+        return updated;
     }
 
     public final void delete(UUID id) {
+        T existing = repository.findById(id).orElse(null);
         repository.deleteById(id);
+        if (existing != null) {
+            afterWrite(existing.getPartner(), existing.getMaterial());
+        }
+    }
+
+    /**
+     * Replaces the deliveries of the given partner and material, e.g. with the ones a partner has just reported.
+     * <p>
+     * A delivery is identified by its tracking number, incoterm, origin, destination, departure, arrival and
+     * order references. Deliveries that are identified the same way on both sides are kept and only their
+     * quantity is updated, all others are created or deleted.
+     *
+     * @param partner    the partner
+     * @param material   the material
+     * @param deliveries all deliveries of the partner and material
+     * @return the number of changes
+     */
+    public final DifferentialSync.Changes replaceAll(Partner partner, Material material, List<T> deliveries) {
+        return differentialSync.apply(new DifferentialSync.Rows<>() {
+            @Override
+            public List<T> load() {
+                try (Stream<T> stream = repository.streamAll(material.getOwnMaterialNumber(), partner.getBpnl(), null)) {
+                    return stream.toList();
+                }
+            }
+
+            @Override
+            public Object naturalKey(T delivery) {
+                return Arrays.asList(delivery.getTrackingNumber(), delivery.getIncoterm(),
+                    delivery.getDestinationBpns(), delivery.getDestinationBpna(), delivery.getOriginBpns(), delivery.getOriginBpna(),
+                    DifferentialSync.epochMillis(delivery.getDateOfDeparture()), DifferentialSync.epochMillis(delivery.getDateOfArrival()),
+                    delivery.getDepartureType(), delivery.getArrivalType(),
+                    delivery.getCustomerOrderNumber(), delivery.getCustomerOrderPositionNumber(), delivery.getSupplierOrderNumber());
+            }
+
+            @Override
+            public boolean copyValues(T source, T target) {
+                if (source.getQuantity() == target.getQuantity() && source.getMeasurementUnit() == target.getMeasurementUnit()) {
+                    return false;
+                }
+                target.setQuantity(source.getQuantity());
+                target.setMeasurementUnit(source.getMeasurementUnit());
+                return true;
+            }
+
+            @Override
+            public boolean isValid(T delivery) {
+                return validate(delivery);
+            }
+
+            @Override
+            public void save(T delivery) {
+                T saved = repository.save(delivery);
+                afterWrite(saved.getPartner(), saved.getMaterial());
+            }
+
+            @Override
+            public void delete(T delivery) {
+                repository.delete(delivery);
+                afterWrite(delivery.getPartner(), delivery.getMaterial());
+            }
+        }, deliveries);
+    }
+
+    public abstract boolean validate(T delivery);
+
+    /**
+     * Called after deliveries of the given partner and material have been created, updated or deleted.
+     * An update that moves a delivery to another partner or material calls it for the old
+     * and the new partner and material.
+     *
+     * @param partner  the partner
+     * @param material the material
+     */
+    protected void afterWrite(Partner partner, Material material) {
+    }
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the origin or destination site, may be null
+     * @param cursor            the position of the last row of the previous page, null for the first page
+     * @param pageSize          the page size
+     * @return up to pageSize + 1 rows, ordered by (dateOfDeparture, uuid)
+     */
+    public final List<T> findKeysetPage(String ownMaterialNumber, String partnerBpnl, String bpns, KeysetCursor cursor, int pageSize) {
+        return repository.findKeysetPage(ownMaterialNumber, partnerBpnl, bpns,
+            cursor == null ? null : cursor.position(), cursor == null ? null : cursor.uuid(),
+            KeysetCursor.lookAhead(pageSize));
+    }
+
+    /**
+     * Must be called within a transaction. The returned stream must be closed.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the origin or destination site, may be null
+     * @return all matching rows, ordered by (dateOfDeparture, uuid)
+     */
+    public final Stream<T> streamAllByFilters(String ownMaterialNumber, String partnerBpnl, String bpns) {
+        return repository.streamAll(ownMaterialNumber, partnerBpnl, bpns);
+    }
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return all matching rows that depart or arrive within the period
+     */
+    public final List<T> findAllInPeriod(String ownMaterialNumber, String partnerBpnl, Date from, Date to) {
+        return repository.findAllInPeriod(ownMaterialNumber, partnerBpnl, from, to);
     }
 }
@@ -26,26 +26,32 @@ import java.util.function.Function;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.EventTypeEnumeration;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.repository.OwnDeliveryRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
-import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class OwnDeliveryService extends DeliveryService<OwnDelivery> {
     private final OwnDeliveryRepository repository;
 
-    private final PartnerService partnerService;
+    private final PartnerSiteIndex partnerSiteIndex;
 
     protected final Function<OwnDelivery, Boolean> validator;
 
-    private Partner ownPartnerEntity;
+    @Autowired
+    private SubmodelResponseCache submodelResponseCache;
 
-    public OwnDeliveryService(OwnDeliveryRepository repository, PartnerService partnerService) {
+    public OwnDeliveryService(OwnDeliveryRepository repository, PartnerSiteIndex partnerSiteIndex) {
         this.repository = repository;
-        this.partnerService = partnerService;
+        this.partnerSiteIndex = partnerSiteIndex;
         this.validator = this::validate;
     }
 
@@ -66,7 +72,9 @@ public class OwnDeliveryService extends DeliveryService<OwnDelivery> {
         if (delivery.getUuid() != null && repository.findById(delivery.getUuid()).isPresent()) {
             throw new KeyAlreadyExistsException("Delivery already exists");
         }
-        return repository.save(delivery);
+        OwnDelivery created = repository.save(delivery);
+        afterWrite(created.getPartner(), created.getMaterial());
+        return created;
     }
 
     public final List<OwnDelivery> createAll(List<OwnDelivery> deliveries) {
@@ -77,13 +85,19 @@ public class OwnDeliveryService extends DeliveryService<OwnDelivery> {
                 .anyMatch(existing -> deliveries.stream().anyMatch(delivery -> delivery.equals(existing)))) {
             throw new KeyAlreadyExistsException("delivery already exists");
         }
-        return repository.saveAll(deliveries);
+        List<OwnDelivery> created = repository.saveAll(deliveries);
+        created.forEach(delivery -> afterWrite(delivery.getPartner(), delivery.getMaterial()));
+        return created;
+    }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        // the deliveries are part of the submodels for both directions
+        submodelResponseCache.evict(partner, material, AssetType.DELIVERY_SUBMODEL, DirectionCharacteristic.INBOUND);
+        submodelResponseCache.evict(partner, material, AssetType.DELIVERY_SUBMODEL, DirectionCharacteristic.OUTBOUND);
     }
 
     public boolean validate(OwnDelivery delivery) {
-        if (ownPartnerEntity == null) {
-            ownPartnerEntity = partnerService.getOwnPartnerEntity();
-        }
         return 
             delivery.getQuantity() >= 0 && 
             delivery.getMeasurementUnit() != null &&
@@ -91,7 +105,7 @@ public class OwnDeliveryService extends DeliveryService<OwnDelivery> {
             delivery.getPartner() != null &&
             validateResponsibility(delivery) &&
             validateTransitEvent(delivery) &&
-            !delivery.getPartner().equals(ownPartnerEntity) &&
+            !partnerSiteIndex.isOwnPartner(delivery.getPartner()) &&
             ((
                 delivery.getCustomerOrderNumber() != null && 
                 delivery.getCustomerOrderPositionNumber() != null
@@ -116,27 +130,24 @@ public class OwnDeliveryService extends DeliveryService<OwnDelivery> {
     }
 
     private boolean validateResponsibility(OwnDelivery delivery) {
-        if (ownPartnerEntity == null) {
-            ownPartnerEntity = partnerService.getOwnPartnerEntity();
-        }
         return delivery.getIncoterm() != null && switch (delivery.getIncoterm().getResponsibility()) {
             case SUPPLIER ->
                 delivery.getMaterial().isProductFlag() &&
-                ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns())) &&
-                delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns()));
+                partnerSiteIndex.isOwnSite(delivery.getOriginBpns()) &&
+                partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getDestinationBpns());
             case CUSTOMER ->
                 delivery.getMaterial().isMaterialFlag() &&
-                delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns())) &&
-                ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns()));
+                partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getOriginBpns()) &&
+                partnerSiteIndex.isOwnSite(delivery.getDestinationBpns());
             case PARTIAL ->
                 (
                     delivery.getMaterial().isProductFlag() &&
-                    ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns())) &&
-                    delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns()))
+                    partnerSiteIndex.isOwnSite(delivery.getOriginBpns()) &&
+                    partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getDestinationBpns())
                 ) || (
                     delivery.getMaterial().isMaterialFlag() &&
-                    delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns())) &&
-                    ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns()))
+                    partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getOriginBpns()) &&
+                    partnerSiteIndex.isOwnSite(delivery.getDestinationBpns())
                 );
         };
     }
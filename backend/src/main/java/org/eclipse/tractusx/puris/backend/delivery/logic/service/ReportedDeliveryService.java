@@ -25,26 +25,32 @@ import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
 
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelEtagCache;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.EventTypeEnumeration;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.ReportedDelivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.repository.ReportedDeliveryRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
-import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ReportedDeliveryService extends DeliveryService<ReportedDelivery> {
     private final ReportedDeliveryRepository repository;
 
-    private final PartnerService partnerService;
+    private final PartnerSiteIndex partnerSiteIndex;
 
     protected final Function<ReportedDelivery, Boolean> validator;
 
-    private Partner ownPartnerEntity;
+    @Autowired
+    private SubmodelEtagCache submodelEtagCache;
 
-    public ReportedDeliveryService(ReportedDeliveryRepository repository, PartnerService partnerService) {
+
+    public ReportedDeliveryService(ReportedDeliveryRepository repository, PartnerSiteIndex partnerSiteIndex) {
         this.repository = repository;
-        this.partnerService = partnerService;
+        this.partnerSiteIndex = partnerSiteIndex;
         this.validator = this::validate;
     }
 
@@ -60,7 +66,9 @@ public class ReportedDeliveryService extends DeliveryService<ReportedDelivery> {
         if (!validator.apply(delivery)) {
             return null;
         }
-        return repository.save(delivery);
+        ReportedDelivery created = repository.save(delivery);
+        afterWrite(created.getPartner(), created.getMaterial());
+        return created;
     }
 
     public final List<ReportedDelivery> createAll(List<ReportedDelivery> deliveries) {
@@ -71,7 +79,14 @@ public class ReportedDeliveryService extends DeliveryService<ReportedDelivery> {
                 .anyMatch(existing -> deliveries.stream().anyMatch(delivery -> delivery.equals(existing)))) {
             return null;
         }
-        return repository.saveAll(deliveries);
+        List<ReportedDelivery> created = repository.saveAll(deliveries);
+        created.forEach(delivery -> afterWrite(delivery.getPartner(), delivery.getMaterial()));
+        return created;
+    }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelEtagCache.evict(partner, material, AssetType.DELIVERY_SUBMODEL);
     }
 
     public boolean validate(ReportedDelivery delivery) {
@@ -106,28 +121,25 @@ public class ReportedDeliveryService extends DeliveryService<ReportedDelivery> {
     }
 
     private boolean validateResponsibility(ReportedDelivery delivery) {
-        if (ownPartnerEntity == null) {
-            ownPartnerEntity = partnerService.getOwnPartnerEntity();
-        }
         return delivery.getIncoterm() != null && switch (delivery.getIncoterm().getResponsibility()) {
             case CUSTOMER ->
                 delivery.getMaterial().isProductFlag() &&
-                ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns())) &&
-                delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns()));
+                partnerSiteIndex.isOwnSite(delivery.getOriginBpns()) &&
+                partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getDestinationBpns());
             case SUPPLIER ->
                 delivery.getMaterial().isMaterialFlag() &&
-                delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns())) &&
-                ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns()));
+                partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getOriginBpns()) &&
+                partnerSiteIndex.isOwnSite(delivery.getDestinationBpns());
             case PARTIAL ->
                 (
                     delivery.getMaterial().isMaterialFlag() &&
-                    ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns())) &&
-                    delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns()))
+                    partnerSiteIndex.isOwnSite(delivery.getDestinationBpns()) &&
+                    partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getOriginBpns())
                     
                 ) || (
                     delivery.getMaterial().isProductFlag() &&
-                    delivery.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getDestinationBpns())) &&
-                    ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(delivery.getOriginBpns()))
+                    partnerSiteIndex.hasSite(delivery.getPartner(), delivery.getDestinationBpns()) &&
+                    partnerSiteIndex.isOwnSite(delivery.getOriginBpns())
                 );
         };
     }
@@ -24,32 +24,40 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.controller.RefreshJobController;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJobService;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetPage;
+import org.eclipse.tractusx.puris.backend.common.util.NdjsonStreamWriter;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.Demand;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.ReportedDemand;
+import org.eclipse.tractusx.puris.backend.demand.logic.adapter.DemandDtoMapper;
 import org.eclipse.tractusx.puris.backend.demand.logic.dto.DemandDto;
-import org.eclipse.tractusx.puris.backend.demand.logic.services.DemandRequestApiService;
 import org.eclipse.tractusx.puris.backend.demand.logic.services.OwnDemandService;
 import org.eclipse.tractusx.puris.backend.demand.logic.services.ReportedDemandService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -63,7 +71,7 @@ public class DemandController {
     private ReportedDemandService reportedDemandService;
 
     @Autowired
-    private DemandRequestApiService demandRequestApiService;
+    private RefreshJobService refreshJobService;
 
     @Autowired
     private MaterialService materialService;
@@ -75,15 +83,19 @@ public class DemandController {
     private MaterialPartnerRelationService mprService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DemandDtoMapper demandDtoMapper;
+
+    @Autowired
+    private MasterDataDtoMapper masterDataDtoMapper;
 
     @Autowired
     private Validator validator;
 
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
+
     @Autowired
-    private ExecutorService executorService;
+    private NdjsonStreamWriter ndjsonStreamWriter;
 
     @GetMapping()
     @ResponseBody
@@ -93,6 +105,34 @@ public class DemandController {
                 .stream().map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @GetMapping("page")
+    @Operation(summary = "Get one page of own demands for the given Material",
+        description = "Get one page of the own demands for the given material number, ordered by their day. " +
+            "Optionally the demanding site can be filtered by its bpns. Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public KeysetPage<DemandDto> getDemandsPage(@RequestParam String ownMaterialNumber,
+                                                @RequestParam Optional<String> site,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<OwnDemand> rows = ownDemandService.findKeysetPage(ownMaterialNumber, null, site.orElse(null),
+            KeysetCursor.fromRequestParam(cursor), pageSize);
+        return KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto);
+    }
+
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all own demands for the given Material",
+        description = "Streams all own demands for the given material number as newline delimited json. " +
+            "Optionally the demanding site can be filtered by its bpns.")
+    public ResponseEntity<StreamingResponseBody> streamDemands(@RequestParam String ownMaterialNumber,
+                                                               @RequestParam Optional<String> site) {
+        return ndjsonStreamWriter.stream(() -> ownDemandService.streamAllByFilters(ownMaterialNumber, null, site.orElse(null)),
+            this::convertToDto);
+    }
+
     @PostMapping()
     @ResponseBody
     @Operation(summary = "Creates a new demand")
@@ -173,30 +213,62 @@ public class DemandController {
                 .stream().map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @GetMapping("reported/page")
+    @Operation(summary = "Get one page of demands of partners for a material",
+        description = "Get one page of the demands of partners for a material number, ordered by their day. " +
+            "Optionally the partners can be filtered by their bpnl and the demanding site can be filtered by its bpns. " +
+            "Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public KeysetPage<DemandDto> getDemandsForPartnerPage(@RequestParam String ownMaterialNumber,
+                                                          @RequestParam Optional<String> bpnl,
+                                                          @RequestParam Optional<String> site,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<ReportedDemand> rows = reportedDemandService.findKeysetPage(ownMaterialNumber, bpnl.orElse(null), site.orElse(null),
+            KeysetCursor.fromRequestParam(cursor), pageSize);
+        return KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto);
+    }
+
+    @GetMapping(value = "reported/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all demands of partners for a material",
+        description = "Streams all demands of partners for a material number as newline delimited json. " +
+            "Optionally the partners can be filtered by their bpnl and the demanding site can be filtered by its bpns.")
+    public ResponseEntity<StreamingResponseBody> streamDemandsForPartner(@RequestParam String ownMaterialNumber,
+                                                                         @RequestParam Optional<String> bpnl,
+                                                                         @RequestParam Optional<String> site) {
+        return ndjsonStreamWriter.stream(() -> reportedDemandService.streamAllByFilters(ownMaterialNumber, bpnl.orElse(null), site.orElse(null)),
+            this::convertToDto);
+    }
+
     @GetMapping("reported/refresh")
     @ResponseBody
     @Operation(
         summary = "Refreshes all reported demands", 
-        description = "Refreshes all reported demands from the demand request API."
+        description = "Refreshes all reported demands from the demand request API. The Location header points " +
+            "to the refresh job that reports when the responses have arrived, see /refresh-jobs."
     )
     public ResponseEntity<List<PartnerDto>> refreshReportedProductions(@RequestParam String ownMaterialNumber) {
         if (!materialPattern.matcher(ownMaterialNumber).matches()) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(400));
         }
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
-        List<Partner> allCustomerPartnerEntities = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
-        for (Partner customerPartner : allCustomerPartnerEntities) {
-            executorService.submit(() ->
-            demandRequestApiService.doReportedDemandRequest(customerPartner, materialEntity));
+        if (materialEntity == null) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(404));
         }
+        List<Partner> allCustomerPartnerEntities = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
+        var job = refreshJobService.start(materialEntity, AssetType.DEMAND_SUBMODEL, null, allCustomerPartnerEntities);
 
-        return ResponseEntity.ok(allCustomerPartnerEntities.stream()
-            .map(partner -> modelMapper.map(partner, PartnerDto.class))
+        return ResponseEntity.ok().location(RefreshJobController.location(job)).body(allCustomerPartnerEntities.stream()
+            .map(masterDataDtoMapper::toDto)
             .toList());
     }
 
     private DemandDto convertToDto(OwnDemand entity) {
-        DemandDto dto = modelMapper.map(entity, DemandDto.class);
+        DemandDto dto = demandDtoMapper.toDto(entity);
         dto.setOwnMaterialNumber(entity.getMaterial().getOwnMaterialNumber());
         dto.setPartnerBpnl(entity.getPartner().getBpnl());
 
@@ -204,7 +276,7 @@ public class DemandController {
     }
 
     private OwnDemand convertToEntity(DemandDto dto) {
-        OwnDemand entity = modelMapper.map(dto, OwnDemand.class);
+        OwnDemand entity = demandDtoMapper.toEntity(dto);
         Material material = materialService.findByOwnMaterialNumber(dto.getOwnMaterialNumber());
         entity.setMaterial(material);
 
@@ -220,7 +292,7 @@ public class DemandController {
     }
 
     private DemandDto convertToDto(ReportedDemand entity) {
-        DemandDto dto = modelMapper.map(entity, DemandDto.class);
+        DemandDto dto = demandDtoMapper.toDto(entity);
 
         var materialPartnerRelation = mprService.find(entity.getMaterial().getOwnMaterialNumber(),
                 entity.getPartner().getUuid());
@@ -229,5 +301,8 @@ public class DemandController {
 
         return dto;
     }
-}
 
+    private KeysetCursor toCursor(Demand entity) {
+        return new KeysetCursor(entity.getDay(), entity.getUuid());
+    }
+}
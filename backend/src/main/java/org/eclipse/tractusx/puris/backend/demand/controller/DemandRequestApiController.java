@@ -25,12 +25,15 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.SubmodelFingerprint;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.demand.logic.dto.demandsamm.ShortTermMaterialDemand;
 import org.eclipse.tractusx.puris.backend.demand.logic.services.DemandRequestApiService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.regex.Pattern;
 
@@ -45,6 +48,9 @@ public class DemandRequestApiController {
     @Autowired
     private DemandRequestApiService demandRequestApiService;
 
+    @Autowired
+    private SubmodelFingerprint submodelFingerprint;
+
     private final Pattern bpnlPattern = PatternStore.BPNL_PATTERN;
 
     private final Pattern urnPattern = PatternStore.URN_OR_UUID_PATTERN;
@@ -54,6 +60,7 @@ public class DemandRequestApiController {
         "This endpoint is meant to be accessed by partners via EDC only. ")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ok"),
+        @ApiResponse(responseCode = "304", description = "Not Modified", content = @Content),
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content),
         @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content),
         @ApiResponse(responseCode = "501", description = "Unsupported representation", content = @Content)
@@ -62,7 +69,8 @@ public class DemandRequestApiController {
     public ResponseEntity<ShortTermMaterialDemand> getDemandMapping(
         @RequestHeader("edc-bpn") String bpnl,
         @PathVariable String materialnumbercx,
-        @PathVariable String representation
+        @PathVariable String representation,
+        WebRequest request
     ) {
         if (!bpnlPattern.matcher(bpnl).matches() || !urnPattern.matcher(materialnumbercx).matches()) {
             log.warn("Rejecting request at ShortTermMaterialDemand Submodel request 1.0.0 endpoint");
@@ -79,6 +87,10 @@ public class DemandRequestApiController {
         if (samm == null) {
             return ResponseEntity.status(500).build();
         }
-        return ResponseEntity.ok(samm);
+        String etag = submodelFingerprint.of(samm, AssetType.DEMAND_SUBMODEL);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(samm);
     }
 }
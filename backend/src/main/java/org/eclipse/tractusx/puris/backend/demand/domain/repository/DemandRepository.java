@@ -0,0 +1,96 @@
+/*
+Copyright (c) 2024 Volkswagen AG
+Copyright (c) 2024 Contributors to the Eclipse Foundation
+
+See the NOTICE file(s) distributed with this work for additional
+information regarding copyright ownership.
+
+This program and the accompanying materials are made available under the
+terms of the Apache License, Version 2.0 which is available at
+https://www.apache.org/licenses/LICENSE-2.0.
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+License for the specific language governing permissions and limitations
+under the License.
+
+SPDX-License-Identifier: Apache-2.0
+*/
+package org.eclipse.tractusx.puris.backend.demand.domain.repository;
+
+import jakarta.persistence.QueryHint;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.Demand;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface DemandRepository<T extends Demand> extends JpaRepository<T, UUID> {
+
+    /**
+     * Keyset pagination over (day, uuid).
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the demand location, may be null
+     * @param day               day of the last row of the previous page, null for the first page
+     * @param uuid              uuid of the last row of the previous page, null for the first page
+     * @param pageable          limits the number of rows
+     * @return the rows following the given position
+     */
+    @Query("SELECT d FROM #{#entityName} d JOIN FETCH d.material m JOIN FETCH d.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND (:bpns IS NULL OR d.demandLocationBpns = :bpns)" +
+        " AND (:day IS NULL OR d.day > :day" +
+        " OR (d.day = :day AND d.uuid > :uuid))" +
+        " ORDER BY d.day, d.uuid")
+    List<T> findKeysetPage(@Param("ownMaterialNumber") String ownMaterialNumber,
+                           @Param("partnerBpnl") String partnerBpnl,
+                           @Param("bpns") String bpns,
+                           @Param("day") Date day,
+                           @Param("uuid") UUID uuid,
+                           Pageable pageable);
+
+    /**
+     * Must be consumed within a transaction and closed afterwards.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the demand location, may be null
+     * @return all matching rows, ordered by (day, uuid)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT d FROM #{#entityName} d JOIN FETCH d.material m JOIN FETCH d.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND (:bpns IS NULL OR d.demandLocationBpns = :bpns)" +
+        " ORDER BY d.day, d.uuid")
+    Stream<T> streamAll(@Param("ownMaterialNumber") String ownMaterialNumber,
+                        @Param("partnerBpnl") String partnerBpnl,
+                        @Param("bpns") String bpns);
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return all rows whose day lies within the period
+     */
+    @Query("SELECT d FROM #{#entityName} d JOIN FETCH d.material m JOIN FETCH d.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND d.day >= :from AND d.day < :to")
+    List<T> findAllInPeriod(@Param("ownMaterialNumber") String ownMaterialNumber,
+                            @Param("partnerBpnl") String partnerBpnl,
+                            @Param("from") Date from,
+                            @Param("to") Date to);
+}
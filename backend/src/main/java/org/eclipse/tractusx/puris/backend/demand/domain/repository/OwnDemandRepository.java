@@ -19,13 +19,10 @@ SPDX-License-Identifier: Apache-2.0
 */
 package org.eclipse.tractusx.puris.backend.demand.domain.repository;
 
-import java.util.UUID;
-
 import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface OwnDemandRepository extends JpaRepository<OwnDemand, UUID> {
+public interface OwnDemandRepository extends DemandRepository<OwnDemand> {
   
 }
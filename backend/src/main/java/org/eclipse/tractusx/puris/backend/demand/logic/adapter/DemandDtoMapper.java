@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.demand.logic.adapter;
+
+import org.eclipse.tractusx.puris.backend.demand.domain.model.Demand;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
+import org.eclipse.tractusx.puris.backend.demand.logic.dto.DemandDto;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plain java mapping between the demand entities and {@link DemandDto}.
+ */
+@Service
+public class DemandDtoMapper {
+
+    /**
+     * The ownMaterialNumber of the dto is set to our own material number. For reported
+     * demands the caller replaces it with the material number of the partner.
+     *
+     * @param entity the demand
+     * @return the dto
+     */
+    public DemandDto toDto(Demand entity) {
+        DemandDto dto = new DemandDto();
+        dto.setUuid(entity.getUuid());
+        dto.setPartnerBpnl(entity.getPartner().getBpnl());
+        dto.setOwnMaterialNumber(entity.getMaterial().getOwnMaterialNumber());
+        dto.setQuantity(entity.getQuantity());
+        dto.setMeasurementUnit(entity.getMeasurementUnit());
+        dto.setDay(entity.getDay());
+        dto.setDemandLocationBpns(entity.getDemandLocationBpns());
+        dto.setSupplierLocationBpns(entity.getSupplierLocationBpns());
+        dto.setDemandCategoryCode(entity.getDemandCategoryCode());
+        return dto;
+    }
+
+    /**
+     * Maps the plain attributes of the dto. Material and partner are resolved by the caller.
+     *
+     * @param dto the dto
+     * @return a new own demand
+     */
+    public OwnDemand toEntity(DemandDto dto) {
+        OwnDemand entity = new OwnDemand();
+        entity.setUuid(dto.getUuid());
+        entity.setQuantity(dto.getQuantity());
+        entity.setMeasurementUnit(dto.getMeasurementUnit());
+        entity.setDay(dto.getDay());
+        entity.setDemandLocationBpns(dto.getDemandLocationBpns());
+        entity.setSupplierLocationBpns(dto.getSupplierLocationBpns());
+        entity.setDemandCategoryCode(dto.getDemandCategoryCode());
+        return entity;
+    }
+}
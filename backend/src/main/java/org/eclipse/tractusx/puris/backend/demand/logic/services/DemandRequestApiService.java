@@ -20,10 +20,11 @@
 
 package org.eclipse.tractusx.puris.backend.demand.logic.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.ReportedDataChangedEvent;
 import org.eclipse.tractusx.puris.backend.demand.logic.adapter.ShortTermMaterialDemandSammMapper;
 import org.eclipse.tractusx.puris.backend.demand.logic.dto.demandsamm.ShortTermMaterialDemand;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
@@ -32,6 +33,7 @@ import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartn
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -55,7 +57,9 @@ public class DemandRequestApiService {
     @Autowired
     private ShortTermMaterialDemandSammMapper sammMapper;
     @Autowired
-    private ObjectMapper objectMapper;
+    private SubmodelResponseCache submodelResponseCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public ShortTermMaterialDemand handleDemandSubmodelRequest(String bpnl, String materialNumberCx) {
         Partner partner = partnerService.findByBpnl(bpnl);
@@ -86,39 +90,38 @@ public class DemandRequestApiService {
             return null;
         }
 
-        var currentDemands = ownDemandService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
-        return sammMapper.ownDemandToSamm(currentDemands, partner, material);
+        Material requestedMaterial = material;
+        return submodelResponseCache.get(partner, material, AssetType.DEMAND_SUBMODEL, null, () -> {
+            var currentDemands = ownDemandService.findAllByFilters(Optional.of(requestedMaterial.getOwnMaterialNumber()), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
+            return sammMapper.ownDemandToSamm(currentDemands, partner, requestedMaterial);
+        });
     }
 
-    public void doReportedDemandRequest(Partner partner, Material material) {
+    public boolean doReportedDemandRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             if (mpr.getPartnerCXNumber() == null) {
                 mprService.triggerPartTypeRetrievalTask(partner);
                 mpr = mprService.find(material, partner);
             }
-            var data = edcAdapterService.doSubmodelRequest(AssetType.DEMAND_SUBMODEL, mpr, DirectionCharacteristic.INBOUND, 1);
-            var samm = objectMapper.treeToValue(data, ShortTermMaterialDemand.class);
-            var demands = sammMapper.sammToReportedDemand(samm, partner);
-            for (var demand : demands) {
-                var demandPartner = demand.getPartner();
-                var demandMaterial = demand.getMaterial();
-                if (!partner.equals(demandPartner) || !material.equals(demandMaterial)) {
-                    log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + demands);
-                    return;
+            return edcAdapterService.doConditionalSubmodelRequest(AssetType.DEMAND_SUBMODEL, mpr, DirectionCharacteristic.INBOUND, ShortTermMaterialDemand.class, samm -> {
+                var demands = sammMapper.sammToReportedDemand(samm, partner);
+                for (var demand : demands) {
+                    var demandPartner = demand.getPartner();
+                    var demandMaterial = demand.getMaterial();
+                    if (!partner.equals(demandPartner) || !material.equals(demandMaterial)) {
+                        log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + demands);
+                        return false;
+                    }
                 }
-            }
-            // delete older data:
-            var oldDemands = reportedDemandService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
-            for (var oldDemand : oldDemands) {
-                reportedDemandService.delete(oldDemand.getUuid());
-            }
-            for (var newDemand : demands) {
-                reportedDemandService.create(newDemand);
-            }
-            log.info("Updated ReportedDemand for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+                var changes = reportedDemandService.replaceAll(partner, material, demands);
+                log.info("Updated ReportedDemand for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + changes);
+                eventPublisher.publishEvent(new ReportedDataChangedEvent(partner, material, AssetType.DEMAND_SUBMODEL, null, changes));
+                return true;
+            });
         } catch (Exception e) {
             log.error("Error in ReportedDemandRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 }
@@ -22,26 +22,40 @@ package org.eclipse.tractusx.puris.backend.demand.logic.services;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 
+import org.eclipse.tractusx.puris.backend.common.util.DifferentialSync;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.Demand;
+import org.eclipse.tractusx.puris.backend.demand.domain.repository.DemandRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 
-public abstract class DemandService<TEntity extends Demand, TRepository extends JpaRepository<TEntity, UUID> >  {
+public abstract class DemandService<TEntity extends Demand, TRepository extends DemandRepository<TEntity>>  {
     protected final TRepository repository;
     protected final PartnerService partnerService;
     protected final MaterialPartnerRelationService mprService;
 
     protected final Function<TEntity, Boolean> validator;
 
+    @Autowired
+    protected PartnerSiteIndex partnerSiteIndex;
+
+    @Autowired
+    protected DifferentialSync differentialSync;
+
     public DemandService(TRepository repository, PartnerService partnerService, MaterialPartnerRelationService mprService) {
         this.repository = repository;
         this.partnerService = partnerService;
@@ -103,18 +117,134 @@ public abstract class DemandService<TEntity extends Demand, TRepository extends
         if (repository.findAll().stream().anyMatch(d -> d.equals(demand))) {
             throw new KeyAlreadyExistsException("Demand already exists");
         }
-        return repository.save(demand);
+        TEntity created = repository.save(demand);
+        afterWrite(created.getPartner(), created.getMaterial());
+        return created;
     }
 
     public final TEntity update(TEntity demand) {
-        if (demand.getUuid() == null || repository.findById(demand.getUuid()).isEmpty()) {
+        TEntity existing = demand.getUuid() == null ? null : repository.findById(demand.getUuid()).orElse(null);
+        if (existing == null) {
             return null;
         }
-        return repository.save(demand);
+        // the existing demand is managed and takes over the new values on save
+        Partner oldPartner = existing.getPartner();
+        Material oldMaterial = existing.getMaterial();
+        TEntity updated = repository.save(demand);
+        afterWrite(oldPartner, oldMaterial);
+        afterWrite(updated.getPartner(), updated.getMaterial());
+        return updated;
     }
 
     public final void delete(UUID uuid) {
+        TEntity existing = repository.findById(uuid).orElse(null);
         repository.deleteById(uuid);
+        if (existing != null) {
+            afterWrite(existing.getPartner(), existing.getMaterial());
+        }
+    }
+
+    /**
+     * Replaces the demands of the given partner and material, e.g. with the ones a customer has just reported.
+     * <p>
+     * There is at most one demand per day, demand category, demand location and supplier location. A demand
+     * that already exists for such a combination keeps its id and only gets the new quantity.
+     *
+     * @param partner  the partner
+     * @param material the material
+     * @param demands  all demands of the partner and material
+     * @return the number of changes
+     */
+    public final DifferentialSync.Changes replaceAll(Partner partner, Material material, List<TEntity> demands) {
+        return differentialSync.apply(new DifferentialSync.Rows<>() {
+            @Override
+            public List<TEntity> load() {
+                try (Stream<TEntity> stream = repository.streamAll(material.getOwnMaterialNumber(), partner.getBpnl(), null)) {
+                    return stream.toList();
+                }
+            }
+
+            @Override
+            public Object naturalKey(TEntity demand) {
+                return Arrays.asList(DifferentialSync.epochMillis(demand.getDay()), demand.getDemandCategoryCode(),
+                    demand.getDemandLocationBpns(), demand.getSupplierLocationBpns());
+            }
+
+            @Override
+            public boolean copyValues(TEntity source, TEntity target) {
+                if (source.getQuantity() == target.getQuantity() && source.getMeasurementUnit() == target.getMeasurementUnit()) {
+                    return false;
+                }
+                target.setQuantity(source.getQuantity());
+                target.setMeasurementUnit(source.getMeasurementUnit());
+                return true;
+            }
+
+            @Override
+            public boolean isValid(TEntity demand) {
+                return validate(demand);
+            }
+
+            @Override
+            public void save(TEntity demand) {
+                TEntity saved = repository.save(demand);
+                afterWrite(saved.getPartner(), saved.getMaterial());
+            }
+
+            @Override
+            public void delete(TEntity demand) {
+                repository.delete(demand);
+                afterWrite(demand.getPartner(), demand.getMaterial());
+            }
+        }, demands);
+    }
+
+    /**
+     * Called after demands of the given partner and material have been created, updated or deleted.
+     * An update that moves a demand to another partner or material calls it for the old
+     * and the new partner and material.
+     *
+     * @param partner  the partner
+     * @param material the material
+     */
+    protected void afterWrite(Partner partner, Material material) {
+    }
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the demand location, may be null
+     * @param cursor            the position of the last row of the previous page, null for the first page
+     * @param pageSize          the page size
+     * @return up to pageSize + 1 rows, ordered by (day, uuid)
+     */
+    public final List<TEntity> findKeysetPage(String ownMaterialNumber, String partnerBpnl, String bpns, KeysetCursor cursor, int pageSize) {
+        return repository.findKeysetPage(ownMaterialNumber, partnerBpnl, bpns,
+            cursor == null ? null : cursor.position(), cursor == null ? null : cursor.uuid(),
+            KeysetCursor.lookAhead(pageSize));
+    }
+
+    /**
+     * Must be called within a transaction. The returned stream must be closed.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the demand location, may be null
+     * @return all matching rows, ordered by (day, uuid)
+     */
+    public final Stream<TEntity> streamAllByFilters(String ownMaterialNumber, String partnerBpnl, String bpns) {
+        return repository.streamAll(ownMaterialNumber, partnerBpnl, bpns);
+    }
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return all matching rows whose day lies within the period
+     */
+    public final List<TEntity> findAllInPeriod(String ownMaterialNumber, String partnerBpnl, Date from, Date to) {
+        return repository.findAllInPeriod(ownMaterialNumber, partnerBpnl, from, to);
     }
 
     public abstract boolean validate(TEntity demand);
@@ -19,44 +19,49 @@ SPDX-License-Identifier: Apache-2.0
 */
 package org.eclipse.tractusx.puris.backend.demand.logic.services;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
 
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
 import org.eclipse.tractusx.puris.backend.demand.domain.repository.OwnDemandRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class OwnDemandService extends DemandService<OwnDemand, OwnDemandRepository> {
+    @Autowired
+    private SubmodelResponseCache submodelResponseCache;
+
     public OwnDemandService(OwnDemandRepository repository, PartnerService partnerService, MaterialPartnerRelationService mprService) {
         super(repository, partnerService, mprService);
     }
 
-    public final List<Double> getQuantityForDays(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> quantities = new ArrayList<>();
-        LocalDate localDate = LocalDate.now();
-
-        for (int i = 0; i < numberOfDays; i++) {
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            List<OwnDemand> demands = findAllByFilters(Optional.of(material), Optional.of(partnerBpnl), Optional.of(siteBpns), Optional.of(date));
-            double demandQuantity = getSumOfQuantities(demands);
-            quantities.add(demandQuantity);
-
-            localDate = localDate.plusDays(1);
+    /**
+     * Sums up the demanded quantities per day, starting today.
+     *
+     * @param material     the ownMaterialNumber
+     * @param partnerBpnl  the bpnl of the partner
+     * @param siteBpns     the bpns of the demand location
+     * @param numberOfDays the number of days
+     * @return the demanded quantities per day
+     */
+    public final DailySeries getQuantityForDays(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
+        DailySeries quantities = DailySeries.startingToday(numberOfDays);
+        for (OwnDemand demand : findAllInPeriod(material, partnerBpnl, quantities.getStart(), quantities.getEnd())) {
+            if (siteBpns.equals(demand.getDemandLocationBpns())) {
+                quantities.add(demand.getDay(), demand.getQuantity());
+            }
         }
         return quantities;
     }
 
     @Override
     public boolean validate(OwnDemand demand) {
-        Partner ownPartnerEntity = partnerService.getOwnPartnerEntity();
         return 
             demand.getMaterial() != null &&
             demand.getPartner() != null &&
@@ -66,16 +71,13 @@ public class OwnDemandService extends DemandService<OwnDemand, OwnDemandReposito
             demand.getDay() != null && 
             demand.getDemandCategoryCode() != null &&
             demand.getDemandLocationBpns() != null &&
-            !demand.getPartner().equals(ownPartnerEntity) &&
-            ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(demand.getDemandLocationBpns())) &&
-            (demand.getSupplierLocationBpns() == null || demand.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(demand.getSupplierLocationBpns())));
+            !partnerSiteIndex.isOwnPartner(demand.getPartner()) &&
+            partnerSiteIndex.isOwnSite(demand.getDemandLocationBpns()) &&
+            (demand.getSupplierLocationBpns() == null || partnerSiteIndex.hasSite(demand.getPartner(), demand.getSupplierLocationBpns()));
     }
 
-    private final double getSumOfQuantities(List<OwnDemand> demands) {
-        double sum = 0;
-        for (OwnDemand demand : demands) {
-            sum += demand.getQuantity();
-        }
-        return sum;
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelResponseCache.evict(partner, material, AssetType.DEMAND_SUBMODEL, null);
     }
 }
@@ -19,23 +19,29 @@ SPDX-License-Identifier: Apache-2.0
 */
 package org.eclipse.tractusx.puris.backend.demand.logic.services;
 
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelEtagCache;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.ReportedDemand;
 import org.eclipse.tractusx.puris.backend.demand.domain.repository.ReportedDemandRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ReportedDemandService extends DemandService<ReportedDemand, ReportedDemandRepository> {
 
+    @Autowired
+    private SubmodelEtagCache submodelEtagCache;
+
     public ReportedDemandService(ReportedDemandRepository repository, PartnerService partnerService, MaterialPartnerRelationService mprService) {
         super(repository, partnerService, mprService);
     }
 
     @Override
     public boolean validate(ReportedDemand demand) {
-        Partner ownPartnerEntity = partnerService.getOwnPartnerEntity();
         return 
             demand.getMaterial() != null &&
             demand.getPartner() != null &&
@@ -45,8 +51,13 @@ public class ReportedDemandService extends DemandService<ReportedDemand, Reporte
             demand.getDay() != null && 
             demand.getDemandCategoryCode() != null &&
             demand.getDemandLocationBpns() != null &&
-            !demand.getPartner().equals(ownPartnerEntity) &&
-            (demand.getSupplierLocationBpns() == null || ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(demand.getSupplierLocationBpns()))) &&
-            demand.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(demand.getDemandLocationBpns()));
+            !partnerSiteIndex.isOwnPartner(demand.getPartner()) &&
+            (demand.getSupplierLocationBpns() == null || partnerSiteIndex.isOwnSite(demand.getSupplierLocationBpns())) &&
+            partnerSiteIndex.hasSite(demand.getPartner(), demand.getDemandLocationBpns());
+    }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelEtagCache.evict(partner, material, AssetType.DEMAND_SUBMODEL);
     }
 }
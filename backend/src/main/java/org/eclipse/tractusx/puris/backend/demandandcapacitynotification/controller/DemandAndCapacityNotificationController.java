@@ -28,6 +28,7 @@ import jakarta.validation.constraints.Pattern;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.OwnDemandAndCapacityNotification;
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.ReportedDemandAndCapacityNotification;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.adapter.DemandAndCapacityNotificationDtoMapper;
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.dto.DemandAndCapacityNotificationDto;
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.service.DemandAndCapacityNotifcationRequestApiService;
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.service.OwnDemandAndCapacityNotificationService;
@@ -37,7 +38,6 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Site;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -70,7 +70,7 @@ public class DemandAndCapacityNotificationController {
     private PartnerService partnerService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DemandAndCapacityNotificationDtoMapper notificationDtoMapper;
 
     @Autowired
     private Validator validator;
@@ -169,7 +169,7 @@ public class DemandAndCapacityNotificationController {
     }
 
     private DemandAndCapacityNotificationDto convertToDto(OwnDemandAndCapacityNotification entity) {
-        DemandAndCapacityNotificationDto dto = modelMapper.map(entity, DemandAndCapacityNotificationDto.class);
+        DemandAndCapacityNotificationDto dto = notificationDtoMapper.toDto(entity);
         if (entity.getMaterials() != null) {
             dto.setAffectedMaterialNumbers(entity.getMaterials().stream().map(Material::getOwnMaterialNumber).toList());
         }
@@ -186,7 +186,7 @@ public class DemandAndCapacityNotificationController {
     }
 
     private DemandAndCapacityNotificationDto convertToDto(ReportedDemandAndCapacityNotification entity) {
-        DemandAndCapacityNotificationDto dto = modelMapper.map(entity, DemandAndCapacityNotificationDto.class);
+        DemandAndCapacityNotificationDto dto = notificationDtoMapper.toDto(entity);
         if (entity.getMaterials() != null) {
             dto.setAffectedMaterialNumbers(entity.getMaterials().stream().map(Material::getOwnMaterialNumber).toList());
         }
@@ -200,7 +200,7 @@ public class DemandAndCapacityNotificationController {
         return dto;
     }
     private OwnDemandAndCapacityNotification convertToEntity(DemandAndCapacityNotificationDto dto) {
-        OwnDemandAndCapacityNotification entity = modelMapper.map(dto, OwnDemandAndCapacityNotification.class);
+        OwnDemandAndCapacityNotification entity = notificationDtoMapper.toEntity(dto);
 
         Partner existingPartner = partnerService.findByBpnl(dto.getPartnerBpnl());
         if (existingPartner == null) {
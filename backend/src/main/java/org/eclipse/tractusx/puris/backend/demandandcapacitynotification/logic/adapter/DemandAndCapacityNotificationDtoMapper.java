@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.adapter;
+
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.DemandAndCapacityNotification;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.OwnDemandAndCapacityNotification;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.dto.DemandAndCapacityNotificationDto;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Site;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plain java mapping between the demand and capacity notification entities and
+ * {@link DemandAndCapacityNotificationDto}.
+ */
+@Service
+public class DemandAndCapacityNotificationDtoMapper {
+
+    public DemandAndCapacityNotificationDto toDto(DemandAndCapacityNotification entity) {
+        DemandAndCapacityNotificationDto dto = new DemandAndCapacityNotificationDto();
+        dto.setUuid(entity.getUuid());
+        dto.setNotificationId(entity.getNotificationId());
+        dto.setRelatedNotificationId(entity.getRelatedNotificationId());
+        dto.setSourceNotificationId(entity.getSourceNotificationId());
+        dto.setPartnerBpnl(entity.getPartner().getBpnl());
+        if (entity.getMaterials() != null) {
+            dto.setAffectedMaterialNumbers(entity.getMaterials().stream().map(Material::getOwnMaterialNumber).toList());
+        }
+        dto.setText(entity.getText());
+        dto.setLeadingRootCause(entity.getLeadingRootCause());
+        dto.setEffect(entity.getEffect());
+        dto.setStatus(entity.getStatus());
+        dto.setStartDateOfEffect(entity.getStartDateOfEffect());
+        dto.setExpectedEndDateOfEffect(entity.getExpectedEndDateOfEffect());
+        if (entity.getAffectedSitesSender() != null) {
+            dto.setAffectedSitesBpnsSender(entity.getAffectedSitesSender().stream().map(Site::getBpns).toList());
+        }
+        if (entity.getAffectedSitesRecipient() != null) {
+            dto.setAffectedSitesBpnsRecipient(entity.getAffectedSitesRecipient().stream().map(Site::getBpns).toList());
+        }
+        return dto;
+    }
+
+    /**
+     * Maps the plain attributes of the dto. Partner, materials and sites are resolved by the caller.
+     *
+     * @param dto the dto
+     * @return a new own notification
+     */
+    public OwnDemandAndCapacityNotification toEntity(DemandAndCapacityNotificationDto dto) {
+        OwnDemandAndCapacityNotification entity = new OwnDemandAndCapacityNotification();
+        entity.setUuid(dto.getUuid());
+        entity.setNotificationId(dto.getNotificationId());
+        entity.setRelatedNotificationId(dto.getRelatedNotificationId());
+        entity.setSourceNotificationId(dto.getSourceNotificationId());
+        entity.setText(dto.getText());
+        entity.setLeadingRootCause(dto.getLeadingRootCause());
+        entity.setEffect(dto.getEffect());
+        entity.setStatus(dto.getStatus());
+        entity.setStartDateOfEffect(dto.getStartDateOfEffect());
+        entity.setExpectedEndDateOfEffect(dto.getExpectedEndDateOfEffect());
+        return entity;
+    }
+}
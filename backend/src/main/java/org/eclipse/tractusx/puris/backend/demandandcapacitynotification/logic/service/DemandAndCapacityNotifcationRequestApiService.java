@@ -87,7 +87,7 @@ public class DemandAndCapacityNotifcationRequestApiService {
         var partner = notification.getPartner();
         var body = createNotificationRequestBody(notification);
         try {
-            edcAdapterService.doNotificationPostRequest(AssetType.NOTIFICATION, partner, body, 1);
+            edcAdapterService.doNotificationPostRequest(AssetType.NOTIFICATION, partner, body);
             log.info("Successfully sent Notification to partner " + partner.getBpnl()); 
         } catch (Exception e) {
             log.error("Error in ReportedNotificationRequest for partner " + partner.getBpnl(), e);
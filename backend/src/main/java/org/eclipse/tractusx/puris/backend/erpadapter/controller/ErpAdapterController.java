@@ -20,7 +20,6 @@
 
 package org.eclipse.tractusx.puris.backend.erpadapter.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -37,6 +36,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.UUID;
@@ -114,7 +114,7 @@ public class ErpAdapterController {
         @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {@Content(examples = {
             @ExampleObject(itemStock20Sample)
         })})
-        @RequestBody JsonNode requestBody
+        InputStream requestBody
         ) {
         boolean valid = BPNL_PATTERN.matcher(partnerBpnl).matches()
                      && NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN.matcher(responseType).matches()
@@ -122,11 +122,11 @@ public class ErpAdapterController {
         if (!valid) {
             return ResponseEntity.badRequest().build();
         }
-        Dto dto = new Dto(requestId, partnerBpnl, responseType, sammVersion, new Date(responseTimestamp), requestBody);
+        Dto dto = new Dto(requestId, partnerBpnl, responseType, sammVersion, new Date(responseTimestamp));
         AssetType assetType = Arrays.stream(AssetType.values()).filter(type -> type.ERP_KEYWORD.equals(responseType)).findFirst().orElse(null);
         int responseCode = 501;
         switch (assetType) {
-            case ITEM_STOCK_SUBMODEL -> responseCode = itemStockErpAdapterService.receiveItemStockUpdate(dto);
+            case ITEM_STOCK_SUBMODEL -> responseCode = itemStockErpAdapterService.receiveItemStockUpdate(dto, requestBody);
             case null, default -> {
                 return ResponseEntity.status(responseCode).body("Unsupported response type: " + responseType);
             }
@@ -135,7 +135,7 @@ public class ErpAdapterController {
     }
 
     public record Dto(UUID requestId, String partnerBpnl, String responseType, String sammVersion,
-                      Date responseTimeStamp, JsonNode body){}
+                      Date responseTimeStamp){}
 
     private final static String itemStock20Sample = "{\n" +
         "    \"materialGlobalAssetId\": null,\n" +
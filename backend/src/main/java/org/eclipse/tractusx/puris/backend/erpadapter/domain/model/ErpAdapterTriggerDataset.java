@@ -55,6 +55,10 @@ public class ErpAdapterTriggerDataset {
 
     private long nextErpRequestScheduled;
 
+    public Key getKey() {
+        return new Key(partnerBpnl, ownMaterialNumber, assetType, directionCharacteristic);
+    }
+
     @Override
     public String toString() {
         return "ErpAdapterTriggerDataset{" +
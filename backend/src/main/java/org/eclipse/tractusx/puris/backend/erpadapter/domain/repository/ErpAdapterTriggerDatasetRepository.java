@@ -23,8 +23,50 @@ package org.eclipse.tractusx.puris.backend.erpadapter.domain.repository;
 
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterTriggerDataset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ErpAdapterTriggerDatasetRepository extends JpaRepository<ErpAdapterTriggerDataset, ErpAdapterTriggerDataset.Key> {
+
+    String KEY_CONDITION = "d.partnerBpnl = :#{#key.partnerBpnl} AND d.ownMaterialNumber = :#{#key.ownMaterialNumber} " +
+        "AND d.assetType = :#{#key.assetType} AND d.directionCharacteristic = :#{#key.directionCharacteristic}";
+
+    /**
+     * Sets the time of the last partner request, unless a more recent one was already stored.
+     *
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ErpAdapterTriggerDataset d SET d.lastPartnerRequest = :lastPartnerRequest " +
+        "WHERE " + KEY_CONDITION + " AND d.lastPartnerRequest < :lastPartnerRequest")
+    int updateLastPartnerRequest(@Param("key") ErpAdapterTriggerDataset.Key key,
+                                 @Param("lastPartnerRequest") long lastPartnerRequest);
+
+    /**
+     * Reschedules the next erp adapter request, if it is still scheduled at the expected time.
+     * Thereby only one caller can claim a scheduled request.
+     *
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ErpAdapterTriggerDataset d SET d.nextErpRequestScheduled = :next " +
+        "WHERE " + KEY_CONDITION + " AND d.nextErpRequestScheduled = :expected")
+    int updateNextErpRequestScheduled(@Param("key") ErpAdapterTriggerDataset.Key key,
+                                      @Param("expected") long expected, @Param("next") long next);
+
+    /**
+     * Deletes the dataset, if there was no partner request since the given point in time.
+     *
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ErpAdapterTriggerDataset d WHERE " + KEY_CONDITION + " AND d.lastPartnerRequest <= :limit")
+    int deleteIfNotRequestedSince(@Param("key") ErpAdapterTriggerDataset.Key key, @Param("limit") long limit);
 }
@@ -24,14 +24,17 @@ package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.lease.logic.JobLeaseService;
 import org.eclipse.tractusx.puris.backend.erpadapter.ErpAdapterConfiguration;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterTriggerDataset;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.repository.ErpAdapterTriggerDatasetRepository;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -53,73 +56,46 @@ public class ErpAdapterTriggerService {
     private ErpAdapterRequestService erpAdapterRequestService;
     @Autowired
     private ExecutorService executorService;
+    @Autowired
+    private JobLeaseService jobLeaseService;
 
     private final long daemonActivityInterval = 1 * 60 * 1000; // daemon wakes up every minute
 
+    /**
+     * Name of the lease that decides which backend instance schedules the erp adapter requests
+     */
+    private static final String DAEMON_LEASE = "erp-adapter-trigger-daemon";
+
     private Future<?> daemonObject;
 
+    /**
+     * Partner requests that were received by this instance and are not yet stored
+     */
     private final List<ErpAdapterTriggerDataset> datasets = new ArrayList<>();
 
     /**
-     * protect accesses to the datasets list
+     * protect accesses to the datasets list and the daemonObject
      */
     private final Lock lock = new ReentrantLock();
 
+    /**
+     * The daemon runs on every backend instance, that received partner requests. Every instance
+     * stores the partner requests it received, but only the holder of the daemon lease sends
+     * scheduled requests to the erp adapter.
+     */
     private final Runnable daemon = () -> {
         log.info("Daemon thread started");
-        ArrayList<ErpAdapterTriggerDataset> updatedData = new ArrayList<>();
         while (true) {
-            lock.lock();
             try {
-                // keep the most recent information in case of conflict
-                for (ErpAdapterTriggerDataset dataset : datasets) {
-                    for (ErpAdapterTriggerDataset updatedDataset : updatedData) {
-                        if (dataset.equals(updatedDataset)) {
-                            dataset.setLastPartnerRequest(
-                                Math.max(dataset.getLastPartnerRequest(), updatedDataset.getLastPartnerRequest()));
-                            dataset.setNextErpRequestScheduled(
-                                Math.max(dataset.getNextErpRequestScheduled(), updatedDataset.getNextErpRequestScheduled()));
-                        }
-                    }
-                }
-                updatedData.clear();
-                repository.saveAll(datasets);
-                datasets.clear();
-            } finally {
-                lock.unlock();
-            }
-
-            long timeLimit = erpAdapterConfiguration.getRefreshTimeLimit();
-            var allDatasets = repository.findAll();
-            long now = new Date().getTime();
-            log.info("Daemon waking up, found {} datasets", allDatasets.size());
-            for (var dataset : allDatasets) {
-                if (dataset.getLastPartnerRequest() + timeLimit <= now) {
-                    // too much time has passed since last request of this kind, so
-                    // we will stop triggering further updates from the erp adapter
-                    repository.delete(dataset);
-                    log.info("Stopped scheduling further requests for : {}", dataset);
+                storePartnerRequests();
+                if (jobLeaseService.tryAcquire(DAEMON_LEASE, jobLeaseService.getNodeId(),
+                    Duration.ofMillis(3 * daemonActivityInterval))) {
+                    scheduleErpAdapterRequests();
                 } else {
-                    if (dataset.getNextErpRequestScheduled() <= now) {
-                        // the time has come for a new erp adapter request
-                        ErpAdapterRequest request = new ErpAdapterRequest();
-                        request.setOwnMaterialNumber(dataset.getOwnMaterialNumber());
-                        request.setPartnerBpnl(dataset.getPartnerBpnl());
-                        request.setRequestDate(new Date(now));
-                        DirectionCharacteristic directionCharacteristic = dataset.getDirectionCharacteristic().isEmpty() ?
-                            null : DirectionCharacteristic.valueOf(dataset.getDirectionCharacteristic());
-                        request.setDirectionCharacteristic(directionCharacteristic);
-                        request.setRequestType(dataset.getAssetType().ERP_KEYWORD);
-                        request.setSammVersion(dataset.getAssetType().ERP_SAMMVERSION);
-                        executorService.submit(() -> erpAdapterRequestService.createAndSend(request));
-
-                        // schedule next request
-                        dataset.setNextErpRequestScheduled(now + erpAdapterConfiguration.getRefreshInterval());
-                        dataset = repository.save(dataset);
-                        updatedData.add(dataset);
-                        log.info("Scheduled next erp adapter request: {}", dataset);
-                    }
+                    log.debug("Erp adapter requests are scheduled by another instance");
                 }
+            } catch (Exception e) {
+                log.error("Daemon cycle failed", e);
             }
             try {
                 // sleep for the defined interval
@@ -129,6 +105,67 @@ public class ErpAdapterTriggerService {
         }
     };
 
+    private void storePartnerRequests() {
+        List<ErpAdapterTriggerDataset> receivedData;
+        lock.lock();
+        try {
+            receivedData = new ArrayList<>(datasets);
+            datasets.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (ErpAdapterTriggerDataset dataset : receivedData) {
+            // other instances update the same datasets, so we only ever move the
+            // time of the last partner request forward
+            var key = dataset.getKey();
+            if (repository.updateLastPartnerRequest(key, dataset.getLastPartnerRequest()) == 0 && !repository.existsById(key)) {
+                try {
+                    repository.save(dataset);
+                } catch (DataIntegrityViolationException e) {
+                    // created by another instance in the meantime
+                    repository.updateLastPartnerRequest(key, dataset.getLastPartnerRequest());
+                }
+            }
+        }
+    }
+
+    private void scheduleErpAdapterRequests() {
+        long timeLimit = erpAdapterConfiguration.getRefreshTimeLimit();
+        var allDatasets = repository.findAll();
+        long now = new Date().getTime();
+        log.info("Daemon waking up, found {} datasets", allDatasets.size());
+        for (var dataset : allDatasets) {
+            if (dataset.getLastPartnerRequest() + timeLimit <= now) {
+                // too much time has passed since last request of this kind, so
+                // we will stop triggering further updates from the erp adapter
+                if (repository.deleteIfNotRequestedSince(dataset.getKey(), now - timeLimit) > 0) {
+                    log.info("Stopped scheduling further requests for : {}", dataset);
+                }
+            } else {
+                if (dataset.getNextErpRequestScheduled() <= now) {
+                    // the time has come for a new erp adapter request. Schedule the next request first,
+                    // so that the request is sent only once, even if another instance took over the lease.
+                    long next = now + erpAdapterConfiguration.getRefreshInterval();
+                    if (repository.updateNextErpRequestScheduled(dataset.getKey(), dataset.getNextErpRequestScheduled(), next) == 0) {
+                        continue;
+                    }
+                    dataset.setNextErpRequestScheduled(next);
+                    ErpAdapterRequest request = new ErpAdapterRequest();
+                    request.setOwnMaterialNumber(dataset.getOwnMaterialNumber());
+                    request.setPartnerBpnl(dataset.getPartnerBpnl());
+                    request.setRequestDate(new Date(now));
+                    DirectionCharacteristic directionCharacteristic = dataset.getDirectionCharacteristic().isEmpty() ?
+                        null : DirectionCharacteristic.valueOf(dataset.getDirectionCharacteristic());
+                    request.setDirectionCharacteristic(directionCharacteristic);
+                    request.setRequestType(dataset.getAssetType().ERP_KEYWORD);
+                    request.setSammVersion(dataset.getAssetType().ERP_SAMMVERSION);
+                    executorService.submit(() -> erpAdapterRequestService.createAndSend(request));
+                    log.info("Scheduled next erp adapter request: {}", dataset);
+                }
+            }
+        }
+    }
+
     /**
      * Send a notification about a just received request from a partner via this
      * method in order to schedule regular updates from the erp adapter.
@@ -163,26 +200,20 @@ public class ErpAdapterTriggerService {
             // create dataset for the daemon thread to schedule future erp adapter requests
             dataset = new ErpAdapterTriggerDataset(partnerBpnl, ownMaterialNumber, type, directionString, now,
                 now + erpAdapterConfiguration.getRefreshInterval());
-            // it seems safer when only the Daemon thread writes to the repository
-            lock.lock();
-            try {
-                datasets.add(dataset);
-            } finally {
-                lock.unlock();
-            }
             log.info("Created {}", dataset);
         } else {
             // we had previous requests of that kind, so we just store the timestamp of this latest request
             dataset.setLastPartnerRequest(now);
-            lock.lock();
-            try {
-                datasets.add(dataset);
-            } finally {
-                lock.unlock();
-            }
         }
-        if (daemonObject == null) {
-            daemonObject = executorService.submit(daemon);
+        // it seems safer when only the Daemon thread writes to the repository
+        lock.lock();
+        try {
+            datasets.add(dataset);
+            if (daemonObject == null) {
+                daemonObject = executorService.submit(daemon);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -20,7 +20,10 @@
 
 package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.erpadapter.controller.ErpAdapterController;
@@ -30,16 +33,24 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
-import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
 import org.eclipse.tractusx.puris.backend.stock.logic.adapter.ItemStockSammMapper;
-import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.ItemStockSamm;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.Position;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockService;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.MaterialItemStockService;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.ProductItemStockService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Slf4j
@@ -67,19 +78,30 @@ public class ItemStockErpAdapterService {
     @Autowired
     private ProductItemStockService productItemStockService;
 
+    private final TransactionTemplate transactionTemplate;
+
     private final static String SUPPORTEDSAMMVERSION = "2.0";
 
+    public ItemStockErpAdapterService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * This method handles a response for an ItemStock Request from the ERP Adapter.
      * It's return value is the status code that is being sent back to the ERP Adapter.
+     * <p>
+     * The body is parsed incrementally: every position is mapped, validated and written
+     * as soon as it has been read, and the item stocks are inserted in JDBC batches. This
+     * way, the memory usage does not depend on the number of positions of the response.
+     * All item stocks are replaced in a single transaction, which is rolled back if the
+     * body turns out to be invalid.
      *
-     * @param   dto contains the parameters and the body of the response message
+     * @param   dto contains the parameters of the response message
+     * @param   body the body of the response message, an ItemStock SAMM
      * @return  the appropriate HTTP response code
      */
-    public int receiveItemStockUpdate(ErpAdapterController.Dto dto) {
+    public int receiveItemStockUpdate(ErpAdapterController.Dto dto, InputStream body) {
         try {
-            ItemStockSamm samm = mapper.treeToValue(dto.body(), ItemStockSamm.class);
             ErpAdapterRequest request = erpAdapterRequestService.get(dto.requestId());
             if (request == null) {
                 log.error("Unknown request-id {}", dto.requestId());
@@ -98,11 +120,6 @@ public class ItemStockErpAdapterService {
                     request.getPartnerBpnl(), dto.partnerBpnl());
                 return 400;
             }
-            if (!request.getDirectionCharacteristic().equals(samm.getDirection())) {
-                log.error("Direction mismatch! request direction: {}, message direction: {}",
-                    request.getDirectionCharacteristic(), samm.getDirection());
-                return 400;
-            }
             if (!SUPPORTEDSAMMVERSION.equals(dto.sammVersion()) || !SUPPORTEDSAMMVERSION.equals(request.getSammVersion())) {
                 log.error("Unsupported Samm Version! Supported: " + SUPPORTEDSAMMVERSION + ", request: {}, message: {}",
                     request.getSammVersion(), dto.sammVersion());
@@ -111,61 +128,104 @@ public class ItemStockErpAdapterService {
 
             Partner partner = partnerService.findByBpnl(request.getPartnerBpnl());
             Material material = materialService.findByOwnMaterialNumber(request.getOwnMaterialNumber());
-
-            switch (samm.getDirection()) {
+            // the relation is checked once for all item stocks of the response
+            var mpr = mprService.find(material, partner);
+            int responseCode = switch (request.getDirectionCharacteristic()) {
                 case INBOUND -> {
-                    var mpr = mprService.find(material, partner);
                     if (mpr == null || !mpr.isPartnerSuppliesMaterial()) {
                         log.error("Partner {} is not registered as supplier for {}", partner.getBpnl(), material.getOwnMaterialNumber());
-                        return 400;
-                    }
-                    List<MaterialItemStock> materialItemStockList = sammMapper.erpSammToMaterialItemStock(samm, partner, material);
-                    int initialSize = materialItemStockList.size();
-                    materialItemStockList.removeIf(stock -> !materialItemStockService.validate(stock));
-                    int removed = initialSize - materialItemStockList.size();
-                    if (removed > 0) {
-                        log.warn("Removed {} out of {} MaterialItemStocks because of failing validation.", removed, initialSize);
+                        yield 400;
                     }
-                    materialItemStockService.findByPartnerAndMaterial(partner, material).forEach(stock -> materialItemStockService.delete(stock.getUuid()));
-                    materialItemStockList.forEach(stock -> materialItemStockService.create(stock));
-                    log.info("Inserted {} MaterialItemStocks for {} and {}", materialItemStockList.size(), material.getOwnMaterialNumber(), partner.getBpnl());
-                    request.setResponseReceivedDate(dto.responseTimeStamp());
-                    erpAdapterRequestService.update(request);
-                    return 201;
+                    yield replaceItemStocks(request, body, materialItemStockService,
+                        position -> sammMapper.erpPositionToMaterialItemStock(position, partner, material));
                 }
                 case OUTBOUND -> {
-                    var mpr = mprService.find(material, partner);
                     if (mpr == null || !mpr.isPartnerBuysMaterial()) {
                         log.error("Partner {} is not registered as customer for {}", partner.getBpnl(), material.getOwnMaterialNumber());
-                        return 400;
-                    }
-                    List<ProductItemStock> productItemStockList = sammMapper.erpSammToProductItemStock(samm, partner, material);
-                    int initialSize = productItemStockList.size();
-                    productItemStockList.removeIf(stock -> !productItemStockService.validate(stock));
-                    int removed = initialSize - productItemStockList.size();
-                    if (removed > 0) {
-                        log.warn("Removed {} out of {} ProductItemStocks because of failing validation.", removed, initialSize);
+                        yield 400;
                     }
-                    productItemStockService.findByPartnerAndMaterial(partner, material).forEach(stock -> productItemStockService.delete(stock.getUuid()));
-                    productItemStockList.forEach(stock -> productItemStockService.create(stock));
-                    log.info("Inserted {} ProductItemStocks for {} and {}", productItemStockList.size(), material.getOwnMaterialNumber(), partner.getBpnl());
-                    request.setResponseReceivedDate(dto.responseTimeStamp());
-                    erpAdapterRequestService.update(request);
-                    return 201;
+                    yield replaceItemStocks(request, body, productItemStockService,
+                        position -> sammMapper.erpPositionToProductItemStock(position, partner, material));
                 }
+            };
+            if (responseCode == 201) {
+                request.setResponseReceivedDate(dto.responseTimeStamp());
+                erpAdapterRequestService.update(request);
             }
-
+            return responseCode;
         } catch (Exception e) {
             if (e instanceof IllegalArgumentException || e instanceof JsonProcessingException) {
-                // treeToValue method has thrown this exception
-                log.error("Error parsing request body: \n{}", dto.body().toPrettyString(), e);
+                log.error("Error parsing request body for request-id {}", dto.requestId(), e);
                 return 400;
             } else {
                 log.error("Error while receiving erp itemstock update", e);
                 return 500;
             }
         }
-        log.error("Unexpected error while receiving erp itemstock update");
-        return 500;
+    }
+
+    private <T extends ItemStock> int replaceItemStocks(ErpAdapterRequest request, InputStream body, ItemStockService<T> service,
+                                                       Function<Position, List<T>> positionMapper) throws IOException {
+        Partner partner = partnerService.findByBpnl(request.getPartnerBpnl());
+        Material material = materialService.findByOwnMaterialNumber(request.getOwnMaterialNumber());
+        try {
+            return transactionTemplate.execute(status -> {
+                var replacement = service.bulkReplace(partner, material);
+                DirectionCharacteristic direction;
+                try {
+                    direction = readPositions(body, position -> positionMapper.apply(position).forEach(replacement::add));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (!request.getDirectionCharacteristic().equals(direction)) {
+                    log.error("Direction mismatch! request direction: {}, message direction: {}",
+                        request.getDirectionCharacteristic(), direction);
+                    status.setRollbackOnly();
+                    return 400;
+                }
+                replacement.finish();
+                if (replacement.getRejected() > 0) {
+                    log.warn("Removed {} out of {} item stocks because of failing validation.", replacement.getRejected(),
+                        replacement.getRejected() + replacement.getInserted());
+                }
+                log.info("Replaced {} by {} item stocks for {} and {}", replacement.getDeleted(), replacement.getInserted(),
+                    material.getOwnMaterialNumber(), partner.getBpnl());
+                return 201;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads an ItemStock SAMM incrementally. Every position is passed to the consumer as soon
+     * as it has been parsed, so only a single position is held in memory at any time.
+     *
+     * @param body     the SAMM
+     * @param consumer receives the positions
+     * @return the direction of the SAMM or null, if it is missing
+     * @throws IOException if the body could not be read or is no valid ItemStock SAMM
+     */
+    private DirectionCharacteristic readPositions(InputStream body, Consumer<Position> consumer) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an ItemStock SAMM object");
+            }
+            DirectionCharacteristic direction = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("positions".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        consumer.accept(mapper.readValue(parser, Position.class));
+                    }
+                } else if ("direction".equals(field)) {
+                    direction = mapper.readValue(parser, DirectionCharacteristic.class);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return direction;
+        }
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.masterdata;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MasterDataCacheConfiguration {
+
+    /**
+     * Caffeine specification applied to each of the master data caches,
+     * e.g. maximumSize=10000,expireAfterWrite=10m
+     */
+    @Value("${puris.masterdata.cache.spec}")
+    private String cacheSpecification;
+
+    /**
+     * The caches record hit and miss statistics, which are published as
+     * cache.gets metrics by the actuator.
+     *
+     * @return the cache manager holding the master data caches
+     */
+    @Bean
+    public CacheManager masterDataCacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+            MasterDataCache.PARTNERS, MasterDataCache.MATERIALS, MasterDataCache.MATERIAL_PARTNER_RELATIONS);
+        cacheManager.setCaffeine(Caffeine.from(cacheSpecification).recordStats());
+        return cacheManager;
+    }
+}
@@ -33,13 +33,12 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Address;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Site;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.AddressDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.SiteDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -61,7 +60,9 @@ public class PartnerController {
 
     @Autowired
     private Validator validator;
-    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Autowired
+    private MasterDataDtoMapper masterDataDtoMapper;
 
     @Autowired
     private MaterialPartnerRelationService mpr;
@@ -81,7 +82,6 @@ public class PartnerController {
             log.warn("Rejected invalid message body.");
             return ResponseEntity.status(400).build();
         }
-        modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
         // Any given UUID is wrong by default since we're creating a new Partner entity
         if (partnerDto.getUuid() != null || partnerDto.getBpnl() == null) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(400));
@@ -96,7 +96,7 @@ public class PartnerController {
 
         Partner partnerEntity;
         try {
-            partnerEntity = modelMapper.map(partnerDto, Partner.class);
+            partnerEntity = masterDataDtoMapper.toEntity(partnerDto);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(400));
         }
@@ -135,7 +135,7 @@ public class PartnerController {
         }
         Address newAddress;
         try {
-            newAddress = modelMapper.map(address, Address.class);
+            newAddress = masterDataDtoMapper.toEntity(address);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(500));
         }
@@ -176,7 +176,7 @@ public class PartnerController {
         }
         Site newSite;
         try {
-            newSite = modelMapper.map(site, Site.class);
+            newSite = masterDataDtoMapper.toEntity(site);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(500));
         }
@@ -211,7 +211,7 @@ public class PartnerController {
             return new ResponseEntity<>(HttpStatusCode.valueOf(404));
         }
         try {
-            PartnerDto partnerDto = modelMapper.map(partner, PartnerDto.class);
+            PartnerDto partnerDto = masterDataDtoMapper.toDto(partner);
             return new ResponseEntity<>(partnerDto, HttpStatusCode.valueOf(200));
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(500));
@@ -222,7 +222,7 @@ public class PartnerController {
     @Operation(description = "Returns a list of all Partners. ")
     public ResponseEntity<List<PartnerDto>> listPartners() {
         return new ResponseEntity<>(partnerService.findAll().
-            stream().map(partner -> modelMapper.map(partner, PartnerDto.class)).collect(Collectors.toList()),
+            stream().map(masterDataDtoMapper::toDto).collect(Collectors.toList()),
             HttpStatusCode.valueOf(200));
     }
 
@@ -238,7 +238,7 @@ public class PartnerController {
 
         return new ResponseEntity<>(partnerService.getOwnPartnerEntity().
             getSites().
-            stream().map(site -> modelMapper.map(site, SiteDto.class)).collect(Collectors.toList()),
+            stream().map(masterDataDtoMapper::toDto).collect(Collectors.toList()),
             HttpStatus.OK);
     }
 
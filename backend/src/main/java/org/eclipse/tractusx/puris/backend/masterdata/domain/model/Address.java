@@ -80,6 +80,15 @@ public class Address implements Comparable<Address> {
         this.country = country;
     }
 
+    /**
+     * Creates a copy of the given Address.
+     *
+     * @param other the Address to copy
+     */
+    public Address(Address other) {
+        this(other.getBpna(), other.getStreetAndNumber(), other.getZipCodeAndCity(), other.getCountry());
+    }
+
 
     @Override
     public boolean equals(Object obj) {
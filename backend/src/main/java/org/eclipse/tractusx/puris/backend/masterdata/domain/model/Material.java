@@ -105,6 +105,15 @@ public class Material {
     @Pattern(regexp = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_STRING)
     private String name;
 
+    /**
+     * Creates a copy of the given Material.
+     *
+     * @param other the Material to copy
+     */
+    public Material(Material other) {
+        this(other.isMaterialFlag(), other.isProductFlag(), other.getOwnMaterialNumber(), other.getMaterialNumberCx(), other.getName());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
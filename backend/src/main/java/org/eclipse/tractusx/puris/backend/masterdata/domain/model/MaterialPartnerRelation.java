@@ -80,6 +80,22 @@ public class MaterialPartnerRelation {
         this.partnerBuysMaterial = partnerBuys;
     }
 
+    /**
+     * Creates a copy of the given MaterialPartnerRelation including its material and partner.
+     *
+     * @param other the MaterialPartnerRelation to copy
+     */
+    public MaterialPartnerRelation(MaterialPartnerRelation other) {
+        this.key = new Key(other.getKey().getOwnMaterialNumber(), other.getKey().getPartnerUuid());
+        this.partnerCXNumber = other.getPartnerCXNumber();
+        this.partnerMaterialNumber = other.getPartnerMaterialNumber();
+        this.nameAtManufacturer = other.getNameAtManufacturer();
+        this.partnerSuppliesMaterial = other.isPartnerSuppliesMaterial();
+        this.partnerBuysMaterial = other.isPartnerBuysMaterial();
+        this.material = other.getMaterial() == null ? null : new Material(other.getMaterial());
+        this.partner = other.getPartner() == null ? null : new Partner(other.getPartner());
+    }
+
     @Override
     public String toString() {
         return "MaterialPartnerRelation{" +
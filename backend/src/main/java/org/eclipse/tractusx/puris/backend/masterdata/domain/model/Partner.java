@@ -126,6 +126,20 @@ public class Partner {
         addresses.add(new Address(bpna, streetAndNumber, zipCodeAndCity, country));
     }
 
+    /**
+     * Creates a copy of the given Partner including its addresses and sites.
+     *
+     * @param other the Partner to copy, its sites and addresses must be initialized
+     */
+    public Partner(Partner other) {
+        this.uuid = other.getUuid();
+        this.name = other.getName();
+        this.edcUrl = other.getEdcUrl();
+        this.bpnl = other.getBpnl();
+        other.getAddresses().forEach(address -> addresses.add(new Address(address)));
+        other.getSites().forEach(site -> sites.add(new Site(site)));
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -83,6 +83,17 @@ public class Site implements Comparable<Site> {
         addresses.add(new Address(bpna, streetAndNumber, zipCodeAndCity, country));
     }
 
+    /**
+     * Creates a copy of the given Site including its addresses.
+     *
+     * @param other the Site to copy
+     */
+    public Site(Site other) {
+        this.bpns = other.getBpns();
+        this.name = other.getName();
+        other.getAddresses().forEach(address -> addresses.add(new Address(address)));
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -23,8 +23,10 @@ package org.eclipse.tractusx.puris.backend.masterdata.domain.repository;
 
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,4 +36,11 @@ public interface PartnerRepository extends JpaRepository<Partner, UUID> {
     Optional<Partner> findFirstByBpnl(String bpnl);
 
     Optional<Partner> findFirstBySites_Bpns(String siteBpns);
+
+    /**
+     * @return one row (bpnl, bpns, bpna) per address of a site. Sites without
+     * addresses are contained with a null bpna.
+     */
+    @Query("SELECT p.bpnl, s.bpns, a.bpna FROM Partner p JOIN p.sites s LEFT JOIN s.addresses a")
+    List<Object[]> findAllSiteAddresses();
 }
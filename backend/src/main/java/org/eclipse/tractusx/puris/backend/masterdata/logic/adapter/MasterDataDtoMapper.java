@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.masterdata.logic.adapter;
+
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Address;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Site;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.AddressDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.MaterialDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.SiteDto;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Plain java mapping between the master data entities and the DTOs that are
+ * embedded in the responses of the frontend endpoints.
+ * <p>
+ * Replaces the reflective ModelMapper on the list endpoints, where the partner
+ * and material of every single row have to be mapped.
+ */
+@Service
+public class MasterDataDtoMapper {
+
+    public PartnerDto toDto(Partner partner) {
+        if (partner == null) {
+            return null;
+        }
+        PartnerDto dto = new PartnerDto();
+        dto.setUuid(partner.getUuid());
+        dto.setName(partner.getName());
+        dto.setEdcUrl(partner.getEdcUrl());
+        dto.setBpnl(partner.getBpnl());
+        SortedSet<AddressDto> addresses = new TreeSet<>();
+        if (partner.getAddresses() != null) {
+            for (Address address : partner.getAddresses()) {
+                addresses.add(toDto(address));
+            }
+        }
+        dto.setAddresses(addresses);
+        SortedSet<SiteDto> sites = new TreeSet<>();
+        if (partner.getSites() != null) {
+            for (Site site : partner.getSites()) {
+                sites.add(toDto(site));
+            }
+        }
+        dto.setSites(sites);
+        return dto;
+    }
+
+    public SiteDto toDto(Site site) {
+        if (site == null) {
+            return null;
+        }
+        SiteDto dto = new SiteDto();
+        dto.setBpns(site.getBpns());
+        dto.setName(site.getName());
+        var addresses = new HashSet<AddressDto>();
+        if (site.getAddresses() != null) {
+            for (Address address : site.getAddresses()) {
+                addresses.add(toDto(address));
+            }
+        }
+        dto.setAddresses(addresses);
+        return dto;
+    }
+
+    public AddressDto toDto(Address address) {
+        if (address == null) {
+            return null;
+        }
+        return new AddressDto(address.getBpna(), address.getStreetAndNumber(), address.getZipCodeAndCity(),
+            address.getCountry());
+    }
+
+    /**
+     * Maps the plain attributes of the material. The partner specific material numbers
+     * (materialNumberCustomer and materialNumberSupplier) depend on the perspective and
+     * are left to the caller.
+     *
+     * @param material the material
+     * @return the dto
+     */
+    public MaterialDto toDto(Material material) {
+        if (material == null) {
+            return null;
+        }
+        MaterialDto dto = new MaterialDto();
+        dto.setMaterialFlag(material.isMaterialFlag());
+        dto.setProductFlag(material.isProductFlag());
+        dto.setMaterialNumberCx(material.getMaterialNumberCx());
+        dto.setName(material.getName());
+        return dto;
+    }
+
+    /**
+     * Attributes that are null in the dto keep the defaults of the new entity.
+     *
+     * @param dto the partner dto
+     * @return a new, not yet persisted partner entity
+     */
+    public Partner toEntity(PartnerDto dto) {
+        Partner partner = new Partner();
+        partner.setUuid(dto.getUuid());
+        partner.setName(dto.getName());
+        partner.setEdcUrl(dto.getEdcUrl());
+        partner.setBpnl(dto.getBpnl());
+        if (dto.getAddresses() != null) {
+            for (AddressDto address : dto.getAddresses()) {
+                partner.getAddresses().add(toEntity(address));
+            }
+        }
+        if (dto.getSites() != null) {
+            for (SiteDto site : dto.getSites()) {
+                partner.getSites().add(toEntity(site));
+            }
+        }
+        return partner;
+    }
+
+    public Site toEntity(SiteDto dto) {
+        Site site = new Site();
+        site.setBpns(dto.getBpns());
+        site.setName(dto.getName());
+        if (dto.getAddresses() != null) {
+            for (AddressDto address : dto.getAddresses()) {
+                site.getAddresses().add(toEntity(address));
+            }
+        }
+        return site;
+    }
+
+    public Address toEntity(AddressDto dto) {
+        return new Address(dto.getBpna(), dto.getStreetAndNumber(), dto.getZipCodeAndCity(), dto.getCountry());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.masterdata.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache for the master data lookups that are performed for nearly
+ * every request of a partner and every SAMM mapping (partners by BPNL, materials
+ * by material number and material partner relations).
+ * <p>
+ * The cache is only populated and invalidated by the master data services, since all
+ * writes to partners, materials and relations pass through them. Unknown keys are
+ * cached as well, so the services have to invalidate the cache after creating
+ * an entity.
+ * <p>
+ * Since the submodels computed for partners contain master data, every invalidation
+ * clears the {@link SubmodelResponseCache} as well.
+ * <p>
+ * The cached entities are never handed out. Every lookup returns a copy, so callers
+ * may modify the returned entities without affecting other callers.
+ */
+@Service
+@Slf4j
+public class MasterDataCache {
+
+    public static final String PARTNERS = "partners";
+
+    public static final String MATERIALS = "materials";
+
+    public static final String MATERIAL_PARTNER_RELATIONS = "materialPartnerRelations";
+
+    private final CacheManager cacheManager;
+
+    private final SubmodelResponseCache submodelResponseCache;
+
+    public MasterDataCache(CacheManager cacheManager, SubmodelResponseCache submodelResponseCache) {
+        this.cacheManager = cacheManager;
+        this.submodelResponseCache = submodelResponseCache;
+    }
+
+    /**
+     * @param cacheName one of the cache names defined in this class
+     * @param key       the key, lookups with a null key bypass the cache
+     * @param loader    loads the value in case of a cache miss, may return null
+     * @param copy      copies the cached value, e.g. a copy constructor
+     * @return a copy of the cached or loaded value
+     */
+    public <T> T get(String cacheName, Object key, Supplier<T> loader, UnaryOperator<T> copy) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || key == null) {
+            return loader.get();
+        }
+        T value = cache.get(key, loader::get);
+        return value == null ? null : copy.apply(value);
+    }
+
+    /**
+     * Invalidates all partners. Since the cached relations hold their partner,
+     * the relations are invalidated as well.
+     */
+    public void evictPartners() {
+        evict(PARTNERS);
+        evict(MATERIAL_PARTNER_RELATIONS);
+    }
+
+    /**
+     * Invalidates all materials. Since the cached relations hold their material,
+     * the relations are invalidated as well.
+     */
+    public void evictMaterials() {
+        evict(MATERIALS);
+        evict(MATERIAL_PARTNER_RELATIONS);
+    }
+
+    public void evictMaterialPartnerRelations() {
+        evict(MATERIAL_PARTNER_RELATIONS);
+    }
+
+    private void evict(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+            log.debug("Cleared master data cache {}", cacheName);
+        }
+        submodelResponseCache.evictAll();
+    }
+}
@@ -25,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.ddtr.logic.DtrAdapterService;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.lease.logic.JobLeaseService;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
@@ -34,9 +35,9 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialP
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
@@ -62,13 +63,26 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
     @Autowired
     private ExecutorService executorService;
 
+    @Autowired
+    private MasterDataCache masterDataCache;
+
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
 
     /**
-     * Contains all MaterialPartnerRelations, for which there are
-     * currently ongoing PartTypeInformationRetrievalTasks in
-     * existance. Helps to avoid duplicate tasks running simultaneously.
+     * Upper bound for the duration of a PartTypeInformationRetrievalTask
      */
-    private Set<MaterialPartnerRelation> currentPartTypeFetches = ConcurrentHashMap.newKeySet();
+    private static final Duration PART_TYPE_FETCH_LEASE_DURATION = Duration.ofMinutes(5);
+
+    /**
+     * The lease avoids duplicate PartTypeInformationRetrievalTasks for the same
+     * MaterialPartnerRelation running simultaneously (also on different backend instances).
+     */
+    private static String partTypeFetchLeaseName(MaterialPartnerRelation materialPartnerRelation) {
+        return "parttype-fetch:" + materialPartnerRelation.getPartner().getUuid() + ":"
+            + materialPartnerRelation.getMaterial().getOwnMaterialNumber();
+    }
 
     /**
      * Stores the given relation to the database.
@@ -82,7 +96,9 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
         var searchResult = find(materialPartnerRelation.getMaterial(), materialPartnerRelation.getPartner());
         if (searchResult == null) {
             executorService.submit(new DtrRegistrationTask(materialPartnerRelation, 3));
-            return mprRepository.save(materialPartnerRelation);
+            MaterialPartnerRelation createdRelation = mprRepository.save(materialPartnerRelation);
+            masterDataCache.evictMaterialPartnerRelations();
+            return createdRelation;
         }
         log.error("Could not create MaterialPartnerRelation, " + materialPartnerRelation.getKey() + " already exists");
         return null;
@@ -111,7 +127,7 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
             .findAllByPartner_UuidAndPartnerSuppliesMaterialIsTrue(supplierPartner.getUuid())
             .stream()
             .filter(mpr -> mpr.getPartnerCXNumber() == null)
-            .filter(mpr -> !currentPartTypeFetches.contains(mpr))
+            .filter(mpr -> !jobLeaseService.isHeld(partTypeFetchLeaseName(mpr)))
             .map(mpr -> executorService.submit(new DtrRegistrationTask(mpr, 1)))
             .toList();
         if (futures.isEmpty()) {
@@ -147,12 +163,6 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
          */
         final int initialRetries;
 
-        /**
-         * Is set to true if all goals of this task were accomplished or otherwise
-         * if the task failed and has no more retries left.
-         */
-        boolean done = false;
-
         /**
          * Constructor for a Task that tries to asynchronously fetch the CatenaX-Id from a
          * supplier partner for a material entity, as specified by the materialPartnerRelation parameter.
@@ -164,22 +174,43 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
             this.materialPartnerRelation = materialPartnerRelation;
             this.retries = retries;
             this.initialRetries = retries;
-            currentPartTypeFetches.add(materialPartnerRelation);
         }
 
         /**
-         * This method contains all the duties which the PartTypeInformationRetrievalTask is trying to fulfill.
+         * Runs the fetch, unless there is already an ongoing fetch for the same MaterialPartnerRelation.
+         * In this case, the ongoing fetch is awaited and its result is read from the database.
          *
          * @return true, if the task finished successfully
          */
         @Override
         public Boolean call() {
+            return jobLeaseService.singleFlight(partTypeFetchLeaseName(materialPartnerRelation), PART_TYPE_FETCH_LEASE_DURATION,
+                this::fetch,
+                () -> {
+                    // bypass the master data cache, the leader may have run on another instance
+                    var key = new MaterialPartnerRelation.Key(materialPartnerRelation.getMaterial().getOwnMaterialNumber(),
+                        materialPartnerRelation.getPartner().getUuid());
+                    boolean fetched = mprRepository.findById(key)
+                        .map(storedRelation -> storedRelation.getPartnerCXNumber() != null)
+                        .orElse(false);
+                    if (fetched) {
+                        // the cached relation of this instance may still lack the CX id
+                        masterDataCache.evictMaterialPartnerRelations();
+                    }
+                    return fetched;
+                });
+        }
+
+        /**
+         * This method contains all the duties which the PartTypeInformationRetrievalTask is trying to fulfill.
+         *
+         * @return true, if the task finished successfully
+         */
+        private boolean fetch() {
             try {
                 if (retries < 0) {
                     log.warn("PartTypeInformation fetch from " + materialPartnerRelation.getPartner().getBpnl() +
                         " for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber() + " failed");
-                    currentPartTypeFetches.remove(materialPartnerRelation);
-                    done = true;
                     return false;
                 }
                 if (retries < initialRetries) {
@@ -189,6 +220,7 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
                 if (partnerCXId != null && PatternStore.URN_OR_UUID_PATTERN.matcher(partnerCXId).matches()) {
                     materialPartnerRelation.setPartnerCXNumber(partnerCXId);
                     mprRepository.save(materialPartnerRelation);
+                    masterDataCache.evictMaterialPartnerRelations();
                     log.info("Successfully inserted Partner CX Id for Partner " +
                         materialPartnerRelation.getPartner().getBpnl() + " and Material "
                         + materialPartnerRelation.getMaterial().getOwnMaterialNumber() +
@@ -197,20 +229,15 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
                     log.warn("PartTypeInformation fetch from " + materialPartnerRelation.getPartner().getBpnl() +
                         " for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber() + " failed. Retries left: " + retries);
                     retries--;
-                    return call();
+                    return fetch();
                 }
 
-                done = true;
                 return true;
             } catch (Exception e) {
                 log.warn("PartTypeInformation fetch from " + materialPartnerRelation.getPartner().getBpnl() +
                     " for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber() + " failed. Retries left: " + retries);
                 retries--;
-                return call();
-            } finally {
-                if (done) {
-                    currentPartTypeFetches.remove(materialPartnerRelation);
-                }
+                return fetch();
             }
         }
     }
@@ -313,19 +340,11 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
 
             if (needMaterialRegistration && !completedMaterialRegistration) {
                 if (materialPartnerRelation.getPartnerCXNumber() == null) {
-                    if (currentPartTypeFetches.contains(materialPartnerRelation)) {
-                        log.info("Awaiting PartTypeInformation Fetch");
-                        // await return of ongoing fetch task
-                        while (currentPartTypeFetches.contains(materialPartnerRelation)) {
-                            Thread.yield();
-                        }
-                    } else {
-                        // initiate new fetch
-                        log.info("Initiating new PartTypeInformation Fetch");
-                        Future<Boolean> futureResult = executorService.submit(new PartTypeInformationRetrievalTask(materialPartnerRelation, 1));
-                        while (!futureResult.isDone()) {
-                            Thread.yield();
-                        }
+                    // initiate new fetch (or await an ongoing fetch, see PartTypeInformationRetrievalTask)
+                    log.info("Initiating new PartTypeInformation Fetch");
+                    Future<Boolean> futureResult = executorService.submit(new PartTypeInformationRetrievalTask(materialPartnerRelation, 1));
+                    while (!futureResult.isDone()) {
+                        Thread.yield();
                     }
                     Thread.sleep(500);
                     // get result from database
@@ -377,6 +396,16 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
      */
     @Override
     public MaterialPartnerRelation update(MaterialPartnerRelation materialPartnerRelation) {
+        // the given relation may be a cached instance that was modified by the caller
+        masterDataCache.evictMaterialPartnerRelations();
+        try {
+            return doUpdate(materialPartnerRelation);
+        } finally {
+            masterDataCache.evictMaterialPartnerRelations();
+        }
+    }
+
+    private MaterialPartnerRelation doUpdate(MaterialPartnerRelation materialPartnerRelation) {
         flagConsistencyTest(materialPartnerRelation);
         var foundEntity = mprRepository.findById(materialPartnerRelation.getKey());
         if (foundEntity.isPresent()) {
@@ -483,11 +512,14 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
      */
     @Override
     public MaterialPartnerRelation find(String ownMaterialNumber, UUID partnerUuid) {
-        var searchResult = mprRepository.findById(new MaterialPartnerRelation.Key(ownMaterialNumber, partnerUuid));
-        if (searchResult.isPresent()) {
-            return searchResult.get();
-        }
-        return null;
+        var key = new MaterialPartnerRelation.Key(ownMaterialNumber, partnerUuid);
+        return masterDataCache.get(MasterDataCache.MATERIAL_PARTNER_RELATIONS, key, () -> {
+            var searchResult = mprRepository.findById(key);
+            return searchResult.map(mpr -> {
+                PartnerServiceImpl.initializeSites(mpr.getPartner());
+                return mpr;
+            }).orElse(null);
+        }, MaterialPartnerRelation::new);
     }
 
     /**
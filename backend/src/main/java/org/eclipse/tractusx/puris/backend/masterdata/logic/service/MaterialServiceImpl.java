@@ -51,6 +51,9 @@ public class MaterialServiceImpl implements MaterialService {
     @Autowired
     private DigitalTwinMappingService dtmService;
 
+    @Autowired
+    private MasterDataCache masterDataCache;
+
 
     @Override
     public Material create(Material material) {
@@ -74,7 +77,9 @@ public class MaterialServiceImpl implements MaterialService {
         var searchResult = materialRepository.findById(material.getOwnMaterialNumber());
         if (searchResult.isEmpty()) {
             dtmService.create(material);
-            return materialRepository.save(material);
+            Material createdMaterial = materialRepository.save(material);
+            masterDataCache.evictMaterials();
+            return createdMaterial;
         }
         log.error("Could not create material " + material.getOwnMaterialNumber() + " because it already exists");
         return null;
@@ -83,6 +88,16 @@ public class MaterialServiceImpl implements MaterialService {
 
     @Override
     public Material update(Material material) {
+        // the given material may be a cached instance that was modified by the caller
+        masterDataCache.evictMaterials();
+        try {
+            return doUpdate(material);
+        } finally {
+            masterDataCache.evictMaterials();
+        }
+    }
+
+    private Material doUpdate(Material material) {
         Optional<Material> existingMaterial =
             materialRepository.findById(material.getOwnMaterialNumber());
         if (existingMaterial.isPresent()) {
@@ -113,12 +128,17 @@ public class MaterialServiceImpl implements MaterialService {
 
     @Override
     public Material findByOwnMaterialNumber(String ownMaterialNumber) {
-        var searchResult = materialRepository.findById(ownMaterialNumber);
-        return searchResult.orElse(null);
+        return masterDataCache.get(MasterDataCache.MATERIALS, ownMaterialNumber == null ? null : "own:" + ownMaterialNumber,
+            () -> materialRepository.findById(ownMaterialNumber).orElse(null), Material::new);
     }
 
     @Override
     public Material findByMaterialNumberCx(String materialNumberCx) {
+        return masterDataCache.get(MasterDataCache.MATERIALS, materialNumberCx == null ? null : "cx:" + materialNumberCx,
+            () -> loadByMaterialNumberCx(materialNumberCx), Material::new);
+    }
+
+    private Material loadByMaterialNumberCx(String materialNumberCx) {
         List<Material> foundMaterial = materialRepository.findByMaterialNumberCx(materialNumberCx);
         if (foundMaterial.isEmpty()) {
             return null;
@@ -23,8 +23,8 @@ package org.eclipse.tractusx.puris.backend.masterdata.logic.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcContractMappingService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcProvisioningService;
 import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
@@ -56,11 +56,17 @@ public class PartnerServiceImpl implements PartnerService {
     private ExecutorService executorService;
 
     @Autowired
-    private EdcAdapterService edcAdapterService;
+    private EdcProvisioningService edcProvisioningService;
 
     @Autowired
     private EdcContractMappingService edcContractMappingService;
 
+    @Autowired
+    private PartnerSiteIndex partnerSiteIndex;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
     private final Pattern bpnlPattern = Pattern.compile("^BPNL[0-9a-zA-Z]{12}$");
     private final Pattern bpnsPattern = Pattern.compile("^BPNS[0-9a-zA-Z]{12}$");
     private final Pattern bpnaPattern = Pattern.compile("^BPNA[0-9a-zA-Z]{12}$");
@@ -73,7 +79,10 @@ public class PartnerServiceImpl implements PartnerService {
         }
         if (partner.getUuid() == null && partnerRepository.findFirstByBpnl(partner.getBpnl()).isEmpty()) {
             prepareApiAssetsForPartner(partner);
-            return partnerRepository.save(partner);
+            Partner createdPartner = partnerRepository.save(partner);
+            partnerSiteIndex.invalidate();
+            masterDataCache.evictPartners();
+            return createdPartner;
         }
         log.error("Could not create Partner " + partner.getBpnl() + " because it already existed before");
         return null;
@@ -91,21 +100,8 @@ public class PartnerServiceImpl implements PartnerService {
         private Partner partner;
 
         @Override
-        public Boolean call() throws Exception {
-            if (edcAdapterService.createPolicyAndContractDefForPartner(partner)) {
-                log.info("Policy / ContractDef Registration successful for partner " + partner.getBpnl());
-                return true;
-            } else {
-                log.warn("Policy / ContractDef Registration failed for partner " + partner.getBpnl());
-                log.warn("Retrying in 3 seconds");
-                Thread.sleep(3000);
-                if (edcAdapterService.createPolicyAndContractDefForPartner(partner)) {
-                    log.info("Retry successful");
-                    return true;
-                }
-                log.warn("Retry failed");
-                return false;
-            }
+        public Boolean call() {
+            return edcProvisioningService.provisionPartners(List.of(partner)).isComplete();
         }
     }
 
@@ -180,6 +176,16 @@ public class PartnerServiceImpl implements PartnerService {
 
     @Override
     public Partner update(Partner partner) {
+        // the given partner may be a cached instance that was modified by the caller
+        masterDataCache.evictPartners();
+        try {
+            return doUpdate(partner);
+        } finally {
+            masterDataCache.evictPartners();
+        }
+    }
+
+    private Partner doUpdate(Partner partner) {
         if (!testConstraints(partner)) {
             log.error("Could not update Partner " + partner.getBpnl() + " because of constraint violation");
             return null;
@@ -187,7 +193,9 @@ public class PartnerServiceImpl implements PartnerService {
         Optional<Partner> existingPartner =
             partnerRepository.findById(partner.getUuid());
         if (existingPartner.isPresent() && existingPartner.get().getBpnl().equals(partner.getBpnl())) {
-            return partnerRepository.save(partner);
+            Partner updatedPartner = partnerRepository.save(partner);
+            partnerSiteIndex.invalidate();
+            return updatedPartner;
         }
         log.error("Could not update Partner " + partner.getBpnl() + " because it didn't exist before");
         return null;
@@ -195,7 +203,8 @@ public class PartnerServiceImpl implements PartnerService {
 
     @Override
     public Partner findByBpnl(String bpnl) {
-        return partnerRepository.findFirstByBpnl(bpnl).orElse(null);
+        return masterDataCache.get(MasterDataCache.PARTNERS, bpnl,
+            () -> initializeSites(partnerRepository.findFirstByBpnl(bpnl).orElse(null)), Partner::new);
     }
 
     @Override
@@ -205,6 +214,20 @@ public class PartnerServiceImpl implements PartnerService {
 
     @Override
     public Partner getOwnPartnerEntity() {
-        return partnerRepository.findFirstByBpnl(variablesService.getOwnBpnl()).orElse(null);
+        return findByBpnl(variablesService.getOwnBpnl());
+    }
+
+    /**
+     * Loads the lazy collections of the partner, before it is shared between threads via the cache.
+     *
+     * @param partner the partner, may be null
+     * @return the given partner
+     */
+    static Partner initializeSites(Partner partner) {
+        if (partner != null) {
+            partner.getAddresses().size();
+            partner.getSites().forEach(site -> site.getAddresses().size());
+        }
+        return partner;
     }
 }
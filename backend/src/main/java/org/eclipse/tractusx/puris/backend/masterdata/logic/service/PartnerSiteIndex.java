@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.masterdata.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory index of the sites (BPNS) and their addresses (BPNA) of all partners,
+ * including the own partner entity.
+ * <p>
+ * The validators of stocks, deliveries, demands, productions and days of supply
+ * only need to know whether a location belongs to a given partner. This index answers
+ * that with a hash lookup instead of scanning the sites of the partner and without
+ * querying the own partner entity for every single row.
+ * <p>
+ * The index is immutable. Every change of a partner (see {@link PartnerServiceImpl})
+ * invalidates it and the next lookup builds a new version with a single query.
+ * <p>
+ * The index is kept per backend instance and changes via other instances are not
+ * noticed. Therefore, the index also expires after {@code puris.masterdata.siteindex.expiry}.
+ */
+@Service
+@Slf4j
+public class PartnerSiteIndex {
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Autowired
+    private VariablesService variablesService;
+
+    @Value("${puris.masterdata.siteindex.expiry}")
+    private Duration expiry = Duration.ofMinutes(10);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * @param version          the version this snapshot was built for
+     * @param builtAt          the point in time (see {@link System#nanoTime()}) this snapshot was built at
+     * @param addressesByBpns  BPNL to BPNS to the set of BPNAs of that site
+     */
+    private record Snapshot(long version, long builtAt, Map<String, Map<String, Set<String>>> addressesByBpns) {
+    }
+
+    /**
+     * Marks the index as outdated. Must be called after the sites or addresses
+     * of a partner have been changed.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    /**
+     * @return the version of the master data the index is currently based on
+     */
+    public long getVersion() {
+        return current().version();
+    }
+
+    /**
+     * @param partner the partner, may be null
+     * @return true, if the given partner is the own partner entity
+     */
+    public boolean isOwnPartner(Partner partner) {
+        return partner != null && variablesService.getOwnBpnl().equals(partner.getBpnl());
+    }
+
+    /**
+     * @param bpns the BPNS
+     * @return true, if the given site belongs to the own partner entity
+     */
+    public boolean isOwnSite(String bpns) {
+        return hasSite(variablesService.getOwnBpnl(), bpns);
+    }
+
+    /**
+     * @param bpns the BPNS
+     * @param bpna the BPNA
+     * @return true, if the given address belongs to the given site of the own partner entity
+     */
+    public boolean isOwnAddress(String bpns, String bpna) {
+        return hasAddress(variablesService.getOwnBpnl(), bpns, bpna);
+    }
+
+    /**
+     * @param partner the partner
+     * @param bpns    the BPNS
+     * @return true, if the given site belongs to the given partner
+     */
+    public boolean hasSite(Partner partner, String bpns) {
+        return partner != null && hasSite(partner.getBpnl(), bpns);
+    }
+
+    /**
+     * @param partner the partner
+     * @param bpns    the BPNS
+     * @param bpna    the BPNA
+     * @return true, if the given address belongs to the given site of the given partner
+     */
+    public boolean hasAddress(Partner partner, String bpns, String bpna) {
+        return partner != null && hasAddress(partner.getBpnl(), bpns, bpna);
+    }
+
+    private boolean hasSite(String bpnl, String bpns) {
+        var sites = current().addressesByBpns().get(bpnl);
+        return sites != null && sites.containsKey(bpns);
+    }
+
+    private boolean hasAddress(String bpnl, String bpns, String bpna) {
+        var sites = current().addressesByBpns().get(bpnl);
+        if (sites == null) {
+            return false;
+        }
+        var addresses = sites.get(bpns);
+        return addresses != null && addresses.contains(bpna);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        long currentVersion = version.get();
+        if (current != null && current.version() == currentVersion && System.nanoTime() - current.builtAt() < expiry.toNanos()) {
+            return current;
+        }
+        Snapshot rebuilt = build(currentVersion);
+        // don't publish the snapshot if the partners were changed while it was built
+        if (version.get() == currentVersion) {
+            snapshot.compareAndSet(current, rebuilt);
+        }
+        return rebuilt;
+    }
+
+    private Snapshot build(long version) {
+        Map<String, Map<String, Set<String>>> addressesByBpns = new HashMap<>();
+        for (Object[] row : partnerRepository.findAllSiteAddresses()) {
+            var addresses = addressesByBpns
+                .computeIfAbsent((String) row[0], bpnl -> new HashMap<>())
+                .computeIfAbsent((String) row[1], bpns -> new HashSet<>());
+            if (row[2] != null) {
+                addresses.add((String) row[2]);
+            }
+        }
+        addressesByBpns.replaceAll((bpnl, sites) -> {
+            sites.replaceAll((bpns, addresses) -> Set.copyOf(addresses));
+            return Map.copyOf(sites);
+        });
+        log.debug("Built partner site index version {} for {} partners", version, addressesByBpns.size());
+        return new Snapshot(version, System.nanoTime(), Map.copyOf(addressesByBpns));
+    }
+}
@@ -25,32 +25,40 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.controller.RefreshJobController;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJobService;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetPage;
+import org.eclipse.tractusx.puris.backend.common.util.NdjsonStreamWriter;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.production.domain.model.OwnProduction;
+import org.eclipse.tractusx.puris.backend.production.domain.model.Production;
 import org.eclipse.tractusx.puris.backend.production.domain.model.ReportedProduction;
+import org.eclipse.tractusx.puris.backend.production.logic.adapter.ProductionDtoMapper;
 import org.eclipse.tractusx.puris.backend.production.logic.dto.ProductionDto;
 import org.eclipse.tractusx.puris.backend.production.logic.service.OwnProductionService;
-import org.eclipse.tractusx.puris.backend.production.logic.service.ProductionRequestApiService;
 import org.eclipse.tractusx.puris.backend.production.logic.service.ReportedProductionService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -64,7 +72,7 @@ public class ProductionController {
     private ReportedProductionService reportedProductionService;
 
     @Autowired
-    private ProductionRequestApiService productionRequestApiService;
+    private RefreshJobService refreshJobService;
 
     @Autowired
     private MaterialService materialService;
@@ -76,15 +84,19 @@ public class ProductionController {
     private MaterialPartnerRelationService mprService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProductionDtoMapper productionDtoMapper;
+
+    @Autowired
+    private MasterDataDtoMapper masterDataDtoMapper;
 
     @Autowired
     private Validator validator;
 
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
+
     @Autowired
-    private ExecutorService executorService;
+    private NdjsonStreamWriter ndjsonStreamWriter;
 
     @GetMapping()
     @ResponseBody
@@ -94,6 +106,34 @@ public class ProductionController {
                 .stream().map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @GetMapping("page")
+    @Operation(summary = "Get one page of planned productions for the given Material",
+        description = "Get one page of the planned productions for the given material number, ordered by their estimated time of completion. " +
+            "Optionally the production site can be filtered by its bpns. Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public KeysetPage<ProductionDto> getProductionsPage(@RequestParam String ownMaterialNumber,
+                                                        @RequestParam Optional<String> site,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<OwnProduction> rows = ownProductionService.findKeysetPage(ownMaterialNumber, null, site.orElse(null),
+            KeysetCursor.fromRequestParam(cursor), pageSize);
+        return KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto);
+    }
+
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all planned productions for the given Material",
+        description = "Streams all planned productions for the given material number as newline delimited json. " +
+            "Optionally the production site can be filtered by its bpns.")
+    public ResponseEntity<StreamingResponseBody> streamProductions(@RequestParam String ownMaterialNumber,
+                                                                   @RequestParam Optional<String> site) {
+        return ndjsonStreamWriter.stream(() -> ownProductionService.streamAllByFilters(ownMaterialNumber, null, site.orElse(null)),
+            this::convertToDto);
+    }
+
     @PostMapping()
     @ResponseBody
     @Operation(summary = "Creates a new planned production")
@@ -210,30 +250,62 @@ public class ProductionController {
                 .stream().map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @GetMapping("reported/page")
+    @Operation(summary = "Get one page of productions of partners for a material",
+        description = "Get one page of the productions of partners for a material number, ordered by their estimated time of completion. " +
+            "Optionally the partners can be filtered by their bpnl and the production site can be filtered by its bpns. " +
+            "Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public KeysetPage<ProductionDto> getProductionsForPartnerPage(@RequestParam String ownMaterialNumber,
+                                                                  @RequestParam Optional<String> bpnl,
+                                                                  @RequestParam Optional<String> site,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<ReportedProduction> rows = reportedProductionService.findKeysetPage(ownMaterialNumber, bpnl.orElse(null), site.orElse(null),
+            KeysetCursor.fromRequestParam(cursor), pageSize);
+        return KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto);
+    }
+
+    @GetMapping(value = "reported/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all productions of partners for a material",
+        description = "Streams all productions of partners for a material number as newline delimited json. " +
+            "Optionally the partners can be filtered by their bpnl and the production site can be filtered by its bpns.")
+    public ResponseEntity<StreamingResponseBody> streamProductionsForPartner(@RequestParam String ownMaterialNumber,
+                                                                             @RequestParam Optional<String> bpnl,
+                                                                             @RequestParam Optional<String> site) {
+        return ndjsonStreamWriter.stream(() -> reportedProductionService.streamAllByFilters(ownMaterialNumber, bpnl.orElse(null), site.orElse(null)),
+            this::convertToDto);
+    }
+
     @GetMapping("reported/refresh")
     @ResponseBody
     @Operation(
         summary = "Refreshes all reported productions", 
-        description = "Refreshes all reported productions from the production request API."
+        description = "Refreshes all reported productions from the production request API. The Location header points " +
+            "to the refresh job that reports when the responses have arrived, see /refresh-jobs."
     )
     public ResponseEntity<List<PartnerDto>> refreshReportedProductions(@RequestParam String ownMaterialNumber) {
         if (!materialPattern.matcher(ownMaterialNumber).matches()) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(400));
         }
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
-        List<Partner> allSupplierPartnerEntities = mprService.findAllSuppliersForOwnMaterialNumber(ownMaterialNumber);
-        for (Partner supplierPartner : allSupplierPartnerEntities) {
-            executorService.submit(() ->
-            productionRequestApiService.doReportedProductionRequest(supplierPartner, materialEntity));
+        if (materialEntity == null) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(404));
         }
+        List<Partner> allSupplierPartnerEntities = mprService.findAllSuppliersForOwnMaterialNumber(ownMaterialNumber);
+        var job = refreshJobService.start(materialEntity, AssetType.PRODUCTION_SUBMODEL, null, allSupplierPartnerEntities);
 
-        return ResponseEntity.ok(allSupplierPartnerEntities.stream()
-            .map(partner -> modelMapper.map(partner, PartnerDto.class))
+        return ResponseEntity.ok().location(RefreshJobController.location(job)).body(allSupplierPartnerEntities.stream()
+            .map(masterDataDtoMapper::toDto)
             .toList());
     }
 
     private ProductionDto convertToDto(OwnProduction entity) {
-        ProductionDto dto = modelMapper.map(entity, ProductionDto.class);
+        ProductionDto dto = productionDtoMapper.toDto(entity);
 
         dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
         dto.getMaterial().setMaterialNumberSupplier(entity.getMaterial().getOwnMaterialNumber());
@@ -246,7 +318,7 @@ public class ProductionController {
     }
 
     private OwnProduction convertToEntity(ProductionDto dto) {
-        OwnProduction entity = modelMapper.map(dto, OwnProduction.class);
+        OwnProduction entity = productionDtoMapper.toEntity(dto);
 
         Material material = materialService.findByOwnMaterialNumber(dto.getMaterial().getMaterialNumberSupplier());
         entity.setMaterial(material);
@@ -264,7 +336,7 @@ public class ProductionController {
     }
 
     private ProductionDto convertToDto(ReportedProduction entity) {
-        ProductionDto dto = modelMapper.map(entity, ProductionDto.class);
+        ProductionDto dto = productionDtoMapper.toDto(entity);
 
         dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
         dto.getMaterial().setMaterialNumberSupplier(entity.getMaterial().getOwnMaterialNumber());
@@ -275,4 +347,8 @@ public class ProductionController {
 
         return dto;
     }
+
+    private KeysetCursor toCursor(Production entity) {
+        return new KeysetCursor(entity.getEstimatedTimeOfCompletion(), entity.getUuid());
+    }
 }
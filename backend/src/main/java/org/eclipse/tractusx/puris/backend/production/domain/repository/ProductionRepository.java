@@ -20,11 +20,78 @@
 
 package org.eclipse.tractusx.puris.backend.production.domain.repository;
 
+import jakarta.persistence.QueryHint;
 import org.eclipse.tractusx.puris.backend.production.domain.model.Production;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ProductionRepository<T extends Production> extends JpaRepository<T, UUID> {
-    
+
+    /**
+     * Keyset pagination over (estimatedTimeOfCompletion, uuid).
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the production site, may be null
+     * @param completion        estimatedTimeOfCompletion of the last row of the previous page, null for the first page
+     * @param uuid              uuid of the last row of the previous page, null for the first page
+     * @param pageable          limits the number of rows
+     * @return the rows following the given position
+     */
+    @Query("SELECT pr FROM #{#entityName} pr JOIN FETCH pr.material m JOIN FETCH pr.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND (:bpns IS NULL OR pr.productionSiteBpns = :bpns)" +
+        " AND (:completion IS NULL OR pr.estimatedTimeOfCompletion > :completion" +
+        " OR (pr.estimatedTimeOfCompletion = :completion AND pr.uuid > :uuid))" +
+        " ORDER BY pr.estimatedTimeOfCompletion, pr.uuid")
+    List<T> findKeysetPage(@Param("ownMaterialNumber") String ownMaterialNumber,
+                           @Param("partnerBpnl") String partnerBpnl,
+                           @Param("bpns") String bpns,
+                           @Param("completion") Date completion,
+                           @Param("uuid") UUID uuid,
+                           Pageable pageable);
+
+    /**
+     * Must be consumed within a transaction and closed afterwards.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the production site, may be null
+     * @return all matching rows, ordered by (estimatedTimeOfCompletion, uuid)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT pr FROM #{#entityName} pr JOIN FETCH pr.material m JOIN FETCH pr.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND (:bpns IS NULL OR pr.productionSiteBpns = :bpns)" +
+        " ORDER BY pr.estimatedTimeOfCompletion, pr.uuid")
+    Stream<T> streamAll(@Param("ownMaterialNumber") String ownMaterialNumber,
+                        @Param("partnerBpnl") String partnerBpnl,
+                        @Param("bpns") String bpns);
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return all rows whose estimatedTimeOfCompletion lies within the period
+     */
+    @Query("SELECT pr FROM #{#entityName} pr JOIN FETCH pr.material m JOIN FETCH pr.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND pr.estimatedTimeOfCompletion >= :from AND pr.estimatedTimeOfCompletion < :to")
+    List<T> findAllInPeriod(@Param("ownMaterialNumber") String ownMaterialNumber,
+                            @Param("partnerBpnl") String partnerBpnl,
+                            @Param("from") Date from,
+                            @Param("to") Date to);
 }
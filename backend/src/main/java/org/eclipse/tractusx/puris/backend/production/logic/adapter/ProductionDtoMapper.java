@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.production.logic.adapter;
+
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
+import org.eclipse.tractusx.puris.backend.production.domain.model.OwnProduction;
+import org.eclipse.tractusx.puris.backend.production.domain.model.Production;
+import org.eclipse.tractusx.puris.backend.production.logic.dto.ProductionDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plain java mapping between the production entities and {@link ProductionDto}.
+ * <p>
+ * The partner specific material numbers depend on the material partner relation
+ * and are left to the caller.
+ */
+@Service
+public class ProductionDtoMapper {
+
+    @Autowired
+    private MasterDataDtoMapper masterDataDtoMapper;
+
+    public ProductionDto toDto(Production entity) {
+        ProductionDto dto = new ProductionDto();
+        dto.setUuid(entity.getUuid());
+        dto.setPartner(masterDataDtoMapper.toDto(entity.getPartner()));
+        dto.setMaterial(masterDataDtoMapper.toDto(entity.getMaterial()));
+        dto.setQuantity(entity.getQuantity());
+        dto.setMeasurementUnit(entity.getMeasurementUnit());
+        dto.setProductionSiteBpns(entity.getProductionSiteBpns());
+        dto.setEstimatedTimeOfCompletion(entity.getEstimatedTimeOfCompletion());
+        dto.setCustomerOrderNumber(entity.getCustomerOrderNumber());
+        dto.setCustomerOrderPositionNumber(entity.getCustomerOrderPositionNumber());
+        dto.setSupplierOrderNumber(entity.getSupplierOrderNumber());
+        return dto;
+    }
+
+    /**
+     * Maps the plain attributes of the dto. Material and partner are resolved by the caller.
+     *
+     * @param dto the dto
+     * @return a new own production
+     */
+    public OwnProduction toEntity(ProductionDto dto) {
+        OwnProduction entity = new OwnProduction();
+        entity.setUuid(dto.getUuid());
+        entity.setQuantity(dto.getQuantity());
+        entity.setMeasurementUnit(dto.getMeasurementUnit());
+        entity.setProductionSiteBpns(dto.getProductionSiteBpns());
+        entity.setEstimatedTimeOfCompletion(dto.getEstimatedTimeOfCompletion());
+        entity.setCustomerOrderNumber(dto.getCustomerOrderNumber());
+        entity.setCustomerOrderPositionNumber(dto.getCustomerOrderPositionNumber());
+        entity.setSupplierOrderNumber(dto.getSupplierOrderNumber());
+        return entity;
+    }
+}
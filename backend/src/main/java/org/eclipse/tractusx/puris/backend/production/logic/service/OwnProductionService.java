@@ -25,23 +25,30 @@ import java.util.function.Function;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
-import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
 import org.eclipse.tractusx.puris.backend.production.domain.model.OwnProduction;
 import org.eclipse.tractusx.puris.backend.production.domain.repository.OwnProductionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class OwnProductionService extends ProductionService<OwnProduction> {
     private final OwnProductionRepository repository;
 
-    private final PartnerService partnerService;
+    private final PartnerSiteIndex partnerSiteIndex;
 
     protected final Function<OwnProduction, Boolean> validator;
 
-    public OwnProductionService(OwnProductionRepository repository, PartnerService partnerService) {
+    @Autowired
+    private SubmodelResponseCache submodelResponseCache;
+
+    public OwnProductionService(OwnProductionRepository repository, PartnerSiteIndex partnerSiteIndex) {
         this.repository = repository;
-        this.partnerService = partnerService;
+        this.partnerSiteIndex = partnerSiteIndex;
         this.validator = this::validate;
     }
 
@@ -53,7 +60,9 @@ public class OwnProductionService extends ProductionService<OwnProduction> {
         if (repository.findAll().stream().anyMatch(prod -> prod.equals(production))) {
             throw new KeyAlreadyExistsException("Production already exists");
         }
-        return repository.save(production);
+        OwnProduction created = repository.save(production);
+        afterWrite(created.getPartner(), created.getMaterial());
+        return created;
     }
 
     public final List<OwnProduction> createAll(List<OwnProduction> productions) {
@@ -64,20 +73,26 @@ public class OwnProductionService extends ProductionService<OwnProduction> {
                 .anyMatch(existing -> productions.stream().anyMatch(production -> production.equals(existing)))) {
             throw new KeyAlreadyExistsException("Production already exists");
         }
-        return repository.saveAll(productions);
+        List<OwnProduction> created = repository.saveAll(productions);
+        created.forEach(production -> afterWrite(production.getPartner(), production.getMaterial()));
+        return created;
+    }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelResponseCache.evict(partner, material, AssetType.PRODUCTION_SUBMODEL, null);
     }
 
     public boolean validate(OwnProduction production) {
-        Partner ownPartnerEntity = partnerService.getOwnPartnerEntity();
         return 
             production.getQuantity() > 0 && 
             production.getMeasurementUnit() != null && 
             production.getEstimatedTimeOfCompletion() != null && 
             production.getMaterial() != null &&
             production.getPartner() != null &&
-            !production.getPartner().equals(ownPartnerEntity) &&
+            !partnerSiteIndex.isOwnPartner(production.getPartner()) &&
             production.getProductionSiteBpns() != null &&
-            ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(production.getProductionSiteBpns())) &&
+            partnerSiteIndex.isOwnSite(production.getProductionSiteBpns()) &&
             ((
                 production.getCustomerOrderNumber() != null && 
                 production.getCustomerOrderPositionNumber() != null
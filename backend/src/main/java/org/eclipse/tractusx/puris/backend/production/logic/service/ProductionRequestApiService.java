@@ -20,10 +20,11 @@
 
 package org.eclipse.tractusx.puris.backend.production.logic.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.ReportedDataChangedEvent;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
@@ -33,6 +34,7 @@ import org.eclipse.tractusx.puris.backend.production.logic.adapter.PlannedProduc
 import org.eclipse.tractusx.puris.backend.production.logic.dto.plannedproductionsamm.PlannedProductionOutput;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -58,7 +60,9 @@ public class ProductionRequestApiService {
     @Autowired
     private PlannedProductionSammMapper sammMapper;
     @Autowired
-    private ObjectMapper objectMapper;
+    private SubmodelResponseCache submodelResponseCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public PlannedProductionOutput handleProductionSubmodelRequest(String bpnl, String materialNumberCx) {
         Partner partner = partnerService.findByBpnl(bpnl);
@@ -73,35 +77,33 @@ public class ProductionRequestApiService {
             // only send an answer if partner is registered as customer
             return null;
         }
-        var currentProduction = ownProductionService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
-        return sammMapper.ownProductionToSamm(currentProduction, partner, material);
+        return submodelResponseCache.get(partner, material, AssetType.PRODUCTION_SUBMODEL, null, () -> {
+            var currentProduction = ownProductionService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
+            return sammMapper.ownProductionToSamm(currentProduction, partner, material);
+        });
     }
 
-    public void doReportedProductionRequest(Partner partner, Material material) {
+    public boolean doReportedProductionRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
-            var data = edcAdapterService.doSubmodelRequest(AssetType.PRODUCTION_SUBMODEL, mpr, DirectionCharacteristic.OUTBOUND, 1);
-            var samm = objectMapper.treeToValue(data, PlannedProductionOutput.class);
-            var productions = sammMapper.sammToReportedProduction(samm, partner);
-            for (var production : productions) {
-                var productionPartner = production.getPartner();
-                var productionMaterial = production.getMaterial();
-                if (!partner.equals(productionPartner) || !material.equals(productionMaterial)) {
-                    log.warn("Received inconsistent data from " + partner.getBpnl());
-                    return;
+            return edcAdapterService.doConditionalSubmodelRequest(AssetType.PRODUCTION_SUBMODEL, mpr, DirectionCharacteristic.OUTBOUND, PlannedProductionOutput.class, samm -> {
+                var productions = sammMapper.sammToReportedProduction(samm, partner);
+                for (var production : productions) {
+                    var productionPartner = production.getPartner();
+                    var productionMaterial = production.getMaterial();
+                    if (!partner.equals(productionPartner) || !material.equals(productionMaterial)) {
+                        log.warn("Received inconsistent data from " + partner.getBpnl());
+                        return false;
+                    }
                 }
-            }
-            // delete older data:
-            var oldProductions = reportedProductionService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
-            for (var oldProduction : oldProductions) {
-                reportedProductionService.delete(oldProduction.getUuid());
-            }
-            for (var newProduction : productions) {
-                reportedProductionService.create(newProduction);
-            }
-            log.info("Updated ReportedProduction for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+                var changes = reportedProductionService.replaceAll(partner, material, productions);
+                log.info("Updated ReportedProduction for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + changes);
+                eventPublisher.publishEvent(new ReportedDataChangedEvent(partner, material, AssetType.PRODUCTION_SUBMODEL, null, changes));
+                return true;
+            });
         } catch (Exception e) {
             log.error("Error in ReportedProductionRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 }
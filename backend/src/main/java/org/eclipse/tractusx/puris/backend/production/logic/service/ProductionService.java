@@ -19,13 +19,17 @@
  */
 package org.eclipse.tractusx.puris.backend.production.logic.service;
 
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
+import org.eclipse.tractusx.puris.backend.common.util.DifferentialSync;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.production.domain.model.Production;
 import org.eclipse.tractusx.puris.backend.production.domain.repository.ProductionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Stream;
@@ -34,6 +38,9 @@ public abstract class ProductionService<T extends Production>  {
     @Autowired
     protected ProductionRepository<T> repository;
 
+    @Autowired
+    protected DifferentialSync differentialSync;
+
     public final List<T> findAll() {
         return repository.findAll();
     }
@@ -81,37 +88,149 @@ public abstract class ProductionService<T extends Production>  {
         return stream.toList();
     }
 
-    public final List<Double> getQuantityForDays(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> quantities = new ArrayList<>();
-        LocalDate localDate = LocalDate.now();
-
-        for (int i = 0; i < numberOfDays; i++) {
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            List<T> productions = findAllByFilters(Optional.of(material), Optional.of(partnerBpnl), Optional.of(siteBpns), Optional.of(date));
-            double productionQuantity = getSumOfQuantities(productions);
-            quantities.add(productionQuantity);
-
-            localDate = localDate.plusDays(1);
+    /**
+     * Sums up the produced quantities per day of completion, starting today.
+     *
+     * @param material     the ownMaterialNumber
+     * @param partnerBpnl  the bpnl of the partner
+     * @param siteBpns     the bpns of the production site
+     * @param numberOfDays the number of days
+     * @return the produced quantities per day
+     */
+    public final DailySeries getQuantityForDays(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
+        DailySeries quantities = DailySeries.startingToday(numberOfDays);
+        for (T production : findAllInPeriod(material, partnerBpnl, quantities.getStart(), quantities.getEnd())) {
+            if (siteBpns.equals(production.getProductionSiteBpns())) {
+                quantities.add(production.getEstimatedTimeOfCompletion(), production.getQuantity());
+            }
         }
         return quantities;
     }
 
     public final T update(T production) {
-        if (production.getUuid() == null || repository.findById(production.getUuid()).isEmpty()) {
+        T existing = production.getUuid() == null ? null : repository.findById(production.getUuid()).orElse(null);
+        if (existing == null) {
             return null;
         }
-        return repository.save(production);
+        // the existing production is managed and takes over the new values on save
+        Partner oldPartner = existing.getPartner();
+        Material oldMaterial = existing.getMaterial();
+        T updated = repository.save(production);
+        afterWrite(oldPartner, oldMaterial);
+        afterWrite(updated.getPartner(), updated.getMaterial());
+        return updated;
     }
 
     public final void delete(UUID uuid) {
+        T existing = repository.findById(uuid).orElse(null);
         repository.deleteById(uuid);
+        if (existing != null) {
+            afterWrite(existing.getPartner(), existing.getMaterial());
+        }
     }
 
-    private final double getSumOfQuantities(List<T> productions) {
-        double sum = 0;
-        for (T production : productions) {
-            sum += production.getQuantity();
-        }
-        return sum;
+    /**
+     * Replaces the productions of the given partner and material, e.g. with the ones a supplier has just reported.
+     * <p>
+     * Productions are matched by their estimated time of completion, production site and order references.
+     * Only productions whose quantity has changed are updated, so unchanged reports do not cause any writes.
+     *
+     * @param partner     the partner
+     * @param material    the material
+     * @param productions all productions of the partner and material
+     * @return the number of changes
+     */
+    public final DifferentialSync.Changes replaceAll(Partner partner, Material material, List<T> productions) {
+        return differentialSync.apply(new DifferentialSync.Rows<>() {
+            @Override
+            public List<T> load() {
+                try (Stream<T> stream = repository.streamAll(material.getOwnMaterialNumber(), partner.getBpnl(), null)) {
+                    return stream.toList();
+                }
+            }
+
+            @Override
+            public Object naturalKey(T production) {
+                return Arrays.asList(DifferentialSync.epochMillis(production.getEstimatedTimeOfCompletion()), production.getProductionSiteBpns(),
+                    production.getCustomerOrderNumber(), production.getCustomerOrderPositionNumber(), production.getSupplierOrderNumber());
+            }
+
+            @Override
+            public boolean copyValues(T source, T target) {
+                if (source.getQuantity() == target.getQuantity() && source.getMeasurementUnit() == target.getMeasurementUnit()) {
+                    return false;
+                }
+                target.setQuantity(source.getQuantity());
+                target.setMeasurementUnit(source.getMeasurementUnit());
+                return true;
+            }
+
+            @Override
+            public boolean isValid(T production) {
+                return validate(production);
+            }
+
+            @Override
+            public void save(T production) {
+                T saved = repository.save(production);
+                afterWrite(saved.getPartner(), saved.getMaterial());
+            }
+
+            @Override
+            public void delete(T production) {
+                repository.delete(production);
+                afterWrite(production.getPartner(), production.getMaterial());
+            }
+        }, productions);
+    }
+
+    public abstract boolean validate(T production);
+
+    /**
+     * Called after productions of the given partner and material have been created, updated or deleted.
+     * An update that moves a production to another partner or material calls it for the old
+     * and the new partner and material.
+     *
+     * @param partner  the partner
+     * @param material the material
+     */
+    protected void afterWrite(Partner partner, Material material) {
+    }
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the production site, may be null
+     * @param cursor            the position of the last row of the previous page, null for the first page
+     * @param pageSize          the page size
+     * @return up to pageSize + 1 rows, ordered by (estimatedTimeOfCompletion, uuid)
+     */
+    public final List<T> findKeysetPage(String ownMaterialNumber, String partnerBpnl, String bpns, KeysetCursor cursor, int pageSize) {
+        return repository.findKeysetPage(ownMaterialNumber, partnerBpnl, bpns,
+            cursor == null ? null : cursor.position(), cursor == null ? null : cursor.uuid(),
+            KeysetCursor.lookAhead(pageSize));
+    }
+
+    /**
+     * Must be called within a transaction. The returned stream must be closed.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param bpns              optional filter for the production site, may be null
+     * @return all matching rows, ordered by (estimatedTimeOfCompletion, uuid)
+     */
+    public final Stream<T> streamAllByFilters(String ownMaterialNumber, String partnerBpnl, String bpns) {
+        return repository.streamAll(ownMaterialNumber, partnerBpnl, bpns);
+    }
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return all matching rows whose estimatedTimeOfCompletion lies within the period
+     */
+    public final List<T> findAllInPeriod(String ownMaterialNumber, String partnerBpnl, Date from, Date to) {
+        return repository.findAllInPeriod(ownMaterialNumber, partnerBpnl, from, to);
     }
 }
@@ -23,18 +23,30 @@ package org.eclipse.tractusx.puris.backend.production.logic.service;
 import java.util.List;
 import java.util.function.Function;
 
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelEtagCache;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
 import org.eclipse.tractusx.puris.backend.production.domain.model.ReportedProduction;
 import org.eclipse.tractusx.puris.backend.production.domain.repository.ReportedProductionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ReportedProductionService extends ProductionService<ReportedProduction> {
     private final ReportedProductionRepository repository;
 
+    private final PartnerSiteIndex partnerSiteIndex;
+
     protected final Function<ReportedProduction, Boolean> validator;
 
-    public ReportedProductionService(ReportedProductionRepository repository) {
+    @Autowired
+    private SubmodelEtagCache submodelEtagCache;
+
+    public ReportedProductionService(ReportedProductionRepository repository, PartnerSiteIndex partnerSiteIndex) {
         this.repository = repository;
+        this.partnerSiteIndex = partnerSiteIndex;
         this.validator = this::validate;
     }
 
@@ -45,7 +57,9 @@ public class ReportedProductionService extends ProductionService<ReportedProduct
         if (!validator.apply(production)) {
             return null;
         }
-        return repository.save(production);
+        ReportedProduction created = repository.save(production);
+        afterWrite(created.getPartner(), created.getMaterial());
+        return created;
     }
 
     public final List<ReportedProduction> createAll(List<ReportedProduction> productions) {
@@ -56,7 +70,14 @@ public class ReportedProductionService extends ProductionService<ReportedProduct
                 .anyMatch(existing -> productions.stream().anyMatch(production -> production.equals(existing)))) {
             return null;
         }
-        return repository.saveAll(productions);
+        List<ReportedProduction> created = repository.saveAll(productions);
+        created.forEach(production -> afterWrite(production.getPartner(), production.getMaterial()));
+        return created;
+    }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelEtagCache.evict(partner, material, AssetType.PRODUCTION_SUBMODEL);
     }
 
     public boolean validate(ReportedProduction production) {
@@ -67,7 +88,7 @@ public class ReportedProductionService extends ProductionService<ReportedProduct
             production.getMaterial() != null &&
             production.getPartner() != null &&
             production.getProductionSiteBpns() != null &&
-            production.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(production.getProductionSiteBpns())) &&
+            partnerSiteIndex.hasSite(production.getPartner(), production.getProductionSiteBpns()) &&
             ((
                 production.getCustomerOrderNumber() != null && 
                 production.getCustomerOrderPositionNumber() != null
@@ -25,6 +25,8 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.SubmodelFingerprint;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.ItemStockSamm;
@@ -32,6 +34,7 @@ import org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockRequestAp
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.regex.Pattern;
 
@@ -47,6 +50,9 @@ public class ItemStockRequestApiController {
     @Autowired
     private ItemStockRequestApiService itemStockRequestApiService;
 
+    @Autowired
+    private SubmodelFingerprint submodelFingerprint;
+
     private final Pattern bpnlPattern = PatternStore.BPNL_PATTERN;
 
     private final Pattern urnPattern = PatternStore.URN_OR_UUID_PATTERN;
@@ -56,6 +62,7 @@ public class ItemStockRequestApiController {
         "This endpoint is meant to be accessed by partners via EDC only. ")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ok"),
+        @ApiResponse(responseCode = "304", description = "Not Modified", content = @Content),
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content),
         @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content),
         @ApiResponse(responseCode = "501", description = "Unsupported representation", content = @Content)
@@ -64,7 +71,8 @@ public class ItemStockRequestApiController {
     public ResponseEntity<ItemStockSamm> getMappingItemStock2(@RequestHeader("edc-bpn") String bpnl,
                                                               @PathVariable String materialnumber,
                                                               @PathVariable DirectionCharacteristic direction,
-                                                              @PathVariable String representation) {
+                                                              @PathVariable String representation,
+                                                              WebRequest request) {
         if (!bpnlPattern.matcher(bpnl).matches() || !urnPattern.matcher(materialnumber).matches() || direction == null) {
             log.warn("Rejecting request at ItemStock Submodel request 2.0.0 endpoint");
             return ResponseEntity.badRequest().build();
@@ -82,6 +90,10 @@ public class ItemStockRequestApiController {
         if (samm == null) {
             return ResponseEntity.status(500).build();
         }
-        return ResponseEntity.ok(samm);
+        String etag = submodelFingerprint.of(samm, AssetType.ITEM_STOCK_SUBMODEL);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(samm);
     }
 }
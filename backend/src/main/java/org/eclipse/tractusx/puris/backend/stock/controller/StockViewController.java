@@ -29,32 +29,43 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.controller.RefreshJobController;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJobService;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetPage;
+import org.eclipse.tractusx.puris.backend.common.util.NdjsonStreamWriter;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedMaterialItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.logic.adapter.ItemStockDtoMapper;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.*;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.*;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -80,7 +91,10 @@ public class StockViewController {
     private ReportedProductItemStockService reportedProductItemStockService;
 
     @Autowired
-    private ItemStockRequestApiService itemStockRequestApiService;
+    private StockPositionService stockPositionService;
+
+    @Autowired
+    private RefreshJobService refreshJobService;
 
     @Autowired
     private MaterialService materialService;
@@ -92,13 +106,17 @@ public class StockViewController {
     private MaterialPartnerRelationService mprService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ItemStockDtoMapper itemStockDtoMapper;
+
+    @Autowired
+    private MasterDataDtoMapper masterDataDtoMapper;
 
     @Autowired
     private Validator validator;
 
+
     @Autowired
-    private ExecutorService executorService;
+    private NdjsonStreamWriter ndjsonStreamWriter;
 
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
@@ -147,6 +165,37 @@ public class StockViewController {
             .collect(Collectors.toList());
     }
 
+    @GetMapping("product-stocks/page")
+    @Operation(description = "Returns one page of product-stocks, ordered by their last update. " +
+        "Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<KeysetPage<ProductStockDto>> getProductStocksPage(@RequestParam(required = false) String ownMaterialNumber,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer limit) {
+        if (ownMaterialNumber != null && !materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<ProductItemStock> rows = productItemStockService.findKeysetPage(ownMaterialNumber, null, KeysetCursor.fromRequestParam(cursor), pageSize);
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto));
+    }
+
+    @GetMapping(value = "product-stocks/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "Streams all product-stocks as newline delimited json, ordered by their last update.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamProductStocks(@RequestParam(required = false) String ownMaterialNumber) {
+        if (ownMaterialNumber != null && !materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        return ndjsonStreamWriter.stream(() -> productItemStockService.streamAllByFilters(ownMaterialNumber, null), this::convertToDto);
+    }
+
     @PostMapping("product-stocks")
     @ResponseBody
     @Operation(description = "Creates a new product-stock")
@@ -239,7 +288,7 @@ public class StockViewController {
     }
 
     private ProductStockDto convertToDto(ProductItemStock entity) {
-        ProductStockDto dto = modelMapper.map(entity, ProductStockDto.class);
+        ProductStockDto dto = itemStockDtoMapper.toDto(entity);
         dto.getMaterial().setMaterialNumberSupplier(entity.getMaterial().getOwnMaterialNumber());
         var materialPartnerRelation =
             mprService.find(entity.getMaterial().getOwnMaterialNumber(), entity.getPartner().getUuid());
@@ -258,7 +307,7 @@ public class StockViewController {
     }
 
     private ProductItemStock convertToEntity(ProductStockDto dto) {
-        ProductItemStock productStock = modelMapper.map(dto, ProductItemStock.class);
+        ProductItemStock productStock = itemStockDtoMapper.toEntity(dto);
         Material material = materialService.findByOwnMaterialNumber(dto.getMaterial().getMaterialNumberSupplier());
         productStock.setMaterial(material);
 
@@ -295,6 +344,37 @@ public class StockViewController {
         return allMaterialStocks;
     }
 
+    @GetMapping("material-stocks/page")
+    @Operation(description = "Returns one page of material-stocks, ordered by their last update. " +
+        "Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<KeysetPage<MaterialStockDto>> getMaterialStocksPage(@RequestParam(required = false) String ownMaterialNumber,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer limit) {
+        if (ownMaterialNumber != null && !materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<MaterialItemStock> rows = materialItemStockService.findKeysetPage(ownMaterialNumber, null, KeysetCursor.fromRequestParam(cursor), pageSize);
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto));
+    }
+
+    @GetMapping(value = "material-stocks/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "Streams all material-stocks as newline delimited json, ordered by their last update.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamMaterialStocks(@RequestParam(required = false) String ownMaterialNumber) {
+        if (ownMaterialNumber != null && !materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        return ndjsonStreamWriter.stream(() -> materialItemStockService.streamAllByFilters(ownMaterialNumber, null), this::convertToDto);
+    }
+
     @PostMapping("material-stocks")
     @ResponseBody
     @Operation(description = "Creates a new material-stock")
@@ -381,7 +461,7 @@ public class StockViewController {
     }
 
     private MaterialStockDto convertToDto(MaterialItemStock entity) {
-        MaterialStockDto dto = modelMapper.map(entity, MaterialStockDto.class);
+        MaterialStockDto dto = itemStockDtoMapper.toDto(entity);
         dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
         dto.getMaterial().setMaterialNumberCustomer(entity.getMaterial().getOwnMaterialNumber());
         var materialPartnerRelation = mprService.find(entity.getMaterial().getOwnMaterialNumber(),
@@ -399,7 +479,7 @@ public class StockViewController {
     }
 
     private MaterialItemStock convertToEntity(MaterialStockDto dto) {
-        MaterialItemStock materialStock = modelMapper.map(dto, MaterialItemStock.class);
+        MaterialItemStock materialStock = itemStockDtoMapper.toEntity(dto);
 
         Material material = materialService.findByOwnMaterialNumber(dto.getMaterial().getMaterialNumberCustomer());
         materialStock.setMaterial(material);
@@ -444,8 +524,40 @@ public class StockViewController {
             .toList());
     }
 
+    @GetMapping("reported-material-stocks/page")
+    @Operation(description = "Returns one page of the material stocks reported by partners for the given material, " +
+        "ordered by their last update. Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<KeysetPage<ReportedMaterialStockDto>> getSupplierMaterialStocksPage(@RequestParam String ownMaterialNumber,
+                                                                                              @RequestParam(required = false) String cursor,
+                                                                                              @RequestParam(required = false) Integer limit) {
+        if (!materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<ReportedMaterialItemStock> rows = reportedMaterialItemStockService.findKeysetPage(ownMaterialNumber, null, KeysetCursor.fromRequestParam(cursor), pageSize);
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto));
+    }
+
+    @GetMapping(value = "reported-material-stocks/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "Streams the material stocks reported by partners for the given material as newline delimited json, " +
+        "ordered by their last update.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamSupplierMaterialStocks(@RequestParam String ownMaterialNumber) {
+        if (!materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        return ndjsonStreamWriter.stream(() -> reportedMaterialItemStockService.streamAllByFilters(ownMaterialNumber, null), this::convertToDto);
+    }
+
     private ReportedMaterialStockDto convertToDto(ReportedMaterialItemStock entity) {
-        ReportedMaterialStockDto dto = modelMapper.map(entity, ReportedMaterialStockDto.class);
+        ReportedMaterialStockDto dto = itemStockDtoMapper.toDto(entity);
         dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
         dto.getMaterial().setMaterialNumberCustomer(entity.getMaterial().getOwnMaterialNumber());
         var materialPartnerRelation = mprService.find(entity.getMaterial().getOwnMaterialNumber(),
@@ -480,8 +592,40 @@ public class StockViewController {
             .toList());
     }
 
+    @GetMapping("reported-product-stocks/page")
+    @Operation(description = "Returns one page of the product stocks reported by partners for the given material, " +
+        "ordered by their last update. Pass the nextCursor of the response as cursor in order to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<KeysetPage<ReportedProductStockDto>> getCustomerProductStocksPage(@RequestParam String ownMaterialNumber,
+                                                                                            @RequestParam(required = false) String cursor,
+                                                                                            @RequestParam(required = false) Integer limit) {
+        if (!materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<ReportedProductItemStock> rows = reportedProductItemStockService.findKeysetPage(ownMaterialNumber, null, KeysetCursor.fromRequestParam(cursor), pageSize);
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize, this::toCursor, this::convertToDto));
+    }
+
+    @GetMapping(value = "reported-product-stocks/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "Streams the product stocks reported by partners for the given material as newline delimited json, " +
+        "ordered by their last update.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamCustomerProductStocks(@RequestParam String ownMaterialNumber) {
+        if (!materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        return ndjsonStreamWriter.stream(() -> reportedProductItemStockService.streamAllByFilters(ownMaterialNumber, null), this::convertToDto);
+    }
+
     private ReportedProductStockDto convertToDto(ReportedProductItemStock entity) {
-        ReportedProductStockDto dto = modelMapper.map(entity, ReportedProductStockDto.class);
+        ReportedProductStockDto dto = itemStockDtoMapper.toDto(entity);
         dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
         dto.getMaterial().setMaterialNumberSupplier(entity.getMaterial().getOwnMaterialNumber());
         var materialPartnerRelation = mprService.find(entity.getMaterial().getOwnMaterialNumber(),
@@ -528,15 +672,40 @@ public class StockViewController {
             .collect(Collectors.toList()));
     }
 
+    @GetMapping("stock-positions")
+    @Operation(description = "Returns the total, blocked and unblocked quantities of the stocks per stock type, " +
+        "material, partner, site and unit. The quantities are summed up whenever stocks are written, so they " +
+        "are read without aggregating the stocks.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<List<StockPositionDto>> getStockPositions(@RequestParam(required = false) StockType stockType,
+                                                                    @RequestParam(required = false) String ownMaterialNumber,
+                                                                    @RequestParam(required = false) String partnerBpnl,
+                                                                    @RequestParam(required = false) String siteBpns) {
+        if ((ownMaterialNumber != null && !materialPattern.matcher(ownMaterialNumber).matches())
+            || (partnerBpnl != null && !PatternStore.BPNL_PATTERN.matcher(partnerBpnl).matches())
+            || (siteBpns != null && !PatternStore.BPNS_PATTERN.matcher(siteBpns).matches())) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        return ResponseEntity.ok(stockPositionService.findAllByFilters(stockType, ownMaterialNumber, partnerBpnl, siteBpns)
+            .stream()
+            .map(itemStockDtoMapper::toDto)
+            .toList());
+    }
+
     @GetMapping("update-reported-material-stocks")
     @Operation(description = "For the given material, all known suppliers will be requested to report their" +
         "current stocks for our input material. The response body contains a list of those supplier partners that were sent a request." +
         "Please note that these requests are handled asynchronously by the partners, so there are no guarantees, if and " +
         "when the corresponding responses will be available. As soon as a response arrives, it will be available via a " +
-        "call to the GET reported-material-stocks endpoint.")
+        "call to the GET reported-material-stocks endpoint. The Location header points to the refresh job that " +
+        "reports when the responses have arrived, see /refresh-jobs.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "OK"),
-        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Material not found", content = @Content)
     })
     public ResponseEntity<List<PartnerDto>> triggerReportedMaterialStockUpdateForMaterialNumber(@RequestParam String ownMaterialNumber) {
         if (!materialPattern.matcher(ownMaterialNumber).matches()) {
@@ -545,14 +714,15 @@ public class StockViewController {
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
         log.info("Trigger Reported MaterialStockUpdate");
         log.info("Found material: " + (materialEntity != null) + " " + ownMaterialNumber);
+        if (materialEntity == null) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(404));
+        }
         List<Partner> allSupplierPartnerEntities = mprService.findAllSuppliersForOwnMaterialNumber(ownMaterialNumber);
 
-        for (Partner supplierPartner : allSupplierPartnerEntities) {
-            executorService.submit(() ->
-            itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequest(supplierPartner, materialEntity));
-        }
+        var job = refreshJobService.start(materialEntity, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND,
+            allSupplierPartnerEntities);
 
-        return ResponseEntity.ok(allSupplierPartnerEntities.stream()
+        return ResponseEntity.ok().location(RefreshJobController.location(job)).body(allSupplierPartnerEntities.stream()
             .map(this::convertToDto)
             .collect(Collectors.toList()));
     }
@@ -562,10 +732,12 @@ public class StockViewController {
         "current stocks for our output material. The response body contains a list of those customer partners that were sent a request." +
         "Please note that these requests are handled asynchronously by the partners, so there are no guarantees, if and " +
         "when the corresponding responses will be available. As soon as a response arrives, it will be available via a " +
-        "call to the GET reported-material-stocks endpoint.")
+        "call to the GET reported-material-stocks endpoint. The Location header points to the refresh job that " +
+        "reports when the responses have arrived, see /refresh-jobs.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "OK"),
-        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Material not found", content = @Content)
     })
     public ResponseEntity<List<PartnerDto>> triggerReportedProductStockUpdateForMaterialNumber(@RequestParam String ownMaterialNumber) {
         if (!materialPattern.matcher(ownMaterialNumber).matches()) {
@@ -574,20 +746,25 @@ public class StockViewController {
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
         log.info("Trigger Reported ProductStockUpdate");
         log.info("Found material: " + (materialEntity != null) + " " + ownMaterialNumber);
+        if (materialEntity == null) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(404));
+        }
         List<Partner> allCustomerPartnerEntities = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
 
-        for (Partner customerPartner : allCustomerPartnerEntities) {
-            executorService.submit(() ->
-            itemStockRequestApiService.doItemStockSubmodelReportedProductItemStockRequest(customerPartner, materialEntity));
-        }
+        var job = refreshJobService.start(materialEntity, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.INBOUND,
+            allCustomerPartnerEntities);
 
-        return ResponseEntity.ok(allCustomerPartnerEntities.stream()
+        return ResponseEntity.ok().location(RefreshJobController.location(job)).body(allCustomerPartnerEntities.stream()
             .map(this::convertToDto)
             .collect(Collectors.toList()));
     }
 
+    private KeysetCursor toCursor(ItemStock entity) {
+        return new KeysetCursor(entity.getLastUpdatedOnDateTime(), entity.getUuid());
+    }
+
     private PartnerDto convertToDto(Partner entity) {
-        return modelMapper.map(entity, PartnerDto.class);
+        return masterDataDtoMapper.toDto(entity);
     }
 
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+
+import java.util.UUID;
+
+/**
+ * The summed up quantities of all item stocks of one type per material, partner, site and unit.
+ * <p>
+ * The positions are maintained by the {@link org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockService}
+ * within the transaction of every write of the item stocks, so totals can be read without
+ * aggregating the item stocks themselves.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+    columnNames = {"stockType", "ownMaterialNumber", "partnerBpnl", "locationBpns", "measurementUnit"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class StockPosition {
+
+    /**
+     * The kind of item stocks a position sums up
+     */
+    public enum StockType {
+        MATERIAL, PRODUCT, REPORTED_MATERIAL, REPORTED_PRODUCT
+    }
+
+    @Id
+    @GeneratedValue
+    private UUID uuid;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private StockType stockType;
+
+    @NotNull
+    private String ownMaterialNumber;
+
+    @NotNull
+    private String partnerBpnl;
+
+    @NotNull
+    private String locationBpns;
+
+    @NotNull
+    private ItemUnitEnumeration measurementUnit;
+
+    private double blockedQuantity;
+
+    private double unblockedQuantity;
+
+    /**
+     * Used by the aggregating queries of the item stock repositories, which do not know the stock type.
+     */
+    public StockPosition(String ownMaterialNumber, String partnerBpnl, String locationBpns,
+                         ItemUnitEnumeration measurementUnit, double blockedQuantity, double unblockedQuantity) {
+        this.ownMaterialNumber = ownMaterialNumber;
+        this.partnerBpnl = partnerBpnl;
+        this.locationBpns = locationBpns;
+        this.measurementUnit = measurementUnit;
+        this.blockedQuantity = blockedQuantity;
+        this.unblockedQuantity = unblockedQuantity;
+    }
+
+    public double getTotalQuantity() {
+        return blockedQuantity + unblockedQuantity;
+    }
+}
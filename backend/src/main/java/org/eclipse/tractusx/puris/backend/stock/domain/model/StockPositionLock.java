@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+
+import java.util.UUID;
+
+/**
+ * Guard row of the {@link StockPosition}s of one stock type, material and partner.
+ * <p>
+ * Writers of the item stocks increment the counter of the guard row before writing. The update
+ * holds a row lock until the end of the transaction, which serializes the writers on any database,
+ * in contrast to a {@code SELECT ... FOR UPDATE} that not every database honours.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"stockType", "ownMaterialNumber", "partnerBpnl"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class StockPositionLock {
+
+    @Id
+    @GeneratedValue
+    private UUID uuid;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private StockType stockType;
+
+    @NotNull
+    private String ownMaterialNumber;
+
+    @NotNull
+    private String partnerBpnl;
+
+    /**
+     * Number of writes that held the lock
+     */
+    private long writes;
+
+    public StockPositionLock(StockType stockType, String ownMaterialNumber, String partnerBpnl) {
+        this.stockType = stockType;
+        this.ownMaterialNumber = ownMaterialNumber;
+        this.partnerBpnl = partnerBpnl;
+    }
+}
@@ -22,11 +22,21 @@ package org.eclipse.tractusx.puris.backend.stock.domain.repository;
 
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import jakarta.persistence.QueryHint;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ItemStockRepository<T extends ItemStock> extends JpaRepository<T, UUID> {
 
@@ -66,5 +76,70 @@ public interface ItemStockRepository<T extends ItemStock> extends JpaRepository<
         throw new UnsupportedOperationException("Implementation needed");
     }
 
+    /**
+     * Deletes the item stocks of the given partner and material with a single statement.
+     *
+     * @param partner  the partner
+     * @param material the material
+     * @return the number of deleted rows
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM #{#entityName} s WHERE s.partner = :partner AND s.material = :material")
+    int deleteForPartnerAndMaterial(@Param("partner") Partner partner, @Param("material") Material material);
 
+    /**
+     * Sums up the blocked and unblocked quantities of the item stocks per material, partner, site and unit
+     * without loading them. The stock type of the returned positions is not set.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @return the summed up positions
+     */
+    @Query("SELECT new org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition(" +
+        "m.ownMaterialNumber, p.bpnl, s.locationBpns, s.measurementUnit," +
+        " SUM(CASE WHEN s.isBlocked = true THEN s.quantity ELSE 0 END)," +
+        " SUM(CASE WHEN s.isBlocked = true THEN 0 ELSE s.quantity END))" +
+        " FROM #{#entityName} s JOIN s.material m JOIN s.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " GROUP BY m.ownMaterialNumber, p.bpnl, s.locationBpns, s.measurementUnit")
+    List<StockPosition> aggregatePositions(@Param("ownMaterialNumber") String ownMaterialNumber,
+                                           @Param("partnerBpnl") String partnerBpnl);
+
+    /**
+     * Keyset pagination over (lastUpdatedOnDateTime, uuid).
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param lastUpdated       lastUpdatedOnDateTime of the last row of the previous page, null for the first page
+     * @param uuid              uuid of the last row of the previous page, null for the first page
+     * @param pageable          limits the number of rows
+     * @return the rows following the given position
+     */
+    @Query("SELECT s FROM #{#entityName} s JOIN FETCH s.material m JOIN FETCH s.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " AND (:lastUpdated IS NULL OR s.lastUpdatedOnDateTime > :lastUpdated" +
+        " OR (s.lastUpdatedOnDateTime = :lastUpdated AND s.uuid > :uuid))" +
+        " ORDER BY s.lastUpdatedOnDateTime, s.uuid")
+    List<T> findKeysetPage(@Param("ownMaterialNumber") String ownMaterialNumber,
+                           @Param("partnerBpnl") String partnerBpnl,
+                           @Param("lastUpdated") Date lastUpdated,
+                           @Param("uuid") UUID uuid,
+                           Pageable pageable);
+
+    /**
+     * Must be consumed within a transaction and closed afterwards.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @return all matching rows, ordered by (lastUpdatedOnDateTime, uuid)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM #{#entityName} s JOIN FETCH s.material m JOIN FETCH s.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)" +
+        " ORDER BY s.lastUpdatedOnDateTime, s.uuid")
+    Stream<T> streamAll(@Param("ownMaterialNumber") String ownMaterialNumber,
+                        @Param("partnerBpnl") String partnerBpnl);
 }
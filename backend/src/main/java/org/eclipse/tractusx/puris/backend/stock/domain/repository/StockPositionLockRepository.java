@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPositionLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface StockPositionLockRepository extends JpaRepository<StockPositionLock, UUID> {
+
+    boolean existsByStockTypeAndOwnMaterialNumberAndPartnerBpnl(StockType stockType, String ownMaterialNumber,
+                                                               String partnerBpnl);
+
+    /**
+     * Increments the counter of the guard row, which locks the row until the end of the transaction.
+     *
+     * @param stockType         the stock type
+     * @param ownMaterialNumber the material
+     * @param partnerBpnl       the partner
+     * @return the number of updated rows, 0 if there is no guard row
+     */
+    @Modifying
+    @Query("UPDATE StockPositionLock l SET l.writes = l.writes + 1 WHERE l.stockType = :stockType" +
+        " AND l.ownMaterialNumber = :ownMaterialNumber AND l.partnerBpnl = :partnerBpnl")
+    int increment(@Param("stockType") StockType stockType,
+                  @Param("ownMaterialNumber") String ownMaterialNumber,
+                  @Param("partnerBpnl") String partnerBpnl);
+}
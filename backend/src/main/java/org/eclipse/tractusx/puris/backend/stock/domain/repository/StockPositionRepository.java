@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockQuantity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockPositionRepository extends JpaRepository<StockPosition, UUID> {
+
+    /**
+     * @param stockType         optional filter for the stock type, may be null
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param locationBpns      optional filter for the site, may be null
+     * @return the matching positions
+     */
+    @Query("SELECT p FROM StockPosition p" +
+        " WHERE (:stockType IS NULL OR p.stockType = :stockType)" +
+        " AND (:ownMaterialNumber IS NULL OR p.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.partnerBpnl = :partnerBpnl)" +
+        " AND (:locationBpns IS NULL OR p.locationBpns = :locationBpns)" +
+        " ORDER BY p.stockType, p.ownMaterialNumber, p.partnerBpnl, p.locationBpns, p.measurementUnit")
+    List<StockPosition> findAllByFilters(@Param("stockType") StockType stockType,
+                                         @Param("ownMaterialNumber") String ownMaterialNumber,
+                                         @Param("partnerBpnl") String partnerBpnl,
+                                         @Param("locationBpns") String locationBpns);
+
+    /**
+     * @param stockType the stock type
+     * @return true, if there is at least one position of the stock type
+     */
+    boolean existsByStockType(StockType stockType);
+
+    /**
+     * @param stockType         the stock type
+     * @param ownMaterialNumber the material
+     * @param partnerBpnl       the partner
+     * @param locationBpns      optional filter for the site, may be null
+     * @return the total quantity of the matching positions, 0 if there are none
+     */
+    @Query("SELECT COALESCE(SUM(p.blockedQuantity + p.unblockedQuantity), 0) FROM StockPosition p" +
+        " WHERE p.stockType = :stockType" +
+        " AND p.ownMaterialNumber = :ownMaterialNumber" +
+        " AND p.partnerBpnl = :partnerBpnl" +
+        " AND (:locationBpns IS NULL OR p.locationBpns = :locationBpns)")
+    double sumQuantity(@Param("stockType") StockType stockType,
+                       @Param("ownMaterialNumber") String ownMaterialNumber,
+                       @Param("partnerBpnl") String partnerBpnl,
+                       @Param("locationBpns") String locationBpns);
+
+    /**
+     * @param stockType         the stock type
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @return the total quantities per material, partner and site
+     */
+    @Query("SELECT new org.eclipse.tractusx.puris.backend.stock.domain.model.StockQuantity(" +
+        "p.ownMaterialNumber, p.partnerBpnl, p.locationBpns, SUM(p.blockedQuantity + p.unblockedQuantity))" +
+        " FROM StockPosition p" +
+        " WHERE p.stockType = :stockType" +
+        " AND (:ownMaterialNumber IS NULL OR p.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.partnerBpnl = :partnerBpnl)" +
+        " GROUP BY p.ownMaterialNumber, p.partnerBpnl, p.locationBpns")
+    List<StockQuantity> sumQuantitiesBySite(@Param("stockType") StockType stockType,
+                                            @Param("ownMaterialNumber") String ownMaterialNumber,
+                                            @Param("partnerBpnl") String partnerBpnl);
+
+    /**
+     * Deletes the positions of one stock type, material and partner with a single statement.
+     *
+     * @param stockType         the stock type
+     * @param ownMaterialNumber the material
+     * @param partnerBpnl       the partner
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StockPosition p WHERE p.stockType = :stockType" +
+        " AND p.ownMaterialNumber = :ownMaterialNumber AND p.partnerBpnl = :partnerBpnl")
+    int deleteForMaterialAndPartner(@Param("stockType") StockType stockType,
+                                    @Param("ownMaterialNumber") String ownMaterialNumber,
+                                    @Param("partnerBpnl") String partnerBpnl);
+
+    /**
+     * Deletes all positions of one stock type with a single statement.
+     *
+     * @param stockType the stock type
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StockPosition p WHERE p.stockType = :stockType")
+    int deleteForStockType(@Param("stockType") StockType stockType);
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.stock.logic.adapter;
+
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedMaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.MaterialStockDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.ProductStockDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.ReportedMaterialStockDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.ReportedProductStockDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.StockDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.StockPositionDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plain java mapping between the item stock entities and the DTOs of the stock view.
+ * <p>
+ * The partner specific material numbers depend on the material partner relation
+ * and are left to the caller.
+ */
+@Service
+public class ItemStockDtoMapper {
+
+    @Autowired
+    private MasterDataDtoMapper masterDataDtoMapper;
+
+    public ProductStockDto toDto(ProductItemStock entity) {
+        return fillDto(entity, new ProductStockDto());
+    }
+
+    public MaterialStockDto toDto(MaterialItemStock entity) {
+        return fillDto(entity, new MaterialStockDto());
+    }
+
+    public ReportedMaterialStockDto toDto(ReportedMaterialItemStock entity) {
+        return fillDto(entity, new ReportedMaterialStockDto());
+    }
+
+    public ReportedProductStockDto toDto(ReportedProductItemStock entity) {
+        return fillDto(entity, new ReportedProductStockDto());
+    }
+
+    public StockPositionDto toDto(StockPosition position) {
+        StockPositionDto dto = new StockPositionDto();
+        dto.setStockType(position.getStockType());
+        dto.setOwnMaterialNumber(position.getOwnMaterialNumber());
+        dto.setPartnerBpnl(position.getPartnerBpnl());
+        dto.setStockLocationBpns(position.getLocationBpns());
+        dto.setMeasurementUnit(position.getMeasurementUnit());
+        dto.setTotalQuantity(position.getTotalQuantity());
+        dto.setBlockedQuantity(position.getBlockedQuantity());
+        dto.setUnblockedQuantity(position.getUnblockedQuantity());
+        return dto;
+    }
+
+    /**
+     * Maps the plain attributes of the dto. Material and partner are resolved by the caller.
+     *
+     * @param dto the dto
+     * @return a new product item stock
+     */
+    public ProductItemStock toEntity(ProductStockDto dto) {
+        return fillEntity(dto, new ProductItemStock());
+    }
+
+    /**
+     * Maps the plain attributes of the dto. Material and partner are resolved by the caller.
+     *
+     * @param dto the dto
+     * @return a new material item stock
+     */
+    public MaterialItemStock toEntity(MaterialStockDto dto) {
+        return fillEntity(dto, new MaterialItemStock());
+    }
+
+    private <D extends StockDto> D fillDto(ItemStock entity, D dto) {
+        dto.setUuid(entity.getUuid());
+        dto.setMaterial(masterDataDtoMapper.toDto(entity.getMaterial()));
+        dto.setPartner(masterDataDtoMapper.toDto(entity.getPartner()));
+        dto.setQuantity(entity.getQuantity());
+        dto.setMeasurementUnit(entity.getMeasurementUnit());
+        dto.setStockLocationBpns(entity.getLocationBpns());
+        dto.setStockLocationBpna(entity.getLocationBpna());
+        dto.setCustomerOrderNumber(entity.getCustomerOrderId());
+        dto.setCustomerOrderPositionNumber(entity.getCustomerOrderPositionId());
+        dto.setSupplierOrderNumber(entity.getSupplierOrderId());
+        dto.setLastUpdatedOn(entity.getLastUpdatedOnDateTime());
+        dto.setBlocked(entity.isBlocked());
+        return dto;
+    }
+
+    private <E extends ItemStock> E fillEntity(StockDto dto, E entity) {
+        entity.setUuid(dto.getUuid());
+        entity.setQuantity(dto.getQuantity());
+        entity.setMeasurementUnit(dto.getMeasurementUnit());
+        entity.setLocationBpns(dto.getStockLocationBpns());
+        entity.setLocationBpna(dto.getStockLocationBpna());
+        entity.setCustomerOrderId(dto.getCustomerOrderNumber());
+        entity.setCustomerOrderPositionId(dto.getCustomerOrderPositionNumber());
+        entity.setSupplierOrderId(dto.getSupplierOrderNumber());
+        entity.setLastUpdatedOnDateTime(dto.getLastUpdatedOn());
+        entity.setBlocked(dto.isBlocked());
+        return entity;
+    }
+}
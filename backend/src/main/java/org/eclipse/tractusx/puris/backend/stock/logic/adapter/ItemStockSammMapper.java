@@ -108,29 +108,44 @@ public class ItemStockSammMapper {
     public List<MaterialItemStock> erpSammToMaterialItemStock(ItemStockSamm samm, Partner partner, Material material) {
         ArrayList<MaterialItemStock> materialItemStocks = new ArrayList<>();
         for (var position : samm.getPositions()) {
-            String supplierOrderId = null, customerOrderPositionId = null, customerOrderId = null;
-            if (position.getOrderPositionReference() != null) {
-                supplierOrderId = position.getOrderPositionReference().getSupplierOrderId();
-                customerOrderId = position.getOrderPositionReference().getCustomerOrderId();
-                customerOrderPositionId = position.getOrderPositionReference().getCustomerOrderPositionId();
-            }
-            for (var allocatedStock : position.getAllocatedStocks()) {
-                var builder = MaterialItemStock.builder();
-                var itemStock = builder
-                    .partner(partner)
-                    .material(material)
-                    .isBlocked(allocatedStock.getIsBlocked())
-                    .locationBpna(allocatedStock.getStockLocationBPNA())
-                    .locationBpns(allocatedStock.getStockLocationBPNS())
-                    .lastUpdatedOnDateTime(allocatedStock.getLastUpdatedOnDateTime())
-                    .customerOrderId(customerOrderId)
-                    .supplierOrderId(supplierOrderId)
-                    .customerOrderPositionId(customerOrderPositionId)
-                    .measurementUnit(allocatedStock.getQuantityOnAllocatedStock().getUnit())
-                    .quantity(allocatedStock.getQuantityOnAllocatedStock().getValue())
-                    .build();
-                materialItemStocks.add(itemStock);
-            }
+            materialItemStocks.addAll(erpPositionToMaterialItemStock(position, partner, material));
+        }
+        return materialItemStocks;
+    }
+
+    /**
+     * Maps a single position of an ItemStock SAMM received from the erp adapter, so that
+     * the positions can be processed one by one while the SAMM is being parsed.
+     *
+     * @param position the position
+     * @param partner  the partner of the item stocks
+     * @param material the material of the item stocks
+     * @return one item stock per allocated stock of the position
+     */
+    public List<MaterialItemStock> erpPositionToMaterialItemStock(Position position, Partner partner, Material material) {
+        ArrayList<MaterialItemStock> materialItemStocks = new ArrayList<>();
+        String supplierOrderId = null, customerOrderPositionId = null, customerOrderId = null;
+        if (position.getOrderPositionReference() != null) {
+            supplierOrderId = position.getOrderPositionReference().getSupplierOrderId();
+            customerOrderId = position.getOrderPositionReference().getCustomerOrderId();
+            customerOrderPositionId = position.getOrderPositionReference().getCustomerOrderPositionId();
+        }
+        for (var allocatedStock : position.getAllocatedStocks()) {
+            var builder = MaterialItemStock.builder();
+            var itemStock = builder
+                .partner(partner)
+                .material(material)
+                .isBlocked(allocatedStock.getIsBlocked())
+                .locationBpna(allocatedStock.getStockLocationBPNA())
+                .locationBpns(allocatedStock.getStockLocationBPNS())
+                .lastUpdatedOnDateTime(allocatedStock.getLastUpdatedOnDateTime())
+                .customerOrderId(customerOrderId)
+                .supplierOrderId(supplierOrderId)
+                .customerOrderPositionId(customerOrderPositionId)
+                .measurementUnit(allocatedStock.getQuantityOnAllocatedStock().getUnit())
+                .quantity(allocatedStock.getQuantityOnAllocatedStock().getValue())
+                .build();
+            materialItemStocks.add(itemStock);
         }
         return materialItemStocks;
     }
@@ -138,29 +153,44 @@ public class ItemStockSammMapper {
     public List<ProductItemStock> erpSammToProductItemStock(ItemStockSamm samm, Partner partner, Material material) {
         ArrayList<ProductItemStock> productItemStocks = new ArrayList<>();
         for (var position : samm.getPositions()) {
-            String supplierOrderId = null, customerOrderPositionId = null, customerOrderId = null;
-            if (position.getOrderPositionReference() != null) {
-                supplierOrderId = position.getOrderPositionReference().getSupplierOrderId();
-                customerOrderId = position.getOrderPositionReference().getCustomerOrderId();
-                customerOrderPositionId = position.getOrderPositionReference().getCustomerOrderPositionId();
-            }
-            for (var allocatedStock : position.getAllocatedStocks()) {
-                var builder = ProductItemStock.builder();
-                var itemStock = builder
-                    .partner(partner)
-                    .material(material)
-                    .isBlocked(allocatedStock.getIsBlocked())
-                    .locationBpna(allocatedStock.getStockLocationBPNA())
-                    .locationBpns(allocatedStock.getStockLocationBPNS())
-                    .lastUpdatedOnDateTime(allocatedStock.getLastUpdatedOnDateTime())
-                    .customerOrderId(customerOrderId)
-                    .supplierOrderId(supplierOrderId)
-                    .customerOrderPositionId(customerOrderPositionId)
-                    .measurementUnit(allocatedStock.getQuantityOnAllocatedStock().getUnit())
-                    .quantity(allocatedStock.getQuantityOnAllocatedStock().getValue())
-                    .build();
-                productItemStocks.add(itemStock);
-            }
+            productItemStocks.addAll(erpPositionToProductItemStock(position, partner, material));
+        }
+        return productItemStocks;
+    }
+
+    /**
+     * Maps a single position of an ItemStock SAMM received from the erp adapter, so that
+     * the positions can be processed one by one while the SAMM is being parsed.
+     *
+     * @param position the position
+     * @param partner  the partner of the item stocks
+     * @param material the material of the item stocks
+     * @return one item stock per allocated stock of the position
+     */
+    public List<ProductItemStock> erpPositionToProductItemStock(Position position, Partner partner, Material material) {
+        ArrayList<ProductItemStock> productItemStocks = new ArrayList<>();
+        String supplierOrderId = null, customerOrderPositionId = null, customerOrderId = null;
+        if (position.getOrderPositionReference() != null) {
+            supplierOrderId = position.getOrderPositionReference().getSupplierOrderId();
+            customerOrderId = position.getOrderPositionReference().getCustomerOrderId();
+            customerOrderPositionId = position.getOrderPositionReference().getCustomerOrderPositionId();
+        }
+        for (var allocatedStock : position.getAllocatedStocks()) {
+            var builder = ProductItemStock.builder();
+            var itemStock = builder
+                .partner(partner)
+                .material(material)
+                .isBlocked(allocatedStock.getIsBlocked())
+                .locationBpna(allocatedStock.getStockLocationBPNA())
+                .locationBpns(allocatedStock.getStockLocationBPNS())
+                .lastUpdatedOnDateTime(allocatedStock.getLastUpdatedOnDateTime())
+                .customerOrderId(customerOrderId)
+                .supplierOrderId(supplierOrderId)
+                .customerOrderPositionId(customerOrderPositionId)
+                .measurementUnit(allocatedStock.getQuantityOnAllocatedStock().getUnit())
+                .quantity(allocatedStock.getQuantityOnAllocatedStock().getValue())
+                .build();
+            productItemStocks.add(itemStock);
         }
         return productItemStocks;
     }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.logic.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+
+import java.io.Serializable;
+
+/**
+ * Summed up quantities of the item stocks of one type, material, partner, site and unit.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class StockPositionDto implements Serializable {
+    private StockType stockType;
+    private String ownMaterialNumber;
+    private String partnerBpnl;
+    private String stockLocationBpns;
+    private ItemUnitEnumeration measurementUnit;
+    private double totalQuantity;
+    private double blockedQuantity;
+    private double unblockedQuantity;
+}
@@ -20,12 +20,14 @@
 
 package org.eclipse.tractusx.puris.backend.stock.logic.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.ReportedDataChangedEvent;
 import org.eclipse.tractusx.puris.backend.erpadapter.logic.service.ErpAdapterTriggerService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
@@ -34,8 +36,11 @@ import org.eclipse.tractusx.puris.backend.stock.logic.adapter.ItemStockSammMappe
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.ItemStockSamm;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
 @Service
 @Slf4j
 /**
@@ -63,7 +68,9 @@ public class ItemStockRequestApiService {
     @Autowired
     private ItemStockSammMapper sammMapper;
     @Autowired
-    private ObjectMapper objectMapper;
+    private SubmodelResponseCache submodelResponseCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public ItemStockSamm handleItemStockSubmodelRequest(String bpnl, String materialNumber, DirectionCharacteristic direction) {
         Partner partner = partnerService.findByBpnl(bpnl);
@@ -78,11 +85,12 @@ public class ItemStockRequestApiService {
                 Material material = materialService.findByMaterialNumberCx(materialNumber);
                 if (material != null && mprService.find(material, partner).isPartnerBuysMaterial()) {
                     // only send an answer if partner is registered as customer
-                    var currentStocks = productItemStockService.findByPartnerAndMaterial(partner, material);
-
                     erpAdapterTriggerService.notifyPartnerRequest(bpnl, material.getOwnMaterialNumber(), AssetType.ITEM_STOCK_SUBMODEL, direction);
 
-                    return sammMapper.productItemStocksToItemStockSamm(currentStocks, partner, material);
+                    return submodelResponseCache.get(partner, material, AssetType.ITEM_STOCK_SUBMODEL, direction, () -> {
+                        var currentStocks = productItemStockService.findByPartnerAndMaterial(partner, material);
+                        return sammMapper.productItemStocksToItemStockSamm(currentStocks, partner, material);
+                    });
                 }
                 return null;
             }
@@ -113,9 +121,11 @@ public class ItemStockRequestApiService {
 
                 // request looks valid
                 erpAdapterTriggerService.notifyPartnerRequest(bpnl, material.getOwnMaterialNumber(), AssetType.ITEM_STOCK_SUBMODEL, direction);
-                var currentStocks = materialItemStockService.findByPartnerAndMaterial(partner, material);
-
-                return sammMapper.materialItemStocksToItemStockSamm(currentStocks, partner, material);
+                Material requestedMaterial = material;
+                return submodelResponseCache.get(partner, material, AssetType.ITEM_STOCK_SUBMODEL, direction, () -> {
+                    var currentStocks = materialItemStockService.findByPartnerAndMaterial(partner, requestedMaterial);
+                    return sammMapper.materialItemStocksToItemStockSamm(currentStocks, partner, requestedMaterial);
+                });
 
             }
             default -> {
@@ -125,63 +135,125 @@ public class ItemStockRequestApiService {
 
     }
 
-    public void doItemStockSubmodelReportedMaterialItemStockRequest(Partner partner, Material material) {
+    public boolean doItemStockSubmodelReportedMaterialItemStockRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
-            var data = edcAdapterService.doSubmodelRequest(AssetType.ITEM_STOCK_SUBMODEL, mpr, DirectionCharacteristic.OUTBOUND, 1);
-            var samm = objectMapper.treeToValue(data, ItemStockSamm.class);
-            var stocks = sammMapper.itemStockSammToReportedMaterialItemStock(samm, partner);
-            for (var stock : stocks) {
-                var stockPartner = stock.getPartner();
-                var stockMaterial = stock.getMaterial();
-                if (!partner.equals(stockPartner) || !material.equals(stockMaterial)) {
-                    log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + stocks);
-                    return;
-                }
-            }
-            var oldStocks = reportedMaterialItemStockService.findByPartnerAndMaterial(partner, material);
-            for (var oldStock : oldStocks) {
-                reportedMaterialItemStockService.delete(oldStock.getUuid());
-            }
-            for (var newStock : stocks) {
-                reportedMaterialItemStockService.create(newStock);
-            }
-            log.info("Updated ReportedMaterialItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            return edcAdapterService.doConditionalSubmodelRequest(AssetType.ITEM_STOCK_SUBMODEL, mpr, DirectionCharacteristic.OUTBOUND, ItemStockSamm.class,
+                samm -> handleReportedMaterialItemStocks(partner, material, samm));
         } catch (Exception e) {
             log.error("Error in ReportedMaterialItemStockRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 
-    public void doItemStockSubmodelReportedProductItemStockRequest(Partner partner, Material material) {
+    /**
+     * Requests the ReportedMaterialItemStocks of several materials from the partner in one batch,
+     * sharing the partner's DTR session and the EDR of the submodel transfer.
+     *
+     * @param partner   the supplier
+     * @param materials the materials
+     * @return for each material, whether the reported stocks are up-to-date now
+     */
+    public Map<Material, Boolean> doItemStockSubmodelReportedMaterialItemStockRequests(Partner partner, Collection<Material> materials) {
+        return doBatchRequest(partner, materials, DirectionCharacteristic.OUTBOUND,
+            (mpr, samm) -> handleReportedMaterialItemStocks(partner, mpr.getMaterial(), samm));
+    }
+
+    public boolean doItemStockSubmodelReportedProductItemStockRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             if (mpr.getPartnerCXNumber() == null) {
                 mprService.triggerPartTypeRetrievalTask(partner);
                 mpr = mprService.find(material, partner);
             }
-            var data = edcAdapterService.doSubmodelRequest(AssetType.ITEM_STOCK_SUBMODEL ,mpr, DirectionCharacteristic.INBOUND, 1);
-            var samm = objectMapper.treeToValue(data, ItemStockSamm.class);
-            var stocks = sammMapper.itemStockSammToReportedProductItemStock(samm, partner);
-            for (var stock : stocks) {
-                var stockPartner = stock.getPartner();
-                var stockMaterial = stock.getMaterial();
-                if (!partner.equals(stockPartner) || !material.equals(stockMaterial)) {
-                    log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + stocks);
-                    return;
-                }
-            }
-            // delete older data:
-            var oldStocks = reportedProductItemStockService.findByPartnerAndMaterial(partner, material);
-            for (var oldStock : oldStocks) {
-                reportedProductItemStockService.delete(oldStock.getUuid());
+            return edcAdapterService.doConditionalSubmodelRequest(AssetType.ITEM_STOCK_SUBMODEL, mpr, DirectionCharacteristic.INBOUND, ItemStockSamm.class,
+                samm -> handleReportedProductItemStocks(partner, material, samm));
+        } catch (Exception e) {
+            log.error("Error in ReportedProductItemStockRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Requests the ReportedProductItemStocks of several products from the partner in one batch,
+     * sharing the partner's DTR session and the EDR of the submodel transfer.
+     *
+     * @param partner  the customer
+     * @param products the products
+     * @return for each product, whether the reported stocks are up-to-date now
+     */
+    public Map<Material, Boolean> doItemStockSubmodelReportedProductItemStockRequests(Partner partner, Collection<Material> products) {
+        return doBatchRequest(partner, products, DirectionCharacteristic.INBOUND,
+            (mpr, samm) -> handleReportedProductItemStocks(partner, mpr.getMaterial(), samm));
+    }
+
+    private Map<Material, Boolean> doBatchRequest(Partner partner, Collection<Material> materials, DirectionCharacteristic direction,
+                                                  EdcAdapterService.BatchSubmodelHandler<ItemStockSamm> handler) {
+        Map<Material, Boolean> results = new HashMap<>();
+        try {
+            List<MaterialPartnerRelation> mprs = findRelations(partner, materials);
+            if (direction == DirectionCharacteristic.INBOUND && mprs.stream().anyMatch(mpr -> mpr.getPartnerCXNumber() == null)) {
+                mprService.triggerPartTypeRetrievalTask(partner);
+                mprs = findRelations(partner, materials);
             }
-            for (var newStock : stocks) {
-                reportedProductItemStockService.create(newStock);
+            for (var material : materials) {
+                results.put(material, false);
             }
-            log.info("Updated ReportedProductItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            var mprResults = edcAdapterService.doConditionalSubmodelBatchRequest(AssetType.ITEM_STOCK_SUBMODEL, partner, mprs, direction,
+                ItemStockSamm.class, handler);
+            mprResults.forEach((mpr, success) -> results.put(mpr.getMaterial(), success));
         } catch (Exception e) {
-            log.error("Error in ReportedProductItemStockRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            log.error("Error in ItemStock batch request for partner " + partner.getBpnl(), e);
+            materials.forEach(material -> results.putIfAbsent(material, false));
+        }
+        return results;
+    }
+
+    private List<MaterialPartnerRelation> findRelations(Partner partner, Collection<Material> materials) {
+        List<MaterialPartnerRelation> mprs = new ArrayList<>();
+        for (var material : materials) {
+            var mpr = mprService.find(material, partner);
+            if (mpr == null) {
+                log.warn("No relation between " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            } else {
+                mprs.add(mpr);
+            }
+        }
+        return mprs;
+    }
+
+    private boolean handleReportedMaterialItemStocks(Partner partner, Material material, ItemStockSamm samm) {
+        var stocks = sammMapper.itemStockSammToReportedMaterialItemStock(samm, partner);
+        for (var stock : stocks) {
+            var stockPartner = stock.getPartner();
+            var stockMaterial = stock.getMaterial();
+            if (!partner.equals(stockPartner) || !material.equals(stockMaterial)) {
+                log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + stocks);
+                return false;
+            }
+        }
+        var changes = reportedMaterialItemStockService.replaceAll(partner, material, stocks);
+        log.info("Updated ReportedMaterialItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + changes);
+        eventPublisher.publishEvent(new ReportedDataChangedEvent(partner, material, AssetType.ITEM_STOCK_SUBMODEL,
+            DirectionCharacteristic.OUTBOUND, changes));
+        return true;
+    }
+
+    private boolean handleReportedProductItemStocks(Partner partner, Material material, ItemStockSamm samm) {
+        var stocks = sammMapper.itemStockSammToReportedProductItemStock(samm, partner);
+        for (var stock : stocks) {
+            var stockPartner = stock.getPartner();
+            var stockMaterial = stock.getMaterial();
+            if (!partner.equals(stockPartner) || !material.equals(stockMaterial)) {
+                log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + stocks);
+                return false;
+            }
         }
+        var changes = reportedProductItemStockService.replaceAll(partner, material, stocks);
+        log.info("Updated ReportedProductItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + changes);
+        eventPublisher.publishEvent(new ReportedDataChangedEvent(partner, material, AssetType.ITEM_STOCK_SUBMODEL,
+            DirectionCharacteristic.INBOUND, changes));
+        return true;
     }
 
 }
@@ -19,20 +19,35 @@
  */
 package org.eclipse.tractusx.puris.backend.stock.logic.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import org.eclipse.tractusx.puris.backend.common.util.DifferentialSync;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockQuantity;
 import org.eclipse.tractusx.puris.backend.stock.domain.repository.ItemStockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -46,6 +61,27 @@ public abstract class ItemStockService<T extends ItemStock> {
 
     protected final Function<T, Boolean> validator;
 
+    @Autowired
+    protected PartnerSiteIndex partnerSiteIndex;
+
+    @Autowired
+    protected DifferentialSync differentialSync;
+
+    @Autowired
+    protected StockPositionService stockPositionService;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Number of rows after which a {@link BulkReplacement} flushes, matching the JDBC batch size
+     */
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    protected int batchSize;
+
     public ItemStockService(PartnerService partnerService, MaterialPartnerRelationService mprService,
             ItemStockRepository<T> repository) {
         this.partnerService = partnerService;
@@ -61,14 +97,38 @@ public abstract class ItemStockService<T extends ItemStock> {
         if (!validator.apply(itemStock)) {
             return null;
         }
-        return repository.save(itemStock);
+        return inTransaction(() -> {
+            stockPositionService.lock(getStockType(), keyOf(itemStock));
+            T created = repository.save(itemStock);
+            refreshStockPositions(created.getMaterial().getOwnMaterialNumber(), created.getPartner().getBpnl());
+            afterWrite(created.getPartner(), created.getMaterial());
+            return created;
+        });
     }
 
     public final T update(T itemStock) {
-        if (itemStock.getUuid() == null || repository.findById(itemStock.getUuid()).isEmpty()) {
-            return null;
-        }
-        return repository.save(itemStock);
+        return inTransaction(() -> {
+            T existing = itemStock.getUuid() == null ? null : repository.findById(itemStock.getUuid()).orElse(null);
+            if (existing == null) {
+                return null;
+            }
+            stockPositionService.lock(getStockType(), keyOf(existing), keyOf(itemStock));
+            // the existing item stock is managed and takes over the new values on save
+            Partner oldPartner = existing.getPartner();
+            Material oldMaterial = existing.getMaterial();
+            String oldOwnMaterialNumber = oldMaterial.getOwnMaterialNumber();
+            String oldPartnerBpnl = oldPartner.getBpnl();
+            T updated = repository.save(itemStock);
+            String ownMaterialNumber = updated.getMaterial().getOwnMaterialNumber();
+            String partnerBpnl = updated.getPartner().getBpnl();
+            refreshStockPositions(ownMaterialNumber, partnerBpnl);
+            if (!oldOwnMaterialNumber.equals(ownMaterialNumber) || !oldPartnerBpnl.equals(partnerBpnl)) {
+                refreshStockPositions(oldOwnMaterialNumber, oldPartnerBpnl);
+            }
+            afterWrite(oldPartner, oldMaterial);
+            afterWrite(updated.getPartner(), updated.getMaterial());
+            return updated;
+        });
     }
 
     public final T findById(UUID uuid) {
@@ -76,7 +136,260 @@ public abstract class ItemStockService<T extends ItemStock> {
     }
 
     public final void delete(UUID uuid) {
-        repository.deleteById(uuid);
+        inTransaction(() -> {
+            T existing = repository.findById(uuid).orElse(null);
+            if (existing != null) {
+                stockPositionService.lock(getStockType(), keyOf(existing));
+            }
+            repository.deleteById(uuid);
+            if (existing != null) {
+                refreshStockPositions(existing.getMaterial().getOwnMaterialNumber(), existing.getPartner().getBpnl());
+                afterWrite(existing.getPartner(), existing.getMaterial());
+            }
+            return existing;
+        });
+    }
+
+    /**
+     * Replaces the item stocks of the given partner and material, e.g. with the ones a partner has just reported.
+     * <p>
+     * An item stock is identified by its location, blocked flag and order references. Besides the quantity,
+     * a changed time of the last update counts as a change as well. The stock positions of the partner and
+     * material are locked for the whole replacement and recalculated if anything has changed.
+     *
+     * @param partner    the partner
+     * @param material   the material
+     * @param itemStocks all item stocks of the partner and material
+     * @return the number of changes
+     */
+    public final DifferentialSync.Changes replaceAll(Partner partner, Material material, List<T> itemStocks) {
+        return inTransaction(() -> {
+            stockPositionService.lock(getStockType(), new StockPositionService.Key(material.getOwnMaterialNumber(), partner.getBpnl()));
+            DifferentialSync.Changes changes = differentialSync.apply(rowsOf(partner, material), itemStocks);
+            if (changes.hasChanges()) {
+                refreshStockPositions(material.getOwnMaterialNumber(), partner.getBpnl());
+            }
+            return changes;
+        });
+    }
+
+    private DifferentialSync.Rows<T> rowsOf(Partner partner, Material material) {
+        return new DifferentialSync.Rows<>() {
+            @Override
+            public List<T> load() {
+                return repository.getForPartnerAndMaterial(partner, material);
+            }
+
+            @Override
+            public Object naturalKey(T itemStock) {
+                return Arrays.asList(itemStock.getLocationBpns(), itemStock.getLocationBpna(), itemStock.isBlocked(),
+                    itemStock.getCustomerOrderId(), itemStock.getCustomerOrderPositionId(), itemStock.getSupplierOrderId());
+            }
+
+            @Override
+            public boolean copyValues(T source, T target) {
+                if (source.getQuantity() == target.getQuantity() && source.getMeasurementUnit() == target.getMeasurementUnit()
+                    && Objects.equals(DifferentialSync.epochMillis(source.getLastUpdatedOnDateTime()),
+                    DifferentialSync.epochMillis(target.getLastUpdatedOnDateTime()))) {
+                    return false;
+                }
+                target.setQuantity(source.getQuantity());
+                target.setMeasurementUnit(source.getMeasurementUnit());
+                target.setLastUpdatedOnDateTime(source.getLastUpdatedOnDateTime());
+                return true;
+            }
+
+            @Override
+            public boolean isValid(T itemStock) {
+                return validate(itemStock);
+            }
+
+            @Override
+            public void save(T itemStock) {
+                T saved = repository.save(itemStock);
+                afterWrite(saved.getPartner(), saved.getMaterial());
+            }
+
+            @Override
+            public void delete(T itemStock) {
+                repository.delete(itemStock);
+                afterWrite(itemStock.getPartner(), itemStock.getMaterial());
+            }
+        };
+    }
+
+    /**
+     * Starts replacing the item stocks of the given partner and material. The existing item stocks
+     * are deleted with a single statement and the new ones are inserted in JDBC batches as they are
+     * passed to {@link BulkReplacement#add}, so they never have to be held in memory at once.
+     * <p>
+     * The caller must have checked the material partner relation, because only the remaining
+     * properties of the item stocks are validated (see {@link #validateWithCheckedRelation}).
+     * Must be used within a transaction, which holds the lock of the stock positions of the partner
+     * and material until it ends.
+     *
+     * @param partner  the partner
+     * @param material the material
+     * @return the replacement to pass the new item stocks to
+     */
+    public final BulkReplacement bulkReplace(Partner partner, Material material) {
+        stockPositionService.lock(getStockType(), new StockPositionService.Key(material.getOwnMaterialNumber(), partner.getBpnl()));
+        return new BulkReplacement(partner, material, repository.deleteForPartnerAndMaterial(partner, material));
+    }
+
+    /**
+     * Collects the item stocks of a {@link #bulkReplace} and writes them in batches.
+     */
+    public final class BulkReplacement {
+
+        private final Partner partner;
+
+        private final Material material;
+
+        @Getter
+        private final int deleted;
+
+        @Getter
+        private int inserted;
+
+        @Getter
+        private int rejected;
+
+        private BulkReplacement(Partner partner, Material material, int deleted) {
+            this.partner = partner;
+            this.material = material;
+            this.deleted = deleted;
+        }
+
+        /**
+         * @param itemStock the item stock of the partner and material to insert
+         * @return false, if the item stock was rejected by the validation
+         */
+        public boolean add(T itemStock) {
+            if (!validateWithCheckedRelation(itemStock)) {
+                rejected++;
+                return false;
+            }
+            entityManager.persist(itemStock);
+            if (++inserted % batchSize == 0) {
+                // send the batch and keep the persistence context small
+                entityManager.flush();
+                entityManager.clear();
+            }
+            return true;
+        }
+
+        /**
+         * Writes the remaining item stocks.
+         */
+        public void finish() {
+            entityManager.flush();
+            entityManager.clear();
+            refreshStockPositions(material.getOwnMaterialNumber(), partner.getBpnl());
+            afterWrite(partner, material);
+        }
+    }
+
+    /**
+     * @return the type of the {@link StockPosition}s that sum up the item stocks of this service
+     */
+    public abstract StockType getStockType();
+
+    /**
+     * Sums up all item stocks of this service again and replaces all of its {@link StockPosition}s,
+     * e.g. after item stocks have been written without this service.
+     */
+    public final void rebuildStockPositions() {
+        inTransaction(() -> {
+            List<StockPosition> positions = repository.aggregatePositions(null, null);
+            stockPositionService.lock(getStockType(), positions.stream()
+                .map(position -> new StockPositionService.Key(position.getOwnMaterialNumber(), position.getPartnerBpnl()))
+                .toArray(StockPositionService.Key[]::new));
+            // sum up again, now that no item stocks of these materials and partners can be written
+            stockPositionService.replaceAll(getStockType(), repository.aggregatePositions(null, null));
+            return null;
+        });
+    }
+
+    /**
+     * Rebuilds the {@link StockPosition}s of this service, if there are none although there are item stocks,
+     * e.g. after an upgrade from a version that did not maintain them yet.
+     *
+     * @return true, if the positions have been rebuilt
+     */
+    public final boolean backfillStockPositions() {
+        if (stockPositionService.exists(getStockType()) || repository.count() == 0) {
+            return false;
+        }
+        rebuildStockPositions();
+        return true;
+    }
+
+    private static StockPositionService.Key keyOf(ItemStock itemStock) {
+        return new StockPositionService.Key(
+            itemStock.getMaterial() == null ? null : itemStock.getMaterial().getOwnMaterialNumber(),
+            itemStock.getPartner() == null ? null : itemStock.getPartner().getBpnl());
+    }
+
+    /**
+     * Replaces the {@link StockPosition}s of the given material and partner by the sums of the current
+     * item stocks. Must be called within the transaction that wrote the item stocks, after taking the
+     * {@link StockPositionService#lock} of the material and partner.
+     */
+    private void refreshStockPositions(String ownMaterialNumber, String partnerBpnl) {
+        stockPositionService.replace(getStockType(), ownMaterialNumber, partnerBpnl,
+            repository.aggregatePositions(ownMaterialNumber, partnerBpnl));
+    }
+
+    private <R> R inTransaction(Supplier<R> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    /**
+     * Validates an item stock whose material partner relation has already been checked for
+     * the whole set of item stocks it belongs to.
+     *
+     * @param itemStock the item stock
+     * @return true, if the item stock is valid
+     */
+    protected boolean validateWithCheckedRelation(T itemStock) {
+        return validate(itemStock);
+    }
+
+    /**
+     * Called after item stocks of the given partner and material have been created, updated, deleted or
+     * replaced by a {@link #bulkReplace}.
+     * An update that moves an item stock to another partner or material calls it for the old
+     * and the new partner and material.
+     *
+     * @param partner  the partner
+     * @param material the material
+     */
+    protected void afterWrite(Partner partner, Material material) {
+    }
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param cursor            the position of the last row of the previous page, null for the first page
+     * @param pageSize          the page size
+     * @return up to pageSize + 1 rows, ordered by (lastUpdatedOnDateTime, uuid)
+     */
+    public final List<T> findKeysetPage(String ownMaterialNumber, String partnerBpnl, KeysetCursor cursor, int pageSize) {
+        return repository.findKeysetPage(ownMaterialNumber, partnerBpnl,
+            cursor == null ? null : cursor.position(), cursor == null ? null : cursor.uuid(),
+            KeysetCursor.lookAhead(pageSize));
+    }
+
+    /**
+     * Must be called within a transaction. The returned stream must be closed.
+     *
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @return all matching rows, ordered by (lastUpdatedOnDateTime, uuid)
+     */
+    public final Stream<T> streamAllByFilters(String ownMaterialNumber, String partnerBpnl) {
+        return repository.streamAll(ownMaterialNumber, partnerBpnl);
     }
 
     public final List<T> findAll() {
@@ -108,26 +421,36 @@ public abstract class ItemStockService<T extends ItemStock> {
     }
 
     public final List<T> findAllByMaterialAndPartner(String ownMaterialNumber, String partnerBpnl) {
-        Stream<T> stream = repository.findAll().stream();
-
-        stream = stream.filter(stock -> stock.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber));
-        stream = stream.filter(stock -> stock.getPartner().getBpnl().equals(partnerBpnl));
-        return stream.toList();
+        return repository.getForPartnerBpnlAndOwnMatNbr(partnerBpnl, ownMaterialNumber);
     }
 
     public final double getSumOfQuantities(List<T> stocks) {
         double sum = 0;
         for (T stock : stocks) {
-            sum = stock.getQuantity();
+            sum += stock.getQuantity();
         }
         return sum;
     }
 
-    public final double getInitialStockQuantity(String material, String partnerBpnl) {
-        List<T> stocks = findAllByMaterialAndPartner(material, partnerBpnl);
-        double initialStockQuantity = getSumOfQuantities(stocks);
+    /**
+     * Reads the summed up stock quantity from the {@link StockPosition}s, without loading the item stocks.
+     *
+     * @param material    the ownMaterialNumber
+     * @param partnerBpnl the bpnl of the partner
+     * @param siteBpns    optional bpns of the site, may be null to sum up the stocks at all sites
+     * @return the summed up quantity
+     */
+    public final double getInitialStockQuantity(String material, String partnerBpnl, String siteBpns) {
+        return stockPositionService.getTotalQuantity(getStockType(), material, partnerBpnl, siteBpns);
+    }
 
-        return initialStockQuantity;
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @return the summed up quantities of the item stocks per material, partner and site
+     */
+    public final List<StockQuantity> sumQuantitiesBySite(String ownMaterialNumber, String partnerBpnl) {
+        return stockPositionService.sumQuantitiesBySite(getStockType(), ownMaterialNumber, partnerBpnl);
     }
 
     public abstract boolean validate(T itemStock);
@@ -148,11 +471,13 @@ public abstract class ItemStockService<T extends ItemStock> {
     }
 
     protected boolean validateLocalStock(ItemStock itemStock) {
-        return validateLocation(itemStock, partnerService.getOwnPartnerEntity());
+        return validateLocation(itemStock,
+            partnerSiteIndex.isOwnAddress(itemStock.getLocationBpns(), itemStock.getLocationBpna()));
     }
 
     protected boolean validateRemoteStock(ItemStock itemStock) {
-        return validateLocation(itemStock, itemStock.getPartner());
+        return validateLocation(itemStock,
+            partnerSiteIndex.hasAddress(itemStock.getPartner(), itemStock.getLocationBpns(), itemStock.getLocationBpna()));
     }
 
     protected final boolean validateMaterialItemStock(ItemStock itemStock) {
@@ -193,21 +518,11 @@ public abstract class ItemStockService<T extends ItemStock> {
         return true;
     }
 
-    protected boolean validateLocation(ItemStock itemStock, Partner partner) {
-        try {
-            var stockSite = partner.getSites().stream()
-                    .filter(site -> site.getBpns().equals(itemStock.getLocationBpns()))
-                    .findFirst().orElse(null);
-            Objects.requireNonNull(stockSite, "Site not found");
-            var stockAddress = stockSite.getAddresses().stream()
-                    .filter(addr -> addr.getBpna().equals(itemStock.getLocationBpna()))
-                    .findFirst().orElse(null);
-            Objects.requireNonNull(stockAddress, "Address not found");
-        } catch (Exception e) {
-            log.error("Location Validation failed: " + itemStock + "\n" + e.getMessage());
-            return false;
+    private boolean validateLocation(ItemStock itemStock, boolean addressOfPartner) {
+        if (!addressOfPartner) {
+            log.error("Location Validation failed: " + itemStock + "\nSite or Address not found");
         }
-        return true;
+        return addressOfPartner;
     }
 
 }
@@ -21,10 +21,17 @@
 package org.eclipse.tractusx.puris.backend.stock.logic.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
 import org.eclipse.tractusx.puris.backend.stock.domain.repository.MaterialItemStockRepository;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -33,15 +40,33 @@ public class MaterialItemStockService extends ItemStockService<MaterialItemStock
 
     private final MaterialItemStockRepository repository;
 
+    @Autowired
+    private SubmodelResponseCache submodelResponseCache;
+
     public MaterialItemStockService(PartnerService partnerService, MaterialPartnerRelationService mprService,
                                     MaterialItemStockRepository repository) {
         super(partnerService, mprService, repository);
         this.repository = repository;
     }
 
+    @Override
+    public StockType getStockType() {
+        return StockType.MATERIAL;
+    }
+
     @Override
     public boolean validate(MaterialItemStock materialItemStock) {
         return basicValidation(materialItemStock) && validateLocalStock(materialItemStock)
             && validateMaterialItemStock(materialItemStock);
     }
+
+    @Override
+    protected boolean validateWithCheckedRelation(MaterialItemStock materialItemStock) {
+        return basicValidation(materialItemStock) && validateLocalStock(materialItemStock);
+    }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelResponseCache.evict(partner, material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.INBOUND);
+    }
 }
@@ -22,10 +22,17 @@ package org.eclipse.tractusx.puris.backend.stock.logic.service;
 
 
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
 import org.eclipse.tractusx.puris.backend.stock.domain.repository.ProductItemStockRepository;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -34,15 +41,33 @@ public class ProductItemStockService extends ItemStockService<ProductItemStock>
 
     private final ProductItemStockRepository repository;
 
+    @Autowired
+    private SubmodelResponseCache submodelResponseCache;
+
     public ProductItemStockService(PartnerService partnerService, MaterialPartnerRelationService mprService,
                                    ProductItemStockRepository repository) {
         super(partnerService, mprService, repository);
         this.repository = repository;
     }
 
+    @Override
+    public StockType getStockType() {
+        return StockType.PRODUCT;
+    }
+
     @Override
     public boolean validate(ProductItemStock productItemStock) {
         return basicValidation(productItemStock) && validateLocalStock(productItemStock)
             && validateProductItemStock(productItemStock);
     }
+
+    @Override
+    protected boolean validateWithCheckedRelation(ProductItemStock productItemStock) {
+        return basicValidation(productItemStock) && validateLocalStock(productItemStock);
+    }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelResponseCache.evict(partner, material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND);
+    }
 }
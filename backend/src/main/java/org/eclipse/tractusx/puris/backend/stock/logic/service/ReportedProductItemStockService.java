@@ -21,10 +21,16 @@
 package org.eclipse.tractusx.puris.backend.stock.logic.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelEtagCache;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
 import org.eclipse.tractusx.puris.backend.stock.domain.repository.ReportedProductItemStockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -33,14 +39,27 @@ public class ReportedProductItemStockService extends ItemStockService<ReportedPr
 
     private final ReportedProductItemStockRepository repository;
 
+    @Autowired
+    private SubmodelEtagCache submodelEtagCache;
+
     public ReportedProductItemStockService(PartnerService partnerService, MaterialPartnerRelationService mprService,
                                            ReportedProductItemStockRepository repository) {
         super(partnerService, mprService, repository);
         this.repository = repository;
     }
 
+    @Override
+    public StockType getStockType() {
+        return StockType.REPORTED_PRODUCT;
+    }
+
     @Override
     public boolean validate(ReportedProductItemStock itemStock) {
         return basicValidation(itemStock) && validateProductItemStock(itemStock) && validateRemoteStock(itemStock);
     }
+
+    @Override
+    protected void afterWrite(Partner partner, Material material) {
+        submodelEtagCache.evict(partner, material, AssetType.ITEM_STOCK_SUBMODEL);
+    }
 }
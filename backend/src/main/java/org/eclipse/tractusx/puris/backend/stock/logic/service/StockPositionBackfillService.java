@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.lease.logic.JobLeaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Fills the {@link org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition}s on startup, if
+ * the item stocks of a stock type have no positions yet, e.g. after an upgrade of an existing database.
+ * <p>
+ * Only one backend instance backfills at a time. The others skip the backfill, their reads of the stock
+ * positions return 0 until it is finished.
+ */
+@Service
+@Slf4j
+public class StockPositionBackfillService {
+
+    /**
+     * Name of the lease that decides which backend instance backfills the stock positions
+     */
+    private static final String BACKFILL_LEASE = "stock-position-backfill";
+
+    @Autowired
+    private List<ItemStockService<?>> itemStockServices;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        String holder = jobLeaseService.newHolder();
+        if (!jobLeaseService.tryAcquire(BACKFILL_LEASE, holder, Duration.ofMinutes(30))) {
+            log.info("Stock positions are backfilled by another instance");
+            return;
+        }
+        try {
+            for (ItemStockService<?> itemStockService : itemStockServices) {
+                if (itemStockService.backfillStockPositions()) {
+                    log.info("Backfilled stock positions of type {}", itemStockService.getStockType());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Backfilling the stock positions failed", e);
+        } finally {
+            jobLeaseService.release(BACKFILL_LEASE, holder);
+        }
+    }
+}
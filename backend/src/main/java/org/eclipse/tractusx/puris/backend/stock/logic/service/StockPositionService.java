@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPositionLock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockQuantity;
+import org.eclipse.tractusx.puris.backend.stock.domain.repository.StockPositionLockRepository;
+import org.eclipse.tractusx.puris.backend.stock.domain.repository.StockPositionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads and maintains the {@link StockPosition}s. The positions of one stock type, material and partner
+ * are replaced by the {@link ItemStockService} of that stock type whenever its item stocks are written.
+ * <p>
+ * Concurrent writers of the item stocks of one material and partner are serialized by {@link #lock},
+ * so each of them sums up the item stocks committed by the previous one and no two of them insert the
+ * same positions.
+ */
+@Service
+@Slf4j
+public class StockPositionService {
+
+    @Autowired
+    private StockPositionRepository repository;
+
+    @Autowired
+    private StockPositionLockRepository lockRepository;
+
+    private final TransactionTemplate lockCreation;
+
+    public StockPositionService(PlatformTransactionManager transactionManager) {
+        this.lockCreation = new TransactionTemplate(transactionManager);
+        this.lockCreation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * A material and partner whose item stocks are written
+     *
+     * @param ownMaterialNumber the material
+     * @param partnerBpnl       the partner
+     */
+    public record Key(String ownMaterialNumber, String partnerBpnl) {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::ownMaterialNumber)
+            .thenComparing(Key::partnerBpnl);
+    }
+
+    /**
+     * Locks the positions of the given stock type, materials and partners until the end of the current
+     * transaction. Must be called within that transaction before the item stocks are written.
+     * <p>
+     * Missing guard rows are created before any of them is locked, because the creation must not wait
+     * for the current transaction. Several keys are locked in a fixed order, so two writers cannot deadlock.
+     *
+     * @param stockType the stock type
+     * @param keys      the materials and partners
+     */
+    public void lock(StockType stockType, Key... keys) {
+        List<Key> orderedKeys = Arrays.stream(keys)
+            .filter(key -> key.ownMaterialNumber() != null && key.partnerBpnl() != null)
+            .distinct()
+            .sorted(Key.ORDER)
+            .toList();
+        for (Key key : orderedKeys) {
+            if (!lockRepository.existsByStockTypeAndOwnMaterialNumberAndPartnerBpnl(stockType, key.ownMaterialNumber(),
+                key.partnerBpnl())) {
+                createLock(stockType, key);
+            }
+        }
+        for (Key key : orderedKeys) {
+            lockRepository.increment(stockType, key.ownMaterialNumber(), key.partnerBpnl());
+        }
+    }
+
+    /**
+     * Creates the guard row in a transaction of its own, so it is visible to concurrent writers
+     * right away. If a concurrent writer created it first, its row is used.
+     */
+    private void createLock(StockType stockType, Key key) {
+        try {
+            lockCreation.executeWithoutResult(status ->
+                lockRepository.saveAndFlush(new StockPositionLock(stockType, key.ownMaterialNumber(), key.partnerBpnl())));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Stock position lock {} {} has been created concurrently", stockType, key);
+        }
+    }
+
+    /**
+     * @param stockType the stock type
+     * @return true, if there is at least one position of the stock type
+     */
+    public boolean exists(StockType stockType) {
+        return repository.existsByStockType(stockType);
+    }
+
+    /**
+     * Replaces the positions of one stock type, material and partner. Must be called within
+     * the transaction that wrote the item stocks the positions have been summed up from and
+     * that holds the {@link #lock} of the material and partner.
+     *
+     * @param stockType         the stock type
+     * @param ownMaterialNumber the material
+     * @param partnerBpnl       the partner
+     * @param positions         the new positions of the material and partner
+     */
+    public void replace(StockType stockType, String ownMaterialNumber, String partnerBpnl, List<StockPosition> positions) {
+        repository.deleteForMaterialAndPartner(stockType, ownMaterialNumber, partnerBpnl);
+        save(stockType, positions);
+    }
+
+    /**
+     * Replaces all positions of one stock type. Must be called within a transaction.
+     *
+     * @param stockType the stock type
+     * @param positions the new positions
+     */
+    public void replaceAll(StockType stockType, List<StockPosition> positions) {
+        int deleted = repository.deleteForStockType(stockType);
+        save(stockType, positions);
+        log.info("Rebuilt {} stock positions of type {} ({} replaced)", positions.size(), stockType, deleted);
+    }
+
+    /**
+     * @param stockType         optional filter for the stock type, may be null
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param locationBpns      optional filter for the site, may be null
+     * @return the matching positions
+     */
+    public List<StockPosition> findAllByFilters(StockType stockType, String ownMaterialNumber, String partnerBpnl,
+                                                String locationBpns) {
+        return repository.findAllByFilters(stockType, ownMaterialNumber, partnerBpnl, locationBpns);
+    }
+
+    /**
+     * @param stockType         the stock type
+     * @param ownMaterialNumber the material
+     * @param partnerBpnl       the partner
+     * @param locationBpns      optional bpns of the site, may be null to sum up all sites
+     * @return the total quantity, 0 if there are no item stocks
+     */
+    public double getTotalQuantity(StockType stockType, String ownMaterialNumber, String partnerBpnl, String locationBpns) {
+        return repository.sumQuantity(stockType, ownMaterialNumber, partnerBpnl, locationBpns);
+    }
+
+    /**
+     * @param stockType         the stock type
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @return the total quantities per material, partner and site
+     */
+    public List<StockQuantity> sumQuantitiesBySite(StockType stockType, String ownMaterialNumber, String partnerBpnl) {
+        return repository.sumQuantitiesBySite(stockType, ownMaterialNumber, partnerBpnl);
+    }
+
+    private void save(StockType stockType, List<StockPosition> positions) {
+        for (StockPosition position : positions) {
+            position.setStockType(stockType);
+        }
+        repository.saveAll(positions);
+    }
+}
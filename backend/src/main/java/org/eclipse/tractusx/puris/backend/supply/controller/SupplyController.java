@@ -21,19 +21,31 @@
 package org.eclipse.tractusx.puris.backend.supply.controller;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.eclipse.tractusx.puris.backend.common.util.NdjsonStreamWriter;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.Supply;
 import org.eclipse.tractusx.puris.backend.supply.logic.dto.SupplyDto;
+import org.eclipse.tractusx.puris.backend.supply.logic.dto.SupplyPortfolioDto;
 import org.eclipse.tractusx.puris.backend.supply.logic.service.CustomerSupplyService;
 import org.eclipse.tractusx.puris.backend.supply.logic.service.SupplierSupplyService;
-import org.modelmapper.ModelMapper;
+import org.eclipse.tractusx.puris.backend.supply.logic.service.SupplyPortfolioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("days-of-supply")
@@ -42,9 +54,15 @@ public class SupplyController {
     private CustomerSupplyService customerSupplyService;
     @Autowired
     private SupplierSupplyService supplierSupplyService;
-
     @Autowired
-    private ModelMapper modelMapper;
+    private SupplyPortfolioService supplyPortfolioService;
+    @Autowired
+    private NdjsonStreamWriter ndjsonStreamWriter;
+
+    /**
+     * Maximum number of days that a portfolio calculation may cover
+     */
+    private static final int MAX_PORTFOLIO_DAYS = 366;
 
     @GetMapping("customer")
     @ResponseBody
@@ -79,9 +97,93 @@ public class SupplyController {
             .stream().map(this::convertToDto).toList();
     }
     
+    @GetMapping("customer/portfolio")
+    @Operation(summary = "Calculate days of supply for customer for all materials, partners and sites.",
+        description = "Calculate days of supply for customer for given number of days for all combinations of material, partner and site, " +
+            "lowest coverage first. Optionally filtered by material number, partner bpnl and site bpns. Pass maxDaysOfSupply in order " +
+            "to only get the combinations whose days of supply drop to the given value within the number of days.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public List<SupplyPortfolioDto> calculateCustomerPortfolio(@RequestParam int numberOfDays,
+                                                               @RequestParam Optional<String> materialNumber,
+                                                               @RequestParam Optional<String> bpnl,
+                                                               @RequestParam Optional<String> siteBpns,
+                                                               @RequestParam Optional<Double> maxDaysOfSupply,
+                                                               @RequestParam(required = false) Integer limit) {
+        validatePortfolioParameters(numberOfDays, limit);
+        return supplyPortfolioService.calculateCustomerPortfolio(numberOfDays, materialNumber.orElse(null), bpnl.orElse(null),
+            siteBpns.orElse(null), maxDaysOfSupply.orElse(null), limit);
+    }
+
+    @GetMapping(value = "customer/portfolio/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream days of supply for customer for all materials, partners and sites.",
+        description = "Same as customer/portfolio, but streams the combinations as newline delimited json.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamCustomerPortfolio(@RequestParam int numberOfDays,
+                                                                         @RequestParam Optional<String> materialNumber,
+                                                                         @RequestParam Optional<String> bpnl,
+                                                                         @RequestParam Optional<String> siteBpns,
+                                                                         @RequestParam Optional<Double> maxDaysOfSupply,
+                                                                         @RequestParam(required = false) Integer limit) {
+        return ndjsonStreamWriter.stream(
+            calculateCustomerPortfolio(numberOfDays, materialNumber, bpnl, siteBpns, maxDaysOfSupply, limit));
+    }
+
+    @GetMapping("supplier/portfolio")
+    @Operation(summary = "Calculate days of supply for supplier for all products, partners and sites.",
+        description = "Calculate days of supply for supplier for given number of days for all combinations of product, partner and site, " +
+            "lowest coverage first. Optionally filtered by material number, partner bpnl and site bpns. Pass maxDaysOfSupply in order " +
+            "to only get the combinations whose days of supply drop to the given value within the number of days.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public List<SupplyPortfolioDto> calculateSupplierPortfolio(@RequestParam int numberOfDays,
+                                                               @RequestParam Optional<String> materialNumber,
+                                                               @RequestParam Optional<String> bpnl,
+                                                               @RequestParam Optional<String> siteBpns,
+                                                               @RequestParam Optional<Double> maxDaysOfSupply,
+                                                               @RequestParam(required = false) Integer limit) {
+        validatePortfolioParameters(numberOfDays, limit);
+        return supplyPortfolioService.calculateSupplierPortfolio(numberOfDays, materialNumber.orElse(null), bpnl.orElse(null),
+            siteBpns.orElse(null), maxDaysOfSupply.orElse(null), limit);
+    }
+
+    @GetMapping(value = "supplier/portfolio/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream days of supply for supplier for all products, partners and sites.",
+        description = "Same as supplier/portfolio, but streams the combinations as newline delimited json.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamSupplierPortfolio(@RequestParam int numberOfDays,
+                                                                         @RequestParam Optional<String> materialNumber,
+                                                                         @RequestParam Optional<String> bpnl,
+                                                                         @RequestParam Optional<String> siteBpns,
+                                                                         @RequestParam Optional<Double> maxDaysOfSupply,
+                                                                         @RequestParam(required = false) Integer limit) {
+        return ndjsonStreamWriter.stream(
+            calculateSupplierPortfolio(numberOfDays, materialNumber, bpnl, siteBpns, maxDaysOfSupply, limit));
+    }
+
+    private void validatePortfolioParameters(int numberOfDays, Integer limit) {
+        if (numberOfDays < 1 || numberOfDays > MAX_PORTFOLIO_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "numberOfDays must be between 1 and " + MAX_PORTFOLIO_DAYS);
+        }
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+    }
+
     private SupplyDto convertToDto(Supply entity) {
-        SupplyDto dto = modelMapper.map(entity, SupplyDto.class);
-        
+        SupplyDto dto = new SupplyDto();
+        dto.setDate(entity.getDate());
+        dto.setDaysOfSupply(entity.getDaysOfSupply());
         return dto;
     }
 }
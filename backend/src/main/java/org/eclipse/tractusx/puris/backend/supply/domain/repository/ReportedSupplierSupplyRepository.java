@@ -25,8 +25,21 @@ import java.util.UUID;
 
 import org.eclipse.tractusx.puris.backend.supply.domain.model.ReportedSupplierSupply;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ReportedSupplierSupplyRepository extends JpaRepository<ReportedSupplierSupply, UUID> {
     List<ReportedSupplierSupply> findByPartner_BpnlAndMaterial_OwnMaterialNumber(String partnerBpnl, String ownMaterialNumber);
+
+    /**
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @return all matching rows
+     */
+    @Query("SELECT s FROM ReportedSupplierSupply s JOIN FETCH s.material m JOIN FETCH s.partner p" +
+        " WHERE (:ownMaterialNumber IS NULL OR m.ownMaterialNumber = :ownMaterialNumber)" +
+        " AND (:partnerBpnl IS NULL OR p.bpnl = :partnerBpnl)")
+    List<ReportedSupplierSupply> findAllByFilters(@Param("ownMaterialNumber") String ownMaterialNumber,
+                                                  @Param("partnerBpnl") String partnerBpnl);
 }
 
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.supply.logic.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Days of supply of one material with one partner at one site.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class SupplyPortfolioDto implements Serializable {
+    private String ownMaterialNumber;
+    private String partnerBpnl;
+    private String siteBpns;
+    /**
+     * The lowest days of supply within the calculated days
+     */
+    private double lowestDaysOfSupply;
+    private List<SupplyDto> daysOfSupply;
+}
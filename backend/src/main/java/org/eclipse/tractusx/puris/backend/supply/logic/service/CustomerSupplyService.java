@@ -24,12 +24,12 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
 import org.eclipse.tractusx.puris.backend.delivery.logic.service.OwnDeliveryService;
 import org.eclipse.tractusx.puris.backend.delivery.logic.service.ReportedDeliveryService;
 import org.eclipse.tractusx.puris.backend.demand.logic.services.OwnDemandService;
-import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.OwnCustomerSupply;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.ReportedCustomerSupply;
@@ -42,7 +42,7 @@ public class CustomerSupplyService extends SupplyService<OwnCustomerSupply> {
     @Autowired
     private ReportedCustomerSupplyRepository repository;
     @Autowired
-    private PartnerService partnerService;
+    private PartnerSiteIndex partnerSiteIndex;
     @Autowired
     private OwnDeliveryService ownDeliveryService;
     @Autowired
@@ -62,16 +62,16 @@ public class CustomerSupplyService extends SupplyService<OwnCustomerSupply> {
     }
 
     @Override
-    protected List<Double> getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> ownDeliveries = ownDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.INBOUND, numberOfDays);
-        List<Double> reportedDeliveries = reportedDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.INBOUND, numberOfDays);
-        List<Double> deliveries = mergeDeliveries(ownDeliveries, reportedDeliveries);
+    protected DailySeries getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
+        DailySeries ownDeliveries = ownDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.INBOUND, numberOfDays);
+        DailySeries reportedDeliveries = reportedDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.INBOUND, numberOfDays);
+        DailySeries deliveries = ownDeliveries.plus(reportedDeliveries);
         return deliveries;
     }
 
     @Override
-    protected List<Double> getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> demands = demandService.getQuantityForDays(material, partnerBpnl, siteBpns, numberOfDays);
+    protected DailySeries getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
+        DailySeries demands = demandService.getQuantityForDays(material, partnerBpnl, siteBpns, numberOfDays);
         return demands;
     }
 
@@ -98,14 +98,7 @@ public class CustomerSupplyService extends SupplyService<OwnCustomerSupply> {
     }
 
     public final List<ReportedCustomerSupply> findAllByFilters(Optional<String> ownMaterialNumber, Optional<String> bpnl) {
-        Stream<ReportedCustomerSupply> stream = repository.findAll().stream();
-        if (ownMaterialNumber.isPresent()) {
-            stream = stream.filter(dayOfSupply -> dayOfSupply.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber.get()));
-        }
-        if (bpnl.isPresent()) {
-            stream = stream.filter(dayOfSupply -> dayOfSupply.getPartner().getBpnl().equals(bpnl.get()));
-        }
-        return stream.toList();
+        return repository.findAllByFilters(ownMaterialNumber.orElse(null), bpnl.orElse(null));
     }
 
     public final List<ReportedCustomerSupply> findByPartnerBpnlAndOwnMaterialNumber(String partnerBpnl, String ownMaterialNumber) {
@@ -118,8 +111,8 @@ public class CustomerSupplyService extends SupplyService<OwnCustomerSupply> {
             daysOfSupply.getMaterial() != null &&
             daysOfSupply.getDate() != null &&
             daysOfSupply.getStockLocationBPNS() != null &&
-            daysOfSupply.getPartner() != partnerService.getOwnPartnerEntity() &&
-            daysOfSupply.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(daysOfSupply.getStockLocationBPNS())) &&
+            !partnerSiteIndex.isOwnPartner(daysOfSupply.getPartner()) &&
+            partnerSiteIndex.hasSite(daysOfSupply.getPartner(), daysOfSupply.getStockLocationBPNS()) &&
             (daysOfSupply.getStockLocationBPNA().equals(null) || daysOfSupply.getStockLocationBPNA().equals(daysOfSupply.getStockLocationBPNS()));
     }
 }
@@ -24,11 +24,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
 import org.eclipse.tractusx.puris.backend.delivery.logic.service.OwnDeliveryService;
 import org.eclipse.tractusx.puris.backend.delivery.logic.service.ReportedDeliveryService;
-import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
 import org.eclipse.tractusx.puris.backend.production.logic.service.OwnProductionService;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.OwnSupplierSupply;
@@ -42,7 +42,7 @@ public class SupplierSupplyService extends SupplyService<OwnSupplierSupply> {
     @Autowired
     private ReportedSupplierSupplyRepository repository; 
     @Autowired
-    private PartnerService partnerService;
+    private PartnerSiteIndex partnerSiteIndex;
     @Autowired
     private OwnDeliveryService ownDeliveryService;
     @Autowired
@@ -62,16 +62,16 @@ public class SupplierSupplyService extends SupplyService<OwnSupplierSupply> {
     }
 
     @Override
-    protected List<Double> getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> productions = productionService.getQuantityForDays(material, partnerBpnl, siteBpns, numberOfDays);
+    protected DailySeries getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
+        DailySeries productions = productionService.getQuantityForDays(material, partnerBpnl, siteBpns, numberOfDays);
         return productions;
     }
 
     @Override
-    protected List<Double> getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> ownDeliveries = ownDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.OUTBOUND, numberOfDays);
-        List<Double> reportedDeliveries = reportedDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.OUTBOUND, numberOfDays);
-        List<Double> deliveries = mergeDeliveries(ownDeliveries, reportedDeliveries);
+    protected DailySeries getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
+        DailySeries ownDeliveries = ownDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.OUTBOUND, numberOfDays);
+        DailySeries reportedDeliveries = reportedDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.OUTBOUND, numberOfDays);
+        DailySeries deliveries = ownDeliveries.plus(reportedDeliveries);
         return deliveries;
     }
 
@@ -98,14 +98,7 @@ public class SupplierSupplyService extends SupplyService<OwnSupplierSupply> {
     }
 
     public final List<ReportedSupplierSupply> findAllByFilters(Optional<String> ownMaterialNumber, Optional<String> bpnl) {
-        Stream<ReportedSupplierSupply> stream = repository.findAll().stream();
-        if (ownMaterialNumber.isPresent()) {
-            stream = stream.filter(dayOfSupply -> dayOfSupply.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber.get()));
-        }
-        if (bpnl.isPresent()) {
-            stream = stream.filter(dayOfSupply -> dayOfSupply.getPartner().getBpnl().equals(bpnl.get()));
-        } 
-        return stream.toList();
+        return repository.findAllByFilters(ownMaterialNumber.orElse(null), bpnl.orElse(null));
     }
 
     public final List<ReportedSupplierSupply> findByPartnerBpnlAndOwnMaterialNumber(String partnerBpnl, String ownMaterialNumber) {
@@ -118,8 +111,8 @@ public class SupplierSupplyService extends SupplyService<OwnSupplierSupply> {
             daysOfSupply.getMaterial() != null &&
             daysOfSupply.getDate() != null &&
             daysOfSupply.getStockLocationBPNS() != null &&
-            daysOfSupply.getPartner() != partnerService.getOwnPartnerEntity() &&
-            daysOfSupply.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(daysOfSupply.getStockLocationBPNS())) &&
+            !partnerSiteIndex.isOwnPartner(daysOfSupply.getPartner()) &&
+            partnerSiteIndex.hasSite(daysOfSupply.getPartner(), daysOfSupply.getStockLocationBPNS()) &&
             (daysOfSupply.getStockLocationBPNA().equals(null) || daysOfSupply.getStockLocationBPNA().equals(daysOfSupply.getStockLocationBPNS()));
     }
 }
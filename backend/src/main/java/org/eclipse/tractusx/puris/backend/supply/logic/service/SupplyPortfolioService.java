@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.supply.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.Delivery;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.OwnDeliveryService;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.ReportedDeliveryService;
+import org.eclipse.tractusx.puris.backend.demand.logic.services.OwnDemandService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
+import org.eclipse.tractusx.puris.backend.production.logic.service.OwnProductionService;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockQuantity;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.MaterialItemStockService;
+import org.eclipse.tractusx.puris.backend.supply.logic.dto.SupplyDto;
+import org.eclipse.tractusx.puris.backend.supply.logic.dto.SupplyPortfolioDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Calculates the days of supply for all combinations of material, partner and site at once.
+ * <p>
+ * In contrast to {@link CustomerSupplyService} and {@link SupplierSupplyService}, which query the
+ * deliveries, demands and productions of one combination day by day, all rows within the requested
+ * period are loaded with one query per table and distributed to the combinations in memory. The days
+ * of supply of the combinations are then calculated in parallel on the common fork/join pool.
+ * <p>
+ * The deliveries contain both directions, so only the deliveries arriving at respectively departing
+ * from an own site are taken into account. Otherwise, the sites of the partners would show up as
+ * combinations of their own.
+ */
+@Service
+@Slf4j
+public class SupplyPortfolioService {
+
+    /**
+     * Number of combinations up to which a task calculates them itself instead of forking
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private static final Comparator<SupplyPortfolioDto> LOWEST_COVERAGE_FIRST = Comparator
+        .comparingDouble(SupplyPortfolioDto::getLowestDaysOfSupply)
+        .thenComparing(SupplyPortfolioDto::getOwnMaterialNumber)
+        .thenComparing(SupplyPortfolioDto::getPartnerBpnl)
+        .thenComparing(SupplyPortfolioDto::getSiteBpns);
+
+    @Autowired
+    private OwnDeliveryService ownDeliveryService;
+    @Autowired
+    private ReportedDeliveryService reportedDeliveryService;
+    @Autowired
+    private OwnDemandService demandService;
+    @Autowired
+    private OwnProductionService productionService;
+    @Autowired
+    private MaterialItemStockService stockService;
+    @Autowired
+    private MaterialService materialService;
+    @Autowired
+    private PartnerSiteIndex partnerSiteIndex;
+
+    /**
+     * Calculates the customer's days of supply for all materials that are bought from partners, based on
+     * the inbound deliveries and the own demands (see {@link CustomerSupplyService}).
+     *
+     * @param numberOfDays      the number of days over which the forecast should be calculated
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param siteBpns          optional filter for the site, may be null
+     * @param maxDaysOfSupply   optional, only combinations whose lowest days of supply do not exceed this value are returned
+     * @param limit             optional maximum number of returned combinations, may be null
+     * @return the days of supply per combination, lowest coverage first
+     */
+    public List<SupplyPortfolioDto> calculateCustomerPortfolio(int numberOfDays, String ownMaterialNumber, String partnerBpnl,
+                                                               String siteBpns, Double maxDaysOfSupply, Integer limit) {
+        DailySeries period = DailySeries.startingToday(numberOfDays);
+        Map<SupplyKey, DailyValues> values = new HashMap<>();
+        for (Delivery delivery : findDeliveries(ownMaterialNumber, partnerBpnl, period)) {
+            if (period.indexOf(delivery.getDateOfArrival()) >= 0 && partnerSiteIndex.isOwnSite(delivery.getDestinationBpns())) {
+                valuesOf(values, delivery.getMaterial().getOwnMaterialNumber(), delivery.getPartner().getBpnl(),
+                    delivery.getDestinationBpns(), period).added.add(delivery.getDateOfArrival(), delivery.getQuantity());
+            }
+        }
+        for (var demand : demandService.findAllInPeriod(ownMaterialNumber, partnerBpnl, period.getStart(), period.getEnd())) {
+            if (period.indexOf(demand.getDay()) >= 0) {
+                valuesOf(values, demand.getMaterial().getOwnMaterialNumber(), demand.getPartner().getBpnl(),
+                    demand.getDemandLocationBpns(), period).consumed.add(demand.getDay(), demand.getQuantity());
+            }
+        }
+        return calculatePortfolio(values, materialService.findAllMaterials(), period, ownMaterialNumber, partnerBpnl,
+            siteBpns, maxDaysOfSupply, limit);
+    }
+
+    /**
+     * Calculates the supplier's days of supply for all products that are sold to partners, based on
+     * the own productions and the outbound deliveries (see {@link SupplierSupplyService}).
+     *
+     * @param numberOfDays      the number of days over which the forecast should be calculated
+     * @param ownMaterialNumber optional filter for the material, may be null
+     * @param partnerBpnl       optional filter for the partner, may be null
+     * @param siteBpns          optional filter for the site, may be null
+     * @param maxDaysOfSupply   optional, only combinations whose lowest days of supply do not exceed this value are returned
+     * @param limit             optional maximum number of returned combinations, may be null
+     * @return the days of supply per combination, lowest coverage first
+     */
+    public List<SupplyPortfolioDto> calculateSupplierPortfolio(int numberOfDays, String ownMaterialNumber, String partnerBpnl,
+                                                               String siteBpns, Double maxDaysOfSupply, Integer limit) {
+        DailySeries period = DailySeries.startingToday(numberOfDays);
+        Map<SupplyKey, DailyValues> values = new HashMap<>();
+        for (var production : productionService.findAllInPeriod(ownMaterialNumber, partnerBpnl, period.getStart(), period.getEnd())) {
+            if (period.indexOf(production.getEstimatedTimeOfCompletion()) >= 0) {
+                valuesOf(values, production.getMaterial().getOwnMaterialNumber(), production.getPartner().getBpnl(),
+                    production.getProductionSiteBpns(), period).added.add(production.getEstimatedTimeOfCompletion(), production.getQuantity());
+            }
+        }
+        for (Delivery delivery : findDeliveries(ownMaterialNumber, partnerBpnl, period)) {
+            if (period.indexOf(delivery.getDateOfDeparture()) >= 0 && partnerSiteIndex.isOwnSite(delivery.getOriginBpns())) {
+                valuesOf(values, delivery.getMaterial().getOwnMaterialNumber(), delivery.getPartner().getBpnl(),
+                    delivery.getOriginBpns(), period).consumed.add(delivery.getDateOfDeparture(), delivery.getQuantity());
+            }
+        }
+        return calculatePortfolio(values, materialService.findAllProducts(), period, ownMaterialNumber, partnerBpnl,
+            siteBpns, maxDaysOfSupply, limit);
+    }
+
+    private List<Delivery> findDeliveries(String ownMaterialNumber, String partnerBpnl, DailySeries period) {
+        return Stream.<Delivery>concat(
+                ownDeliveryService.findAllInPeriod(ownMaterialNumber, partnerBpnl, period.getStart(), period.getEnd()).stream(),
+                reportedDeliveryService.findAllInPeriod(ownMaterialNumber, partnerBpnl, period.getStart(), period.getEnd()).stream())
+            .toList();
+    }
+
+    private List<SupplyPortfolioDto> calculatePortfolio(Map<SupplyKey, DailyValues> values, List<Material> relevantMaterials,
+                                                        DailySeries period, String ownMaterialNumber, String partnerBpnl,
+                                                        String siteBpns, Double maxDaysOfSupply, Integer limit) {
+        // sites that hold stocks but have no planned quantities within the period are part of the portfolio as well
+        for (StockQuantity stock : stockService.sumQuantitiesBySite(ownMaterialNumber, partnerBpnl)) {
+            valuesOf(values, stock.ownMaterialNumber(), stock.partnerBpnl(), stock.locationBpns(), period)
+                .initialStockQuantity = stock.quantity();
+        }
+        Set<String> relevantMaterialNumbers = relevantMaterials.stream()
+            .map(Material::getOwnMaterialNumber)
+            .collect(Collectors.toSet());
+        List<SupplyKey> keys = values.keySet().stream()
+            .filter(key -> relevantMaterialNumbers.contains(key.ownMaterialNumber()))
+            .filter(key -> siteBpns == null || siteBpns.equals(key.siteBpns()))
+            .toList();
+
+        SupplyPortfolioDto[] results = new SupplyPortfolioDto[keys.size()];
+        ForkJoinPool.commonPool().invoke(new PortfolioTask(keys, values, LocalDate.now(), results, 0, keys.size()));
+        log.debug("Calculated days of supply for {} combinations of material, partner and site", results.length);
+
+        Stream<SupplyPortfolioDto> stream = Arrays.stream(results);
+        if (maxDaysOfSupply != null) {
+            stream = stream.filter(dto -> dto.getLowestDaysOfSupply() <= maxDaysOfSupply);
+        }
+        stream = stream.sorted(LOWEST_COVERAGE_FIRST);
+        if (limit != null) {
+            stream = stream.limit(limit);
+        }
+        return stream.toList();
+    }
+
+    private static DailyValues valuesOf(Map<SupplyKey, DailyValues> values, String ownMaterialNumber, String partnerBpnl,
+                                        String siteBpns, DailySeries period) {
+        return values.computeIfAbsent(new SupplyKey(ownMaterialNumber, partnerBpnl, siteBpns),
+            key -> new DailyValues(period));
+    }
+
+    /**
+     * @param today the day of the first value, as used for the dates of the single calculations
+     */
+    private static SupplyPortfolioDto calculate(SupplyKey key, DailyValues values, LocalDate today) {
+        DailySeries daysOfSupply = SupplyService.projectDaysOfSupply(values.initialStockQuantity, values.added, values.consumed);
+
+        List<SupplyDto> supplyDtos = new ArrayList<>(daysOfSupply.length());
+        for (int i = 0; i < daysOfSupply.length(); i++) {
+            SupplyDto supplyDto = new SupplyDto();
+            supplyDto.setDate(Date.from(today.plusDays(i).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            supplyDto.setDaysOfSupply(daysOfSupply.get(i));
+            supplyDtos.add(supplyDto);
+        }
+        double lowestDaysOfSupply = daysOfSupply.length() == 0 ? 0 : daysOfSupply.min();
+
+        SupplyPortfolioDto dto = new SupplyPortfolioDto();
+        dto.setOwnMaterialNumber(key.ownMaterialNumber());
+        dto.setPartnerBpnl(key.partnerBpnl());
+        dto.setSiteBpns(key.siteBpns());
+        dto.setLowestDaysOfSupply(lowestDaysOfSupply);
+        dto.setDaysOfSupply(supplyDtos);
+        return dto;
+    }
+
+    private record SupplyKey(String ownMaterialNumber, String partnerBpnl, String siteBpns) {
+    }
+
+    /**
+     * The quantities of one combination of material, partner and site, summed up per day of the period
+     */
+    private static final class DailyValues {
+        private final DailySeries added;
+        private final DailySeries consumed;
+        private double initialStockQuantity;
+
+        private DailyValues(DailySeries period) {
+            this.added = DailySeries.empty(period.getFirstDay(), period.length());
+            this.consumed = DailySeries.empty(period.getFirstDay(), period.length());
+        }
+    }
+
+    /**
+     * Calculates the combinations within [start, end) and writes them to the same indexes of the results,
+     * splitting the range in halves as long as it is larger than {@link #SEQUENTIAL_THRESHOLD}.
+     */
+    private static final class PortfolioTask extends RecursiveAction {
+        private final List<SupplyKey> keys;
+        private final Map<SupplyKey, DailyValues> values;
+        private final LocalDate today;
+        private final SupplyPortfolioDto[] results;
+        private final int start;
+        private final int end;
+
+        private PortfolioTask(List<SupplyKey> keys, Map<SupplyKey, DailyValues> values, LocalDate today,
+                              SupplyPortfolioDto[] results, int start, int end) {
+            this.keys = keys;
+            this.values = values;
+            this.today = today;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    SupplyKey key = keys.get(i);
+                    results[i] = calculate(key, values.get(key), today);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new PortfolioTask(keys, values, today, results, start, middle),
+                new PortfolioTask(keys, values, today, results, middle, end));
+        }
+    }
+}
@@ -26,6 +26,8 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.MaterialItemStockService;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.Supply;
@@ -38,8 +40,8 @@ public abstract class SupplyService<T extends Supply> {
     private MaterialService materialService;
 
     protected abstract T createSupplyInstance();
-    protected abstract List<Double> getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays);
-    protected abstract List<Double> getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays);
+    protected abstract DailySeries getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays);
+    protected abstract DailySeries getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays);
 
     /**
      * Calculates the days of supply for a given material, partner, and site over a specified number of days.
@@ -55,25 +57,21 @@ public abstract class SupplyService<T extends Supply> {
         List<T> supplyList = new ArrayList<>();
         LocalDate localDate = LocalDate.now();
 
-        List<Double> addedValues = getAddedValues(material, partnerBpnl, siteBpns, numberOfDays);
-        List<Double> consumedValues = getConsumedValues(material, partnerBpnl, siteBpns, numberOfDays);
-        double stockQuantity = stockService.getInitialStockQuantity(material, partnerBpnl);
+        DailySeries addedValues = getAddedValues(material, partnerBpnl, siteBpns, numberOfDays);
+        DailySeries consumedValues = getConsumedValues(material, partnerBpnl, siteBpns, numberOfDays);
+        double stockQuantity = stockService.getInitialStockQuantity(material, partnerBpnl, siteBpns);
+        DailySeries daysOfSupply = projectDaysOfSupply(stockQuantity, addedValues, consumedValues);
+        Material materialEntity = materialService.findByOwnMaterialNumber(material);
 
         for (int i = 0; i < numberOfDays; i++) {
             Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
 
-            var remainingAddedValues = addedValues.subList(i, addedValues.size());
-            var remainingConsumedValues = consumedValues.subList(i, consumedValues.size());
-            double daysOfSupply = getDaysOfSupply(stockQuantity, remainingAddedValues, remainingConsumedValues);
-
             T supply = createSupplyInstance();
-            supply.setMaterial(materialService.findByOwnMaterialNumber(material));
+            supply.setMaterial(materialEntity);
             supply.setDate(date);
-            supply.setDaysOfSupply(daysOfSupply);
+            supply.setDaysOfSupply(daysOfSupply.get(i));
             supplyList.add(supply);
 
-            stockQuantity = stockQuantity - consumedValues.get(i) + addedValues.get(i);
-
             localDate = localDate.plusDays(1);
         }
 
@@ -81,38 +79,42 @@ public abstract class SupplyService<T extends Supply> {
     }
 
     /**
-     * Merges own and reported deliveries into a single list.
-     * @param list1 Own deliveries
-     * @param list2 Reported deliveries
-     * @return a new list containing the summed delivery quantities from the input lists.
+     * Calculates the days of supply for each day of the given added and consumed values.
+     *
+     * @param stockQuantity the stock quantity at the beginning of the first day
+     * @param addedValues the added values (deliveries/productions) per day
+     * @param consumedValues the consumed values (deliveries/demands) per day, over the same days as the added values
+     * @return the days of supply per day
      */
-    public static List<Double> mergeDeliveries(List<Double> list1, List<Double> list2) {
-        if (list1.size() != list2.size()) {
-            throw new IllegalArgumentException("Lists must be of the same length");
+    public static DailySeries projectDaysOfSupply(double stockQuantity, DailySeries addedValues, DailySeries consumedValues) {
+        if (addedValues.length() != consumedValues.length()) {
+            throw new IllegalArgumentException("Series must cover the same days");
         }
+        double[] added = addedValues.toArray();
+        double[] consumed = consumedValues.toArray();
+        double[] daysOfSupply = new double[added.length];
+        for (int i = 0; i < added.length; i++) {
+            daysOfSupply[i] = getDaysOfSupply(stockQuantity, added, consumed, i);
 
-        List<Double> mergedList = new ArrayList<>(list1.size());
-
-        for (int i = 0; i < list1.size(); i++) {
-            mergedList.add(list1.get(i) + list2.get(i));
+            stockQuantity = stockQuantity - consumed[i] + added[i];
         }
-
-        return mergedList;
+        return DailySeries.of(addedValues.getFirstDay(), daysOfSupply);
     }
 
     /**
-     * Calculates the number of days of supply based on the current stock quantity and a list of consumed values.
+     * Calculates the number of days of supply based on the current stock quantity and the consumed values.
      * @param stockQuantity Current stock amount
-     * @param addedValues Remaining list of added values for current iteration
-     * @param consumedValues Remaining list of consumed values for current iteration
+     * @param addedValues Added values per day
+     * @param consumedValues Consumed values per day
+     * @param firstDay Index of the day of the current iteration
      * @return The number of days of supply that the stock can cover.
      */
-    private final double getDaysOfSupply(double stockQuantity, List<Double> addedValues, List<Double> consumedValues) {
+    private static double getDaysOfSupply(double stockQuantity, double[] addedValues, double[] consumedValues, int firstDay) {
         double daysOfSupply = 0;
 
-        for (int i = 0; i < addedValues.size(); i++) {
-            Double addedValue = addedValues.get(i);
-            Double consumedValue = consumedValues.get(i);
+        for (int i = firstDay; i < addedValues.length; i++) {
+            double addedValue = addedValues[i];
+            double consumedValue = consumedValues[i];
 
             if ((stockQuantity + addedValue - consumedValue) >= 0) {
                 daysOfSupply += 1;
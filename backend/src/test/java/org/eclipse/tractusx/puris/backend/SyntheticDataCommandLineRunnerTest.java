@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend;
+
+import org.eclipse.tractusx.puris.backend.delivery.domain.repository.OwnDeliveryRepository;
+import org.eclipse.tractusx.puris.backend.delivery.domain.repository.ReportedDeliveryRepository;
+import org.eclipse.tractusx.puris.backend.demand.domain.repository.OwnDemandRepository;
+import org.eclipse.tractusx.puris.backend.demand.domain.repository.ReportedDemandRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialPartnerRelationRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.production.domain.repository.OwnProductionRepository;
+import org.eclipse.tractusx.puris.backend.stock.domain.repository.MaterialItemStockRepository;
+import org.eclipse.tractusx.puris.backend.stock.domain.repository.ProductItemStockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "puris.synthetic.partners=3",
+    "puris.synthetic.materials=4",
+    "puris.synthetic.mprs-per-material=2",
+    "puris.synthetic.stocks-per-mpr=2",
+    "puris.synthetic.demands-per-mpr-and-day=1",
+    "puris.synthetic.deliveries-per-mpr-and-day=1",
+    "puris.synthetic.productions-per-mpr-and-day=1",
+    "puris.synthetic.days=5",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=7"
+})
+@ActiveProfiles(SyntheticDataCommandLineRunner.PROFILE)
+public class SyntheticDataCommandLineRunnerTest {
+
+    @Autowired
+    private PartnerService partnerService;
+
+    @Autowired
+    private MaterialPartnerRelationRepository mprRepository;
+
+    @Autowired
+    private MaterialItemStockRepository materialItemStockRepository;
+
+    @Autowired
+    private ProductItemStockRepository productItemStockRepository;
+
+    @Autowired
+    private OwnDemandRepository ownDemandRepository;
+
+    @Autowired
+    private ReportedDemandRepository reportedDemandRepository;
+
+    @Autowired
+    private OwnDeliveryRepository ownDeliveryRepository;
+
+    @Autowired
+    private ReportedDeliveryRepository reportedDeliveryRepository;
+
+    @Autowired
+    private OwnProductionRepository ownProductionRepository;
+
+    @Test
+    void run_WithSyntheticDataProfile_GeneratesConfiguredVolumes() {
+        // two supplied materials and two products, each with two relations
+        assertNotNull(partnerService.findByBpnl("BPNL0000000002SD"));
+        assertNull(partnerService.findByBpnl("BPNL0000000003SD"));
+        assertEquals(8, count(mprRepository, mpr -> mpr.getMaterial()));
+        assertEquals(4, mprRepository.findAll().stream()
+            .filter(mpr -> isSynthetic(mpr.getMaterial()) && mpr.isPartnerSuppliesMaterial()).count());
+
+        // stocks per relation, everything else per relation and day
+        assertEquals(4 * 2, count(materialItemStockRepository, stock -> stock.getMaterial()));
+        assertEquals(4 * 2, count(productItemStockRepository, stock -> stock.getMaterial()));
+        assertEquals(4 * 5, count(ownDemandRepository, demand -> demand.getMaterial()));
+        assertEquals(4 * 5, count(reportedDeliveryRepository, delivery -> delivery.getMaterial()));
+        assertEquals(4 * 5, count(ownProductionRepository, production -> production.getMaterial()));
+        assertEquals(4 * 5, count(reportedDemandRepository, demand -> demand.getMaterial()));
+        assertEquals(4 * 5, count(ownDeliveryRepository, delivery -> delivery.getMaterial()));
+    }
+
+    private static <T> long count(JpaRepository<T, ?> repository, Function<T, Material> material) {
+        return repository.findAll().stream().filter(entity -> isSynthetic(material.apply(entity))).count();
+    }
+
+    private static boolean isSynthetic(Material material) {
+        return material.getOwnMaterialNumber().startsWith("SYN-MAT-");
+    }
+}
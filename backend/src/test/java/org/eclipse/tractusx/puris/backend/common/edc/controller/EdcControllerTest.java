@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker;
+import org.eclipse.tractusx.puris.backend.common.security.DtrSecurityConfiguration;
+import org.eclipse.tractusx.puris.backend.common.security.SecurityConfig;
+import org.eclipse.tractusx.puris.backend.common.security.annotation.WithMockApiKey;
+import org.eclipse.tractusx.puris.backend.common.security.logic.ApiKeyAuthenticationProvider;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EdcController.class)
+@Import({SecurityConfig.class, ApiKeyAuthenticationProvider.class, DtrSecurityConfiguration.class})
+class EdcControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EdcAdapterService edcAdapterService;
+
+    @MockBean
+    private PartnerCircuitBreaker partnerCircuitBreaker;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/edc/transfers", "/edc/contractnegotiations"})
+    @WithMockApiKey
+    void getHistory_WithNegativeOffset_ReturnsBadRequest(String path) throws Exception {
+        // when
+        this.mockMvc.perform(get(path).param("offset", "-1"))
+            // then
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(edcAdapterService);
+    }
+
+    @Test
+    @WithMockApiKey
+    void getTransfers_WithLimitAboveMaximum_RequestsMaximum() throws Exception {
+        // given
+        when(edcAdapterService.getAllTransfers(anyInt(), anyInt())).thenReturn(jsonResponse("[]"));
+
+        // when
+        this.mockMvc.perform(get("/edc/transfers").param("offset", "20").param("limit", "5000"))
+            // then
+            .andExpect(status().isOk());
+
+        verify(edcAdapterService).getAllTransfers(20, KeysetCursor.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @WithMockApiKey
+    void getContractNegotiations_WithLimitAboveMaximum_RequestsMaximum() throws Exception {
+        // given
+        when(edcAdapterService.getAllNegotiations(anyInt(), anyInt())).thenReturn(jsonResponse("[]"));
+
+        // when
+        this.mockMvc.perform(get("/edc/contractnegotiations").param("limit", "5000"))
+            // then
+            .andExpect(status().isOk());
+
+        verify(edcAdapterService).getAllNegotiations(0, KeysetCursor.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @WithMockApiKey
+    void getTransfers_WhenAgreementLookupFails_LeavesConnectorIdUnset() throws Exception {
+        // given
+        String transfers = "[" +
+            "{\"@id\":\"transfer-1\",\"type\":\"PROVIDER\",\"contractId\":\"agreement-1\"}," +
+            "{\"@id\":\"transfer-2\",\"type\":\"PROVIDER\",\"contractId\":\"agreement-2\"}," +
+            "{\"@id\":\"transfer-3\",\"type\":\"CONSUMER\",\"contractId\":\"agreement-3\",\"connectorId\":\"BPNL1234567890ZZ\"}" +
+            "]";
+        when(edcAdapterService.getAllTransfers(anyInt(), anyInt())).thenReturn(jsonResponse(transfers));
+        // the lookup of agreement-2 failed, so it is missing
+        when(edcAdapterService.getContractAgreements(anyCollection())).thenReturn(
+            Map.of("agreement-1", objectMapper.readTree("{\"@id\":\"agreement-1\",\"consumerId\":\"BPNL2222222222RR\"}")));
+
+        // when
+        this.mockMvc.perform(get("/edc/transfers"))
+            // then
+            .andExpect(status().isOk())
+            .andDo(result -> {
+                var returnedTransfers = objectMapper.readTree(result.getResponse().getContentAsString());
+                assertEquals(3, returnedTransfers.size());
+                assertEquals("BPNL2222222222RR", returnedTransfers.get(0).path("connectorId").asText());
+                assertFalse(returnedTransfers.get(1).has("connectorId"));
+                assertEquals("BPNL1234567890ZZ", returnedTransfers.get(2).path("connectorId").asText());
+            });
+
+        // only the agreements of provider transfers are looked up
+        verify(edcAdapterService).getContractAgreements(List.of("agreement-1", "agreement-2"));
+    }
+
+    private static Response jsonResponse(String body) {
+        return new Response.Builder()
+            .request(new Request.Builder().url("http://localhost/management").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create(body, MediaType.get("application/json")))
+            .build();
+    }
+}
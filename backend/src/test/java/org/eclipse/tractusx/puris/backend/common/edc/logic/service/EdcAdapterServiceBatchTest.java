@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemQuantityEntity;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.loadtest.DataPlaneStandIn;
+import org.eclipse.tractusx.puris.backend.loadtest.EdcManagementStandIn;
+import org.eclipse.tractusx.puris.backend.loadtest.SimulatedPartner;
+import org.eclipse.tractusx.puris.backend.loadtest.StandInBehavior;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialPartnerRelationRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.AllocatedStock;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.ItemStockSamm;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.Position;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link EdcAdapterService#doConditionalSubmodelBatchRequest} against the stand-ins of the load test,
+ * on a database of its own. Every test uses a partner of its own, so that the contracts, entity tags and
+ * circuit breakers of the tests do not interfere.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:hsqldb:mem:edcbatch;DB_CLOSE_DELAY=-1",
+    "puris.dtr.idp.enabled=false",
+    "puris.refresh.enabled=false"
+})
+public class EdcAdapterServiceBatchTest {
+
+    private static final String SUBMODEL_ASSET_ID = "item_stock_submodel-asset";
+
+    private static final MockWebServer EDC_SERVER = new MockWebServer();
+
+    private static final MockWebServer DATA_PLANE_SERVER = new MockWebServer();
+
+    private static EdcManagementStandIn edc;
+
+    private static DataPlaneStandIn dataPlane;
+
+    private static final AtomicInteger edrRequestCount = new AtomicInteger();
+
+    /**
+     * Status codes the registries of the partners answer with instead of the stand-in, by path of the partner
+     */
+    private static final Map<String, Integer> registryFailures = new ConcurrentHashMap<>();
+
+    /**
+     * Status codes the submodel endpoints of the partners answer with instead of the stand-in, by path of the partner
+     */
+    private static final Map<String, Integer> submodelFailures = new ConcurrentHashMap<>();
+
+    /**
+     * Material numbers of the partners, for which the registries have no shell
+     */
+    private static final Set<String> unknownParts = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private EdcAdapterService edcAdapterService;
+
+    @Autowired
+    private EdcContractMappingService edcContractMappingService;
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private MaterialPartnerRelationRepository mprRepository;
+
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) {
+        StandInBehavior noLatency = new StandInBehavior(0, 0, 0);
+        String dataPlaneUrl = DATA_PLANE_SERVER.url("/").toString();
+        edc = new EdcManagementStandIn(noLatency, dataPlaneUrl, "Puris:1.0", "cx.puris.base:1");
+        dataPlane = new DataPlaneStandIn(noLatency, dataPlaneUrl, EdcAdapterServiceBatchTest::payload);
+        EDC_SERVER.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getRequestUrl().pathSegments().contains("edrs")) {
+                    edrRequestCount.incrementAndGet();
+                }
+                return edc.dispatch(request);
+            }
+        });
+        DATA_PLANE_SERVER.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                List<String> path = request.getRequestUrl().pathSegments();
+                if (path.size() > 1 && "api".equals(path.get(1)) && registryFailures.containsKey(path.get(0))) {
+                    return new MockResponse().setResponseCode(registryFailures.get(path.get(0)));
+                }
+                if (path.size() > 1 && "submodel".equals(path.get(1)) && submodelFailures.containsKey(path.get(0))) {
+                    return new MockResponse().setResponseCode(submodelFailures.get(path.get(0)));
+                }
+                if (path.size() > 3 && "lookup".equals(path.get(3))) {
+                    String query = new String(Base64.getDecoder().decode(request.getRequestUrl().queryParameter("assetIds")),
+                        StandardCharsets.UTF_8);
+                    if (unknownParts.stream().anyMatch(part -> query.contains("\"" + part + "\""))) {
+                        return new MockResponse().setHeader("Content-Type", "application/json").setBody("{\"result\":[]}");
+                    }
+                }
+                return dataPlane.dispatch(request);
+            }
+        });
+        registry.add("edc.controlplane.management.url", () -> EDC_SERVER.url("/management").toString());
+        registry.add("puris.frameworkagreement.credential", () -> "Puris");
+        registry.add("puris.frameworkagreement.version", () -> "1.0");
+        registry.add("puris.purpose.name", () -> "cx.puris.base");
+        registry.add("puris.purpose.version", () -> "1");
+    }
+
+    @AfterEach
+    void resetFailures() {
+        registryFailures.clear();
+        submodelFailures.clear();
+        unknownParts.clear();
+    }
+
+    @AfterAll
+    static void shutdownStandIns() throws IOException {
+        EDC_SERVER.shutdown();
+        DATA_PLANE_SERVER.shutdown();
+    }
+
+    @Test
+    void doConditionalSubmodelBatchRequest_WithSeveralRelations_SharesTransfers() {
+        // given
+        SimulatedPartner simulatedPartner = SimulatedPartner.of(900);
+        List<MaterialPartnerRelation> mprs = createRelations(simulatedPartner, 3);
+        int transfers = edc.getTransferCount().get();
+        int edrRequests = edrRequestCount.get();
+        int registryRequests = dataPlane.getRegistryRequestCount().get();
+
+        // when
+        var results = request(mprs);
+
+        // then
+        assertEquals(3, results.size());
+        assertTrue(results.values().stream().allMatch(Boolean::booleanValue));
+        assertEquals(3, handled.get());
+        // one transfer of the registry for all lookups and one transfer of the submodel asset for all submodels
+        assertEquals(2, edc.getTransferCount().get() - transfers);
+        assertEquals(2, edrRequestCount.get() - edrRequests);
+        // a lookup and a shell descriptor request per relation
+        assertEquals(6, dataPlane.getRegistryRequestCount().get() - registryRequests);
+    }
+
+    @Test
+    void doConditionalSubmodelBatchRequest_WhenSubmodelsNotModified_SkipsHandler() {
+        // given
+        List<MaterialPartnerRelation> mprs = createRelations(SimulatedPartner.of(901), 2);
+        request(mprs);
+        int notModified = dataPlane.getNotModifiedCount().get();
+
+        // when
+        var results = request(mprs);
+
+        // then
+        assertTrue(results.values().stream().allMatch(Boolean::booleanValue));
+        assertEquals(2, dataPlane.getNotModifiedCount().get() - notModified);
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void doConditionalSubmodelBatchRequest_WhenDescriptorMissing_FailsOnlyThatRelation() {
+        // given
+        SimulatedPartner simulatedPartner = SimulatedPartner.of(902);
+        List<MaterialPartnerRelation> mprs = createRelations(simulatedPartner, 3);
+        MaterialPartnerRelation unknown = mprs.get(1);
+        unknownParts.add(unknown.getPartnerMaterialNumber());
+
+        // when
+        var results = request(mprs);
+
+        // then
+        assertFalse(results.get(unknown));
+        assertTrue(results.get(mprs.get(0)));
+        assertTrue(results.get(mprs.get(2)));
+        assertEquals(2, handled.get());
+        // the registry has answered, so the DTR contract is kept
+        assertNotNull(edcContractMappingService.getDtrAssetAndContractId(unknown.getPartner())[1]);
+    }
+
+    @Test
+    void doConditionalSubmodelBatchRequest_WhenRegistryDoesNotAnswer_InvalidatesOnlyDtrContract() {
+        // given
+        SimulatedPartner simulatedPartner = SimulatedPartner.of(903);
+        List<MaterialPartnerRelation> mprs = createRelations(simulatedPartner, 2);
+        Partner partner = mprs.get(0).getPartner();
+        request(mprs);
+        registryFailures.put(partnerPath(simulatedPartner), 401);
+
+        // when
+        var results = request(mprs);
+
+        // then
+        assertFalse(results.containsValue(true));
+        assertNull(edcContractMappingService.getDtrAssetAndContractId(partner)[1]);
+        assertNotNull(submodelContractId(partner, simulatedPartner));
+    }
+
+    @Test
+    void doConditionalSubmodelBatchRequest_WhenDataPlaneUnavailable_KeepsContracts() {
+        // given
+        SimulatedPartner simulatedPartner = SimulatedPartner.of(904);
+        List<MaterialPartnerRelation> mprs = createRelations(simulatedPartner, 2);
+        Partner partner = mprs.get(0).getPartner();
+        request(mprs);
+        submodelFailures.put(partnerPath(simulatedPartner), 503);
+
+        // when
+        var results = request(mprs);
+
+        // then
+        assertFalse(results.containsValue(true));
+        assertNotNull(edcContractMappingService.getDtrAssetAndContractId(partner)[1]);
+        assertNotNull(submodelContractId(partner, simulatedPartner));
+    }
+
+    @Test
+    void doConditionalSubmodelBatchRequest_WhenSubmodelsRejected_InvalidatesOnlySubmodelContract() {
+        // given
+        SimulatedPartner simulatedPartner = SimulatedPartner.of(905);
+        List<MaterialPartnerRelation> mprs = createRelations(simulatedPartner, 2);
+        Partner partner = mprs.get(0).getPartner();
+        request(mprs);
+        submodelFailures.put(partnerPath(simulatedPartner), 403);
+
+        // when
+        var results = request(mprs);
+
+        // then
+        assertFalse(results.containsValue(true));
+        assertNotNull(edcContractMappingService.getDtrAssetAndContractId(partner)[1]);
+        assertNull(submodelContractId(partner, simulatedPartner));
+    }
+
+    private Map<MaterialPartnerRelation, Boolean> request(List<MaterialPartnerRelation> mprs) {
+        return edcAdapterService.doConditionalSubmodelBatchRequest(AssetType.ITEM_STOCK_SUBMODEL, mprs.get(0).getPartner(), mprs,
+            DirectionCharacteristic.OUTBOUND, ItemStockSamm.class, (mpr, samm) -> {
+                handled.incrementAndGet();
+                return true;
+            });
+    }
+
+    /**
+     * @return relations to the given number of new materials, which are all supplied by the partner
+     */
+    private List<MaterialPartnerRelation> createRelations(SimulatedPartner simulatedPartner, int count) {
+        Partner partner = partnerRepository.save(simulatedPartner.toPartner());
+        List<MaterialPartnerRelation> mprs = new ArrayList<>();
+        for (int m = 0; m < count; m++) {
+            Material material = materialRepository.save(new Material(true, false, "BT-MAT-" + simulatedPartner.index() + "-" + m,
+                "urn:uuid:" + UUID.randomUUID(), "Batch Test Material " + m));
+            String partnerMaterialNumber = "BT-SUP-" + simulatedPartner.index() + "-" + m;
+            var mpr = new MaterialPartnerRelation(material, partner, partnerMaterialNumber, true, false);
+            mpr.setPartnerCXNumber(simulatedPartner.cxNumber(partnerMaterialNumber));
+            mprs.add(mprRepository.save(mpr));
+        }
+        return mprs;
+    }
+
+    private String submodelContractId(Partner partner, SimulatedPartner simulatedPartner) {
+        return edcContractMappingService.getContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, SUBMODEL_ASSET_ID, simulatedPartner.dspUrl());
+    }
+
+    private static String partnerPath(SimulatedPartner simulatedPartner) {
+        return "partner-" + simulatedPartner.index();
+    }
+
+    /**
+     * Every partner reports the same stock for all parts, so that the submodels do not change between requests.
+     */
+    private static Object payload(SimulatedPartner partner, AssetType type, String manufacturerId, String manufacturerPartId) {
+        var stock = new AllocatedStock(new ItemQuantityEntity(10.0, ItemUnitEnumeration.UNIT_PIECE), partner.bpns(), false,
+            partner.bpna(), new Date(0));
+        return new ItemStockSamm(Set.of(new Position(null, Set.of(stock))), partner.cxNumber(manufacturerPartId),
+            DirectionCharacteristic.OUTBOUND);
+    }
+}
@@ -24,10 +24,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRequestBodyBuilder;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.util.JsonLdUtils;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -36,9 +41,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
@@ -63,6 +74,10 @@ public class EdcAdapterServiceTest {
 
     private final JsonLdUtils jsonLdUtils = new JsonLdUtils();
 
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    private final MockWebServer managementApi = new MockWebServer();
+
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
@@ -71,6 +86,20 @@ public class EdcAdapterServiceTest {
         Field field = EdcAdapterService.class.getDeclaredField("variablesService");
         field.setAccessible(true);
         field.set(edcAdapterService, variablesService);
+        setField("objectMapper", objectMapper);
+        setField("executorService", executorService);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executorService.shutdownNow();
+        managementApi.shutdown();
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = EdcAdapterService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(edcAdapterService, value);
     }
 
     /**
@@ -370,4 +399,49 @@ public class EdcAdapterServiceTest {
         "    }" +
         "}";
 
+
+    @Test
+    void getContractAgreements_WhenCached_DoesNotRequestControlPlaneAgain() throws Exception {
+        // given
+        managementApi.enqueue(new MockResponse().setBody("{\"@id\":\"agreement-1\",\"consumerId\":\"BPNL2222222222RR\"}"));
+        when(variablesService.getEdcManagementUrl()).thenReturn(managementApi.url("/management").toString());
+        when(variablesService.getEdcApiKey()).thenReturn("api-key");
+        when(variablesService.getEdcBatchConcurrency()).thenReturn(2);
+        edcAdapterService.getContractAgreements(List.of("agreement-1"));
+
+        // when
+        Map<String, JsonNode> agreements = edcAdapterService.getContractAgreements(List.of("agreement-1"));
+
+        // then
+        assertEquals("BPNL2222222222RR", agreements.get("agreement-1").get("consumerId").asText());
+        assertEquals(1, managementApi.getRequestCount());
+    }
+
+    @Test
+    void getContractAgreements_WhenLookupFails_OmitsOnlyThatAgreement() throws Exception {
+        // given
+        managementApi.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().endsWith("/agreement-1")) {
+                    return new MockResponse().setBody("{\"@id\":\"agreement-1\",\"consumerId\":\"BPNL2222222222RR\"}");
+                }
+                return new MockResponse().setResponseCode(404).setBody("[{\"message\":\"Object not found\"}]");
+            }
+        });
+        when(variablesService.getEdcManagementUrl()).thenReturn(managementApi.url("/management").toString());
+        when(variablesService.getEdcApiKey()).thenReturn("api-key");
+        when(variablesService.getEdcBatchConcurrency()).thenReturn(2);
+
+        // when
+        Map<String, JsonNode> agreements = edcAdapterService.getContractAgreements(List.of("agreement-1", "agreement-2"));
+
+        // then
+        assertEquals(1, agreements.size());
+        assertTrue(agreements.containsKey("agreement-1"));
+
+        // failed lookups are not cached
+        edcAdapterService.getContractAgreements(List.of("agreement-1", "agreement-2"));
+        assertEquals(3, managementApi.getRequestCount());
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRequestBodyBuilder;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EdcProvisioningServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    @Mock
+    private EdcAdapterService edcAdapterService;
+
+    @Mock
+    private EdcRequestBodyBuilder edcRequestBodyBuilder;
+
+    @Mock
+    private VariablesService variablesService;
+
+    @InjectMocks
+    private EdcProvisioningService edcProvisioningService;
+
+    private final Partner knownPartner = new Partner("Known Partner", "http://known:8184/api/v1/dsp", "BPNL1111111111AA",
+        "BPNA1111111111AA", "Street 1", "12345 City", "Germany");
+
+    private final Partner newPartner = new Partner("New Partner", "http://new:8184/api/v1/dsp", "BPNL2222222222BB",
+        "BPNA2222222222BB", "Street 2", "12345 City", "Germany");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(edcProvisioningService, "executorService", executorService);
+        ReflectionTestUtils.setField(edcProvisioningService, "concurrency", 4);
+        ReflectionTestUtils.setField(edcProvisioningService, "retries", 1);
+
+        when(variablesService.getItemStockSubmodelApiAssetId()).thenReturn("itemstock");
+        when(variablesService.getProductionSubmodelApiAssetId()).thenReturn("production");
+        when(variablesService.getDemandSubmodelApiAssetId()).thenReturn("demand");
+        when(variablesService.getDeliverySubmodelApiAssetId()).thenReturn("delivery");
+        when(variablesService.getNotificationApiAssetId()).thenReturn("notification");
+        when(variablesService.getPartTypeSubmodelApiAssetId()).thenReturn("parttype");
+        when(edcRequestBodyBuilder.buildBpnAndMembershipRestrictedPolicy(any())).thenAnswer(invocation ->
+            body(invocation.<Partner>getArgument(0).getBpnl() + "_policy"));
+        when(edcRequestBodyBuilder.buildSubmodelContractDefinitionWithBpnRestrictedPolicy(anyString(), any())).thenAnswer(invocation ->
+            body(invocation.<Partner>getArgument(1).getBpnl() + "_contractdefinition_for_" + invocation.getArgument(0)));
+        when(edcRequestBodyBuilder.buildDtrContractDefinitionForPartner(any())).thenAnswer(invocation ->
+            body(invocation.<Partner>getArgument(0).getBpnl() + "_contractdefinition_for_dtr"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void provisionPartners_WithPartiallyProvisionedControlPlane_RegistersOnlyMissingEntries() throws IOException {
+        // given: the known partner is fully provisioned
+        String knownBpnl = knownPartner.getBpnl();
+        when(edcAdapterService.getRegisteredIds(EdcProvisioningService.POLICY_DEFINITIONS)).thenReturn(Set.of(knownBpnl + "_policy"));
+        Set<String> knownContractDefinitions = new HashSet<>();
+        for (String asset : List.of("itemstock", "production", "demand", "delivery", "notification", "parttype", "dtr")) {
+            knownContractDefinitions.add(knownBpnl + "_contractdefinition_for_" + asset);
+        }
+        when(edcAdapterService.getRegisteredIds(EdcProvisioningService.CONTRACT_DEFINITIONS)).thenReturn(knownContractDefinitions);
+
+        String newBpnl = newPartner.getBpnl();
+        AtomicBoolean policyRegistered = new AtomicBoolean();
+        List<String> contractDefinitionsBeforePolicy = Collections.synchronizedList(new ArrayList<>());
+        Map<String, Integer> attempts = Collections.synchronizedMap(new HashMap<>());
+        when(edcAdapterService.sendRegistrationRequest(anyString(), any())).thenAnswer(invocation -> {
+            String id = invocation.<JsonNode>getArgument(1).path("@id").asText();
+            int attempt = attempts.merge(id, 1, Integer::sum);
+            if (id.equals(newBpnl + "_policy")) {
+                // the first attempt fails with a server error
+                if (attempt == 1) {
+                    return 503;
+                }
+                policyRegistered.set(true);
+                return 200;
+            }
+            if (!policyRegistered.get()) {
+                contractDefinitionsBeforePolicy.add(id);
+            }
+            if (id.endsWith("_for_dtr")) {
+                // registered concurrently by another instance
+                return 409;
+            }
+            if (id.endsWith("_for_parttype")) {
+                return 400;
+            }
+            return 200;
+        });
+
+        // when
+        var summary = edcProvisioningService.provisionPartners(List.of(knownPartner, newPartner));
+
+        // then
+        assertEquals(16, summary.total());
+        assertEquals(8 + 1, summary.alreadyPresent());
+        assertEquals(1 + 5, summary.created());
+        assertEquals(1, summary.failed());
+        assertFalse(summary.isComplete());
+        assertTrue(contractDefinitionsBeforePolicy.isEmpty());
+        assertEquals(2, attempts.get(newBpnl + "_policy"));
+        // client errors are not retried
+        assertEquals(1, attempts.get(newBpnl + "_contractdefinition_for_parttype"));
+        assertTrue(attempts.keySet().stream().noneMatch(id -> id.startsWith(knownBpnl)));
+    }
+
+    @Test
+    void provisionPartners_WhenQueryFails_RegistersAllAndCountsConflictsAsPresent() throws IOException {
+        // given
+        when(edcAdapterService.getRegisteredIds(anyString())).thenThrow(new IOException("control plane not reachable"));
+        when(edcAdapterService.sendRegistrationRequest(anyString(), any())).thenReturn(409);
+
+        // when
+        var summary = edcProvisioningService.provisionPartners(List.of(newPartner));
+
+        // then
+        assertEquals(8, summary.total());
+        assertEquals(8, summary.alreadyPresent());
+        assertTrue(summary.isComplete());
+        verify(edcAdapterService, times(8)).sendRegistrationRequest(anyString(), any());
+    }
+
+    private JsonNode body(String id) {
+        return objectMapper.createObjectNode().put("@id", id);
+    }
+}
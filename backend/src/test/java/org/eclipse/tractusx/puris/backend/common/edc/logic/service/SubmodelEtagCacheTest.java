@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SubmodelEtagCacheTest {
+
+    private final SubmodelEtagCache submodelEtagCache = new SubmodelEtagCache("maximumSize=100");
+
+    private final Material material = new Material(true, false, "MNR-7307-AU340474.002", UUID.randomUUID().toString(), "Semiconductor");
+
+    private MaterialPartnerRelation mpr;
+
+    @BeforeEach
+    void setUp() {
+        Partner partner = new Partner("Scenario Supplier", "http://supplier-control-plane:9184/api/v1/dsp", "BPNL1234567890ZZ",
+            "BPNS1234567890ZZ", "Site", "BPNA1234567890AA", "Street 1", "12345 City", "Germany");
+        partner.setUuid(UUID.randomUUID());
+        mpr = new MaterialPartnerRelation(material, partner, "MNR-8101-ID146955.001", true, false);
+    }
+
+    @Test
+    void evict_WhenReportedDataWritten_RemovesEtagsOfAllDirections() {
+        // given
+        submodelEtagCache.put(mpr, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.INBOUND, "\"1\"");
+        submodelEtagCache.put(mpr, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND, "\"2\"");
+        submodelEtagCache.put(mpr, AssetType.DEMAND_SUBMODEL, DirectionCharacteristic.INBOUND, "\"3\"");
+
+        // when
+        submodelEtagCache.evict(mpr.getPartner(), material, AssetType.ITEM_STOCK_SUBMODEL);
+
+        // then
+        assertNull(submodelEtagCache.get(mpr, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.INBOUND));
+        assertNull(submodelEtagCache.get(mpr, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND));
+        assertEquals("\"3\"", submodelEtagCache.get(mpr, AssetType.DEMAND_SUBMODEL, DirectionCharacteristic.INBOUND));
+    }
+
+    @Test
+    void put_WhenNoEtag_RemovesKnownEtag() {
+        // given
+        submodelEtagCache.put(mpr, AssetType.PRODUCTION_SUBMODEL, DirectionCharacteristic.OUTBOUND, "\"1\"");
+
+        // when
+        submodelEtagCache.put(mpr, AssetType.PRODUCTION_SUBMODEL, DirectionCharacteristic.OUTBOUND, null);
+
+        // then
+        assertNull(submodelEtagCache.get(mpr, AssetType.PRODUCTION_SUBMODEL, DirectionCharacteristic.OUTBOUND));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SubmodelResponseCacheTest {
+
+    private final SubmodelResponseCache submodelResponseCache = new SubmodelResponseCache("maximumSize=100", new SimpleMeterRegistry());
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Partner partner;
+
+    private final Material material = new Material(true, false, "MNR-7307-AU340474.002", UUID.randomUUID().toString(), "Semiconductor");
+
+    @BeforeEach
+    void setUp() {
+        partner = new Partner("Scenario Customer", "http://customer-control-plane:8184/api/v1/dsp", "BPNL4444444444XX",
+            "BPNS4444444444XX", "Site", "BPNA4444444444AA", "Street 1", "12345 City", "Germany");
+        partner.setUuid(UUID.randomUUID());
+    }
+
+    @Test
+    void get_WhenEvictedForOtherDirection_ServesCachedSubmodel() {
+        // when
+        load(DirectionCharacteristic.OUTBOUND);
+        load(DirectionCharacteristic.OUTBOUND);
+        submodelResponseCache.evict(partner, material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.INBOUND);
+        load(DirectionCharacteristic.OUTBOUND);
+
+        // then
+        assertEquals(1, loads.get());
+
+        // when
+        submodelResponseCache.evict(partner, material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND);
+        load(DirectionCharacteristic.OUTBOUND);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_WhenTransactionActive_EvictsAgainAfterCommit() {
+        // given
+        load(DirectionCharacteristic.OUTBOUND);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            submodelResponseCache.evict(partner, material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND);
+            // a concurrent request caches the data from before the commit
+            load(DirectionCharacteristic.OUTBOUND);
+
+            // when
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        load(DirectionCharacteristic.OUTBOUND);
+
+        // then
+        assertEquals(3, loads.get());
+    }
+
+    private void load(DirectionCharacteristic direction) {
+        submodelResponseCache.get(partner, material, AssetType.ITEM_STOCK_SUBMODEL, direction, loads::incrementAndGet);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContractPolicyMatcherTest {
+
+    private static final String FRAMEWORK_AGREEMENT = "Puris:1.0";
+
+    private static final String PURPOSE = "cx.puris.base:1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonLdUtils jsonLdUtils = new JsonLdUtils();
+
+    private final ContractPolicyMatcher matcher = ContractPolicyMatcher.compile(FRAMEWORK_AGREEMENT, PURPOSE);
+
+    @Test
+    void findFirstMatch_WhenOnlyLastOfferMatches_ReturnsLastOffer() throws Exception {
+        // given
+        List<String> datasets = new ArrayList<>();
+        datasets.add(dataset("offer-0", "cx-policy:UsagePurpose", PURPOSE, "cx-policy:UsagePurpose", PURPOSE));
+        datasets.add(dataset("offer-1", "cx-policy:FrameworkAgreement", "Puris:2.0", "cx-policy:UsagePurpose", PURPOSE));
+        datasets.add(dataset("offer-2", "cx-policy:FrameworkAgreement", FRAMEWORK_AGREEMENT, "cx-policy:Membership", "active"));
+        datasets.add(dataset("offer-3", "cx-policy:UsagePurpose", PURPOSE, "cx-policy:FrameworkAgreement", FRAMEWORK_AGREEMENT));
+        JsonNode catalog = expandedDatasets(datasets);
+
+        // when
+        JsonNode match = matcher.findFirstMatch(catalog);
+
+        // then
+        assertNotNull(match);
+        assertEquals("offer-3", match.get("@id").asText());
+        assertFalse(matcher.matches(catalog.get(0)));
+        assertTrue(matcher.isCompiledFor(FRAMEWORK_AGREEMENT, PURPOSE));
+        assertFalse(matcher.isCompiledFor(FRAMEWORK_AGREEMENT, "cx.core.industrycore:1"));
+    }
+
+    /**
+     * Measures the time to find the matching offer at the end of a large catalog.
+     * Run with -Dpuris.benchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "puris.benchmark", matches = "true")
+    void benchmark_FindFirstMatch_LargeCatalog() throws Exception {
+        int offers = 500;
+        List<String> datasets = new ArrayList<>();
+        for (int i = 0; i < offers - 1; i++) {
+            datasets.add(dataset("offer-" + i, "cx-policy:FrameworkAgreement", FRAMEWORK_AGREEMENT,
+                "cx-policy:UsagePurpose", "cx.other.purpose:" + i));
+        }
+        datasets.add(dataset("offer-match", "cx-policy:FrameworkAgreement", FRAMEWORK_AGREEMENT, "cx-policy:UsagePurpose", PURPOSE));
+        JsonNode catalog = expandedDatasets(datasets);
+
+        long nanos = 0;
+        int rounds = 1000;
+        for (int round = 0; round < rounds * 2; round++) {
+            long start = System.nanoTime();
+            JsonNode match = matcher.findFirstMatch(catalog);
+            long elapsed = System.nanoTime() - start;
+            assertEquals("offer-match", match.get("@id").asText());
+            // the first half of the rounds is warm up
+            if (round >= rounds) {
+                nanos += elapsed;
+            }
+        }
+        System.out.printf("ContractPolicyMatcher: %d ns per catalog of %d offers, %d ns/offer%n",
+            nanos / rounds, offers, nanos / rounds / offers);
+    }
+
+    private JsonNode expandedDatasets(List<String> datasets) throws Exception {
+        String catalog = """
+            {
+                "@id": "catalog",
+                "@type": "dcat:Catalog",
+                "dcat:dataset": [%s],
+                "@context": {
+                    "@vocab": "https://w3id.org/edc/v0.0.1/ns/",
+                    "cx-policy": "https://w3id.org/catenax/policy/",
+                    "dcat": "http://www.w3.org/ns/dcat#",
+                    "odrl": "http://www.w3.org/ns/odrl/2/"
+                }
+            }""".formatted(String.join(",", datasets));
+        JsonNode expanded = jsonLdUtils.expand(objectMapper.readTree(catalog));
+        return expanded.get(EdcRequestBodyBuilder.DCAT_NAMESPACE + "dataset");
+    }
+
+    private static String dataset(String id, String leftOperand1, String rightOperand1, String leftOperand2, String rightOperand2) {
+        return """
+            {
+                "@id": "%s",
+                "@type": "dcat:Dataset",
+                "odrl:hasPolicy": {
+                    "@id": "policy-%1$s",
+                    "@type": "odrl:Offer",
+                    "odrl:permission": {
+                        "odrl:action": {"@id": "odrl:use"},
+                        "odrl:constraint": {
+                            "odrl:and": [
+                                {"odrl:leftOperand": {"@id": "%s"}, "odrl:operator": {"@id": "odrl:eq"}, "odrl:rightOperand": "%s"},
+                                {"odrl:leftOperand": {"@id": "%s"}, "odrl:operator": {"@id": "odrl:eq"}, "odrl:rightOperand": "%s"}
+                            ]
+                        }
+                    },
+                    "odrl:prohibition": [],
+                    "odrl:obligation": []
+                }
+            }""".formatted(id, leftOperand1, rightOperand1, leftOperand2, rightOperand2);
+    }
+}
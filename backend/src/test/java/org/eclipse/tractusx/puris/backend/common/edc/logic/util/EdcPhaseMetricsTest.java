@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcPhaseMetrics.Phase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdcPhaseMetricsTest {
+
+    private static final String BPNL = "BPNL1234567890ZZ";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EdcPhaseMetrics edcPhaseMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        edcPhaseMetrics = new EdcPhaseMetrics(meterRegistry);
+    }
+
+    @Test
+    void record_WhenCallSucceedsOrFails_RecordsOutcomePerPhaseAndPartner() {
+        // when
+        String result = edcPhaseMetrics.record(Phase.EDR_AWAIT, BPNL, AssetType.ITEM_STOCK_SUBMODEL, () -> "edr", Objects::nonNull);
+        edcPhaseMetrics.record(Phase.EDR_AWAIT, BPNL, AssetType.ITEM_STOCK_SUBMODEL, () -> null, Objects::nonNull);
+        edcPhaseMetrics.record(Phase.CATALOG, null, null, () -> "catalog");
+
+        // then
+        assertEquals("edr", result);
+        assertEquals(1, timer(Phase.EDR_AWAIT, BPNL, "ITEM_STOCK_SUBMODEL", EdcPhaseMetrics.OUTCOME_SUCCESS).count());
+        assertEquals(1, timer(Phase.EDR_AWAIT, BPNL, "ITEM_STOCK_SUBMODEL", EdcPhaseMetrics.OUTCOME_FAILURE).count());
+        assertEquals(1, timer(Phase.CATALOG, "unknown", "unknown", EdcPhaseMetrics.OUTCOME_SUCCESS).count());
+    }
+
+    @Test
+    void record_WhenCallThrows_RecordsErrorAndRethrows() {
+        // when
+        assertThrows(IOException.class, () -> edcPhaseMetrics.record(Phase.TRANSFER_START, BPNL, AssetType.DTR, () -> {
+            throw new IOException("control plane not reachable");
+        }));
+
+        // then
+        assertEquals(1, timer(Phase.TRANSFER_START, BPNL, "DTR", EdcPhaseMetrics.OUTCOME_ERROR).count());
+        assertNull(meterRegistry.find(EdcPhaseMetrics.METRIC_NAME).tag("outcome", EdcPhaseMetrics.OUTCOME_SUCCESS).timer());
+    }
+
+    private Timer timer(Phase phase, String partner, String assetType, String outcome) {
+        return meterRegistry.get(EdcPhaseMetrics.METRIC_NAME)
+            .tag("phase", phase.TAG_VALUE)
+            .tag("partner", partner)
+            .tag("asset_type", assetType)
+            .tag("outcome", outcome)
+            .timer();
+    }
+}
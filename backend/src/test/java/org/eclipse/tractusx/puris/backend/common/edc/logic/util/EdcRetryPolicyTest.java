@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRetryPolicy.Deadline;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcRetryPolicy.Retry;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker.PartnerUnavailableException;
+import org.eclipse.tractusx.puris.backend.common.util.SizeLimitedInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdcRetryPolicyTest {
+
+    @Test
+    void next_WhenMaxAttemptsReached_StopsRetrying() {
+        // given
+        var policy = new EdcRetryPolicy(Duration.ofSeconds(10), 3, Duration.ofMillis(2),
+            Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1));
+        Retry retry = policy.start().retry();
+
+        // when
+        int attempts = 0;
+        while (retry.next()) {
+            attempts++;
+        }
+
+        // then
+        assertEquals(3, attempts);
+        assertEquals(3, retry.getAttempts());
+    }
+
+    @Test
+    void next_WhenBackoffExceedsDeadline_StopsRetrying() {
+        // given
+        var policy = new EdcRetryPolicy(Duration.ofMillis(500), 10, Duration.ofSeconds(2),
+            Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1));
+        Deadline deadline = policy.start();
+        Retry retry = deadline.retry();
+
+        // when
+        long start = System.nanoTime();
+        assertTrue(retry.next());
+        assertFalse(retry.next());
+
+        // then the backoff has not been awaited
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(500)) < 0);
+        assertEquals(1, retry.getAttempts());
+    }
+
+    @Test
+    void phaseEnd_WhenPhaseTimeoutExceedsBudget_IsBoundedByDeadline() {
+        // given
+        var policy = new EdcRetryPolicy(Duration.ofSeconds(5), 3, Duration.ofMillis(200),
+            Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofSeconds(30));
+        Deadline deadline = policy.start();
+        long budgetEnd = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        // then
+        assertTrue(deadline.negotiationEnd() - budgetEnd <= 0);
+        assertTrue(deadline.edrEnd() - budgetEnd <= 0);
+        assertTrue(deadline.transferEnd() - (System.nanoTime() + Duration.ofSeconds(1).toNanos()) <= 0);
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(5)) <= 0);
+    }
+
+    @Test
+    void isRetryable_WhenFailureWouldRepeat_ReturnsFalse() {
+        // then
+        assertTrue(EdcRetryPolicy.isRetryable(new IOException("connection reset")));
+        assertFalse(EdcRetryPolicy.isRetryable(new PartnerUnavailableException("partner unavailable")));
+        assertFalse(EdcRetryPolicy.isRetryable(new EdcRetryPolicy.DeadlineExceededException("deadline expired")));
+        assertFalse(EdcRetryPolicy.isRetryable(new SizeLimitedInputStream.PayloadTooLargeException(10)));
+        assertTrue(EdcRetryPolicy.isRetryable(503));
+        assertTrue(EdcRetryPolicy.isRetryable(401));
+        assertFalse(EdcRetryPolicy.isRetryable(404));
+        assertFalse(EdcRetryPolicy.isRetryable(413));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.PartnerCircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartnerCircuitBreakerTest {
+
+    private static final String BPNL = "BPNL1234567890ZZ";
+
+    private static final String OTHER_BPNL = "BPNL4444444444XX";
+
+    private MutableClock clock;
+
+    private PartnerCircuitBreaker partnerCircuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T10:00:00Z"));
+        partnerCircuitBreaker = new PartnerCircuitBreaker(2, Duration.ofSeconds(60), clock);
+    }
+
+    @Test
+    void tryAcquire_WhenThresholdReached_RejectsUntilOpenTimeElapsed() {
+        // when
+        partnerCircuitBreaker.recordFailure(BPNL);
+        assertTrue(partnerCircuitBreaker.tryAcquire(BPNL));
+        partnerCircuitBreaker.recordFailure(BPNL);
+
+        // then
+        assertFalse(partnerCircuitBreaker.tryAcquire(BPNL));
+        assertTrue(partnerCircuitBreaker.tryAcquire(OTHER_BPNL));
+        var health = partnerCircuitBreaker.getHealth(BPNL);
+        assertEquals(State.OPEN, health.state());
+        assertEquals(2, health.consecutiveFailures());
+        assertEquals(1, health.rejectedRequests());
+        assertEquals(clock.instant().plusSeconds(60), health.nextProbe());
+
+        clock.advance(Duration.ofSeconds(59));
+        assertFalse(partnerCircuitBreaker.tryAcquire(BPNL));
+    }
+
+    @Test
+    void tryAcquire_WhenProbeSucceedsOrFails_ClosesOrReopensCircuit() {
+        // given
+        partnerCircuitBreaker.recordFailure(BPNL);
+        partnerCircuitBreaker.recordFailure(BPNL);
+        clock.advance(Duration.ofSeconds(60));
+
+        // when the probe fails
+        assertTrue(partnerCircuitBreaker.tryAcquire(BPNL));
+        assertEquals(State.HALF_OPEN, partnerCircuitBreaker.getHealth(BPNL).state());
+        assertFalse(partnerCircuitBreaker.tryAcquire(BPNL));
+        partnerCircuitBreaker.recordFailure(BPNL);
+        partnerCircuitBreaker.release(BPNL);
+
+        // then
+        assertEquals(State.OPEN, partnerCircuitBreaker.getHealth(BPNL).state());
+        assertFalse(partnerCircuitBreaker.tryAcquire(BPNL));
+
+        // when the next probe succeeds
+        clock.advance(Duration.ofSeconds(60));
+        assertTrue(partnerCircuitBreaker.tryAcquire(BPNL));
+        partnerCircuitBreaker.recordSuccess(BPNL);
+        partnerCircuitBreaker.release(BPNL);
+
+        // then
+        var health = partnerCircuitBreaker.getHealth(BPNL);
+        assertEquals(State.CLOSED, health.state());
+        assertEquals(0, health.consecutiveFailures());
+        assertNull(health.nextProbe());
+        assertTrue(partnerCircuitBreaker.tryAcquire(BPNL));
+    }
+
+    @Test
+    void release_WhenProbeReportedNoOutcome_NextRequestProbesAgain() {
+        // given
+        partnerCircuitBreaker.recordFailure(BPNL);
+        partnerCircuitBreaker.recordFailure(BPNL);
+        clock.advance(Duration.ofSeconds(60));
+        assertTrue(partnerCircuitBreaker.tryAcquire(BPNL));
+
+        // when
+        partnerCircuitBreaker.release(BPNL);
+
+        // then
+        assertEquals(State.OPEN, partnerCircuitBreaker.getHealth(BPNL).state());
+        assertTrue(partnerCircuitBreaker.tryAcquire(BPNL));
+        assertNull(partnerCircuitBreaker.getHealth("BPNL0000000000AA"));
+        assertEquals(1, partnerCircuitBreaker.getHealth().size());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmodelFingerprintTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SubmodelFingerprint submodelFingerprint = new SubmodelFingerprint(objectMapper);
+
+    @Test
+    void of_WhenOnlyOrderOrRequestTimestampDiffers_ReturnsSameEtag() throws Exception {
+        // given
+        JsonNode demand = objectMapper.readTree("""
+            {"materialNumberCustomer": "MNR-7307-AU340474.002",
+             "demandSeries": [{"demandCategory": "0001", "demands": [{"demand": 10, "day": "2024-05-01"}]},
+                              {"demandCategory": "A1S1", "demands": [{"demand": 20, "day": "2024-05-02"}]}],
+             "lastUpdatedOnDateTime": "2024-05-01T10:00:00.000+00:00"}
+            """);
+        JsonNode reorderedDemand = objectMapper.readTree("""
+            {"lastUpdatedOnDateTime": "2024-05-01T10:05:00.000+00:00",
+             "demandSeries": [{"demands": [{"day": "2024-05-02", "demand": 20}], "demandCategory": "A1S1"},
+                              {"demandCategory": "0001", "demands": [{"demand": 10, "day": "2024-05-01"}]}],
+             "materialNumberCustomer": "MNR-7307-AU340474.002"}
+            """);
+
+        // when
+        String etag = submodelFingerprint.of(demand, AssetType.DEMAND_SUBMODEL);
+
+        // then
+        assertTrue(etag.startsWith("W/\""));
+        assertEquals(etag, submodelFingerprint.of(reorderedDemand, AssetType.DEMAND_SUBMODEL));
+    }
+
+    @Test
+    void of_WhenValuesDiffer_ReturnsDifferentEtag() throws Exception {
+        // given
+        JsonNode stock = objectMapper.readTree("""
+            {"positions": [{"quantity": 10, "lastUpdatedOnDateTime": "2024-05-01T10:00:00.000+00:00"}]}
+            """);
+        JsonNode changedQuantity = objectMapper.readTree("""
+            {"positions": [{"quantity": 11, "lastUpdatedOnDateTime": "2024-05-01T10:00:00.000+00:00"}]}
+            """);
+        JsonNode changedUpdate = objectMapper.readTree("""
+            {"positions": [{"quantity": 10, "lastUpdatedOnDateTime": "2024-05-01T11:00:00.000+00:00"}]}
+            """);
+
+        // when
+        String etag = submodelFingerprint.of(stock, AssetType.ITEM_STOCK_SUBMODEL);
+
+        // then
+        assertNotEquals(etag, submodelFingerprint.of(changedQuantity, AssetType.ITEM_STOCK_SUBMODEL));
+        assertNotEquals(etag, submodelFingerprint.of(changedUpdate, AssetType.ITEM_STOCK_SUBMODEL));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.lease.logic;
+
+import org.eclipse.tractusx.puris.backend.common.lease.domain.repository.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(JobLeaseService.class)
+// leases are written in their own transactions, so the test must not hold a transaction itself
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JobLeaseServiceTest {
+
+    private static final String LEASE = "test-job";
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @AfterEach
+    void tearDown() {
+        jobLeaseRepository.deleteAll();
+    }
+
+    @Test
+    void tryAcquire_WhenHeldByOtherHolder_FailsUntilReleased() {
+        // given
+        String holder = jobLeaseService.newHolder();
+        String otherHolder = jobLeaseService.newHolder();
+
+        // when / then
+        assertTrue(jobLeaseService.tryAcquire(LEASE, holder, Duration.ofMinutes(1)));
+        assertFalse(jobLeaseService.tryAcquire(LEASE, otherHolder, Duration.ofMinutes(1)));
+        // renewal by the holder
+        assertTrue(jobLeaseService.tryAcquire(LEASE, holder, Duration.ofMinutes(1)));
+        assertTrue(jobLeaseService.isHeld(LEASE));
+
+        jobLeaseService.release(LEASE, otherHolder);
+        assertTrue(jobLeaseService.isHeld(LEASE));
+        jobLeaseService.release(LEASE, holder);
+        assertFalse(jobLeaseService.isHeld(LEASE));
+        assertTrue(jobLeaseService.tryAcquire(LEASE, otherHolder, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void tryAcquire_WhenLeaseExpired_TakesOverLease() {
+        // given
+        assertTrue(jobLeaseService.tryAcquire(LEASE, jobLeaseService.newHolder(), Duration.ZERO));
+
+        // when
+        String otherHolder = jobLeaseService.newHolder();
+        boolean acquired = jobLeaseService.tryAcquire(LEASE, otherHolder, Duration.ofMinutes(1));
+
+        // then
+        assertTrue(acquired);
+        assertEquals(otherHolder, jobLeaseRepository.findById(LEASE).orElseThrow().getHolder());
+    }
+
+    @Test
+    void singleFlight_WhenCalledConcurrently_RunsJobOnce() throws Exception {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<String> first = executor.submit(() -> jobLeaseService.singleFlight(LEASE, Duration.ofMinutes(1), () -> {
+            runs.incrementAndGet();
+            sleep(600);
+            return "leader";
+        }, () -> "follower"));
+        sleep(100);
+        Future<String> second = executor.submit(() -> jobLeaseService.singleFlight(LEASE, Duration.ofMinutes(1), () -> {
+            runs.incrementAndGet();
+            return "leader";
+        }, () -> "follower"));
+
+        // then
+        assertEquals("leader", first.get());
+        assertEquals("follower", second.get());
+        assertEquals(1, runs.get());
+        assertFalse(jobLeaseService.isHeld(LEASE));
+        executor.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
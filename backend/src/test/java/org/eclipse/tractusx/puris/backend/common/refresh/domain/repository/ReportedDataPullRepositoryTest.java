@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.refresh.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.domain.model.ReportedDataPull;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class ReportedDataPullRepositoryTest {
+
+    @Autowired
+    private ReportedDataPullRepository repository;
+
+    @Test
+    void conditionalUpdates_WhenCalledWithStaleValues_DoNotOverwriteNewerState() {
+        // given
+        UUID partnerUuid = UUID.randomUUID();
+        var due = repository.save(new ReportedDataPull(partnerUuid, "MNR-7307-AU340474.002",
+            AssetType.ITEM_STOCK_SUBMODEL, "OUTBOUND", 0, 2000));
+        repository.save(new ReportedDataPull(partnerUuid, "MNR-7307-AU340474.002",
+            AssetType.DEMAND_SUBMODEL, "", 0, 1000));
+        repository.save(new ReportedDataPull(partnerUuid, "MNR-7307-AU340474.002",
+            AssetType.DELIVERY_SUBMODEL, "", 0, 5000));
+        var key = due.getKey();
+
+        // when / then
+        // the most overdue pull comes first
+        var duePulls = repository.findDue(2000);
+        assertEquals(2, duePulls.size());
+        assertEquals(AssetType.DEMAND_SUBMODEL, duePulls.get(0).getAssetType());
+        // a due pull can only be claimed once
+        assertEquals(1, repository.updateNextPullScheduled(key, 2000, 2500));
+        assertEquals(0, repository.updateNextPullScheduled(key, 2000, 2500));
+        // a successful pull is only moved forward
+        assertEquals(1, repository.updateSuccessfulPull(key, 2100, 8000));
+        assertEquals(0, repository.updateSuccessfulPull(key, 2050, 7000));
+
+        var stored = repository.findById(key).orElseThrow();
+        assertEquals(2100, stored.getLastSuccessfulPull());
+        assertEquals(8000, stored.getNextPullScheduled());
+        assertEquals(1, repository.findDue(2500).size());
+    }
+}
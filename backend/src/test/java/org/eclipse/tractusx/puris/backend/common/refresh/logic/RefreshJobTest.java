@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.common.refresh.logic;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.dto.RefreshJobPartnerDto;
+import org.eclipse.tractusx.puris.backend.common.util.DifferentialSync;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RefreshJobTest {
+
+    private Material material;
+
+    private Partner supplier;
+
+    private Partner otherSupplier;
+
+    private RefreshJob job;
+
+    @BeforeEach
+    void setUp() {
+        material = new Material(true, false, "MNR-7307-AU340474.001", UUID.randomUUID().toString(), "Semiconductor");
+        supplier = partner("BPNL1234567890ZZ");
+        otherSupplier = partner("BPNL4444444444XX");
+        job = new RefreshJob(material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND,
+            List.of(supplier, otherSupplier));
+    }
+
+    @Test
+    void complete_WhenAllPartnersFinished_ReportsChangesPerPartner() {
+        // given
+        var changes = new DifferentialSync.Changes(1, 2, 0, 3, 0);
+        job.recordChanges(new ReportedDataChangedEvent(supplier, material, AssetType.ITEM_STOCK_SUBMODEL,
+            DirectionCharacteristic.OUTBOUND, changes));
+        // events of other submodels or directions belong to other pulls
+        job.recordChanges(new ReportedDataChangedEvent(otherSupplier, material, AssetType.ITEM_STOCK_SUBMODEL,
+            DirectionCharacteristic.INBOUND, changes));
+        job.recordChanges(new ReportedDataChangedEvent(otherSupplier, material, AssetType.DELIVERY_SUBMODEL, null, changes));
+
+        // when
+        job.complete(supplier, true);
+        assertFalse(job.isFinished());
+        job.complete(otherSupplier, false);
+
+        // then
+        assertTrue(job.isFinished());
+        var dto = job.toDto();
+        assertEquals("MNR-7307-AU340474.001", dto.getOwnMaterialNumber());
+        assertNotNull(dto.getFinishedOn());
+        RefreshJobPartnerDto supplierDto = dto.getPartners().get(0);
+        assertEquals("BPNL1234567890ZZ", supplierDto.getPartnerBpnl());
+        assertEquals(RefreshJob.PartnerState.UP_TO_DATE, supplierDto.getState());
+        assertTrue(supplierDto.isChanged());
+        assertEquals(6, supplierDto.getRows());
+        RefreshJobPartnerDto otherSupplierDto = dto.getPartners().get(1);
+        assertEquals(RefreshJob.PartnerState.FAILED, otherSupplierDto.getState());
+        assertFalse(otherSupplierDto.isChanged());
+        assertNull(otherSupplierDto.getRows());
+    }
+
+    @Test
+    void subscribe_WhenJoiningRunningJob_ReplaysFinishedPartnersAndCompletesAfterLast() throws Exception {
+        // given
+        job.complete(supplier, true);
+        SseEmitter emitter = mock(SseEmitter.class);
+
+        // when
+        job.subscribe(emitter);
+
+        // then the finished partner has been replayed
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+
+        // when
+        job.complete(otherSupplier, true);
+
+        // then the partner and the finished event have been sent
+        verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+    }
+
+    @Test
+    void subscribe_WhenJobHasNoPartners_SendsFinishedEvent() throws Exception {
+        // given
+        var emptyJob = new RefreshJob(material, AssetType.DEMAND_SUBMODEL, null, List.of());
+        SseEmitter emitter = mock(SseEmitter.class);
+
+        // when
+        emptyJob.subscribe(emitter);
+
+        // then
+        assertTrue(emptyJob.isFinished());
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+    }
+
+    private static Partner partner(String bpnl) {
+        Partner partner = new Partner("Supplier " + bpnl, "http://supplier-control-plane:9184/api/v1/dsp", bpnl,
+            "BPNS1234567890ZZ", "Konzernzentrale Dudelsdorf", "BPNA1234567890AA", "Heinrich-Supplier-Straße 1",
+            "77785 Dudelsdorf", "Germany");
+        partner.setUuid(UUID.randomUUID());
+        return partner;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailySeriesTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void add_WhenDatesWithinAndOutsideSeries_BucketsByUtcDay() {
+        // given
+        DailySeries series = DailySeries.empty(FIRST_DAY, 3);
+
+        // when
+        boolean added = series.add(utc(FIRST_DAY.plusDays(1), 23), 5);
+        series.add(utc(FIRST_DAY.plusDays(1), 0), 2);
+        boolean before = series.add(utc(FIRST_DAY.minusDays(1), 12), 7);
+        boolean after = series.add(utc(FIRST_DAY.plusDays(3), 0), 7);
+
+        // then
+        assertTrue(added);
+        assertFalse(before);
+        assertFalse(after);
+        assertFalse(series.add(null, 1));
+        assertArrayEquals(new double[]{0, 7, 0}, series.toArray());
+        assertEquals(utc(FIRST_DAY, 0), series.getStart());
+        assertEquals(utc(FIRST_DAY.plusDays(3), 0), series.getEnd());
+    }
+
+    @Test
+    void plusMinusCumulative_WhenSameDays_CalculatesPerDay() {
+        // given
+        DailySeries added = DailySeries.of(FIRST_DAY, 0, 15, 0);
+        DailySeries consumed = DailySeries.of(FIRST_DAY, 10, 10, 10);
+
+        // when
+        DailySeries stock = added.minus(consumed).cumulative(20);
+
+        // then
+        assertEquals(DailySeries.of(FIRST_DAY, 10, 25, 10), added.plus(consumed));
+        assertArrayEquals(new double[]{10, 15, 5}, stock.toArray());
+        assertEquals(5, stock.min());
+        assertArrayEquals(new double[]{0, 15, 0}, added.toArray());
+    }
+
+    @Test
+    void plus_WhenDifferentDays_ThrowsIllegalArgumentException() {
+        // given
+        DailySeries series = DailySeries.of(FIRST_DAY, 1, 2);
+
+        // then
+        assertThrows(IllegalArgumentException.class, () -> series.plus(DailySeries.of(FIRST_DAY.plusDays(1), 1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> series.minus(DailySeries.of(FIRST_DAY, 1, 2, 3)));
+    }
+
+    private static Date utc(LocalDate day, int hour) {
+        return Date.from(day.atTime(hour, 0).toInstant(ZoneOffset.UTC));
+    }
+}
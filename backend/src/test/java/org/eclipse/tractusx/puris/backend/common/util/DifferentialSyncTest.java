@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class DifferentialSyncTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final DifferentialSync differentialSync = new DifferentialSync(transactionManager);
+
+    private static class Row {
+        private final String site;
+        private double quantity;
+
+        Row(String site, double quantity) {
+            this.site = site;
+            this.quantity = quantity;
+        }
+    }
+
+    private static class InMemoryRows implements DifferentialSync.Rows<Row> {
+
+        private final List<Row> stored = new ArrayList<>();
+
+        private int saves;
+
+        @Override
+        public List<Row> load() {
+            return new ArrayList<>(stored);
+        }
+
+        @Override
+        public Object naturalKey(Row row) {
+            return row.site;
+        }
+
+        @Override
+        public boolean copyValues(Row source, Row target) {
+            if (source.quantity == target.quantity) {
+                return false;
+            }
+            target.quantity = source.quantity;
+            return true;
+        }
+
+        @Override
+        public boolean isValid(Row row) {
+            return row.quantity > 0;
+        }
+
+        @Override
+        public void save(Row row) {
+            saves++;
+            if (!stored.contains(row)) {
+                stored.add(row);
+            }
+        }
+
+        @Override
+        public void delete(Row row) {
+            stored.remove(row);
+        }
+    }
+
+    @Test
+    void apply_WhenSnapshotPartiallyChanged_WritesOnlyDifferencesInOneTransaction() {
+        // given
+        InMemoryRows rows = new InMemoryRows();
+        Row unchanged = new Row("BPNS1234567890ZZ", 10);
+        Row changed = new Row("BPNS4444444444XX", 20);
+        Row removed = new Row("BPNS0000000001XX", 30);
+        rows.stored.addAll(List.of(unchanged, changed, removed));
+        List<Row> snapshot = List.of(
+            new Row("BPNS1234567890ZZ", 10),
+            new Row("BPNS4444444444XX", 25),
+            new Row("BPNS0000000002XX", 40),
+            new Row("BPNS0000000003XX", -1)
+        );
+
+        // when
+        DifferentialSync.Changes changes = differentialSync.apply(rows, snapshot);
+
+        // then
+        assertEquals(new DifferentialSync.Changes(1, 1, 1, 1, 1), changes);
+        assertEquals(2, rows.saves);
+        assertEquals(3, rows.stored.size());
+        assertEquals(List.of(unchanged, changed), rows.stored.subList(0, 2));
+        assertEquals(25, changed.quantity);
+        assertEquals("BPNS0000000002XX", rows.stored.get(2).site);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemQuantityEntity;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SizeLimitedInputStreamTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final byte[] payload = "{\"value\":20.0,\"unit\":\"unit:piece\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void readValue_WhenPayloadWithinLimit_DeserializesFromStream() throws Exception {
+        // when
+        ItemQuantityEntity quantity;
+        try (InputStream stream = new SizeLimitedInputStream(new ByteArrayInputStream(payload), payload.length)) {
+            quantity = objectMapper.readValue(stream, ItemQuantityEntity.class);
+        }
+
+        // then
+        assertEquals(20.0, quantity.getValue());
+        assertEquals(ItemUnitEnumeration.UNIT_PIECE, quantity.getUnit());
+    }
+
+    @Test
+    void readValue_WhenPayloadExceedsLimit_ThrowsPayloadTooLarge() {
+        // when
+        var exception = assertThrows(SizeLimitedInputStream.PayloadTooLargeException.class, () -> {
+            try (InputStream stream = new SizeLimitedInputStream(new ByteArrayInputStream(payload), payload.length - 1)) {
+                objectMapper.readValue(stream, ItemQuantityEntity.class);
+            }
+        });
+
+        // then
+        assertTrue(exception.getMessage().contains(String.valueOf(payload.length - 1)));
+    }
+}
@@ -21,9 +21,11 @@
 package org.eclipse.tractusx.puris.backend.delivery.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.EventTypeEnumeration;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.IncotermEnumeration;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
@@ -42,6 +44,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.stubbing.Answer;
 
 import java.time.LocalDate;
@@ -72,6 +75,8 @@ public class DeliveryRequestApiServiceTest {
     private EdcAdapterService edcAdapterService;
     @Mock
     private DeliveryInformationSammMapper sammMapper;
+    @Spy
+    private SubmodelResponseCache submodelResponseCache = new SubmodelResponseCache("maximumSize=100", new SimpleMeterRegistry());
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.demand.logic.services;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.DemandCategoryEnumeration;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class OwnDemandServiceTest {
+
+    /**
+     * Material of the customer demo data, which is bought from the scenario supplier
+     */
+    private static final String OWN_MATERIAL_NUMBER = "MNR-7307-AU340474.002";
+
+    private static final String BPNL_SUPPLIER = "BPNL1234567890ZZ";
+
+    private static final String BPNL_NON_SCENARIO_CUSTOMER = "BPNL2222222222RR";
+
+    @Autowired
+    private OwnDemandService ownDemandService;
+
+    @Autowired
+    private PartnerService partnerService;
+
+    @Autowired
+    private MaterialService materialService;
+
+    @Autowired
+    private SubmodelResponseCache submodelResponseCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void update_WhenPartnerChanged_EvictsSubmodelOfOldPartner() {
+        // given
+        Partner supplier = partnerService.findByBpnl(BPNL_SUPPLIER);
+        Partner otherPartner = partnerService.findByBpnl(BPNL_NON_SCENARIO_CUSTOMER);
+        Material material = materialService.findByOwnMaterialNumber(OWN_MATERIAL_NUMBER);
+        String ownSiteBpns = partnerService.getOwnPartnerEntity().getSites().first().getBpns();
+        OwnDemand created = ownDemandService.create(OwnDemand.builder()
+            .partner(supplier)
+            .material(material)
+            .quantity(10)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .day(new Date())
+            .demandLocationBpns(ownSiteBpns)
+            .demandCategoryCode(DemandCategoryEnumeration.DEMAND_DEFAULT)
+            .build());
+        AtomicInteger loads = new AtomicInteger();
+        submodelResponseCache.get(supplier, material, AssetType.DEMAND_SUBMODEL, null, loads::incrementAndGet);
+
+        try {
+            // when
+            OwnDemand moved = OwnDemand.builder()
+                .uuid(created.getUuid())
+                .partner(otherPartner)
+                .material(material)
+                .quantity(created.getQuantity())
+                .measurementUnit(created.getMeasurementUnit())
+                .day(created.getDay())
+                .demandLocationBpns(created.getDemandLocationBpns())
+                .demandCategoryCode(created.getDemandCategoryCode())
+                .build();
+            // like the controllers, which run within the entity manager of the request
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> ownDemandService.update(moved));
+            submodelResponseCache.get(supplier, material, AssetType.DEMAND_SUBMODEL, null, loads::incrementAndGet);
+
+            // then
+            assertEquals(2, loads.get());
+        } finally {
+            ownDemandService.delete(created.getUuid());
+        }
+    }
+}
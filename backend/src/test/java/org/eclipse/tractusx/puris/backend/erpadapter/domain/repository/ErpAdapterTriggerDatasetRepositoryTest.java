@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterTriggerDataset;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+public class ErpAdapterTriggerDatasetRepositoryTest {
+
+    @Autowired
+    private ErpAdapterTriggerDatasetRepository repository;
+
+    @Test
+    void conditionalUpdates_WhenCalledWithStaleValues_DoNotOverwriteNewerState() {
+        // given
+        ErpAdapterTriggerDataset dataset = repository.save(new ErpAdapterTriggerDataset("BPNL1234567890ZZ", "MNR-7307-AU340474.002",
+            AssetType.ITEM_STOCK_SUBMODEL, "INBOUND", 1000, 2000));
+        var key = dataset.getKey();
+
+        // when / then
+        // a partner request is only moved forward
+        assertEquals(1, repository.updateLastPartnerRequest(key, 1500));
+        assertEquals(0, repository.updateLastPartnerRequest(key, 1200));
+        // a scheduled request can only be claimed once
+        assertEquals(1, repository.updateNextErpRequestScheduled(key, 2000, 3000));
+        assertEquals(0, repository.updateNextErpRequestScheduled(key, 2000, 3000));
+        // the dataset is kept as long as there were partner requests after the limit
+        assertEquals(0, repository.deleteIfNotRequestedSince(key, 1400));
+
+        var stored = repository.findById(key).orElseThrow();
+        assertEquals(1500, stored.getLastPartnerRequest());
+        assertEquals(3000, stored.getNextErpRequestScheduled());
+
+        assertEquals(1, repository.deleteIfNotRequestedSince(key, 1500));
+        assertFalse(repository.existsById(key));
+    }
+}
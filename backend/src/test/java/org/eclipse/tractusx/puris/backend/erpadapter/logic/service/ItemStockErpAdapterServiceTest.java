@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
+import org.eclipse.tractusx.puris.backend.erpadapter.controller.ErpAdapterController;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.MaterialItemStockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs on a database of its own, because the item stocks of the demo data are replaced.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:hsqldb:mem:erpitemstocks;DB_CLOSE_DELAY=-1")
+public class ItemStockErpAdapterServiceTest {
+
+    /**
+     * Material of the customer demo data, which is bought from the scenario supplier
+     */
+    private static final String OWN_MATERIAL_NUMBER = "MNR-7307-AU340474.002";
+
+    private static final String BPNL_SUPPLIER = "BPNL1234567890ZZ";
+
+    private static final String BPNS_OWN = "BPNS4444444444XX";
+
+    private static final String BPNA_OWN = "BPNA4444444444AA";
+
+    private static final String SAMM_VERSION = "2.0";
+
+    @Autowired
+    private ItemStockErpAdapterService itemStockErpAdapterService;
+
+    @Autowired
+    private ErpAdapterRequestService erpAdapterRequestService;
+
+    @Autowired
+    private MaterialItemStockService materialItemStockService;
+
+    @Autowired
+    private SubmodelResponseCache submodelResponseCache;
+
+    @Autowired
+    private PartnerService partnerService;
+
+    @Autowired
+    private MaterialService materialService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    private Set<UUID> oldItemStocks;
+
+    @BeforeEach
+    void setUp() {
+        // every test starts with item stocks that differ from the ones of its payloads
+        ErpAdapterRequest request = createRequest();
+        assertEquals(201, receive(request, samm("INBOUND", true, position("OLD", 7, BPNS_OWN))));
+        oldItemStocks = itemStockUuids();
+        assertEquals(1, oldItemStocks.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void receiveItemStockUpdate_WithValidPositions_ReplacesItemStocks(boolean directionFirst) {
+        // given
+        ErpAdapterRequest request = createRequest();
+        String body = samm("INBOUND", directionFirst, position("P1", 22, BPNS_OWN), position("P2", 44, BPNS_OWN));
+
+        // when
+        int responseCode = receive(request, body);
+
+        // then
+        assertEquals(201, responseCode);
+        List<MaterialItemStock> itemStocks = itemStocks();
+        assertEquals(Set.of("P1", "P2"), itemStocks.stream().map(MaterialItemStock::getCustomerOrderPositionId).collect(Collectors.toSet()));
+        assertTrue(itemStocks.stream().noneMatch(itemStock -> oldItemStocks.contains(itemStock.getUuid())));
+        assertNotNull(erpAdapterRequestService.get(request.getId()).getResponseReceivedDate());
+    }
+
+    @Test
+    void receiveItemStockUpdate_WhenDirectionMismatch_KeepsOldItemStocks() {
+        // given
+        ErpAdapterRequest request = createRequest();
+        String body = samm("OUTBOUND", false, position("P1", 22, BPNS_OWN));
+
+        // when
+        int responseCode = receive(request, body);
+
+        // then
+        assertEquals(400, responseCode);
+        assertEquals(oldItemStocks, itemStockUuids());
+        assertEquals(7, materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, BPNL_SUPPLIER, null));
+        assertNull(erpAdapterRequestService.get(request.getId()).getResponseReceivedDate());
+    }
+
+    @Test
+    void receiveItemStockUpdate_WithMalformedJson_KeepsOldItemStocks() {
+        // given
+        ErpAdapterRequest request = createRequest();
+        String body = samm("INBOUND", false, position("P1", 22, BPNS_OWN), position("P2", 44, BPNS_OWN));
+        String truncated = body.substring(0, body.indexOf("P2"));
+
+        // when
+        int responseCode = receive(request, truncated);
+
+        // then
+        assertEquals(400, responseCode);
+        assertEquals(oldItemStocks, itemStockUuids());
+        assertNull(erpAdapterRequestService.get(request.getId()).getResponseReceivedDate());
+    }
+
+    @Test
+    void receiveItemStockUpdate_WithInvalidPositions_RejectsThem() {
+        // given
+        ErpAdapterRequest request = createRequest();
+        // the stock of a site that does not belong to the own partner entity is invalid
+        String body = samm("INBOUND", false, position("P1", 22, BPNS_OWN), position("P2", 44, "BPNS0000000000XX"));
+
+        // when
+        int responseCode = receive(request, body);
+
+        // then
+        assertEquals(201, responseCode);
+        List<MaterialItemStock> itemStocks = itemStocks();
+        assertEquals(1, itemStocks.size());
+        assertEquals("P1", itemStocks.get(0).getCustomerOrderPositionId());
+    }
+
+    @Test
+    void bulkReplace_WithInvalidItemStocks_CountsThemAsRejected() {
+        // given
+        Partner partner = partnerService.findByBpnl(BPNL_SUPPLIER);
+        Material material = materialService.findByOwnMaterialNumber(OWN_MATERIAL_NUMBER);
+        MaterialItemStock valid = itemStock(partner, material, BPNS_OWN);
+        MaterialItemStock invalid = itemStock(partner, material, "BPNS0000000000XX");
+
+        // when
+        var replacement = new TransactionTemplate(transactionManager).execute(status -> {
+            var result = materialItemStockService.bulkReplace(partner, material);
+            result.add(valid);
+            result.add(invalid);
+            result.finish();
+            return result;
+        });
+
+        // then
+        assertEquals(1, replacement.getDeleted());
+        assertEquals(1, replacement.getInserted());
+        assertEquals(1, replacement.getRejected());
+        assertEquals(1, itemStocks().size());
+    }
+
+    @Test
+    void receiveItemStockUpdate_WithMorePositionsThanBatchSize_InsertsAll() {
+        // given
+        ErpAdapterRequest request = createRequest();
+        int count = 2 * batchSize + 1;
+        String[] positions = new String[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = position("P" + i, 1, BPNS_OWN);
+        }
+
+        // when
+        int responseCode = receive(request, samm("INBOUND", false, positions));
+
+        // then
+        assertEquals(201, responseCode);
+        assertEquals(count, itemStocks().size());
+        assertEquals(count, materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, BPNL_SUPPLIER, null));
+    }
+
+    @Test
+    void receiveItemStockUpdate_WhenFinished_RefreshesStockPositionsAndSubmodel() {
+        // given
+        Partner partner = partnerService.findByBpnl(BPNL_SUPPLIER);
+        Material material = materialService.findByOwnMaterialNumber(OWN_MATERIAL_NUMBER);
+        AtomicInteger loads = new AtomicInteger();
+        submodelResponseCache.get(partner, material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.INBOUND, loads::incrementAndGet);
+        ErpAdapterRequest request = createRequest();
+
+        // when
+        int responseCode = receive(request, samm("INBOUND", false, position("P1", 22, BPNS_OWN), position("P2", 44, BPNS_OWN)));
+        submodelResponseCache.get(partner, material, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.INBOUND, loads::incrementAndGet);
+
+        // then
+        assertEquals(201, responseCode);
+        assertEquals(66, materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, BPNL_SUPPLIER, BPNS_OWN));
+        assertEquals(2, loads.get());
+    }
+
+    private ErpAdapterRequest createRequest() {
+        return erpAdapterRequestService.create(ErpAdapterRequest.builder()
+            .partnerBpnl(BPNL_SUPPLIER)
+            .requestType(AssetType.ITEM_STOCK_SUBMODEL.ERP_KEYWORD)
+            .sammVersion(SAMM_VERSION)
+            .requestDate(new Date())
+            .responseCode(201)
+            .ownMaterialNumber(OWN_MATERIAL_NUMBER)
+            .directionCharacteristic(DirectionCharacteristic.INBOUND)
+            .build());
+    }
+
+    private static MaterialItemStock itemStock(Partner partner, Material material, String bpns) {
+        return MaterialItemStock.builder()
+            .partner(partner)
+            .material(material)
+            .quantity(5)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .locationBpns(bpns)
+            .locationBpna(BPNA_OWN)
+            .lastUpdatedOnDateTime(new Date())
+            .build();
+    }
+
+    private int receive(ErpAdapterRequest request, String body) {
+        var dto = new ErpAdapterController.Dto(request.getId(), BPNL_SUPPLIER, AssetType.ITEM_STOCK_SUBMODEL.ERP_KEYWORD,
+            SAMM_VERSION, new Date());
+        return itemStockErpAdapterService.receiveItemStockUpdate(dto, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<MaterialItemStock> itemStocks() {
+        return materialItemStockService.findByPartnerBpnlAndOwnMaterialNumber(BPNL_SUPPLIER, OWN_MATERIAL_NUMBER);
+    }
+
+    private Set<UUID> itemStockUuids() {
+        return itemStocks().stream().map(MaterialItemStock::getUuid).collect(Collectors.toSet());
+    }
+
+    private static String samm(String direction, boolean directionFirst, String... positions) {
+        String directionField = "\"direction\": \"" + direction + "\"";
+        String positionsField = "\"positions\": [" + String.join(",", positions) + "]";
+        List<String> fields = new ArrayList<>(List.of("\"materialGlobalAssetId\": null"));
+        if (directionFirst) {
+            fields.add(directionField);
+            fields.add(positionsField);
+        } else {
+            fields.add(positionsField);
+            fields.add(directionField);
+        }
+        return "{" + String.join(",", fields) + "}";
+    }
+
+    private static String position(String customerOrderPositionId, double quantity, String bpns) {
+        return """
+            {
+                "orderPositionReference": {
+                    "supplierOrderId": "M-Nbr-4711",
+                    "customerOrderId": "C-Nbr-4711",
+                    "customerOrderPositionId": "%s"
+                },
+                "allocatedStocks": [
+                    {
+                        "isBlocked": false,
+                        "stockLocationBPNA": "%s",
+                        "lastUpdatedOnDateTime": "2023-04-28T14:23:00.123+02:00",
+                        "quantityOnAllocatedStock": {
+                            "value": %s,
+                            "unit": "unit:piece"
+                        },
+                        "stockLocationBPNS": "%s"
+                    }
+                ]
+            }""".formatted(customerOrderPositionId, BPNA_OWN, quantity, bpns);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the data planes of the {@link SimulatedPartner}s, including their digital twin registries.
+ * <p>
+ * Every partner is served under the path {@code partner-<index>}. The registry finds a shell for every
+ * requested part and lists all supported submodels in its descriptor. The submodels are provided by
+ * the {@link PayloadSource}. Like the backends of the partners, the submodels are sent with an entity tag
+ * and answered with 304 Not Modified, if the request carries the current one as If-None-Match header.
+ */
+public class DataPlaneStandIn extends Dispatcher {
+
+    private static final List<AssetType> SUBMODELS = List.of(AssetType.ITEM_STOCK_SUBMODEL, AssetType.PRODUCTION_SUBMODEL,
+        AssetType.DEMAND_SUBMODEL, AssetType.DELIVERY_SUBMODEL);
+
+    /**
+     * Provides the submodels of the simulated partners.
+     */
+    @FunctionalInterface
+    public interface PayloadSource {
+
+        /**
+         * @param partner            the partner providing the submodel
+         * @param type               the submodel type
+         * @param manufacturerId     the BPNL of the manufacturer of the part
+         * @param manufacturerPartId the material number of the manufacturer
+         * @return the submodel or null, if the partner does not provide it
+         */
+        Object payload(SimulatedPartner partner, AssetType type, String manufacturerId, String manufacturerPartId);
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StandInBehavior behavior;
+
+    private final String url;
+
+    private final PayloadSource payloadSource;
+
+    /**
+     * The manufacturer id and part id by the id of the shell
+     */
+    private final Map<String, String[]> shells = new ConcurrentHashMap<>();
+
+    @Getter
+    private final AtomicInteger registryRequestCount = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger submodelRequestCount = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+    /**
+     * @param behavior      the latency and failure rate
+     * @param url           the url of this stand-in, ending with a slash
+     * @param payloadSource provides the submodels
+     */
+    public DataPlaneStandIn(StandInBehavior behavior, String url, PayloadSource payloadSource) {
+        this.behavior = behavior;
+        this.url = url;
+        this.payloadSource = payloadSource;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        List<String> path = request.getRequestUrl().pathSegments();
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || !authorization.startsWith("token-")) {
+            return new MockResponse().setResponseCode(401);
+        }
+        if (path.size() < 2 || !path.get(0).startsWith("partner-")) {
+            return new MockResponse().setResponseCode(404);
+        }
+        if (behavior.fails()) {
+            return behavior.failure();
+        }
+        SimulatedPartner partner = SimulatedPartner.of(Integer.parseInt(path.get(0).substring("partner-".length())));
+        try {
+            if ("api".equals(path.get(1)) && path.size() >= 4) {
+                registryRequestCount.incrementAndGet();
+                if ("lookup".equals(path.get(3))) {
+                    return lookup(request.getRequestUrl().queryParameter("assetIds"));
+                }
+                if ("shell-descriptors".equals(path.get(3)) && path.size() == 5) {
+                    return shellDescriptor(partner, new String(Base64.getDecoder().decode(path.get(4)), StandardCharsets.UTF_8));
+                }
+            }
+            if ("submodel".equals(path.get(1)) && path.size() >= 4) {
+                submodelRequestCount.incrementAndGet();
+                return submodel(partner, AssetType.valueOf(path.get(2)), path.get(3), request.getHeader("If-None-Match"));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return new MockResponse().setResponseCode(400);
+        }
+        return new MockResponse().setResponseCode(404);
+    }
+
+    private MockResponse lookup(String assetIds) throws IOException {
+        String query = new String(Base64.getDecoder().decode(assetIds), StandardCharsets.UTF_8);
+        String manufacturerId = null, manufacturerPartId = null;
+        for (JsonNode specificAssetId : objectMapper.readTree("[" + query + "]")) {
+            switch (specificAssetId.get("name").asText()) {
+                case "manufacturerId" -> manufacturerId = specificAssetId.get("value").asText();
+                case "manufacturerPartId" -> manufacturerPartId = specificAssetId.get("value").asText();
+                default -> {
+                }
+            }
+        }
+        ObjectNode response = objectMapper.createObjectNode();
+        ArrayNode result = response.putArray("result");
+        if (manufacturerId != null && manufacturerPartId != null) {
+            String aasId = "urn:uuid:" + UUID.nameUUIDFromBytes((manufacturerId + "#" + manufacturerPartId).getBytes(StandardCharsets.UTF_8));
+            shells.put(aasId, new String[]{manufacturerId, manufacturerPartId});
+            result.add(aasId);
+        }
+        return json(response.toString());
+    }
+
+    private MockResponse shellDescriptor(SimulatedPartner partner, String aasId) {
+        if (!shells.containsKey(aasId)) {
+            return new MockResponse().setResponseCode(404);
+        }
+        ObjectNode shell = objectMapper.createObjectNode().put("id", aasId);
+        ArrayNode descriptors = shell.putArray("submodelDescriptors");
+        for (AssetType type : SUBMODELS) {
+            ObjectNode descriptor = descriptors.addObject();
+            descriptor.putObject("semanticId").putArray("keys").addObject()
+                .put("type", "GlobalReference")
+                .put("value", type.URN_SEMANTIC_ID);
+            ObjectNode endpoint = descriptor.putArray("endpoints").addObject().put("interface", "SUBMODEL-3.0");
+            endpoint.putObject("protocolInformation")
+                .put("href", url + "partner-" + partner.index() + "/submodel/" + type.name() + "/" + aasId)
+                .put("subprotocolBody", "id=" + type.name().toLowerCase() + "-asset;dspEndpoint=" + partner.dspUrl());
+        }
+        return json(shell.toString());
+    }
+
+    private MockResponse submodel(SimulatedPartner partner, AssetType type, String aasId, String ifNoneMatch) throws IOException {
+        String[] part = shells.get(aasId);
+        Object payload = part == null ? null : payloadSource.payload(partner, type, part[0], part[1]);
+        if (payload == null) {
+            return new MockResponse().setResponseCode(404);
+        }
+        String body = objectMapper.writeValueAsString(payload);
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            notModifiedCount.incrementAndGet();
+            return behavior.delay(new MockResponse().setResponseCode(304).setHeader("ETag", etag));
+        }
+        return json(body).setHeader("ETag", etag);
+    }
+
+    private MockResponse json(String body) {
+        return behavior.delay(new MockResponse().setHeader("Content-Type", "application/json").setBody(body));
+    }
+}
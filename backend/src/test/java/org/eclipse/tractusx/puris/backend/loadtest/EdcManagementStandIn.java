@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the management api of the own control plane. Catalog requests are answered on behalf of
+ * the {@link SimulatedPartner}s, negotiations are finalized and transfers are started immediately. The EDRs
+ * point to the {@link DataPlaneStandIn} of the respective partner.
+ */
+public class EdcManagementStandIn extends Dispatcher {
+
+    private static final String CONTEXT = """
+        {
+            "@vocab": "https://w3id.org/edc/v0.0.1/ns/",
+            "edc": "https://w3id.org/edc/v0.0.1/ns/",
+            "cx-policy": "https://w3id.org/catenax/policy/",
+            "dcat": "http://www.w3.org/ns/dcat#",
+            "dct": "http://purl.org/dc/terms/",
+            "odrl": "http://www.w3.org/ns/odrl/2/",
+            "dspace": "https://w3id.org/dspace/v0.8/"
+        }""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StandInBehavior behavior;
+
+    private final String dataPlaneUrl;
+
+    private final String frameworkAgreement;
+
+    private final String purpose;
+
+    /**
+     * Partners of the started transfers by transfer id
+     */
+    private final Map<String, SimulatedPartner> transfers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger ids = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger negotiationCount = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger transferCount = new AtomicInteger();
+
+    /**
+     * @param behavior           the latency and failure rate
+     * @param dataPlaneUrl       the url of the data plane stand-in, ending with a slash
+     * @param frameworkAgreement the framework agreement offered in the catalogs, e.g. Puris:1.0
+     * @param purpose            the usage purpose offered in the catalogs, e.g. cx.puris.base:1
+     */
+    public EdcManagementStandIn(StandInBehavior behavior, String dataPlaneUrl, String frameworkAgreement, String purpose) {
+        this.behavior = behavior;
+        this.dataPlaneUrl = dataPlaneUrl;
+        this.frameworkAgreement = frameworkAgreement;
+        this.purpose = purpose;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        List<String> path = request.getRequestUrl().pathSegments();
+        // path starts with "management" followed by the api version
+        if (path.size() < 3) {
+            return new MockResponse().setResponseCode(404);
+        }
+        String resource = path.get(2);
+        boolean post = "POST".equals(request.getMethod());
+        try {
+            if (post && List.of("assets", "policydefinitions", "contractdefinitions").contains(resource)) {
+                if (path.size() > 3 && "request".equals(path.get(3))) {
+                    // nothing has been registered before the startup
+                    return json(objectMapper.createArrayNode());
+                }
+                // registrations at startup
+                return json(objectMapper.createObjectNode().put("@id", "registration-" + ids.incrementAndGet()));
+            }
+            if (behavior.fails()) {
+                return behavior.failure();
+            }
+            return switch (resource) {
+                case "catalog" -> catalog(objectMapper.readTree(request.getBody().readUtf8()));
+                case "contractnegotiations" -> post ?
+                    created("negotiation-" + negotiationCount.incrementAndGet()) :
+                    json(objectMapper.createObjectNode()
+                        .put("@id", path.get(3))
+                        .put("state", "FINALIZED")
+                        .put("contractAgreementId", "agreement-" + path.get(3)));
+                case "transferprocesses" -> transfer(request, path);
+                case "edrs" -> edr(path.get(3));
+                default -> new MockResponse().setResponseCode(404);
+            };
+        } catch (IOException e) {
+            return new MockResponse().setResponseCode(400);
+        }
+    }
+
+    private MockResponse catalog(JsonNode requestBody) throws IOException {
+        SimulatedPartner partner = SimulatedPartner.ofDspUrl(requestBody.path("counterPartyAddress").asText(null));
+        if (partner == null) {
+            return new MockResponse().setResponseCode(502);
+        }
+        String assetId = requestBody.toString().contains("DigitalTwinRegistry") ? "registry-asset" : "submodel-asset";
+        String catalog = """
+            {
+                "@id": "catalog-%1$s",
+                "@type": "dcat:Catalog",
+                "dcat:dataset": {
+                    "@id": "%2$s",
+                    "@type": "dcat:Dataset",
+                    "odrl:hasPolicy": {
+                        "@id": "offer-%1$s-%2$s",
+                        "@type": "odrl:Offer",
+                        "odrl:permission": {
+                            "odrl:action": { "@id": "odrl:use" },
+                            "odrl:constraint": {
+                                "odrl:and": [ {
+                                    "odrl:leftOperand": { "@id": "cx-policy:FrameworkAgreement" },
+                                    "odrl:operator": { "@id": "odrl:eq" },
+                                    "odrl:rightOperand": "%3$s"
+                                }, {
+                                    "odrl:leftOperand": { "@id": "cx-policy:UsagePurpose" },
+                                    "odrl:operator": { "@id": "odrl:eq" },
+                                    "odrl:rightOperand": "%4$s"
+                                } ]
+                            }
+                        },
+                        "odrl:prohibition": [ ],
+                        "odrl:obligation": [ ]
+                    }
+                },
+                "@context": %5$s
+            }""".formatted(partner.bpnl(), assetId, frameworkAgreement, purpose, CONTEXT);
+        return behavior.delay(new MockResponse().setHeader("Content-Type", "application/json").setBody(catalog));
+    }
+
+    private MockResponse transfer(RecordedRequest request, List<String> path) throws IOException {
+        if ("POST".equals(request.getMethod())) {
+            if (path.size() > 4 && "terminate".equals(path.get(4))) {
+                transfers.remove(path.get(3));
+                return json(objectMapper.createObjectNode());
+            }
+            JsonNode body = objectMapper.readTree(request.getBody().readUtf8());
+            SimulatedPartner partner = SimulatedPartner.ofDspUrl(body.path("counterPartyAddress").asText(null));
+            if (partner == null) {
+                return new MockResponse().setResponseCode(502);
+            }
+            String transferId = "transfer-" + transferCount.incrementAndGet();
+            transfers.put(transferId, partner);
+            return created(transferId);
+        }
+        return json(objectMapper.createObjectNode().put("@id", path.get(3)).put("state", "STARTED"));
+    }
+
+    private MockResponse edr(String transferId) {
+        SimulatedPartner partner = transfers.get(transferId);
+        if (partner == null) {
+            return new MockResponse().setResponseCode(404);
+        }
+        return json(objectMapper.createObjectNode()
+            .put("endpoint", dataPlaneUrl + "partner-" + partner.index())
+            .put("authorization", "token-" + transferId));
+    }
+
+    private MockResponse created(String id) {
+        return json(objectMapper.createObjectNode().put("@id", id));
+    }
+
+    private MockResponse json(JsonNode body) {
+        return behavior.delay(new MockResponse().setHeader("Content-Type", "application/json").setBody(body.toString()));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.loadtest;
+
+import lombok.Getter;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the request api of the erp adapter. Requests are accepted, but not answered
+ * via the response api of the backend.
+ */
+public class ErpAdapterStandIn extends Dispatcher {
+
+    private final StandInBehavior behavior;
+
+    @Getter
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    public ErpAdapterStandIn(StandInBehavior behavior) {
+        this.behavior = behavior;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        requestCount.incrementAndGet();
+        if (behavior.fails()) {
+            return behavior.failure();
+        }
+        return behavior.delay(new MockResponse().setResponseCode(201));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the operations of a load test scenario with a fixed number of concurrent callers and
+ * measures throughput, latency percentiles and the number of threads of the JVM.
+ */
+public class LoadDriver {
+
+    public static final String HEADER = String.format("%-32s %8s %8s %10s %8s %8s %8s %8s %8s %8s",
+        "scenario", "ops", "failed", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "threads", "peak");
+
+    /**
+     * @param scenario     the name of the scenario
+     * @param operations   the number of operations
+     * @param failures     the number of operations that returned false or threw an exception
+     * @param elapsedNanos the duration of the whole scenario
+     * @param latencies    the latencies of all operations in ascending order (nanoseconds)
+     * @param threads      the number of live threads at the end of the scenario
+     * @param peakThreads  the peak number of live threads during the scenario
+     */
+    public record Result(String scenario, int operations, int failures, long elapsedNanos, long[] latencies,
+                         int threads, int peakThreads) {
+
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : operations * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @param percentile the percentile (0 to 100)
+         * @return the latency at the given percentile (milliseconds)
+         */
+        public double latencyMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-32s %8d %8d %10.1f %8.1f %8.1f %8.1f %8.1f %8d %8d",
+                scenario, operations, failures, throughput(), latencyMillis(50), latencyMillis(90), latencyMillis(99),
+                latencyMillis(100), threads, peakThreads);
+        }
+    }
+
+    /**
+     * @param scenario    the name of the scenario
+     * @param concurrency the number of concurrent callers
+     * @param operations  the operations, returning false if they failed
+     * @return the measured result
+     * @throws InterruptedException if interrupted while awaiting the operations
+     */
+    public static Result run(String scenario, int concurrency, List<Callable<Boolean>> operations) throws InterruptedException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+        long[] latencies = new long[operations.size()];
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < operations.size(); i++) {
+            int index = i;
+            callers.submit(() -> {
+                long operationStart = System.nanoTime();
+                try {
+                    if (!Boolean.TRUE.equals(operations.get(index).call())) {
+                        failures.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                latencies[index] = System.nanoTime() - operationStart;
+            });
+        }
+        callers.shutdown();
+        if (!callers.awaitTermination(1, TimeUnit.HOURS)) {
+            callers.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(scenario, operations.size(), failures.get(), elapsed, latencies,
+            threadMXBean.getThreadCount(), threadMXBean.getPeakThreadCount());
+    }
+}
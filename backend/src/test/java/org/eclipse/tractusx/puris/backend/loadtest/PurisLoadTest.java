@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockWebServer;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemQuantityEntity;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.util.EdcPhaseMetrics;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.ReportedDataRefreshService;
+import org.eclipse.tractusx.puris.backend.delivery.logic.dto.deliverysamm.DeliveryInformation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialPartnerRelationRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
+import org.eclipse.tractusx.puris.backend.production.domain.model.OwnProduction;
+import org.eclipse.tractusx.puris.backend.production.domain.repository.OwnProductionRepository;
+import org.eclipse.tractusx.puris.backend.production.logic.dto.plannedproductionsamm.AllocatedPlannedProductionOutput;
+import org.eclipse.tractusx.puris.backend.production.logic.dto.plannedproductionsamm.PlannedProductionOutput;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.repository.ProductItemStockRepository;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.AllocatedStock;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.ItemStockSamm;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockRequestApiService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the backend against local stand-ins of the EDC control plane, the data planes and digital twin
+ * registries of the partners and the ERP adapter, so that throughput and latency can be measured for a
+ * configurable number of partners without a Catena-X environment.
+ * <p>
+ * The test only runs if the system property {@code puris.loadtest} is set to true. See the section
+ * "Load testing the backend" in docs/DEVELOPMENT.md for the available parameters.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.org.eclipse.tractusx.puris=WARN",
+    "logging.level.org.springframework=WARN",
+    "puris.dtr.idp.enabled=false",
+    "puris.erpadapter.enabled=true",
+    "puris.refresh.enabled=false"
+})
+@EnabledIfSystemProperty(named = "puris.loadtest", matches = "true")
+public class PurisLoadTest {
+
+    private static final int PARTNERS = Integer.getInteger("puris.loadtest.partners", 200);
+
+    private static final int MATERIALS = Integer.getInteger("puris.loadtest.materials", 5);
+
+    private static final int CONCURRENCY = Integer.getInteger("puris.loadtest.concurrency", 16);
+
+    private static final int STOCKS = Integer.getInteger("puris.loadtest.stocks", 10);
+
+    private static final String API_KEY = "test";
+
+    private static final MockWebServer EDC_SERVER = new MockWebServer();
+
+    private static final MockWebServer DATA_PLANE_SERVER = new MockWebServer();
+
+    private static final MockWebServer ERP_SERVER = new MockWebServer();
+
+    private static EdcManagementStandIn edc;
+
+    private static DataPlaneStandIn dataPlane;
+
+    private static ErpAdapterStandIn erpAdapter;
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private MaterialPartnerRelationRepository mprRepository;
+
+    @Autowired
+    private ProductItemStockRepository productItemStockRepository;
+
+    @Autowired
+    private OwnProductionRepository ownProductionRepository;
+
+    @Autowired
+    private ReportedDataRefreshService reportedDataRefreshService;
+
+    @Autowired
+    private ItemStockRequestApiService itemStockRequestApiService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${own.bpns}")
+    private String ownBpns;
+
+    @Value("${own.bpna}")
+    private String ownBpna;
+
+    @LocalServerPort
+    private int port;
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+        .readTimeout(60, TimeUnit.SECONDS)
+        .build();
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) throws IOException {
+        StandInBehavior edcBehavior = StandInBehavior.fromSystemProperties("puris.loadtest.edc",
+            new StandInBehavior(5, 5, 0));
+        StandInBehavior dataPlaneBehavior = StandInBehavior.fromSystemProperties("puris.loadtest.dataplane",
+            new StandInBehavior(20, 20, 0));
+        StandInBehavior erpBehavior = StandInBehavior.fromSystemProperties("puris.loadtest.erp",
+            new StandInBehavior(10, 5, 0));
+        String dataPlaneUrl = DATA_PLANE_SERVER.url("/").toString();
+        edc = new EdcManagementStandIn(edcBehavior, dataPlaneUrl, "Puris:1.0", "cx.puris.base:1");
+        dataPlane = new DataPlaneStandIn(dataPlaneBehavior, dataPlaneUrl, PurisLoadTest::payload);
+        erpAdapter = new ErpAdapterStandIn(erpBehavior);
+        EDC_SERVER.setDispatcher(edc);
+        DATA_PLANE_SERVER.setDispatcher(dataPlane);
+        ERP_SERVER.setDispatcher(erpAdapter);
+        registry.add("edc.controlplane.management.url", () -> EDC_SERVER.url("/management").toString());
+        registry.add("puris.erpadapter.url", () -> ERP_SERVER.url("/").toString());
+        registry.add("puris.frameworkagreement.credential", () -> "Puris");
+        registry.add("puris.frameworkagreement.version", () -> "1.0");
+        registry.add("puris.purpose.name", () -> "cx.puris.base");
+        registry.add("puris.purpose.version", () -> "1");
+    }
+
+    @AfterAll
+    static void shutdownStandIns() throws IOException {
+        EDC_SERVER.shutdown();
+        DATA_PLANE_SERVER.shutdown();
+        ERP_SERVER.shutdown();
+    }
+
+    @Test
+    void runScenarios() throws Exception {
+        List<Partner> partners = new ArrayList<>();
+        for (int i = 0; i < PARTNERS; i++) {
+            partners.add(partnerRepository.save(SimulatedPartner.of(i).toPartner()));
+        }
+        List<Material> materials = new ArrayList<>();
+        List<Material> products = new ArrayList<>();
+        for (int m = 0; m < MATERIALS; m++) {
+            materials.add(materialRepository.save(new Material(true, false, "LT-MAT-" + m,
+                "urn:uuid:" + UUID.randomUUID(), "Load Test Material " + m)));
+            products.add(materialRepository.save(new Material(false, true, "LT-PROD-" + m,
+                "urn:uuid:" + UUID.randomUUID(), "Load Test Product " + m)));
+        }
+        // every simulated partner supplies all materials and buys all products
+        for (int i = 0; i < PARTNERS; i++) {
+            SimulatedPartner simulatedPartner = SimulatedPartner.of(i);
+            for (int m = 0; m < MATERIALS; m++) {
+                String partnerMaterialNumber = "LT-SUP-" + i + "-" + m;
+                var supply = new MaterialPartnerRelation(materials.get(m), partners.get(i), partnerMaterialNumber, true, false);
+                supply.setPartnerCXNumber(simulatedPartner.cxNumber(partnerMaterialNumber));
+                mprRepository.save(supply);
+                mprRepository.save(new MaterialPartnerRelation(products.get(m), partners.get(i), "LT-CUS-" + i + "-" + m, false, true));
+                seedOwnData(partners.get(i), products.get(m));
+            }
+        }
+
+        List<LoadDriver.Result> results = new ArrayList<>();
+        for (String run : List.of("cold", "warm")) {
+            for (AssetType type : List.of(AssetType.ITEM_STOCK_SUBMODEL, AssetType.PRODUCTION_SUBMODEL, AssetType.DELIVERY_SUBMODEL)) {
+                List<Callable<Boolean>> operations = new ArrayList<>();
+                for (Partner partner : partners) {
+                    for (Material material : materials) {
+                        operations.add(() -> reportedDataRefreshService.refresh(partner, material, type, DirectionCharacteristic.OUTBOUND));
+                    }
+                }
+                results.add(LoadDriver.run("refresh " + type.name().replace("_SUBMODEL", "") + " " + run, CONCURRENCY, operations));
+            }
+        }
+
+        // one batch per partner, sharing the DTR session and the EDR
+        List<Callable<Boolean>> batches = new ArrayList<>();
+        for (Partner partner : partners) {
+            batches.add(() -> !itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequests(partner, materials)
+                .containsValue(false));
+        }
+        results.add(LoadDriver.run("batch refresh ITEM_STOCK", CONCURRENCY, batches));
+
+        List<Callable<Boolean>> itemStockRequests = new ArrayList<>();
+        List<Callable<Boolean>> productionRequests = new ArrayList<>();
+        for (Partner partner : partners) {
+            for (Material product : products) {
+                itemStockRequests.add(() -> partnerRequest(partner, "item-stock/request/" + product.getMaterialNumberCx() + "/OUTBOUND/$value"));
+                productionRequests.add(() -> partnerRequest(partner, "planned-production/request/" + product.getMaterialNumberCx() + "/$value"));
+            }
+        }
+        results.add(LoadDriver.run("partner request ITEM_STOCK", CONCURRENCY, itemStockRequests));
+        results.add(LoadDriver.run("partner request PRODUCTION", CONCURRENCY, productionRequests));
+
+        System.out.printf("Load test with %d partners, %d materials, %d products, %d stocks per submodel, concurrency %d%n",
+            PARTNERS, MATERIALS, MATERIALS, STOCKS, CONCURRENCY);
+        System.out.println(LoadDriver.HEADER);
+        results.forEach(System.out::println);
+        System.out.printf("%nEDC stand-in: %d negotiations, %d transfers%n", edc.getNegotiationCount().get(), edc.getTransferCount().get());
+        System.out.printf("Data plane stand-in: %d registry requests, %d submodel requests%n",
+            dataPlane.getRegistryRequestCount().get(), dataPlane.getSubmodelRequestCount().get());
+        System.out.printf("ERP adapter stand-in: %d requests%n", erpAdapter.getRequestCount().get());
+        printPhases();
+
+        assertEquals(results.size(), results.stream().filter(result -> result.operations() > 0).count());
+    }
+
+    private void seedOwnData(Partner customer, Material product) {
+        for (int s = 0; s < STOCKS; s++) {
+            productItemStockRepository.save(ProductItemStock.builder()
+                .partner(customer)
+                .material(product)
+                .quantity(10 + s)
+                .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                .locationBpns(ownBpns)
+                .locationBpna(ownBpna)
+                .lastUpdatedOnDateTime(new Date())
+                .build());
+            ownProductionRepository.save(OwnProduction.builder()
+                .partner(customer)
+                .material(product)
+                .quantity(100 + s)
+                .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+                .productionSiteBpns(ownBpns)
+                .estimatedTimeOfCompletion(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(s + 1)))
+                .build());
+        }
+    }
+
+    private boolean partnerRequest(Partner partner, String path) throws IOException {
+        Request request = new Request.Builder()
+            .url("http://localhost:" + port + "/catena/" + path)
+            .header("edc-bpn", partner.getBpnl())
+            .header("X-API-KEY", API_KEY)
+            .build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.isSuccessful();
+        }
+    }
+
+    /**
+     * Summarizes the timers of the EDC interaction phases over all partners.
+     */
+    private void printPhases() {
+        Map<String, long[]> countAndNanos = new TreeMap<>();
+        Map<String, Double> maxMillis = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(EdcPhaseMetrics.METRIC_NAME).timers()) {
+            String key = timer.getId().getTag("phase") + " (" + timer.getId().getTag("outcome") + ")";
+            long[] sums = countAndNanos.computeIfAbsent(key, k -> new long[2]);
+            sums[0] += timer.count();
+            sums[1] += (long) timer.totalTime(TimeUnit.NANOSECONDS);
+            maxMillis.merge(key, timer.max(TimeUnit.MILLISECONDS), Math::max);
+        }
+        System.out.printf("%n%-32s %8s %10s %10s%n", "EDC phase", "count", "mean ms", "max ms");
+        countAndNanos.forEach((key, sums) -> System.out.printf("%-32s %8d %10.1f %10.1f%n",
+            key, sums[0], sums[0] == 0 ? 0 : sums[1] / 1e6 / sums[0], maxMillis.get(key)));
+    }
+
+    /**
+     * Builds the submodels of the simulated partners. Every partner reports the same number of
+     * stocks and planned production outputs at its own site.
+     */
+    private static Object payload(SimulatedPartner partner, AssetType type, String manufacturerId, String manufacturerPartId) {
+        String globalAssetId = partner.cxNumber(manufacturerPartId);
+        Date now = new Date();
+        return switch (type) {
+            case ITEM_STOCK_SUBMODEL -> {
+                Set<AllocatedStock> stocks = new HashSet<>();
+                for (int s = 0; s < STOCKS; s++) {
+                    stocks.add(new AllocatedStock(new ItemQuantityEntity(10.0 + s, ItemUnitEnumeration.UNIT_PIECE),
+                        partner.bpns(), s % 2 == 0, partner.bpna(), now));
+                }
+                var position = new org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.Position(null, stocks);
+                yield new ItemStockSamm(Set.of(position), globalAssetId, DirectionCharacteristic.OUTBOUND);
+            }
+            case PRODUCTION_SUBMODEL -> {
+                HashSet<AllocatedPlannedProductionOutput> outputs = new HashSet<>();
+                for (int s = 0; s < STOCKS; s++) {
+                    outputs.add(new AllocatedPlannedProductionOutput(new ItemQuantityEntity(100.0 + s, ItemUnitEnumeration.UNIT_PIECE),
+                        partner.bpns(), new Date(now.getTime() + TimeUnit.DAYS.toMillis(s + 1)), now));
+                }
+                var position = new org.eclipse.tractusx.puris.backend.production.logic.dto.plannedproductionsamm.Position(null, now, outputs);
+                yield new PlannedProductionOutput(new HashSet<>(Set.of(position)), globalAssetId);
+            }
+            case DELIVERY_SUBMODEL -> new DeliveryInformation(new HashSet<>(), globalAssetId);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.loadtest;
+
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * A partner simulated by the stand-ins. All identifiers are derived from the index, so that the
+ * load test and the stand-ins agree on them without sharing state.
+ *
+ * @param index  the index of the partner
+ * @param bpnl   the BPNL of the partner
+ * @param bpns   the BPNS of the only site of the partner
+ * @param bpna   the BPNA of the only address of the partner
+ * @param dspUrl the (not resolvable) dsp url of the partner's connector
+ */
+public record SimulatedPartner(int index, String bpnl, String bpns, String bpna, String dspUrl) {
+
+    public static SimulatedPartner of(int index) {
+        String id = String.format("%010dLT", index);
+        return new SimulatedPartner(index, "BPNL" + id, "BPNS" + id, "BPNA" + id,
+            "http://partner-" + index + "-control-plane:8184/api/v1/dsp");
+    }
+
+    /**
+     * @param dspUrl a dsp url
+     * @return the partner with the given dsp url, or null if the url does not belong to a simulated partner
+     */
+    public static SimulatedPartner ofDspUrl(String dspUrl) {
+        if (dspUrl == null || !dspUrl.startsWith("http://partner-")) {
+            return null;
+        }
+        int end = dspUrl.indexOf('-', "http://partner-".length());
+        return of(Integer.parseInt(dspUrl.substring("http://partner-".length(), end)));
+    }
+
+    /**
+     * @return a new Partner entity representing this partner
+     */
+    public Partner toPartner() {
+        return new Partner("Load Test Partner " + index, dspUrl, bpnl, bpns, "Site " + index, bpna,
+            "Load Test Street " + index, "12345 Load Test City", "Germany");
+    }
+
+    /**
+     * @param partnerMaterialNumber the material number of the partner
+     * @return the CX id the partner assigned to the material
+     */
+    public String cxNumber(String partnerMaterialNumber) {
+        return "urn:uuid:" + UUID.nameUUIDFromBytes((bpnl + "#" + partnerMaterialNumber).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.loadtest;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and failure rate of a stand-in.
+ *
+ * @param latencyMillis the minimum time before a stand-in answers
+ * @param jitterMillis  the maximum additional, uniformly distributed, time before a stand-in answers
+ * @param failureRate   the probability (0 to 1) that a stand-in answers with 503 Service Unavailable
+ */
+public record StandInBehavior(long latencyMillis, long jitterMillis, double failureRate) {
+
+    /**
+     * Reads the behavior from the system properties {@code <prefix>.latency}, {@code <prefix>.jitter}
+     * (milliseconds) and {@code <prefix>.failurerate}.
+     *
+     * @param prefix   the prefix of the system properties
+     * @param defaults the behavior to use for properties that are not set
+     * @return the behavior
+     */
+    public static StandInBehavior fromSystemProperties(String prefix, StandInBehavior defaults) {
+        return new StandInBehavior(
+            Long.getLong(prefix + ".latency", defaults.latencyMillis()),
+            Long.getLong(prefix + ".jitter", defaults.jitterMillis()),
+            Double.parseDouble(System.getProperty(prefix + ".failurerate", String.valueOf(defaults.failureRate())))
+        );
+    }
+
+    /**
+     * @return true, if the current request shall fail
+     */
+    public boolean fails() {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    /**
+     * Delays the given response by the configured latency.
+     *
+     * @param response the response
+     * @return the delayed response
+     */
+    public MockResponse delay(MockResponse response) {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        return delay > 0 ? response.setHeadersDelay(delay, TimeUnit.MILLISECONDS) : response;
+    }
+
+    /**
+     * @return a delayed 503 Service Unavailable response
+     */
+    public MockResponse failure() {
+        return delay(new MockResponse().setResponseCode(503).setBody("{\"message\":\"simulated failure\"}"));
+    }
+}
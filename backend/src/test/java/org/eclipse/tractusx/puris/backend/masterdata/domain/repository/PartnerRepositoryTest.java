@@ -25,7 +25,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class PartnerRepositoryTest {
@@ -66,4 +69,38 @@ public class PartnerRepositoryTest {
 
         assertEquals(2, updatedSupplierPartner.getSites().size());
     }
+
+    @Test
+    void findAllSiteAddresses_WhenSitesArePresent_ReturnsOneRowPerAddress() {
+        // Given
+        Partner supplierPartnerEntity = new Partner(
+            "Scenario Supplier",
+            "http://supplier-control-plane:9184/api/v1/dsp",
+            "BPNL1234567890ZZ",
+            "BPNS1234567890ZZ",
+            "Konzernzentrale Dudelsdorf",
+            "BPNA1234567890AA",
+            "Heinrich-Supplier-Straße 1",
+            "77785 Dudelsdorf",
+            "Germany"
+        );
+        supplierPartnerEntity.getSites().add(new Site(
+            "BPNS1234567890SS",
+            "Added Site",
+            "BPNA1234567890BB",
+            "Valid Str. 1",
+            "1000 Bruxelles",
+            "Belgium"
+        ));
+        partnerRepository.save(supplierPartnerEntity);
+
+        // When
+        List<Object[]> rows = partnerRepository.findAllSiteAddresses();
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(row -> "BPNL1234567890ZZ".equals(row[0])));
+        assertTrue(rows.stream().anyMatch(row -> "BPNS1234567890ZZ".equals(row[1]) && "BPNA1234567890AA".equals(row[2])));
+        assertTrue(rows.stream().anyMatch(row -> "BPNS1234567890SS".equals(row[1]) && "BPNA1234567890BB".equals(row[2])));
+    }
 }
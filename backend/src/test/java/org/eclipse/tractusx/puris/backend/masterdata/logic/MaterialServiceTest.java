@@ -19,12 +19,15 @@
  */
 package org.eclipse.tractusx.puris.backend.masterdata.logic;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.eclipse.tractusx.puris.backend.common.ddtr.logic.DigitalTwinMappingService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelResponseCache;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Site;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataCache;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +35,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -49,6 +54,10 @@ public class MaterialServiceTest {
     private MaterialPartnerRelationService mprService;
     @Mock
     private DigitalTwinMappingService digitalTwinMappingService;
+    @Spy
+    private MasterDataCache masterDataCache = new MasterDataCache(new CaffeineCacheManager(
+        MasterDataCache.PARTNERS, MasterDataCache.MATERIALS, MasterDataCache.MATERIAL_PARTNER_RELATIONS),
+        new SubmodelResponseCache("maximumSize=100", new SimpleMeterRegistry()));
 
     @InjectMocks
     private MaterialServiceImpl materialService;
@@ -81,6 +90,56 @@ public class MaterialServiceTest {
         verify(materialRepository, times(1)).save(material);
     }
 
+    @Test
+    void findByOwnMaterialNumber_WhenCalledTwice_QueriesDatabaseOnce() {
+        // Given
+        Material material = new Material(true, false, "MNR-123", "uuid-value", "Test Material");
+        when(materialRepository.findById(material.getOwnMaterialNumber())).thenReturn(Optional.of(material));
+
+        // When
+        Material firstResult = materialService.findByOwnMaterialNumber("MNR-123");
+        Material secondResult = materialService.findByOwnMaterialNumber("MNR-123");
+
+        // Then
+        assertEquals(material, firstResult);
+        assertEquals(firstResult, secondResult);
+        verify(materialRepository, times(1)).findById("MNR-123");
+    }
+
+    @Test
+    void findByOwnMaterialNumber_WhenResultModified_ServesUnmodifiedMaterial() {
+        // Given
+        Material material = new Material(true, false, "MNR-123", "uuid-value", "Test Material");
+        when(materialRepository.findById(material.getOwnMaterialNumber())).thenReturn(Optional.of(material));
+
+        // When
+        Material firstResult = materialService.findByOwnMaterialNumber("MNR-123");
+        firstResult.setName("Modified Material");
+        Material secondResult = materialService.findByOwnMaterialNumber("MNR-123");
+
+        // Then
+        assertNotSame(firstResult, secondResult);
+        assertEquals("Test Material", secondResult.getName());
+        verify(materialRepository, times(1)).findById("MNR-123");
+    }
+
+    @Test
+    void update_WhenMaterialIsCached_EvictsCachedMaterial() {
+        // Given
+        Material material = new Material(true, false, "MNR-123", "uuid-value", "Test Material");
+        Material updatedMaterial = new Material(true, true, "MNR-123", "uuid-value", "Test Material");
+        when(materialRepository.findById(material.getOwnMaterialNumber())).thenReturn(Optional.of(material));
+        materialService.findByOwnMaterialNumber("MNR-123");
+
+        // When
+        when(materialRepository.save(updatedMaterial)).thenReturn(updatedMaterial);
+        materialService.update(updatedMaterial);
+        when(materialRepository.findById(material.getOwnMaterialNumber())).thenReturn(Optional.of(updatedMaterial));
+
+        // Then
+        assertTrue(materialService.findByOwnMaterialNumber("MNR-123").isProductFlag());
+    }
+
     @Test
     void create_WhenMaterialExists_ReturnsNull() {
         // Given
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.masterdata.logic;
+
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PartnerSiteIndexTest {
+
+    @Mock
+    private PartnerRepository partnerRepository;
+
+    @Mock
+    private VariablesService variablesService;
+
+    @InjectMocks
+    private PartnerSiteIndex partnerSiteIndex;
+
+    private final static String OWN_BPNL = "BPNL4444444444XX";
+    private final static String OWN_BPNS = "BPNS4444444444XX";
+    private final static String OWN_BPNA = "BPNA4444444444ZZ";
+    private final static String SUPPLIER_BPNL = "BPNL1111111111LE";
+    private final static String SUPPLIER_BPNS = "BPNS1111111111SI";
+    private final static String SUPPLIER_BPNA = "BPNA1111111111AD";
+
+    private final Partner supplierPartner = new Partner(
+        "Scenario Supplier",
+        "http://supplier-control-plane:9184/api/v1/dsp",
+        SUPPLIER_BPNL,
+        SUPPLIER_BPNS,
+        "Konzernzentrale Dudelsdorf",
+        SUPPLIER_BPNA,
+        "Heinrich-Supplier-Straße 1",
+        "77785 Dudelsdorf",
+        "Germany"
+    );
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(variablesService.getOwnBpnl()).thenReturn(OWN_BPNL);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{OWN_BPNL, OWN_BPNS, OWN_BPNA});
+        rows.add(new Object[]{SUPPLIER_BPNL, SUPPLIER_BPNS, SUPPLIER_BPNA});
+        when(partnerRepository.findAllSiteAddresses()).thenReturn(rows);
+    }
+
+    @Test
+    void lookups_WhenIndexIsBuilt_ResolveSitesAndAddressesPerPartner() {
+        assertTrue(partnerSiteIndex.isOwnSite(OWN_BPNS));
+        assertTrue(partnerSiteIndex.isOwnAddress(OWN_BPNS, OWN_BPNA));
+        assertFalse(partnerSiteIndex.isOwnSite(SUPPLIER_BPNS));
+        assertFalse(partnerSiteIndex.isOwnAddress(OWN_BPNS, SUPPLIER_BPNA));
+
+        assertTrue(partnerSiteIndex.hasSite(supplierPartner, SUPPLIER_BPNS));
+        assertTrue(partnerSiteIndex.hasAddress(supplierPartner, SUPPLIER_BPNS, SUPPLIER_BPNA));
+        assertFalse(partnerSiteIndex.hasSite(supplierPartner, OWN_BPNS));
+        assertFalse(partnerSiteIndex.hasSite(null, SUPPLIER_BPNS));
+
+        assertTrue(partnerSiteIndex.isOwnPartner(new Partner(
+            "Own", "http://customer-control-plane:8184/api/v1/dsp", OWN_BPNL, OWN_BPNS, "Own Site", OWN_BPNA,
+            "Musterstraße 35b", "77777 Musterhausen", "Germany")));
+        assertFalse(partnerSiteIndex.isOwnPartner(supplierPartner));
+
+        // all lookups are served by one query
+        verify(partnerRepository, times(1)).findAllSiteAddresses();
+    }
+
+    @Test
+    void invalidate_WhenPartnerChanged_RebuildsIndexOnNextLookup() {
+        // Given
+        long version = partnerSiteIndex.getVersion();
+        assertFalse(partnerSiteIndex.hasSite(supplierPartner, "BPNS1111111111S2"));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{SUPPLIER_BPNL, SUPPLIER_BPNS, SUPPLIER_BPNA});
+        rows.add(new Object[]{SUPPLIER_BPNL, "BPNS1111111111S2", "BPNA1111111111A2"});
+        when(partnerRepository.findAllSiteAddresses()).thenReturn(rows);
+
+        // When
+        partnerSiteIndex.invalidate();
+
+        // Then
+        assertTrue(partnerSiteIndex.hasAddress(supplierPartner, "BPNS1111111111S2", "BPNA1111111111A2"));
+        assertTrue(partnerSiteIndex.getVersion() > version);
+        verify(partnerRepository, times(2)).findAllSiteAddresses();
+    }
+
+    @Test
+    void lookups_WhenIndexExpired_RebuildIndex() {
+        // Given
+        ReflectionTestUtils.setField(partnerSiteIndex, "expiry", Duration.ZERO);
+
+        // When
+        assertTrue(partnerSiteIndex.isOwnSite(OWN_BPNS));
+        assertTrue(partnerSiteIndex.isOwnSite(OWN_BPNS));
+
+        // Then
+        verify(partnerRepository, times(2)).findAllSiteAddresses();
+    }
+}
@@ -21,18 +21,25 @@ package org.eclipse.tractusx.puris.backend.stock.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.refresh.logic.RefreshJobService;
 import org.eclipse.tractusx.puris.backend.common.security.DtrSecurityConfiguration;
 import org.eclipse.tractusx.puris.backend.common.security.SecurityConfig;
 import org.eclipse.tractusx.puris.backend.common.security.annotation.WithMockApiKey;
 import org.eclipse.tractusx.puris.backend.common.security.logic.ApiKeyAuthenticationProvider;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.util.NdjsonStreamWriter;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.logic.adapter.ItemStockDtoMapper;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.FrontendMaterialDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.StockPositionDto;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.*;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -51,7 +58,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(StockViewController.class)
-@Import({SecurityConfig.class, ApiKeyAuthenticationProvider.class, DtrSecurityConfiguration.class})
+@Import({SecurityConfig.class, ApiKeyAuthenticationProvider.class, DtrSecurityConfiguration.class,
+    ItemStockDtoMapper.class, MasterDataDtoMapper.class})
 class StockViewControllerTest {
 
     @Autowired
@@ -82,7 +90,13 @@ class StockViewControllerTest {
     private MaterialPartnerRelationService mprService;
 
     @MockBean
-    private ModelMapper modelMapper;
+    private NdjsonStreamWriter ndjsonStreamWriter;
+
+    @MockBean
+    private RefreshJobService refreshJobService;
+
+    @MockBean
+    private StockPositionService stockPositionService;
 
     @Test
     @WithMockApiKey
@@ -138,4 +152,43 @@ class StockViewControllerTest {
             });
     }
 
+    @Test
+    @WithMockApiKey
+    void getStockPositions_GivenPositionsOfMaterial_ReturnsSummedUpQuantities() throws Exception {
+
+        // given
+        StockPosition position = new StockPosition("MNR-4711", "BPNL1234567890ZZ", "BPNS1234567890ZZ",
+            ItemUnitEnumeration.UNIT_PIECE, 5, 20);
+        position.setStockType(StockType.MATERIAL);
+        when(stockPositionService.findAllByFilters(StockType.MATERIAL, "MNR-4711", null, null))
+            .thenReturn(List.of(position));
+
+        // when
+        this.mockMvc.perform(
+                get("/stockView/stock-positions")
+                    .param("stockType", "MATERIAL")
+                    .param("ownMaterialNumber", "MNR-4711")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andDo(result -> {
+                List<StockPositionDto> positions = new ObjectMapper().readValue(
+                    result.getResponse().getContentAsString(), new TypeReference<>() {
+                    });
+
+                // then
+                assertEquals(1, positions.size());
+                StockPositionDto dto = positions.get(0);
+                assertAll(
+                    () -> assertEquals(StockType.MATERIAL, dto.getStockType()),
+                    () -> assertEquals("BPNS1234567890ZZ", dto.getStockLocationBpns()),
+                    () -> assertEquals(25, dto.getTotalQuantity()),
+                    () -> assertEquals(5, dto.getBlockedQuantity()),
+                    () -> assertEquals(20, dto.getUnblockedQuantity())
+                );
+            });
+
+        this.mockMvc.perform(get("/stockView/stock-positions").param("partnerBpnl", "invalid"))
+            .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.stock.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetCursor;
+import org.eclipse.tractusx.puris.backend.common.util.KeysetPage;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class MaterialItemStockRepositoryTest {
+
+    @Autowired
+    private MaterialItemStockRepository materialItemStockRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Test
+    void findKeysetPage_WhenPagingThroughAllStocks_ReturnsEachStockOnceInOrder() {
+        // Given
+        Partner partner = partnerRepository.save(new Partner(
+            "Scenario Supplier",
+            "http://supplier-control-plane:9184/api/v1/dsp",
+            "BPNL1234567890ZZ",
+            "BPNS1234567890ZZ",
+            "Konzernzentrale Dudelsdorf",
+            "BPNA1234567890AA",
+            "Heinrich-Supplier-Straße 1",
+            "77785 Dudelsdorf",
+            "Germany"
+        ));
+        Material material = materialRepository.save(
+            new Material(true, false, "MNR-123", UUID.randomUUID().toString(), "Test Material 1"));
+        Material otherMaterial = materialRepository.save(
+            new Material(true, false, "MNR-234", UUID.randomUUID().toString(), "Test Material 2"));
+
+        long now = System.currentTimeMillis();
+        // two stocks share the same timestamp, so the uuid has to break the tie
+        long[] offsets = {0, 1000, 1000, 2000, 3000};
+        for (long offset : offsets) {
+            materialItemStockRepository.save(stock(partner, material, new Date(now + offset)));
+        }
+        materialItemStockRepository.save(stock(partner, otherMaterial, new Date(now)));
+
+        // When
+        List<UUID> pagedUuids = new ArrayList<>();
+        KeysetCursor cursor = null;
+        int pages = 0;
+        do {
+            List<MaterialItemStock> rows = materialItemStockRepository.findKeysetPage("MNR-123", null,
+                cursor == null ? null : cursor.position(), cursor == null ? null : cursor.uuid(),
+                KeysetCursor.lookAhead(2));
+            KeysetPage<UUID> page = KeysetPage.of(rows, 2,
+                stock -> new KeysetCursor(stock.getLastUpdatedOnDateTime(), stock.getUuid()), MaterialItemStock::getUuid);
+            pagedUuids.addAll(page.content());
+            cursor = page.nextCursor() == null ? null : KeysetCursor.decode(page.nextCursor());
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(3, pages);
+        assertEquals(offsets.length, pagedUuids.size());
+        assertEquals(offsets.length, pagedUuids.stream().distinct().count());
+        try (Stream<MaterialItemStock> stream = materialItemStockRepository.streamAll("MNR-123", null)) {
+            assertEquals(pagedUuids, stream.map(MaterialItemStock::getUuid).toList());
+        }
+    }
+
+    @Test
+    void aggregatePositions_WhenBlockedAndUnblockedStocks_SumsUpPerSiteAndUnit() {
+        // Given
+        Partner partner = partnerRepository.save(new Partner(
+            "Scenario Supplier",
+            "http://supplier-control-plane:9184/api/v1/dsp",
+            "BPNL1234567890ZZ",
+            "BPNS1234567890ZZ",
+            "Konzernzentrale Dudelsdorf",
+            "BPNA1234567890AA",
+            "Heinrich-Supplier-Straße 1",
+            "77785 Dudelsdorf",
+            "Germany"
+        ));
+        Material material = materialRepository.save(
+            new Material(true, false, "MNR-123", UUID.randomUUID().toString(), "Test Material 1"));
+
+        Date now = new Date();
+        materialItemStockRepository.save(stock(partner, material, now));
+        MaterialItemStock blocked = stock(partner, material, now);
+        blocked.setBlocked(true);
+        materialItemStockRepository.save(blocked);
+        MaterialItemStock otherUnit = stock(partner, material, now);
+        otherUnit.setMeasurementUnit(ItemUnitEnumeration.UNIT_KILOGRAM);
+        materialItemStockRepository.save(otherUnit);
+
+        // When
+        List<StockPosition> positions = materialItemStockRepository.aggregatePositions("MNR-123", "BPNL1234567890ZZ");
+
+        // Then
+        assertEquals(2, positions.size());
+        StockPosition pieces = positions.stream()
+            .filter(position -> position.getMeasurementUnit() == ItemUnitEnumeration.UNIT_PIECE).findFirst().orElseThrow();
+        assertEquals("BPNS1234567890ZZ", pieces.getLocationBpns());
+        assertEquals(10, pieces.getBlockedQuantity());
+        assertEquals(10, pieces.getUnblockedQuantity());
+        assertEquals(20, pieces.getTotalQuantity());
+        assertTrue(materialItemStockRepository.aggregatePositions("MNR-234", null).isEmpty());
+    }
+
+    private static MaterialItemStock stock(Partner partner, Material material, Date lastUpdated) {
+        return MaterialItemStock.builder()
+            .partner(partner)
+            .material(material)
+            .quantity(10)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .locationBpns("BPNS1234567890ZZ")
+            .locationBpna("BPNA1234567890AA")
+            .lastUpdatedOnDateTime(lastUpdated)
+            .build();
+    }
+}
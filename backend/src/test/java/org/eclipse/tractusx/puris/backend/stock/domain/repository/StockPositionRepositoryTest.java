@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.stock.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockQuantity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class StockPositionRepositoryTest {
+
+    @Autowired
+    private StockPositionRepository stockPositionRepository;
+
+    @Test
+    void sumQuantity_WhenPositionsOfSeveralTypesAndUnits_SumsUpMatchingPositionsOnly() {
+        // Given
+        stockPositionRepository.saveAll(List.of(
+            position(StockType.MATERIAL, "BPNS1234567890ZZ", ItemUnitEnumeration.UNIT_PIECE, 5, 20),
+            position(StockType.MATERIAL, "BPNS1234567890ZZ", ItemUnitEnumeration.UNIT_KILOGRAM, 0, 3),
+            position(StockType.MATERIAL, "BPNS1234567890YY", ItemUnitEnumeration.UNIT_PIECE, 0, 10),
+            position(StockType.REPORTED_MATERIAL, "BPNS1234567890ZZ", ItemUnitEnumeration.UNIT_PIECE, 0, 100)));
+
+        // When
+        double siteQuantity = stockPositionRepository.sumQuantity(StockType.MATERIAL, "MNR-123", "BPNL1234567890ZZ", "BPNS1234567890ZZ");
+        double totalQuantity = stockPositionRepository.sumQuantity(StockType.MATERIAL, "MNR-123", "BPNL1234567890ZZ", null);
+        List<StockQuantity> quantitiesBySite = stockPositionRepository.sumQuantitiesBySite(StockType.MATERIAL, "MNR-123", null);
+
+        // Then
+        assertEquals(28, siteQuantity);
+        assertEquals(38, totalQuantity);
+        assertEquals(2, quantitiesBySite.size());
+        assertTrue(quantitiesBySite.contains(new StockQuantity("MNR-123", "BPNL1234567890ZZ", "BPNS1234567890ZZ", 28)));
+        assertEquals(3, stockPositionRepository.findAllByFilters(StockType.MATERIAL, null, null, null).size());
+    }
+
+    @Test
+    void deleteForMaterialAndPartner_WhenPositionsOfSeveralTypes_DeletesPositionsOfTypeOnly() {
+        // Given
+        stockPositionRepository.saveAll(List.of(
+            position(StockType.MATERIAL, "BPNS1234567890ZZ", ItemUnitEnumeration.UNIT_PIECE, 5, 20),
+            position(StockType.REPORTED_MATERIAL, "BPNS1234567890ZZ", ItemUnitEnumeration.UNIT_PIECE, 0, 100)));
+
+        // When
+        int deleted = stockPositionRepository.deleteForMaterialAndPartner(StockType.MATERIAL, "MNR-123", "BPNL1234567890ZZ");
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(0, stockPositionRepository.sumQuantity(StockType.MATERIAL, "MNR-123", "BPNL1234567890ZZ", null));
+        assertEquals(100, stockPositionRepository.sumQuantity(StockType.REPORTED_MATERIAL, "MNR-123", "BPNL1234567890ZZ", null));
+    }
+
+    private static StockPosition position(StockType stockType, String locationBpns, ItemUnitEnumeration unit,
+                                          double blockedQuantity, double unblockedQuantity) {
+        StockPosition position = new StockPosition("MNR-123", "BPNL1234567890ZZ", locationBpns, unit,
+            blockedQuantity, unblockedQuantity);
+        position.setStockType(stockType);
+        return position;
+    }
+}
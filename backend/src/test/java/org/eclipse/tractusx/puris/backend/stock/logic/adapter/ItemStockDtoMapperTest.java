@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.stock.logic.adapter;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.adapter.MasterDataDtoMapper;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.SiteDto;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.MaterialStockDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemStockDtoMapperTest {
+
+    final static String CUSTOMER_BPNL = "BPNL4444444444XX";
+    final static String CUSTOMER_BPNS = "BPNS4444444444XX";
+    final static String CUSTOMER_BPNA = "BPNA4444444444ZZ";
+
+    final static Partner customerPartner = new Partner(
+        "Scenario Customer",
+        "http://customer-control-plane:8184/api/v1/dsp",
+        CUSTOMER_BPNL,
+        CUSTOMER_BPNS,
+        "Hauptwerk Musterhausen",
+        CUSTOMER_BPNA,
+        "Musterstraße 35b",
+        "77777 Musterhausen",
+        "Germany"
+    );
+
+    final static Material material = new Material(true, false, "MNR-7307-AU340474.002",
+        UUID.randomUUID().toString(), "Semiconductor");
+
+    private final ItemStockDtoMapper itemStockDtoMapper = new ItemStockDtoMapper();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(itemStockDtoMapper, "masterDataDtoMapper", new MasterDataDtoMapper());
+    }
+
+    @Test
+    void toDto_WithMaterialItemStock_MapsAllAttributes() {
+        // given
+        MaterialItemStock stock = stock(new Date());
+
+        // when
+        MaterialStockDto dto = itemStockDtoMapper.toDto(stock);
+
+        // then
+        assertEquals(stock.getUuid(), dto.getUuid());
+        assertEquals(20, dto.getQuantity());
+        assertEquals(ItemUnitEnumeration.UNIT_PIECE, dto.getMeasurementUnit());
+        assertEquals(CUSTOMER_BPNS, dto.getStockLocationBpns());
+        assertEquals(CUSTOMER_BPNA, dto.getStockLocationBpna());
+        assertEquals("C-Nbr-4711", dto.getCustomerOrderNumber());
+        assertEquals("C-Nbr-4711-Pos-1", dto.getCustomerOrderPositionNumber());
+        assertEquals("S-Nbr-4712", dto.getSupplierOrderNumber());
+        assertEquals(stock.getLastUpdatedOnDateTime(), dto.getLastUpdatedOn());
+        assertTrue(dto.isBlocked());
+
+        assertEquals(material.getMaterialNumberCx(), dto.getMaterial().getMaterialNumberCx());
+        assertEquals(material.getName(), dto.getMaterial().getName());
+        assertTrue(dto.getMaterial().isMaterialFlag());
+        assertFalse(dto.getMaterial().isProductFlag());
+
+        assertEquals(CUSTOMER_BPNL, dto.getPartner().getBpnl());
+        assertEquals(1, dto.getPartner().getSites().size());
+        SiteDto site = dto.getPartner().getSites().first();
+        assertEquals(CUSTOMER_BPNS, site.getBpns());
+        assertEquals(CUSTOMER_BPNA, site.getAddresses().iterator().next().getBpna());
+        assertTrue(dto.getPartner().getAddresses().isEmpty());
+    }
+
+    @Test
+    void toEntity_WithDtoFromEntity_ReturnsEqualAttributes() {
+        // given
+        MaterialItemStock stock = stock(new Date());
+
+        // when
+        MaterialItemStock mapped = itemStockDtoMapper.toEntity(itemStockDtoMapper.toDto(stock));
+
+        // then
+        assertEquals(stock.getUuid(), mapped.getUuid());
+        assertEquals(stock.getQuantity(), mapped.getQuantity());
+        assertEquals(stock.getMeasurementUnit(), mapped.getMeasurementUnit());
+        assertEquals(stock.getLocationBpns(), mapped.getLocationBpns());
+        assertEquals(stock.getLocationBpna(), mapped.getLocationBpna());
+        assertEquals(stock.getCustomerOrderId(), mapped.getCustomerOrderId());
+        assertEquals(stock.getCustomerOrderPositionId(), mapped.getCustomerOrderPositionId());
+        assertEquals(stock.getSupplierOrderId(), mapped.getSupplierOrderId());
+        assertEquals(stock.getLastUpdatedOnDateTime(), mapped.getLastUpdatedOnDateTime());
+        assertEquals(stock.isBlocked(), mapped.isBlocked());
+        // material and partner are resolved by the controller
+        assertNull(mapped.getMaterial());
+        assertNull(mapped.getPartner());
+    }
+
+    /**
+     * Compares the mapping of a list of stocks with the ModelMapper that was used before.
+     * Run with -Dpuris.benchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "puris.benchmark", matches = "true")
+    void benchmark_ToDto_ComparedToModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        List<MaterialItemStock> stocks = IntStream.range(0, 10_000)
+            .mapToObj(i -> stock(new Date(i)))
+            .toList();
+
+        long modelMapperNanos = 0;
+        long dtoMapperNanos = 0;
+        int rounds = 10;
+        for (int round = 0; round < rounds * 2; round++) {
+            long start = System.nanoTime();
+            for (MaterialItemStock stock : stocks) {
+                modelMapper.map(stock, MaterialStockDto.class);
+            }
+            long afterModelMapper = System.nanoTime();
+            for (MaterialItemStock stock : stocks) {
+                itemStockDtoMapper.toDto(stock);
+            }
+            long afterDtoMapper = System.nanoTime();
+            // the first half of the rounds is warm up
+            if (round >= rounds) {
+                modelMapperNanos += afterModelMapper - start;
+                dtoMapperNanos += afterDtoMapper - afterModelMapper;
+            }
+        }
+        long rows = (long) rounds * stocks.size();
+        System.out.printf("ModelMapper: %d ns/row, ItemStockDtoMapper: %d ns/row%n",
+            modelMapperNanos / rows, dtoMapperNanos / rows);
+        assertTrue(dtoMapperNanos < modelMapperNanos);
+    }
+
+    private static MaterialItemStock stock(Date lastUpdated) {
+        MaterialItemStock stock = MaterialItemStock.builder()
+            .partner(customerPartner)
+            .material(material)
+            .quantity(20)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .locationBpns(CUSTOMER_BPNS)
+            .locationBpna(CUSTOMER_BPNA)
+            .customerOrderId("C-Nbr-4711")
+            .customerOrderPositionId("C-Nbr-4711-Pos-1")
+            .supplierOrderId("S-Nbr-4712")
+            .lastUpdatedOnDateTime(lastUpdated)
+            .isBlocked(true)
+            .build();
+        stock.setUuid(UUID.randomUUID());
+        return stock;
+    }
+}
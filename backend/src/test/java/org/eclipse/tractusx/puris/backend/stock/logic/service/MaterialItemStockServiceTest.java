@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.stock.logic.service;
+
+import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockPosition.StockType;
+import org.eclipse.tractusx.puris.backend.stock.domain.repository.MaterialItemStockRepository;
+import org.eclipse.tractusx.puris.backend.stock.domain.repository.StockPositionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs on a database of its own in MVCC mode, whose row level locking allows concurrent writers
+ * of the same table, like the production databases do.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:hsqldb:mem:stockpositions;DB_CLOSE_DELAY=-1;hsqldb.tx=mvcc")
+public class MaterialItemStockServiceTest {
+
+    /**
+     * Material of the customer demo data, which has an item stock of the scenario supplier
+     */
+    private static final String OWN_MATERIAL_NUMBER = "MNR-7307-AU340474.002";
+
+    private static final int WRITERS = 8;
+
+    private static final int STOCKS_PER_WRITER = 5;
+
+    @Autowired
+    private MaterialItemStockService materialItemStockService;
+
+    @Autowired
+    private MaterialItemStockRepository materialItemStockRepository;
+
+    @Autowired
+    private StockPositionService stockPositionService;
+
+    @Autowired
+    private StockPositionRepository stockPositionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void createAndDelete_WhenConcurrentWritersOfSameMaterialAndPartner_KeepStockPositionsInSync() throws Exception {
+        // given
+        MaterialItemStock template = materialItemStockService.findByOwnMaterialNumber(OWN_MATERIAL_NUMBER).get(0);
+        String partnerBpnl = template.getPartner().getBpnl();
+        double initialQuantity = materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, partnerBpnl, null);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+        try {
+            // when
+            List<Callable<List<UUID>>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                final int writer = w;
+                writers.add(() -> {
+                    List<UUID> created = new ArrayList<>();
+                    for (int s = 0; s < STOCKS_PER_WRITER; s++) {
+                        MaterialItemStock stock = copyOf(template, "W" + writer + "-" + s, writer % 2 == 0);
+                        created.add(materialItemStockService.create(stock).getUuid());
+                    }
+                    return created;
+                });
+            }
+            List<UUID> created = new ArrayList<>();
+            for (Future<List<UUID>> result : executor.invokeAll(writers)) {
+                created.addAll(result.get());
+            }
+
+            // then
+            double expected = materialItemStockRepository.aggregatePositions(OWN_MATERIAL_NUMBER, partnerBpnl)
+                .stream().mapToDouble(StockPosition::getTotalQuantity).sum();
+            assertEquals(initialQuantity + WRITERS * STOCKS_PER_WRITER, expected);
+            assertEquals(expected, materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, partnerBpnl, null));
+            double blocked = stockPositionService.findAllByFilters(StockType.MATERIAL, OWN_MATERIAL_NUMBER, partnerBpnl, null)
+                .stream().mapToDouble(StockPosition::getBlockedQuantity).sum();
+            assertEquals(WRITERS / 2 * STOCKS_PER_WRITER, blocked);
+
+            // when
+            List<Callable<Void>> deleters = new ArrayList<>();
+            for (UUID uuid : created) {
+                deleters.add(() -> {
+                    materialItemStockService.delete(uuid);
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(deleters)) {
+                result.get();
+            }
+
+            // then
+            assertEquals(initialQuantity, materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, partnerBpnl, null));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void backfillStockPositions_WhenPositionsMissing_RebuildsThem() {
+        // given
+        MaterialItemStock template = materialItemStockService.findByOwnMaterialNumber(OWN_MATERIAL_NUMBER).get(0);
+        String partnerBpnl = template.getPartner().getBpnl();
+        double initialQuantity = materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, partnerBpnl, null);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            stockPositionRepository.deleteForStockType(StockType.MATERIAL));
+        assertEquals(0, materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, partnerBpnl, null));
+
+        // when
+        boolean backfilled = materialItemStockService.backfillStockPositions();
+
+        // then
+        assertTrue(backfilled);
+        assertEquals(initialQuantity, materialItemStockService.getInitialStockQuantity(OWN_MATERIAL_NUMBER, partnerBpnl, null));
+        assertFalse(materialItemStockService.backfillStockPositions());
+    }
+
+    private static MaterialItemStock copyOf(MaterialItemStock template, String orderId, boolean blocked) {
+        return MaterialItemStock.builder()
+            .partner(template.getPartner())
+            .material(template.getMaterial())
+            .quantity(1)
+            .measurementUnit(template.getMeasurementUnit())
+            .locationBpns(template.getLocationBpns())
+            .locationBpna(template.getLocationBpna())
+            .lastUpdatedOnDateTime(new Date())
+            .isBlocked(blocked)
+            .customerOrderId(orderId)
+            .build();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.supply.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.util.DailySeries;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.OwnDeliveryService;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.ReportedDeliveryService;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
+import org.eclipse.tractusx.puris.backend.demand.logic.services.OwnDemandService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerSiteIndex;
+import org.eclipse.tractusx.puris.backend.production.logic.service.OwnProductionService;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.StockQuantity;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.MaterialItemStockService;
+import org.eclipse.tractusx.puris.backend.supply.logic.dto.SupplyDto;
+import org.eclipse.tractusx.puris.backend.supply.logic.dto.SupplyPortfolioDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+public class SupplyPortfolioServiceTest {
+
+    private static final String BPNL_SUPPLIER = "BPNL1234567890ZZ";
+    private static final String BPNS_OWN = "BPNS4444444444XX";
+    private static final String BPNA_OWN = "BPNA4444444444AA";
+    private static final int NUMBER_OF_DAYS = 5;
+
+    @InjectMocks
+    private SupplyPortfolioService supplyPortfolioService;
+
+    @Mock
+    private OwnDeliveryService ownDeliveryService;
+    @Mock
+    private ReportedDeliveryService reportedDeliveryService;
+    @Mock
+    private OwnDemandService demandService;
+    @Mock
+    private OwnProductionService productionService;
+    @Mock
+    private MaterialItemStockService stockService;
+    @Mock
+    private MaterialService materialService;
+    @Mock
+    private PartnerSiteIndex partnerSiteIndex;
+
+    private Partner supplier;
+    private Material wellCovered;
+    private Material scarce;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        supplier = new Partner("Test Supplier", "http://some-edc.com", BPNL_SUPPLIER, "BPNS1234567890ZZ",
+            "Site Name", "BPNA1234567890AA", "Street 10", "40468 Testdorf", "DE");
+        supplier.setUuid(UUID.randomUUID());
+        wellCovered = new Material(true, false, "MNR-1", UUID.randomUUID().toString(), "Well Covered");
+        scarce = new Material(true, false, "MNR-2", UUID.randomUUID().toString(), "Scarce");
+        when(materialService.findAllMaterials()).thenReturn(List.of(wellCovered, scarce));
+        when(partnerSiteIndex.isOwnSite(BPNS_OWN)).thenReturn(true);
+    }
+
+    @Test
+    void calculateCustomerPortfolio_WithSeveralMaterials_ReturnsLowestCoverageFirst() {
+        // given
+        List<OwnDemand> demands = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_DAYS; i++) {
+            demands.add(demand(wellCovered, i, 10));
+            demands.add(demand(scarce, i, 10));
+        }
+        OwnDelivery delivery = OwnDelivery.builder()
+            .material(scarce)
+            .partner(supplier)
+            .quantity(15)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .originBpns("BPNS1234567890ZZ")
+            .destinationBpns(BPNS_OWN)
+            .destinationBpna(BPNA_OWN)
+            .dateOfDeparture(day(0))
+            .dateOfArrival(day(2))
+            .build();
+        when(demandService.findAllInPeriod(isNull(), isNull(), any(), any())).thenReturn(demands);
+        when(ownDeliveryService.findAllInPeriod(isNull(), isNull(), any(), any())).thenReturn(List.of(delivery));
+        when(reportedDeliveryService.findAllInPeriod(isNull(), isNull(), any(), any())).thenReturn(Collections.emptyList());
+        when(stockService.sumQuantitiesBySite(isNull(), isNull())).thenReturn(List.of(
+            new StockQuantity("MNR-1", BPNL_SUPPLIER, BPNS_OWN, 100),
+            new StockQuantity("MNR-2", BPNL_SUPPLIER, BPNS_OWN, 10)));
+
+        // when
+        List<SupplyPortfolioDto> portfolio = supplyPortfolioService.calculateCustomerPortfolio(
+            NUMBER_OF_DAYS, null, null, null, null, null);
+        List<SupplyPortfolioDto> scarceOnly = supplyPortfolioService.calculateCustomerPortfolio(
+            NUMBER_OF_DAYS, null, null, null, 0.5, null);
+
+        // then
+        assertEquals(2, portfolio.size());
+        assertEquals("MNR-2", portfolio.get(0).getOwnMaterialNumber());
+        assertEquals("MNR-1", portfolio.get(1).getOwnMaterialNumber());
+        assertEquals(BPNS_OWN, portfolio.get(0).getSiteBpns());
+
+        DailySeries expected = SupplyService.projectDaysOfSupply(10,
+            DailySeries.of(LocalDate.now(), 0, 0, 15, 0, 0), DailySeries.of(LocalDate.now(), 10, 10, 10, 10, 10));
+        assertArrayEquals(expected.toArray(),
+            portfolio.get(0).getDaysOfSupply().stream().mapToDouble(SupplyDto::getDaysOfSupply).toArray());
+        assertEquals(day(0), portfolio.get(0).getDaysOfSupply().get(0).getDate());
+        assertEquals(0, portfolio.get(0).getLowestDaysOfSupply());
+
+        assertEquals(1, scarceOnly.size());
+        assertEquals("MNR-2", scarceOnly.get(0).getOwnMaterialNumber());
+    }
+
+    @Test
+    void calculateCustomerPortfolio_WithDeliveryToPartnerSite_IgnoresDelivery() {
+        // given
+        OwnDelivery outbound = OwnDelivery.builder()
+            .material(scarce)
+            .partner(supplier)
+            .quantity(15)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .originBpns(BPNS_OWN)
+            .destinationBpns("BPNS1234567890ZZ")
+            .destinationBpna("BPNA1234567890AA")
+            .dateOfDeparture(day(0))
+            .dateOfArrival(day(2))
+            .build();
+        when(demandService.findAllInPeriod(isNull(), isNull(), any(), any())).thenReturn(List.of(demand(scarce, 0, 10)));
+        when(ownDeliveryService.findAllInPeriod(isNull(), isNull(), any(), any())).thenReturn(List.of(outbound));
+        when(reportedDeliveryService.findAllInPeriod(isNull(), isNull(), any(), any())).thenReturn(Collections.emptyList());
+        when(stockService.sumQuantitiesBySite(isNull(), isNull())).thenReturn(Collections.emptyList());
+
+        // when
+        List<SupplyPortfolioDto> portfolio = supplyPortfolioService.calculateCustomerPortfolio(
+            NUMBER_OF_DAYS, null, null, null, null, null);
+
+        // then
+        assertEquals(1, portfolio.size());
+        assertEquals(BPNS_OWN, portfolio.get(0).getSiteBpns());
+    }
+
+    private OwnDemand demand(Material material, int day, double quantity) {
+        return OwnDemand.builder()
+            .material(material)
+            .partner(supplier)
+            .quantity(quantity)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .demandLocationBpns(BPNS_OWN)
+            .day(day(day))
+            .build();
+    }
+
+    private static Date day(int offset) {
+        return Date.from(LocalDate.now().plusDays(offset).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}